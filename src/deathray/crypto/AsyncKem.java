@@ -0,0 +1,344 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Reject requests that race close, and close without throwing
+ * 2026, Connor F: Fail every request if a worker cannot create its cipher
+ */
+package deathray.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.ProviderException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.crypto.Cipher;
+
+import deathray.util.Threads;
+
+/**
+ * Non-blocking ML-KEM operations.
+ * <p>
+ * Requests are queued and performed by a fixed set of worker threads, and the
+ * caller is handed a {@link CompletableFuture} for the result. This lets event
+ * loops hand KEM work off without blocking. The results are the same as the
+ * synchronous {@link Cipher} returns (see {@link DeathRayKem}): the ciphertext
+ * followed by the shared secret for encapsulation, and the shared secret for
+ * decapsulation.
+ * <p>
+ * The queue is bounded. When it is full, requests are rejected immediately: the
+ * returned future completes exceptionally with a
+ * {@link RejectedExecutionException}, and the caller should shed or retry the
+ * work. Nothing blocks the calling thread.
+ * <p>
+ * Each worker takes every request waiting in the queue, up to the batch size,
+ * and performs them back to back on its own cipher. Under load this amortises
+ * the hand-off between threads over the whole batch.
+ * <p>
+ * Futures are completed on the worker threads, so dependent stages that are
+ * not {@code *Async} run there too; keep them short, or supply an executor.
+ * <p>
+ * If a worker cannot create its cipher, for instance because the provider does
+ * not supply ML-KEM, every queued and later request completes exceptionally
+ * with the same error.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class AsyncKem implements AutoCloseable {
+	/**
+	 * Most requests a worker takes from the queue at once
+	 */
+	private static final int MAX_BATCH = 64;
+
+	private final BlockingQueue<Request> queue;
+	private final List<Thread> workers;
+	private final Supplier<Cipher> ciphers;
+	private final LongAdder rejected = new LongAdder();
+	private volatile boolean closed;
+	/**
+	 * Why a worker could not create its cipher, or null
+	 */
+	private volatile RuntimeException failure;
+
+	/**
+	 * Create a new asynchronous KEM with one platform worker per processor and
+	 * room for 1024 queued requests
+	 */
+	public AsyncKem() {
+		this(Runtime.getRuntime().availableProcessors(), 1024, false);
+	}
+
+	/**
+	 * Create a new asynchronous KEM
+	 * 
+	 * @param workers        Number of worker threads
+	 * @param queueCapacity  Most requests that may be waiting at once
+	 * @param virtual        true to use virtual rather than platform worker threads
+	 * 
+	 * @throws IllegalArgumentException If workers or queueCapacity is less than 1
+	 * @throws UnsupportedOperationException If virtual threads were requested and
+	 *         this JVM does not support them
+	 */
+	public AsyncKem(int workers, int queueCapacity, boolean virtual) {
+		this(workers, queueCapacity, virtual, DeathRayKem::newMlKem);
+	}
+
+	/**
+	 * Create a new asynchronous KEM whose workers get their ciphers from the
+	 * specified source
+	 */
+	AsyncKem(int workers, int queueCapacity, boolean virtual, Supplier<Cipher> ciphers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("Cannot run with <1 workers");
+		}
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Cannot queue <1 requests");
+		}
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.ciphers = ciphers;
+		final ThreadFactory factory = virtual ? Threads.virtualThreadFactory("deathray-kem-")
+				: Threads.platformThreadFactory("deathray-kem-", true);
+		this.workers = new ArrayList<>(workers);
+		for(int i = 0; i < workers; i++) {
+			final Thread t = factory.newThread(this::work);
+			this.workers.add(t);
+			t.start();
+		}
+	}
+
+	/**
+	 * Encapsulate against the specified key with the default parameter set
+	 * 
+	 * @param key  The encapsulation key
+	 * 
+	 * @return The ciphertext followed by the shared secret, once complete
+	 */
+	public CompletableFuture<byte[]> encapsulateAsync(PublicKey key) {
+		return submit(Cipher.ENCRYPT_MODE, key, null, null);
+	}
+
+	/**
+	 * Encapsulate against the specified key
+	 * 
+	 * @param key         The encapsulation key
+	 * @param parameters  The ML-KEM parameter set
+	 * 
+	 * @return The ciphertext followed by the shared secret, once complete
+	 */
+	public CompletableFuture<byte[]> encapsulateAsync(PublicKey key, MlKemParameterSpec parameters) {
+		return submit(Cipher.ENCRYPT_MODE, key, parameters, null);
+	}
+
+	/**
+	 * Decapsulate the specified ciphertext with the default parameter set
+	 * 
+	 * @param key         The decapsulation key
+	 * @param ciphertext  The ciphertext to decapsulate
+	 * 
+	 * @return The shared secret, once complete
+	 */
+	public CompletableFuture<byte[]> decapsulateAsync(PrivateKey key, byte[] ciphertext) {
+		return submit(Cipher.DECRYPT_MODE, key, null, ciphertext);
+	}
+
+	/**
+	 * Decapsulate the specified ciphertext
+	 * 
+	 * @param key         The decapsulation key
+	 * @param ciphertext  The ciphertext to decapsulate
+	 * @param parameters  The ML-KEM parameter set
+	 * 
+	 * @return The shared secret, once complete
+	 */
+	public CompletableFuture<byte[]> decapsulateAsync(PrivateKey key, byte[] ciphertext, MlKemParameterSpec parameters) {
+		return submit(Cipher.DECRYPT_MODE, key, parameters, ciphertext);
+	}
+
+	/**
+	 * @return Number of requests waiting for a worker
+	 */
+	public int getQueuedCount() {
+		return this.queue.size();
+	}
+
+	/**
+	 * @return Number of requests rejected because the queue was full, or this was closed
+	 */
+	public long getRejectedCount() {
+		return this.rejected.sum();
+	}
+
+	/**
+	 * Stop the workers
+	 * <p>
+	 * Requests already taken by a worker are completed; requests still waiting
+	 * in the queue, and any submitted afterwards, are rejected. Waits for the
+	 * workers to stop; if the calling thread is interrupted meanwhile, it keeps
+	 * waiting and the interrupt status is restored before returning.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		for(Thread t : this.workers) {
+			t.interrupt();
+		}
+		boolean interrupted = false;
+		for(Thread t : this.workers) {
+			while (true) {
+				try {
+					t.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		Request r;
+		while ((r = this.queue.poll()) != null) {
+			reject(r.result, "AsyncKem is closed");
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private CompletableFuture<byte[]> submit(int mode, Key key, MlKemParameterSpec parameters, byte[] input) {
+		final CompletableFuture<byte[]> result = new CompletableFuture<>();
+		if (refuse(result)) {
+			return result;
+		}
+		final Request request = new Request(mode, key, parameters, input, result);
+		if (!this.queue.offer(request)) {
+			reject(result, "KEM queue is full");
+		} else if ((this.closed || this.failure != null) && this.queue.remove(request)) {
+			// close() or a failed worker may have drained the queue before our
+			// offer; if the request is still there no worker will take it
+			refuse(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Complete a request that cannot be queued because this is closed, or a
+	 * worker has failed
+	 * 
+	 * @return true if the request was completed
+	 */
+	private boolean refuse(CompletableFuture<byte[]> result) {
+		final RuntimeException f = this.failure;
+		if (f != null) {
+			result.completeExceptionally(f);
+			return true;
+		}
+		if (this.closed) {
+			reject(result, "AsyncKem is closed");
+			return true;
+		}
+		return false;
+	}
+
+	private void reject(CompletableFuture<byte[]> result, String reason) {
+		this.rejected.increment();
+		result.completeExceptionally(new RejectedExecutionException(reason));
+	}
+
+	/**
+	 * The loop each worker runs until closed
+	 */
+	private void work() {
+		final Cipher cipher;
+		try {
+			cipher = this.ciphers.get();
+		} catch (RuntimeException e) {
+			// Record the failure before draining, so that submit() either sees it
+			// or has its request drained here
+			if (this.failure == null) {
+				this.failure = e;
+			}
+			Request r;
+			while ((r = this.queue.poll()) != null) {
+				r.result.completeExceptionally(e);
+			}
+			return;
+		}
+		final List<Request> batch = new ArrayList<>(MAX_BATCH);
+		while (!this.closed) {
+			try {
+				batch.add(this.queue.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			this.queue.drainTo(batch, MAX_BATCH - 1);
+			for(Request r : batch) {
+				r.perform(cipher);
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * One queued operation
+	 */
+	private static final class Request {
+		private final int mode;
+		private final Key key;
+		private final MlKemParameterSpec parameters;
+		private final byte[] input;
+		private final CompletableFuture<byte[]> result;
+
+		private Request(int mode, Key key, MlKemParameterSpec parameters, byte[] input, CompletableFuture<byte[]> result) {
+			this.mode = mode;
+			this.key = key;
+			this.parameters = parameters;
+			this.input = input;
+			this.result = result;
+		}
+
+		private void perform(Cipher cipher) {
+			try {
+				cipher.init(this.mode, this.key, this.parameters);
+				final byte[] output = this.input == null ? cipher.doFinal() : cipher.doFinal(this.input);
+				if (output == null) {
+					throw new ProviderException(DeathRayKem.ML_KEM + " produced no output");
+				}
+				this.result.complete(output);
+			} catch (GeneralSecurityException | RuntimeException e) {
+				this.result.completeExceptionally(e);
+			}
+		}
+	}
+}
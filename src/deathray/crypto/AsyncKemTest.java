@@ -0,0 +1,198 @@
+package deathray.crypto;
+
+import static org.junit.Assert.*;
+
+import java.security.ProviderException;
+import java.security.PublicKey;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AsyncKemTest {
+
+	@BeforeClass
+	public static void noPatch() {
+		// The provider's signing patch needs reflective access newer JVMs refuse,
+		// and OpenJDK does not need it
+		System.setProperty("DeathRay.noPatchJvm", "true");
+	}
+
+	@Test
+	public void testCompletion() throws Exception {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_512;
+		AsyncKem kem = new AsyncKem(2, 16, false);
+		try {
+			CompletableFuture<?> encaps = kem.encapsulateAsync(
+					MlKemPublicKey.wrap(new byte[params.getEncapsulationKeySize()], params));
+			CompletableFuture<?> decaps = kem.decapsulateAsync(
+					MlKemPrivateKey.wrap(new byte[params.getDecapsulationKeySize()], params), new byte[params.getCiphertextSize()]);
+			assertPerformed(encaps);
+			assertPerformed(decaps);
+			assertEquals("Nothing should be rejected", 0, kem.getRejectedCount());
+		} finally {
+			kem.close();
+		}
+	}
+
+	@Test
+	public void testNoCipher() throws Exception {
+		IllegalStateException noCipher = new IllegalStateException("No cipher");
+		AsyncKem kem = new AsyncKem(1, 4, false, () -> {
+			throw noCipher;
+		});
+		try {
+			CompletableFuture<byte[]> first = kem.encapsulateAsync(new TestKey(0));
+			Throwable failure = first.handle((result, e) -> e).get(5, TimeUnit.SECONDS);
+			assertSame("Queued request should fail with the worker's error", noCipher, failure);
+			CompletableFuture<byte[]> later = kem.encapsulateAsync(new TestKey(0));
+			assertTrue("Later request should fail at once", later.isCompletedExceptionally());
+			assertSame("Later request should fail with the worker's error", noCipher, later.handle((result, e) -> e).join());
+			assertEquals("Failed requests are not rejections", 0, kem.getRejectedCount());
+		} finally {
+			kem.close();
+		}
+	}
+
+	@Test
+	public void testQueueFull() throws Exception {
+		TestKey blocking = new TestKey(1);
+		AsyncKem kem = new AsyncKem(1, 1, false);
+		try {
+			CompletableFuture<byte[]> first = kem.encapsulateAsync(blocking);
+			assertTrue("Worker should take the first request", blocking.entered.await(5, TimeUnit.SECONDS));
+			CompletableFuture<byte[]> second = kem.encapsulateAsync(new TestKey(0));
+			assertEquals("Second request should wait in the queue", 1, kem.getQueuedCount());
+			CompletableFuture<byte[]> third = kem.encapsulateAsync(new TestKey(0));
+			assertRejected(third, "KEM queue is full");
+			assertEquals("Full queue should count a rejection", 1, kem.getRejectedCount());
+
+			blocking.release.countDown();
+			assertPerformed(first);
+			assertPerformed(second);
+			assertEquals("Accepted requests should not count as rejected", 1, kem.getRejectedCount());
+		} finally {
+			blocking.release.countDown();
+			kem.close();
+		}
+	}
+
+	@Test
+	public void testClosed() throws Exception {
+		TestKey blocking = new TestKey(1);
+		AsyncKem kem = new AsyncKem(1, 4, false);
+		CompletableFuture<byte[]> first = kem.encapsulateAsync(blocking);
+		assertTrue("Worker should take the first request", blocking.entered.await(5, TimeUnit.SECONDS));
+		CompletableFuture<byte[]> queued = kem.encapsulateAsync(new TestKey(0));
+
+		Thread closer = new Thread(kem::close);
+		closer.start();
+		// close() interrupts the workers only once it has marked itself closed
+		assertTrue("Close should interrupt the worker", blocking.interrupted.await(5, TimeUnit.SECONDS));
+		blocking.release.countDown();
+		closer.join(5000);
+		assertFalse("Close should finish once the worker stops", closer.isAlive());
+
+		assertPerformed(first);
+		assertRejected(queued, "AsyncKem is closed");
+		assertRejected(kem.encapsulateAsync(new TestKey(0)), "AsyncKem is closed");
+		assertEquals("Queued and later requests should count as rejected", 2, kem.getRejectedCount());
+		kem.close();
+	}
+
+	@Test
+	public void testCloseInterrupted() {
+		AsyncKem kem = new AsyncKem(1, 1, false);
+		Thread.currentThread().interrupt();
+		kem.close();
+		assertTrue("Close should restore the interrupt", Thread.interrupted());
+		assertRejected(kem.encapsulateAsync(new TestKey(0)), "AsyncKem is closed");
+	}
+
+	@Test
+	public void testArguments() {
+		try {
+			new AsyncKem(0, 1, false);
+			fail("Should throw exception");
+		} catch(IllegalArgumentException e) {
+			assertEquals("Message should describe error", "Cannot run with <1 workers", e.getMessage());
+		}
+		try {
+			new AsyncKem(1, 0, false);
+			fail("Should throw exception");
+		} catch(IllegalArgumentException e) {
+			assertEquals("Message should describe error", "Cannot queue <1 requests", e.getMessage());
+		}
+	}
+
+	/**
+	 * Wait for a request to complete, and check it was performed rather than
+	 * rejected. The ML-KEM cipher does not produce output yet, so a performed
+	 * request fails with exactly this error; once it does, check the output.
+	 */
+	private static void assertPerformed(CompletableFuture<?> future) throws Exception {
+		Throwable failure = future.handle((result, e) -> e).get(5, TimeUnit.SECONDS);
+		assertNotNull("ML-KEM has no output yet", failure);
+		assertEquals("Expected the cipher's failure", ProviderException.class, failure.getClass());
+		assertEquals("Message should say the cipher produced nothing", "ML-KEM produced no output", failure.getMessage());
+	}
+
+	private static void assertRejected(CompletableFuture<?> future, String message) {
+		assertTrue("Rejected request should complete at once", future.isCompletedExceptionally());
+		Throwable failure = future.handle((result, e) -> e).join();
+		assertEquals("Expected RejectedExecutionException", RejectedExecutionException.class, failure.getClass());
+		assertEquals("Message should describe rejection", message, failure.getMessage());
+	}
+
+	/**
+	 * An encapsulation key whose parameters can be held back, so a test can
+	 * keep a worker busy
+	 */
+	private static final class TestKey implements MlKemKey, PublicKey {
+		private static final long serialVersionUID = 1L;
+		private final transient CountDownLatch entered = new CountDownLatch(1);
+		private final transient CountDownLatch interrupted = new CountDownLatch(1);
+		private final transient CountDownLatch release;
+
+		private TestKey(int holds) {
+			this.release = new CountDownLatch(holds);
+		}
+
+		@Override
+		public MlKemParameterSpec getParams() {
+			this.entered.countDown();
+			boolean wasInterrupted = false;
+			while (true) {
+				try {
+					this.release.await();
+					break;
+				} catch (InterruptedException e) {
+					wasInterrupted = true;
+					this.interrupted.countDown();
+				}
+			}
+			if (wasInterrupted) {
+				Thread.currentThread().interrupt();
+			}
+			return MlKemParameterSpec.ML_KEM_768;
+		}
+
+		@Override
+		public String getAlgorithm() {
+			return DeathRayKem.ML_KEM;
+		}
+
+		@Override
+		public String getFormat() {
+			return "RAW";
+		}
+
+		@Override
+		public byte[] getEncoded() {
+			return new byte[MlKemParameterSpec.ML_KEM_768.getEncapsulationKeySize()];
+		}
+	}
+}
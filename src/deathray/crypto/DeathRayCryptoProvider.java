@@ -24,6 +24,9 @@
  * CHANGE LOG
  * ==========
  * 2024, Connor F: Created Class
+ * 2026, Connor F: Expose provider name to the direct KEM factory
+ * 2026, Connor F: Register KEM metrics MBean
+ * 2026, Connor F: Register hybrid X25519 + ML-KEM cipher
  */
 package deathray.crypto;
 
@@ -36,7 +39,11 @@ import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.management.JMException;
+
 import deathray.crypto.ciphers.CrystalsKhyberCipher;
+import deathray.crypto.ciphers.HybridX25519MlKemCipher;
+import deathray.crypto.metrics.KemMetrics;
 import sun.misc.Unsafe;
 
 /**
@@ -53,7 +60,7 @@ import sun.misc.Unsafe;
 public class DeathRayCryptoProvider extends Provider {
 	private static final long serialVersionUID = 3225688089213529980L;
 
-	private static final String NAME = "DR";
+	static final String NAME = "DR";
 	private static final double VERSION = 1.0;
 	private static final String INFO = "DeathRay Crypto Service Provider";
 	
@@ -76,6 +83,7 @@ public class DeathRayCryptoProvider extends Provider {
          */
         AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
         	registerCiphers();
+        	registerMetrics();
         	return null;
         });
 
@@ -84,6 +92,22 @@ public class DeathRayCryptoProvider extends Provider {
 	private void registerCiphers() {
 		put("Cipher.ML-KEM", CrystalsKhyberCipher.class.getName());
 		put("Alg.Alias.Cipher.KHYBER", "ML-KEM");
+		put("Cipher.X25519-ML-KEM", HybridX25519MlKemCipher.class.getName());
+	}
+
+	/**
+	 * Expose the KEM metrics over JMX.
+	 * <p>
+	 * Metrics are a diagnostic aid, so failing to register them (for example
+	 * because the Security Manager forbids it) does not stop the provider from
+	 * loading.
+	 */
+	private void registerMetrics() {
+		try {
+			KemMetrics.register();
+		} catch (JMException | SecurityException e) {
+			Logger.getLogger("deathray.provider").log(Level.WARNING, "Can't register " + KemMetrics.OBJECT_NAME, e);
+		}
 	}
 
 	/**
@@ -0,0 +1,173 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Add the hybrid X25519 + ML-KEM cipher
+ */
+package deathray.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.security.Security;
+
+import javax.crypto.Cipher;
+
+/**
+ * Create DeathRay KEM instances.
+ * <p>
+ * The provider is resolved once, rather than by name from the installed
+ * provider list on every call as {@link Cipher#getInstance(String, String)}
+ * does, but each new instance still comes from the provider's service as with
+ * any other {@link Cipher}. Callers that create a KEM per operation on pooled
+ * threads can instead reuse one instance per thread. The instances returned
+ * are ordinary {@link Cipher} objects, report the DeathRay provider, and
+ * behave exactly as those returned from the JCA; the JCA path remains
+ * registered in {@link DeathRayCryptoProvider} for callers that prefer it.
+ * <p>
+ * We deliberately do not wrap {@link deathray.crypto.ciphers.CrystalsKhyberCipher}
+ * in a {@link Cipher} ourselves. The protected {@link Cipher} constructor walks
+ * the stack to check that its caller is trusted, which costs more than the
+ * service lookup it would replace (see {@code deathray.main.KemLookupBenchmark}).
+ * <p>
+ * The cipher is used as a KEM through the {@link Cipher} modes: initialise it
+ * in {@link Cipher#ENCRYPT_MODE} with an encapsulation key and call
+ * {@code doFinal()} to get the ciphertext followed by the shared secret, or
+ * initialise it in {@link Cipher#DECRYPT_MODE} with a decapsulation key and
+ * call {@code doFinal(ciphertext)} to get the shared secret. Pass a
+ * {@link MlKemParameterSpec} to {@code init} to choose the parameter set.
+ * <p>
+ * This class is thread-safe. The {@link Cipher} instances it returns are not;
+ * each thread must either create its own with {@link #newMlKem()} or borrow its
+ * thread's instance with {@link #threadLocalMlKem()}.
+ * 
+ * @author Connor F
+ * @see DeathRayCryptoProvider
+ */
+public final class DeathRayKem {
+	/**
+	 * The standard name of the ML-KEM (Crystals-Khyber) cipher
+	 */
+	public static final String ML_KEM = "ML-KEM";
+	/**
+	 * The name of the hybrid X25519 + ML-KEM cipher
+	 */
+	public static final String X25519_ML_KEM = "X25519-ML-KEM";
+
+	/**
+	 * One ML-KEM cipher per thread, created on first use.
+	 */
+	private static final ThreadLocal<Cipher> THREAD_ML_KEM = ThreadLocal.withInitial(DeathRayKem::newMlKem);
+
+	private DeathRayKem() {}
+
+	/**
+	 * Create a new ML-KEM cipher
+	 * <p>
+	 * Returns a new, uninitialised ML-KEM {@link Cipher} backed by the DeathRay
+	 * implementation. This is equivalent to calling
+	 * {@code Cipher.getInstance("ML-KEM", "DR")}, but does not search the
+	 * installed providers by name.
+	 * 
+	 * @return A new ML-KEM cipher, which must be initialised before use
+	 * 
+	 * @throws IllegalStateException  If the DeathRay provider does not supply ML-KEM
+	 */
+	public static Cipher newMlKem() {
+		try {
+			return Cipher.getInstance(ML_KEM, ProviderHolder.PROVIDER);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("DeathRay provider does not supply " + ML_KEM, e);
+		}
+	}
+
+	/**
+	 * Create a new hybrid X25519 + ML-KEM cipher
+	 * <p>
+	 * Used exactly like the ML-KEM cipher, with a {@link HybridPublicKey} or
+	 * {@link HybridPrivateKey}. Any {@link MlKemParameterSpec} passed to
+	 * {@code init} selects the ML-KEM parameter set.
+	 * 
+	 * @return A new hybrid cipher, which must be initialised before use
+	 * 
+	 * @throws IllegalStateException  If the DeathRay provider does not supply the hybrid
+	 */
+	public static Cipher newHybridKem() {
+		try {
+			return Cipher.getInstance(X25519_ML_KEM, ProviderHolder.PROVIDER);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("DeathRay provider does not supply " + X25519_ML_KEM, e);
+		}
+	}
+
+	/**
+	 * Get the calling thread's ML-KEM cipher
+	 * <p>
+	 * Returns the same {@link Cipher} instance every time it is called from a
+	 * given thread, creating it on first use. As the instance is reused it may
+	 * still be initialised from its previous use, so callers must always call
+	 * one of the {@code init} methods before using it. The instance must not be
+	 * handed to another thread.
+	 * <p>
+	 * This is intended for long-lived (pooled) threads; each short-lived thread,
+	 * such as a virtual thread per connection, would create its own instance and
+	 * gain nothing over {@link #newMlKem()}.
+	 * 
+	 * @return This thread's ML-KEM cipher
+	 */
+	public static Cipher threadLocalMlKem() {
+		return THREAD_ML_KEM.get();
+	}
+
+	/**
+	 * Get the provider that the instances are attributed to
+	 * <p>
+	 * This is the installed {@link DeathRayCryptoProvider} if there is one, or
+	 * an uninstalled instance otherwise.
+	 * 
+	 * @return The DeathRay provider
+	 */
+	public static Provider getProvider() {
+		return ProviderHolder.PROVIDER;
+	}
+
+	/**
+	 * Lazily resolve the provider that the instances are attributed to.
+	 * <p>
+	 * If a {@link DeathRayCryptoProvider} is already installed we use it, so that
+	 * {@link Cipher#getProvider()} returns the same object for both paths.
+	 * Otherwise we create our own, which is not installed.
+	 */
+	private static final class ProviderHolder {
+		private static final Provider PROVIDER = resolveProvider();
+
+		private static Provider resolveProvider() {
+			final Provider installed = Security.getProvider(DeathRayCryptoProvider.NAME);
+			if (installed instanceof DeathRayCryptoProvider) {
+				return installed;
+			}
+			return new DeathRayCryptoProvider();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * The decapsulation key of the hybrid X25519 + ML-KEM KEM: an ML-KEM
+ * decapsulation key, and an X25519 key pair.
+ * <p>
+ * The X25519 public key is kept alongside the private key because the shared
+ * secret is bound to it. The key has no encoding of its own; store the two
+ * halves separately.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ * @see DeathRayKem#X25519_ML_KEM
+ */
+public final class HybridPrivateKey implements PrivateKey {
+	private static final long serialVersionUID = 4826051372949163405L;
+
+	private final PrivateKey mlKemKey;
+	private final PrivateKey x25519Key;
+	private final PublicKey x25519PublicKey;
+
+	/**
+	 * Combine the two halves of a hybrid decapsulation key
+	 * 
+	 * @param mlKemKey         The ML-KEM decapsulation key
+	 * @param x25519Key        The X25519 private key
+	 * @param x25519PublicKey  The X25519 public key matching x25519Key
+	 * 
+	 * @throws IllegalArgumentException  If any key is null
+	 */
+	public HybridPrivateKey(PrivateKey mlKemKey, PrivateKey x25519Key, PublicKey x25519PublicKey) {
+		if (mlKemKey == null || x25519Key == null || x25519PublicKey == null) {
+			throw new IllegalArgumentException("Hybrid key needs both an ML-KEM and an X25519 key");
+		}
+		this.mlKemKey = mlKemKey;
+		this.x25519Key = x25519Key;
+		this.x25519PublicKey = x25519PublicKey;
+	}
+
+	/**
+	 * @return The ML-KEM decapsulation key
+	 */
+	public PrivateKey getMlKemKey() {
+		return this.mlKemKey;
+	}
+
+	/**
+	 * @return The X25519 private key
+	 */
+	public PrivateKey getX25519Key() {
+		return this.x25519Key;
+	}
+
+	/**
+	 * @return The X25519 public key
+	 */
+	public PublicKey getX25519PublicKey() {
+		return this.x25519PublicKey;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return DeathRayKem.X25519_ML_KEM;
+	}
+
+	/**
+	 * @return null, as the key has no encoding of its own
+	 */
+	@Override
+	public String getFormat() {
+		return null;
+	}
+
+	/**
+	 * @return null, as the key has no encoding of its own
+	 */
+	@Override
+	public byte[] getEncoded() {
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return DeathRayKem.X25519_ML_KEM + " decapsulation key";
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto;
+
+import java.security.PublicKey;
+
+/**
+ * The encapsulation key of the hybrid X25519 + ML-KEM KEM: an ML-KEM
+ * encapsulation key and an X25519 public key.
+ * <p>
+ * The X25519 key must be one the JDK's "XDH" implementation accepts, such as
+ * one generated by {@code KeyPairGenerator.getInstance("X25519")}. The encoding
+ * is the ML-KEM encoding followed by the 32 byte X25519 public key, the same
+ * order as the ciphertext.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ * @see DeathRayKem#X25519_ML_KEM
+ */
+public final class HybridPublicKey implements PublicKey {
+	private static final long serialVersionUID = -1739456206741820913L;
+
+	private final PublicKey mlKemKey;
+	private final PublicKey x25519Key;
+
+	/**
+	 * Combine the two halves of a hybrid encapsulation key
+	 * 
+	 * @param mlKemKey   The ML-KEM encapsulation key
+	 * @param x25519Key  The X25519 public key
+	 * 
+	 * @throws IllegalArgumentException  If either key is null
+	 */
+	public HybridPublicKey(PublicKey mlKemKey, PublicKey x25519Key) {
+		if (mlKemKey == null || x25519Key == null) {
+			throw new IllegalArgumentException("Hybrid key needs both an ML-KEM and an X25519 key");
+		}
+		this.mlKemKey = mlKemKey;
+		this.x25519Key = x25519Key;
+	}
+
+	/**
+	 * @return The ML-KEM encapsulation key
+	 */
+	public PublicKey getMlKemKey() {
+		return this.mlKemKey;
+	}
+
+	/**
+	 * @return The X25519 public key
+	 */
+	public PublicKey getX25519Key() {
+		return this.x25519Key;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return DeathRayKem.X25519_ML_KEM;
+	}
+
+	@Override
+	public String getFormat() {
+		return "RAW";
+	}
+
+	@Override
+	public byte[] getEncoded() {
+		final byte[] mlKem = this.mlKemKey.getEncoded();
+		final byte[] x25519 = this.x25519Key.getEncoded();
+		final int raw = 32;
+		final byte[] encoded = new byte[mlKem.length + raw];
+		System.arraycopy(mlKem, 0, encoded, 0, mlKem.length);
+		System.arraycopy(x25519, x25519.length - raw, encoded, mlKem.length, raw);
+		return encoded;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.mlKemKey.hashCode() + this.x25519Key.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof HybridPublicKey)) {
+			return false;
+		}
+		final HybridPublicKey other = (HybridPublicKey) obj;
+		return this.mlKemKey.equals(other.mlKemKey) && this.x25519Key.equals(other.x25519Key);
+	}
+
+	@Override
+	public String toString() {
+		return DeathRayKem.X25519_ML_KEM + " encapsulation key";
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * An ML-KEM ciphertext, held in its FIPS 203 encoding.
+ * <p>
+ * The ciphertext wraps its encoding without copying it, and decodes and
+ * decompresses u and v only when they are first asked for. A ciphertext that
+ * is only forwarded, stored or compared is never decoded.
+ * <p>
+ * The encoding is c<sub>1</sub> = ByteEncode<sub>du</sub>(Compress<sub>du</sub>(u))
+ * followed by c<sub>2</sub> = ByteEncode<sub>dv</sub>(Compress<sub>dv</sub>(v)).
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class MlKemCiphertext implements Serializable {
+	private static final long serialVersionUID = 2766401873527045137L;
+
+	private final transient ByteBuffer encoding;
+	private final transient MlKemParameterSpec parameters;
+	/**
+	 * The decompressed u and v, or null until first needed
+	 */
+	private transient volatile short[][] u;
+	private transient volatile short[] v;
+
+	private MlKemCiphertext(ByteBuffer encoding, MlKemParameterSpec parameters) {
+		this.encoding = encoding;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Wrap the encoding held between the position and limit of a buffer
+	 * <p>
+	 * The buffer's position and limit are not changed.
+	 * 
+	 * @param source      Buffer holding the encoding
+	 * @param parameters  The parameter set of the ciphertext
+	 * 
+	 * @return A ciphertext backed by the buffer's contents
+	 * 
+	 * @throws IllegalArgumentException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemCiphertext wrap(ByteBuffer source, MlKemParameterSpec parameters) {
+		return new MlKemCiphertext(MlKemEncoding.view(source, parameters.getCiphertextSize(),
+				parameters + " ciphertext"), parameters);
+	}
+
+	/**
+	 * Wrap an encoding held in an array
+	 * 
+	 * @param encoded     The encoding
+	 * @param parameters  The parameter set of the ciphertext
+	 * 
+	 * @return A ciphertext backed by the array
+	 * 
+	 * @throws IllegalArgumentException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemCiphertext wrap(byte[] encoded, MlKemParameterSpec parameters) {
+		return wrap(ByteBuffer.wrap(encoded), parameters);
+	}
+
+	/**
+	 * Get the parameter set of this ciphertext
+	 * 
+	 * @return The parameter set
+	 */
+	public MlKemParameterSpec getParams() {
+		return this.parameters;
+	}
+
+	/**
+	 * Get a copy of the encoding
+	 * 
+	 * @return A new array holding the FIPS 203 encoding of this ciphertext
+	 */
+	public byte[] getEncoded() {
+		return MlKemEncoding.copy(this.encoding);
+	}
+
+	/**
+	 * Get the encoding without copying it
+	 * 
+	 * @return A read-only view of the encoding, positioned at its start
+	 */
+	public ByteBuffer getEncoding() {
+		return this.encoding.duplicate();
+	}
+
+	/**
+	 * Get the decompressed vector u
+	 * <p>
+	 * Decodes the ciphertext on first use. The arrays returned are shared by
+	 * every caller and must not be modified.
+	 * 
+	 * @return k polynomials of {@link MlKemParameterSpec#N} coefficients
+	 */
+	public short[][] getU() {
+		short[][] decoded = this.u;
+		if (decoded == null) {
+			decoded = MlKemEncoding.byteDecode(this.encoding, 0, this.parameters.getK(), this.parameters.getDu());
+			MlKemEncoding.decompress(decoded, this.parameters.getDu());
+			this.u = decoded;
+		}
+		return decoded;
+	}
+
+	/**
+	 * Get the decompressed polynomial v
+	 * <p>
+	 * Decodes the ciphertext on first use. The array returned is shared by
+	 * every caller and must not be modified.
+	 * 
+	 * @return {@link MlKemParameterSpec#N} coefficients
+	 */
+	public short[] getV() {
+		short[] decoded = this.v;
+		if (decoded == null) {
+			final short[][] polys = MlKemEncoding.byteDecode(this.encoding,
+					32 * this.parameters.getDu() * this.parameters.getK(), 1, this.parameters.getDv());
+			MlKemEncoding.decompress(polys, this.parameters.getDv());
+			decoded = polys[0];
+			this.v = decoded;
+		}
+		return decoded;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.parameters.hashCode() + this.encoding.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof MlKemCiphertext)) {
+			return false;
+		}
+		final MlKemCiphertext other = (MlKemCiphertext) obj;
+		return this.parameters == other.parameters && this.encoding.equals(other.encoding);
+	}
+
+	@Override
+	public String toString() {
+		return this.parameters + " ciphertext";
+	}
+
+	private Object writeReplace() {
+		return new MlKemEncoding.SerializedForm(MlKemEncoding.SerializedForm.CIPHERTEXT, this.parameters, getEncoded());
+	}
+}
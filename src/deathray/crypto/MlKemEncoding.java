@@ -0,0 +1,219 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Compare encodings in place
+ */
+package deathray.crypto;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+
+/**
+ * The FIPS 203 byte encodings shared by the ML-KEM key and ciphertext classes.
+ * 
+ * @author Connor F
+ */
+final class MlKemEncoding {
+
+	private MlKemEncoding() {}
+
+	/**
+	 * Take a zero-copy, read-only view of the remaining bytes of a buffer
+	 * <p>
+	 * The source buffer's position and limit are not changed.
+	 * 
+	 * @param source    Buffer holding the encoding between its position and limit
+	 * @param expected  The size the encoding must have
+	 * @param what      What the encoding is, for the error message
+	 * 
+	 * @return A view of the encoding, indexed from zero
+	 * 
+	 * @throws IllegalArgumentException If the encoding is the wrong size
+	 */
+	static ByteBuffer view(ByteBuffer source, int expected, String what) {
+		if (source.remaining() != expected) {
+			throw new IllegalArgumentException(what + " must be " + expected + " bytes, not " + source.remaining());
+		}
+		return source.slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * As {@link #view(ByteBuffer, int, String)}, but reporting a bad size as an invalid key
+	 */
+	static ByteBuffer keyView(ByteBuffer source, int expected, String what) throws InvalidKeyException {
+		try {
+			return view(source, expected, what);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidKeyException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Compare two encodings in place, in time that depends only on their length
+	 * <p>
+	 * Nothing is copied, so this is safe for secret encodings.
+	 * 
+	 * @param a  A view of one encoding, indexed from zero
+	 * @param b  A view of the other
+	 * 
+	 * @return true if the encodings are the same size and hold the same bytes
+	 */
+	static boolean constantTimeEquals(ByteBuffer a, ByteBuffer b) {
+		if (a.capacity() != b.capacity()) {
+			return false;
+		}
+		int diff = 0;
+		for(int i = 0; i < a.capacity(); i++) {
+			diff |= a.get(i) ^ b.get(i);
+		}
+		return diff == 0;
+	}
+
+	/**
+	 * Copy an encoding out of its view
+	 */
+	static byte[] copy(ByteBuffer view) {
+		final byte[] out = new byte[view.capacity()];
+		final ByteBuffer all = view.duplicate();
+		all.clear();
+		all.get(out);
+		return out;
+	}
+
+	/**
+	 * ByteDecode<sub>d</sub> (FIPS 203, Algorithm 6) of consecutive polynomials
+	 * <p>
+	 * Decodes {@code count} polynomials of {@link MlKemParameterSpec#N}
+	 * coefficients of {@code d} bits each, starting at {@code offset}. Bits are
+	 * taken least significant first. Unlike the FIPS 203 definition, 12-bit
+	 * values are not reduced mod q, so that the caller can check them.
+	 * 
+	 * @param src     The encoding
+	 * @param offset  Index of the first byte to decode
+	 * @param count   Number of polynomials to decode
+	 * @param d       Bits per coefficient, between 1 and 12
+	 * 
+	 * @return The decoded coefficients, one array per polynomial
+	 */
+	static short[][] byteDecode(ByteBuffer src, int offset, int count, int d) {
+		final short[][] out = new short[count][MlKemParameterSpec.N];
+		final int mask = (1 << d) - 1;
+		int pos = offset;
+		int bits = 0;
+		int acc = 0;
+		for(int p = 0; p < count; p++) {
+			final short[] poly = out[p];
+			for(int i = 0; i < MlKemParameterSpec.N; i++) {
+				while (bits < d) {
+					acc |= (src.get(pos++) & 0xFF) << bits;
+					bits += 8;
+				}
+				poly[i] = (short) (acc & mask);
+				acc >>>= d;
+				bits -= d;
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Decompress<sub>d</sub> (FIPS 203, equation 4.8) every coefficient in place
+	 * 
+	 * @param polys  Polynomials of d-bit values
+	 * @param d      Bits per compressed coefficient
+	 */
+	static void decompress(short[][] polys, int d) {
+		final int half = 1 << (d - 1);
+		for(short[] poly : polys) {
+			for(int i = 0; i < poly.length; i++) {
+				poly[i] = (short) ((poly[i] * MlKemParameterSpec.Q + half) >> d);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if every coefficient is less than q
+	 * <p>
+	 * This is the modulus check of FIPS 203, section 7.2: re-encoding the
+	 * decoded values reproduces the input exactly when, and only when, this
+	 * holds.
+	 */
+	static boolean reduced(short[][] polys) {
+		for(short[] poly : polys) {
+			for(short c : poly) {
+				if (c >= MlKemParameterSpec.Q) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The serialised form of the ML-KEM keys and ciphertexts: the parameter set
+	 * name and the encoding. Deserialising re-wraps the encoding.
+	 */
+	static final class SerializedForm implements Serializable {
+		private static final long serialVersionUID = -4950148286950611720L;
+
+		static final int PUBLIC_KEY = 0;
+		static final int PRIVATE_KEY = 1;
+		static final int CIPHERTEXT = 2;
+
+		private final int type;
+		private final String parameters;
+		private final byte[] encoded;
+
+		SerializedForm(int type, MlKemParameterSpec parameters, byte[] encoded) {
+			this.type = type;
+			this.parameters = parameters.getName();
+			this.encoded = encoded;
+		}
+
+		private Object readResolve() throws ObjectStreamException {
+			try {
+				final MlKemParameterSpec params = MlKemParameterSpec.forName(this.parameters);
+				switch (this.type) {
+				case PUBLIC_KEY:
+					return MlKemPublicKey.wrap(this.encoded, params);
+				case PRIVATE_KEY:
+					return MlKemPrivateKey.wrap(this.encoded, params);
+				case CIPHERTEXT:
+					return MlKemCiphertext.wrap(this.encoded, params);
+				default:
+					throw new InvalidObjectException("Unknown ML-KEM object type " + this.type);
+				}
+			} catch (InvalidKeyException | IllegalArgumentException e) {
+				final InvalidObjectException ex = new InvalidObjectException(e.getMessage());
+				ex.initCause(e);
+				throw ex;
+			}
+		}
+	}
+}
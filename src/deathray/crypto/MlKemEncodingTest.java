@@ -0,0 +1,138 @@
+package deathray.crypto;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+
+import org.junit.Test;
+
+public class MlKemEncodingTest {
+
+	@Test
+	public void testPublicKeyDecode() throws Exception {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_512;
+		byte[] encoded = new byte[params.getEncapsulationKeySize()];
+		// 0x01, 0x20, 0x00 packs the 12-bit values 1 and 2
+		for(int i = 0; i < 384 * params.getK(); i += 3) {
+			encoded[i] = 0x01;
+			encoded[i + 1] = 0x20;
+		}
+		encoded[encoded.length - 1] = 7;
+		MlKemPublicKey key = MlKemPublicKey.wrap(encoded, params);
+		assertEquals("Key knows its parameters", params, key.getParams());
+		assertEquals("Even coefficients decode", 1, key.getT()[1][254]);
+		assertEquals("Odd coefficients decode", 2, key.getT()[1][255]);
+		assertEquals("Rho follows t", 32, key.getRho().remaining());
+		assertEquals("Rho follows t", 7, key.getRho().get(31));
+		key.validate();
+
+		encoded[0] = (byte) 0xFF;
+		encoded[1] = 0x0F;
+		assertEquals("Key shares the array", 4095, MlKemPublicKey.wrap(encoded, params).getT()[0][0]);
+		try {
+			MlKemPublicKey.wrap(encoded, params).validate();
+			fail("Should throw exception");
+		} catch(InvalidKeyException e) {
+			assertEquals("Message should describe error", "ML-KEM-512 encapsulation key is not reduced mod q", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testWrongSize() {
+		try {
+			MlKemPublicKey.wrap(new byte[10], MlKemParameterSpec.ML_KEM_768);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected InvalidKeyException", InvalidKeyException.class, e.getClass());
+			assertEquals("Message should describe error", "ML-KEM-768 encapsulation key must be 1184 bytes, not 10", e.getMessage());
+		}
+		try {
+			MlKemCiphertext.wrap(new byte[10], MlKemParameterSpec.ML_KEM_768);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe error", "ML-KEM-768 ciphertext must be 1088 bytes, not 10", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testPrivateKeyViews() throws Exception {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_768;
+		int k = params.getK();
+		byte[] encoded = new byte[params.getDecapsulationKeySize() + 4];
+		encoded[2 + 384 * k] = 5;
+		encoded[encoded.length - 3] = 9;
+		MessageDigest sha3 = MessageDigest.getInstance("SHA3-256");
+		sha3.update(encoded, 2 + 384 * k, params.getEncapsulationKeySize());
+		System.arraycopy(sha3.digest(), 0, encoded, 2 + 768 * k + 32, 32);
+
+		ByteBuffer source = ByteBuffer.wrap(encoded, 2, params.getDecapsulationKeySize());
+		MlKemPrivateKey key = MlKemPrivateKey.wrap(source, params);
+		assertEquals("Wrapping leaves the buffer alone", 2, source.position());
+		assertEquals("Public key is embedded", 5, key.getPublicKey().getT()[0][0]);
+		assertEquals("Z is last", 9, key.getZ().get(31));
+		key.validate();
+
+		encoded[2 + 384 * k] = 6;
+		try {
+			key.validate();
+			fail("Should throw exception");
+		} catch(InvalidKeyException e) {
+			assertEquals("Message should describe error", "ML-KEM-768 decapsulation key hash does not match", e.getMessage());
+		}
+
+		byte[] copy = key.getEncoded();
+		assertEquals("Keys with equal encodings are equal", key, MlKemPrivateKey.wrap(copy, params));
+		copy[copy.length - 1] ^= 1;
+		assertNotEquals("A different z makes a different key", key, MlKemPrivateKey.wrap(copy, params));
+
+		assertEquals("Secret decodes", 0, key.getS()[2][255]);
+		key.destroy();
+		assertTrue("Key is destroyed", key.isDestroyed());
+		try {
+			key.getS();
+			fail("Should throw exception");
+		} catch(IllegalStateException e) {
+			assertEquals("Message should describe error", "ML-KEM-768 decapsulation key has been destroyed", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCiphertextDecompress() {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_1024;
+		byte[] encoded = new byte[params.getCiphertextSize()];
+		// du = 11: 0xFF, 0x07 is the largest first coefficient
+		encoded[0] = (byte) 0xFF;
+		encoded[1] = 0x07;
+		// dv = 5: 0x01 is a first coefficient of 1
+		encoded[32 * params.getDu() * params.getK()] = 0x01;
+		MlKemCiphertext c = MlKemCiphertext.wrap(encoded, params);
+		assertEquals("u decompresses", (2047 * MlKemParameterSpec.Q + 1024) >> 11, c.getU()[0][0]);
+		assertEquals("u decompresses", 0, c.getU()[0][1]);
+		assertEquals("v decompresses", (MlKemParameterSpec.Q + 16) >> 5, c.getV()[0]);
+		assertEquals("Equal encodings are equal", c, MlKemCiphertext.wrap(encoded.clone(), params));
+	}
+
+	@Test
+	public void testSerialisation() throws Exception {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_512;
+		byte[] encoded = new byte[params.getCiphertextSize()];
+		encoded[3] = 42;
+		MlKemCiphertext c = MlKemCiphertext.wrap(encoded, params);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(c);
+			out.writeObject(MlKemPublicKey.wrap(new byte[params.getEncapsulationKeySize()], params));
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals("Ciphertext survives serialisation", c, in.readObject());
+			assertEquals("Key keeps its parameters", params, ((MlKemPublicKey) in.readObject()).getParams());
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto;
+
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * The ML-KEM parameter sets defined in FIPS 203.
+ * <p>
+ * Pass one of these to {@link javax.crypto.Cipher#init(int, java.security.Key, AlgorithmParameterSpec)}
+ * to select the parameter set; {@link #ML_KEM_768} is used if none is given.
+ * The parameter sets differ only in the module rank k, the noise parameters and
+ * the compression of the ciphertext; the sizes of the encoded keys and
+ * ciphertexts follow from these.
+ * 
+ * @author Connor F
+ */
+public final class MlKemParameterSpec implements AlgorithmParameterSpec {
+	/**
+	 * Number of coefficients in each polynomial
+	 */
+	public static final int N = 256;
+	/**
+	 * The prime modulus q
+	 */
+	public static final int Q = 3329;
+	/**
+	 * Size of the shared secret, in bytes
+	 */
+	public static final int SHARED_SECRET_SIZE = 32;
+
+	/**
+	 * ML-KEM-512, security category 1
+	 */
+	public static final MlKemParameterSpec ML_KEM_512 = new MlKemParameterSpec("ML-KEM-512", 2, 3, 2, 10, 4);
+	/**
+	 * ML-KEM-768, security category 3
+	 */
+	public static final MlKemParameterSpec ML_KEM_768 = new MlKemParameterSpec("ML-KEM-768", 3, 2, 2, 10, 4);
+	/**
+	 * ML-KEM-1024, security category 5
+	 */
+	public static final MlKemParameterSpec ML_KEM_1024 = new MlKemParameterSpec("ML-KEM-1024", 4, 2, 2, 11, 5);
+
+	private final String name;
+	private final int k;
+	private final int eta1;
+	private final int eta2;
+	private final int du;
+	private final int dv;
+
+	private MlKemParameterSpec(String name, int k, int eta1, int eta2, int du, int dv) {
+		this.name = name;
+		this.k = k;
+		this.eta1 = eta1;
+		this.eta2 = eta2;
+		this.du = du;
+		this.dv = dv;
+	}
+
+	/**
+	 * Get a parameter set by name
+	 * 
+	 * @param name  Name of the parameter set, such as "ML-KEM-768"; case is ignored
+	 * 
+	 * @return The named parameter set
+	 * 
+	 * @throws IllegalArgumentException If there is no parameter set with that name
+	 */
+	public static MlKemParameterSpec forName(String name) {
+		for(MlKemParameterSpec spec : new MlKemParameterSpec[] {ML_KEM_512, ML_KEM_768, ML_KEM_1024}) {
+			if (spec.name.equalsIgnoreCase(name)) {
+				return spec;
+			}
+		}
+		throw new IllegalArgumentException("Unknown ML-KEM parameter set " + name);
+	}
+
+	/**
+	 * @return The name of this parameter set, such as "ML-KEM-768"
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return The module rank k; the public matrix is k&times;k polynomials
+	 */
+	public int getK() {
+		return this.k;
+	}
+
+	/**
+	 * @return The noise parameter for the secret and key generation error
+	 */
+	public int getEta1() {
+		return this.eta1;
+	}
+
+	/**
+	 * @return The noise parameter for the encryption error
+	 */
+	public int getEta2() {
+		return this.eta2;
+	}
+
+	/**
+	 * @return Bits per coefficient of the compressed ciphertext vector u
+	 */
+	public int getDu() {
+		return this.du;
+	}
+
+	/**
+	 * @return Bits per coefficient of the compressed ciphertext polynomial v
+	 */
+	public int getDv() {
+		return this.dv;
+	}
+
+	/**
+	 * @return Size of the encoded encapsulation (public) key, in bytes
+	 */
+	public int getEncapsulationKeySize() {
+		return 384 * this.k + 32;
+	}
+
+	/**
+	 * @return Size of the encoded decapsulation (private) key, in bytes
+	 */
+	public int getDecapsulationKeySize() {
+		return 768 * this.k + 96;
+	}
+
+	/**
+	 * @return Size of the ciphertext, in bytes
+	 */
+	public int getCiphertextSize() {
+		return 32 * (this.du * this.k + this.dv);
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+}
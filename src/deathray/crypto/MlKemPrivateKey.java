@@ -0,0 +1,280 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Compare keys without copying their encodings
+ */
+package deathray.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.Arrays;
+
+/**
+ * An ML-KEM decapsulation key, held in its FIPS 203 encoding.
+ * <p>
+ * Like {@link MlKemPublicKey}, the key wraps its encoding without copying it,
+ * checks only the length when created, and decodes the secret vector the first
+ * time it is needed. The embedded encapsulation key is available as an
+ * {@link MlKemPublicKey} that shares the same bytes.
+ * <p>
+ * The encoding is ByteEncode<sub>12</sub>(s&#770;), the encapsulation key,
+ * H(encapsulation key), and the 32 byte implicit rejection value z.
+ * <p>
+ * {@link #destroy()} wipes the decoded secret vector held by this object. The
+ * encoding belongs to the caller, who must wipe it separately.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class MlKemPrivateKey implements MlKemKey, PrivateKey {
+	private static final long serialVersionUID = -2187015643327219853L;
+
+	private final transient ByteBuffer encoding;
+	private final transient MlKemParameterSpec parameters;
+	private final transient MlKemPublicKey publicKey;
+	/**
+	 * The decoded s&#770;, or null until first needed
+	 */
+	private transient volatile short[][] s;
+	private transient volatile boolean destroyed;
+
+	private MlKemPrivateKey(ByteBuffer encoding, MlKemParameterSpec parameters) throws InvalidKeyException {
+		this.encoding = encoding;
+		this.parameters = parameters;
+		this.publicKey = MlKemPublicKey.wrap(region(384 * parameters.getK(), parameters.getEncapsulationKeySize()), parameters);
+	}
+
+	/**
+	 * Wrap the encoding held between the position and limit of a buffer
+	 * <p>
+	 * The buffer's position and limit are not changed.
+	 * 
+	 * @param source      Buffer holding the encoding
+	 * @param parameters  The parameter set of the key
+	 * 
+	 * @return A key backed by the buffer's contents
+	 * 
+	 * @throws InvalidKeyException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemPrivateKey wrap(ByteBuffer source, MlKemParameterSpec parameters) throws InvalidKeyException {
+		return new MlKemPrivateKey(MlKemEncoding.keyView(source, parameters.getDecapsulationKeySize(),
+				parameters + " decapsulation key"), parameters);
+	}
+
+	/**
+	 * Wrap an encoding held in an array
+	 * 
+	 * @param encoded     The encoding
+	 * @param parameters  The parameter set of the key
+	 * 
+	 * @return A key backed by the array
+	 * 
+	 * @throws InvalidKeyException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemPrivateKey wrap(byte[] encoded, MlKemParameterSpec parameters) throws InvalidKeyException {
+		return wrap(ByteBuffer.wrap(encoded), parameters);
+	}
+
+	@Override
+	public MlKemParameterSpec getParams() {
+		return this.parameters;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return DeathRayKem.ML_KEM;
+	}
+
+	@Override
+	public String getFormat() {
+		return "RAW";
+	}
+
+	/**
+	 * Get a copy of the encoding
+	 * 
+	 * @return A new array holding the FIPS 203 encoding of this key
+	 * 
+	 * @throws IllegalStateException If this key has been destroyed
+	 */
+	@Override
+	public byte[] getEncoded() {
+		checkDestroyed();
+		return MlKemEncoding.copy(this.encoding);
+	}
+
+	/**
+	 * Get the encoding without copying it
+	 * 
+	 * @return A read-only view of the encoding, positioned at its start
+	 * 
+	 * @throws IllegalStateException If this key has been destroyed
+	 */
+	public ByteBuffer getEncoding() {
+		checkDestroyed();
+		return this.encoding.duplicate();
+	}
+
+	/**
+	 * Get the encapsulation key embedded in this key
+	 * 
+	 * @return The encapsulation key, sharing this key's encoding
+	 */
+	public MlKemPublicKey getPublicKey() {
+		return this.publicKey;
+	}
+
+	/**
+	 * Get the hash of the encapsulation key, as stored in this key
+	 * 
+	 * @return A read-only view of the 32 byte H(ek)
+	 */
+	public ByteBuffer getPublicKeyHash() {
+		return region(768 * this.parameters.getK() + 32, 32);
+	}
+
+	/**
+	 * Get the implicit rejection value
+	 * 
+	 * @return A read-only view of the 32 byte value z
+	 * 
+	 * @throws IllegalStateException If this key has been destroyed
+	 */
+	public ByteBuffer getZ() {
+		checkDestroyed();
+		return region(768 * this.parameters.getK() + 64, 32);
+	}
+
+	/**
+	 * Get the secret vector s&#770;, in the NTT domain
+	 * <p>
+	 * Decodes the key on first use. The arrays returned are shared by every
+	 * caller and must not be modified.
+	 * 
+	 * @return k polynomials of {@link MlKemParameterSpec#N} coefficients
+	 * 
+	 * @throws IllegalStateException If this key has been destroyed
+	 */
+	public short[][] getS() {
+		checkDestroyed();
+		short[][] decoded = this.s;
+		if (decoded == null) {
+			decoded = MlKemEncoding.byteDecode(this.encoding, 0, this.parameters.getK(), 12);
+			this.s = decoded;
+		}
+		return decoded;
+	}
+
+	/**
+	 * Perform the FIPS 203 decapsulation key check
+	 * <p>
+	 * The length was checked when the key was created; this checks that the
+	 * stored hash matches the embedded encapsulation key.
+	 * 
+	 * @throws InvalidKeyException If the hash does not match
+	 * @throws IllegalStateException If SHA3-256 is unavailable (before Java 9),
+	 *         or this key has been destroyed
+	 */
+	public void validate() throws InvalidKeyException {
+		checkDestroyed();
+		final MessageDigest sha3;
+		try {
+			sha3 = MessageDigest.getInstance("SHA3-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA3-256 is needed to check ML-KEM keys", e);
+		}
+		sha3.update(this.publicKey.getEncoding());
+		if (!MessageDigest.isEqual(sha3.digest(), MlKemEncoding.copy(getPublicKeyHash()))) {
+			throw new InvalidKeyException(this.parameters + " decapsulation key hash does not match");
+		}
+	}
+
+	/**
+	 * Wipe the decoded secret held by this key
+	 */
+	@Override
+	public void destroy() {
+		this.destroyed = true;
+		final short[][] decoded = this.s;
+		this.s = null;
+		if (decoded != null) {
+			for(short[] poly : decoded) {
+				Arrays.fill(poly, (short) 0);
+			}
+		}
+	}
+
+	@Override
+	public boolean isDestroyed() {
+		return this.destroyed;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.parameters.hashCode() + this.publicKey.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof MlKemPrivateKey)) {
+			return false;
+		}
+		final MlKemPrivateKey other = (MlKemPrivateKey) obj;
+		if (this.destroyed || other.destroyed) {
+			return false;
+		}
+		return this.parameters == other.parameters && MlKemEncoding.constantTimeEquals(this.encoding, other.encoding);
+	}
+
+	@Override
+	public String toString() {
+		return this.parameters + " decapsulation key";
+	}
+
+	private ByteBuffer region(int offset, int length) {
+		final ByteBuffer r = this.encoding.duplicate();
+		r.position(offset);
+		r.limit(offset + length);
+		return r.slice();
+	}
+
+	private void checkDestroyed() {
+		if (this.destroyed) {
+			throw new IllegalStateException(this.parameters + " decapsulation key has been destroyed");
+		}
+	}
+
+	private Object writeReplace() {
+		return new MlKemEncoding.SerializedForm(MlKemEncoding.SerializedForm.PRIVATE_KEY, this.parameters, getEncoded());
+	}
+}
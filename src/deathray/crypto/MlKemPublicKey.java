@@ -0,0 +1,201 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.PublicKey;
+
+/**
+ * An ML-KEM encapsulation key, held in its FIPS 203 encoding.
+ * <p>
+ * The key wraps its encoding without copying it, whether the encoding is a
+ * whole array or a region of a larger buffer, such as a network frame. Only the
+ * length is checked when the key is created; the encoding is decoded into
+ * polynomials the first time {@link #getT()} or {@link #validate()} needs them,
+ * and the result kept. Keys that are rejected or only cached therefore cost
+ * almost nothing.
+ * <p>
+ * Because the encoding is not copied, the caller must not change the wrapped
+ * bytes while the key is in use.
+ * <p>
+ * The encoding is ByteEncode<sub>12</sub>(t&#770;) followed by the 32 byte
+ * seed &rho;.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class MlKemPublicKey implements MlKemKey, PublicKey {
+	private static final long serialVersionUID = 5436190287461098142L;
+
+	private final transient ByteBuffer encoding;
+	private final transient MlKemParameterSpec parameters;
+	/**
+	 * The decoded t&#770;, or null until first needed
+	 */
+	private transient volatile short[][] t;
+
+	private MlKemPublicKey(ByteBuffer encoding, MlKemParameterSpec parameters) {
+		this.encoding = encoding;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Wrap the encoding held between the position and limit of a buffer
+	 * <p>
+	 * The buffer's position and limit are not changed.
+	 * 
+	 * @param source      Buffer holding the encoding
+	 * @param parameters  The parameter set of the key
+	 * 
+	 * @return A key backed by the buffer's contents
+	 * 
+	 * @throws InvalidKeyException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemPublicKey wrap(ByteBuffer source, MlKemParameterSpec parameters) throws InvalidKeyException {
+		return new MlKemPublicKey(MlKemEncoding.keyView(source, parameters.getEncapsulationKeySize(),
+				parameters + " encapsulation key"), parameters);
+	}
+
+	/**
+	 * Wrap an encoding held in an array
+	 * 
+	 * @param encoded     The encoding
+	 * @param parameters  The parameter set of the key
+	 * 
+	 * @return A key backed by the array
+	 * 
+	 * @throws InvalidKeyException If the encoding is the wrong size for the parameter set
+	 */
+	public static MlKemPublicKey wrap(byte[] encoded, MlKemParameterSpec parameters) throws InvalidKeyException {
+		return wrap(ByteBuffer.wrap(encoded), parameters);
+	}
+
+	@Override
+	public MlKemParameterSpec getParams() {
+		return this.parameters;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return DeathRayKem.ML_KEM;
+	}
+
+	@Override
+	public String getFormat() {
+		return "RAW";
+	}
+
+	/**
+	 * Get a copy of the encoding
+	 * 
+	 * @return A new array holding the FIPS 203 encoding of this key
+	 */
+	@Override
+	public byte[] getEncoded() {
+		return MlKemEncoding.copy(this.encoding);
+	}
+
+	/**
+	 * Get the encoding without copying it
+	 * 
+	 * @return A read-only view of the encoding, positioned at its start
+	 */
+	public ByteBuffer getEncoding() {
+		return this.encoding.duplicate();
+	}
+
+	/**
+	 * Get the seed that the public matrix is expanded from
+	 * 
+	 * @return A read-only view of the 32 byte seed &rho;
+	 */
+	public ByteBuffer getRho() {
+		final ByteBuffer rho = this.encoding.duplicate();
+		rho.position(384 * this.parameters.getK());
+		return rho.slice();
+	}
+
+	/**
+	 * Get the public vector t&#770;, in the NTT domain
+	 * <p>
+	 * Decodes the key on first use. The arrays returned are shared by every
+	 * caller and must not be modified.
+	 * 
+	 * @return k polynomials of {@link MlKemParameterSpec#N} coefficients
+	 */
+	public short[][] getT() {
+		short[][] decoded = this.t;
+		if (decoded == null) {
+			decoded = MlKemEncoding.byteDecode(this.encoding, 0, this.parameters.getK(), 12);
+			this.t = decoded;
+		}
+		return decoded;
+	}
+
+	/**
+	 * Perform the FIPS 203 encapsulation key check
+	 * <p>
+	 * The length was checked when the key was created; this performs the modulus
+	 * check, which requires decoding the key.
+	 * 
+	 * @throws InvalidKeyException If any coefficient of t&#770; is not less than q
+	 */
+	public void validate() throws InvalidKeyException {
+		if (!MlKemEncoding.reduced(getT())) {
+			throw new InvalidKeyException(this.parameters + " encapsulation key is not reduced mod q");
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.parameters.hashCode() + this.encoding.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof MlKemPublicKey)) {
+			return false;
+		}
+		final MlKemPublicKey other = (MlKemPublicKey) obj;
+		return this.parameters == other.parameters && this.encoding.equals(other.encoding);
+	}
+
+	@Override
+	public String toString() {
+		return this.parameters + " encapsulation key";
+	}
+
+	private Object writeReplace() {
+		return new MlKemEncoding.SerializedForm(MlKemEncoding.SerializedForm.PUBLIC_KEY, this.parameters, getEncoded());
+	}
+}
@@ -7,15 +7,32 @@ import java.security.Key;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
 
 import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
 import javax.crypto.CipherSpi;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.ShortBufferException;
 
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemKey;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.metrics.KemMetrics;
+import deathray.crypto.metrics.KemOperation;
+
 public class CrystalsKhyberCipher extends CipherSpi {
 
+	/**
+	 * The KEM operation selected by the last call to engineInit
+	 */
+	private KemOperation operation;
+	/**
+	 * The parameter set selected by the last call to engineInit
+	 */
+	private MlKemParameterSpec parameters = MlKemParameterSpec.ML_KEM_768;
+
 	public CrystalsKhyberCipher() {
 		// TODO Auto-generated constructor stub
 	}
@@ -38,10 +55,16 @@ public class CrystalsKhyberCipher extends CipherSpi {
 		return 0;
 	}
 
+	/**
+	 * Encapsulation outputs the ciphertext followed by the shared secret;
+	 * decapsulation outputs just the shared secret.
+	 */
 	@Override
 	protected int engineGetOutputSize(int inputLen) {
-		// TODO Auto-generated method stub
-		return 0;
+		if (this.operation == KemOperation.DECAPSULATE) {
+			return MlKemParameterSpec.SHARED_SECRET_SIZE;
+		}
+		return this.parameters.getCiphertextSize() + MlKemParameterSpec.SHARED_SECRET_SIZE;
 	}
 
 	@Override
@@ -58,6 +81,8 @@ public class CrystalsKhyberCipher extends CipherSpi {
 
 	@Override
 	protected void engineInit(int opmode, Key key, SecureRandom random) throws InvalidKeyException {
+		this.operation = operationFor(opmode);
+		this.parameters = parametersFor(key, null);
 		// TODO Auto-generated method stub
 
 	}
@@ -65,6 +90,11 @@ public class CrystalsKhyberCipher extends CipherSpi {
 	@Override
 	protected void engineInit(int opmode, Key key, AlgorithmParameterSpec params, SecureRandom random)
 			throws InvalidKeyException, InvalidAlgorithmParameterException {
+		if (params != null && !(params instanceof MlKemParameterSpec)) {
+			throw new InvalidAlgorithmParameterException("ML-KEM requires an MlKemParameterSpec");
+		}
+		this.operation = operationFor(opmode);
+		this.parameters = parametersFor(key, (MlKemParameterSpec) params);
 		// TODO Auto-generated method stub
 
 	}
@@ -72,6 +102,11 @@ public class CrystalsKhyberCipher extends CipherSpi {
 	@Override
 	protected void engineInit(int opmode, Key key, AlgorithmParameters params, SecureRandom random)
 			throws InvalidKeyException, InvalidAlgorithmParameterException {
+		if (params != null) {
+			throw new InvalidAlgorithmParameterException("ML-KEM requires an MlKemParameterSpec");
+		}
+		this.operation = operationFor(opmode);
+		this.parameters = parametersFor(key, null);
 		// TODO Auto-generated method stub
 
 	}
@@ -89,18 +124,104 @@ public class CrystalsKhyberCipher extends CipherSpi {
 		return 0;
 	}
 
+	/**
+	 * Every call is counted and timed by {@link KemMetrics}; one that produces
+	 * no output counts as an error.
+	 */
 	@Override
 	protected byte[] engineDoFinal(byte[] input, int inputOffset, int inputLen)
 			throws IllegalBlockSizeException, BadPaddingException {
-		// TODO Auto-generated method stub
-		return null;
+		try (KemMetrics.OperationTimer timer = KemMetrics.start(DeathRayKem.ML_KEM, this.operation)) {
+			final byte[] output = this.operation == KemOperation.DECAPSULATE ? decapsulate(input, inputOffset, inputLen)
+					: encapsulate();
+			if (output != null) {
+				timer.succeeded();
+			}
+			return output;
+		}
 	}
 
 	@Override
 	protected int engineDoFinal(byte[] input, int inputOffset, int inputLen, byte[] output, int outputOffset)
 			throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+		if (output.length - outputOffset < engineGetOutputSize(inputLen)) {
+			throw new ShortBufferException("Output needs " + engineGetOutputSize(inputLen) + " bytes");
+		}
+		final byte[] result = engineDoFinal(input, inputOffset, inputLen);
+		if (result == null) {
+			return 0;
+		}
+		System.arraycopy(result, 0, output, outputOffset, result.length);
+		Arrays.fill(result, (byte) 0);
+		return result.length;
+	}
+
+	/**
+	 * ML-KEM.Encaps (FIPS 203, algorithm 20)
+	 * 
+	 * @return The ciphertext followed by the shared secret, or null if not implemented
+	 */
+	private byte[] encapsulate() {
 		// TODO Auto-generated method stub
-		return 0;
+		return null;
+	}
+
+	/**
+	 * ML-KEM.Decaps (FIPS 203, algorithm 21)
+	 * 
+	 * @return The shared secret, or null if not implemented
+	 */
+	private byte[] decapsulate(byte[] input, int inputOffset, int inputLen) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	/**
+	 * Choose the parameter set for an operation
+	 * <p>
+	 * A key that knows its parameter set decides it, and an explicit
+	 * specification must agree with it. Otherwise the specification, or
+	 * ML-KEM-768 if there is none, is used.
+	 * 
+	 * @param key     The key passed to engineInit
+	 * @param params  The parameter set passed to engineInit, or null
+	 * 
+	 * @return The parameter set to use
+	 * 
+	 * @throws InvalidKeyException If the key belongs to a different parameter set
+	 */
+	static MlKemParameterSpec parametersFor(Key key, MlKemParameterSpec params) throws InvalidKeyException {
+		if (key instanceof MlKemKey) {
+			final MlKemParameterSpec keyParams = ((MlKemKey) key).getParams();
+			if (params != null && params != keyParams) {
+				throw new InvalidKeyException(keyParams + " key cannot be used with " + params);
+			}
+			return keyParams;
+		}
+		return params == null ? MlKemParameterSpec.ML_KEM_768 : params;
+	}
+
+	/**
+	 * Map a {@link Cipher} mode onto the KEM operation it performs
+	 * <p>
+	 * Encrypting (or wrapping) with an encapsulation key encapsulates, and
+	 * decrypting (or unwrapping) with a decapsulation key decapsulates.
+	 * 
+	 * @param opmode  The {@link Cipher} operation mode
+	 * 
+	 * @return The corresponding KEM operation
+	 */
+	private static KemOperation operationFor(int opmode) {
+		switch (opmode) {
+		case Cipher.ENCRYPT_MODE:
+		case Cipher.WRAP_MODE:
+			return KemOperation.ENCAPSULATE;
+		case Cipher.DECRYPT_MODE:
+		case Cipher.UNWRAP_MODE:
+			return KemOperation.DECAPSULATE;
+		default:
+			throw new IllegalArgumentException("Unknown cipher mode " + opmode);
+		}
 	}
 
 }
@@ -0,0 +1,149 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.ciphers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.ProviderException;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Combine the shared secrets of a hybrid KEM with HKDF-SHA256 (RFC 5869).
+ * <p>
+ * The input keying material is the ML-KEM shared secret followed by the X25519
+ * shared secret. The info string binds the result to this construction and to
+ * the X25519 ciphertext and public key, since, unlike ML-KEM, X25519 does not
+ * hash them into its own secret. If either half is secure the combined secret
+ * is too.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+final class HybridCombiner {
+	/**
+	 * Size of the combined shared secret, and of an HMAC-SHA256 output
+	 */
+	static final int SECRET_SIZE = 32;
+
+	private static final byte[] LABEL = "DeathRay X25519-ML-KEM".getBytes(StandardCharsets.US_ASCII);
+
+	private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(() -> {
+		try {
+			return Mac.getInstance("HmacSHA256");
+		} catch (GeneralSecurityException e) {
+			throw new ProviderException("HmacSHA256 is not available", e);
+		}
+	});
+
+	private HybridCombiner() {}
+
+	/**
+	 * Derive the hybrid shared secret
+	 * 
+	 * @param mlKemSecret       The ML-KEM shared secret
+	 * @param x25519Secret      The X25519 shared secret
+	 * @param x25519Ciphertext  The raw ephemeral X25519 public key sent to the peer
+	 * @param x25519PublicKey   The raw X25519 public key of the recipient
+	 * 
+	 * @return The 32 byte shared secret
+	 */
+	static byte[] combine(byte[] mlKemSecret, byte[] x25519Secret, byte[] x25519Ciphertext, byte[] x25519PublicKey) {
+		final byte[] ikm = new byte[mlKemSecret.length + x25519Secret.length];
+		System.arraycopy(mlKemSecret, 0, ikm, 0, mlKemSecret.length);
+		System.arraycopy(x25519Secret, 0, ikm, mlKemSecret.length, x25519Secret.length);
+		final byte[] info = new byte[LABEL.length + x25519Ciphertext.length + x25519PublicKey.length];
+		System.arraycopy(LABEL, 0, info, 0, LABEL.length);
+		System.arraycopy(x25519Ciphertext, 0, info, LABEL.length, x25519Ciphertext.length);
+		System.arraycopy(x25519PublicKey, 0, info, LABEL.length + x25519Ciphertext.length, x25519PublicKey.length);
+		final byte[] prk = extract(null, ikm);
+		try {
+			return expand(prk, info, SECRET_SIZE);
+		} finally {
+			Arrays.fill(ikm, (byte) 0);
+			Arrays.fill(prk, (byte) 0);
+		}
+	}
+
+	/**
+	 * HKDF-Extract
+	 * 
+	 * @param salt  The salt, or null for a string of zeros
+	 * @param ikm   The input keying material
+	 * 
+	 * @return The pseudorandom key
+	 */
+	static byte[] extract(byte[] salt, byte[] ikm) {
+		return hmac(salt == null || salt.length == 0 ? new byte[SECRET_SIZE] : salt, ikm);
+	}
+
+	/**
+	 * HKDF-Expand
+	 * 
+	 * @param prk     The pseudorandom key
+	 * @param info    The context and application specific information
+	 * @param length  Bytes of output, at most 255 * 32
+	 * 
+	 * @return The output keying material
+	 */
+	static byte[] expand(byte[] prk, byte[] info, int length) {
+		if (length < 0 || length > 255 * SECRET_SIZE) {
+			throw new IllegalArgumentException("HKDF-SHA256 cannot expand to " + length + " bytes");
+		}
+		final Mac mac = HMAC.get();
+		init(mac, prk);
+		final byte[] okm = new byte[length];
+		byte[] block = new byte[0];
+		for(int i = 0, offset = 0; offset < length; i++, offset += SECRET_SIZE) {
+			mac.update(block);
+			mac.update(info);
+			mac.update((byte) (i + 1));
+			block = mac.doFinal();
+			System.arraycopy(block, 0, okm, offset, Math.min(SECRET_SIZE, length - offset));
+		}
+		Arrays.fill(block, (byte) 0);
+		return okm;
+	}
+
+	private static byte[] hmac(byte[] key, byte[] data) {
+		final Mac mac = HMAC.get();
+		init(mac, key);
+		return mac.doFinal(data);
+	}
+
+	private static void init(Mac mac, byte[] key) {
+		try {
+			mac.init(new SecretKeySpec(key, "HmacSHA256"));
+		} catch (GeneralSecurityException e) {
+			throw new ProviderException("Cannot key HmacSHA256", e);
+		}
+	}
+}
@@ -0,0 +1,424 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Wipe the X25519 secret when ML-KEM fails
+ * 2026, Connor F: Count and time operations, with key agreement and hashing stages
+ * 2026, Connor F: Give each ML-KEM half its own cipher, so no pool thread keeps a key
+ */
+package deathray.crypto.ciphers;
+
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProviderException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.CipherSpi;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.HybridPrivateKey;
+import deathray.crypto.HybridPublicKey;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.metrics.KemMetrics;
+import deathray.crypto.metrics.KemOperation;
+import deathray.crypto.metrics.KemStage;
+import deathray.util.Threads;
+
+/**
+ * Hybrid X25519 + ML-KEM key encapsulation.
+ * <p>
+ * Both KEMs are run against their halves of a {@link HybridPublicKey} or
+ * {@link HybridPrivateKey}, and their shared secrets are combined with
+ * HKDF-SHA256, so the result is secure as long as either of them is. X25519 is
+ * the JDK's XDH {@code KeyAgreement}, used as a KEM by agreeing with a fresh
+ * ephemeral key pair, whose public key is the X25519 ciphertext. ML-KEM is the
+ * DeathRay {@value DeathRayKem#ML_KEM} cipher.
+ * <p>
+ * The cipher is used exactly like ML-KEM (see {@link DeathRayKem}). Encapsulation
+ * outputs the ML-KEM ciphertext, then the 32 byte X25519 ciphertext, then the 32
+ * byte shared secret; decapsulation takes both ciphertexts and outputs the shared
+ * secret. An {@link MlKemParameterSpec} passed to {@code init} is handed on to
+ * ML-KEM.
+ * <p>
+ * On machines with more than one processor the ML-KEM half is run on a shared
+ * pool of daemon threads while the calling thread does the X25519 half, so that
+ * an operation should take as long as the slower half rather than the sum of the
+ * two. That has not been measured, as ML-KEM does not yet produce output. When
+ * the pool is saturated the caller runs the ML-KEM half itself. Each half uses a
+ * new ML-KEM cipher, which is dropped with its key when it finishes. Set system
+ * property "DeathRay.hybridConcurrent" to false to always run the halves one
+ * after the other. Ephemeral X25519 keys are precomputed in the background; see
+ * {@link X25519Keys}.
+ * <p>
+ * Operations are counted and timed by {@link KemMetrics} under
+ * {@value DeathRayKem#X25519_ML_KEM}, with the X25519 agreement as the
+ * {@link KemStage#KEY_AGREEMENT} stage and the combiner as
+ * {@link KemStage#HASHING}. The ML-KEM half is counted separately, under
+ * {@value DeathRayKem#ML_KEM}, by the thread that runs it.
+ * 
+ * @author Connor F
+ */
+public class HybridX25519MlKemCipher extends CipherSpi {
+	/**
+	 * Whether to run the two halves concurrently
+	 */
+	static final boolean CONCURRENT = Boolean.parseBoolean(System.getProperty("DeathRay.hybridConcurrent",
+			Boolean.toString(Runtime.getRuntime().availableProcessors() > 1)));
+
+	/**
+	 * Encapsulating, or decapsulating
+	 */
+	private boolean encapsulating;
+	/**
+	 * The key passed to the last call to engineInit
+	 */
+	private Key key;
+	/**
+	 * The ML-KEM parameter set passed to the last call to engineInit, or null
+	 */
+	private MlKemParameterSpec parameters;
+
+	public HybridX25519MlKemCipher() {}
+
+	@Override
+	protected void engineSetMode(String mode) throws NoSuchAlgorithmException {
+		if (!"NONE".equalsIgnoreCase(mode)) {
+			throw new NoSuchAlgorithmException(DeathRayKem.X25519_ML_KEM + " has no modes");
+		}
+	}
+
+	@Override
+	protected void engineSetPadding(String padding) throws NoSuchPaddingException {
+		if (!"NoPadding".equalsIgnoreCase(padding)) {
+			throw new NoSuchPaddingException(DeathRayKem.X25519_ML_KEM + " has no padding");
+		}
+	}
+
+	@Override
+	protected int engineGetBlockSize() {
+		return 0;
+	}
+
+	/**
+	 * Encapsulation outputs both ciphertexts followed by the shared secret;
+	 * decapsulation outputs just the shared secret.
+	 */
+	@Override
+	protected int engineGetOutputSize(int inputLen) {
+		checkInitialised();
+		if (!this.encapsulating) {
+			return HybridCombiner.SECRET_SIZE;
+		}
+		return mlKemParameters().getCiphertextSize() + X25519Keys.KEY_SIZE + HybridCombiner.SECRET_SIZE;
+	}
+
+	@Override
+	protected byte[] engineGetIV() {
+		return null;
+	}
+
+	@Override
+	protected AlgorithmParameters engineGetParameters() {
+		return null;
+	}
+
+	@Override
+	protected void engineInit(int opmode, Key key, SecureRandom random) throws InvalidKeyException {
+		init(opmode, key, null);
+	}
+
+	@Override
+	protected void engineInit(int opmode, Key key, AlgorithmParameterSpec params, SecureRandom random)
+			throws InvalidKeyException, InvalidAlgorithmParameterException {
+		if (params != null && !(params instanceof MlKemParameterSpec)) {
+			throw new InvalidAlgorithmParameterException(DeathRayKem.X25519_ML_KEM + " requires an MlKemParameterSpec");
+		}
+		init(opmode, key, (MlKemParameterSpec) params);
+	}
+
+	@Override
+	protected void engineInit(int opmode, Key key, AlgorithmParameters params, SecureRandom random)
+			throws InvalidKeyException, InvalidAlgorithmParameterException {
+		if (params != null) {
+			throw new InvalidAlgorithmParameterException(DeathRayKem.X25519_ML_KEM + " requires an MlKemParameterSpec");
+		}
+		init(opmode, key, null);
+	}
+
+	@Override
+	protected byte[] engineUpdate(byte[] input, int inputOffset, int inputLen) {
+		throw new IllegalStateException(DeathRayKem.X25519_ML_KEM + " is performed in a single doFinal");
+	}
+
+	@Override
+	protected int engineUpdate(byte[] input, int inputOffset, int inputLen, byte[] output, int outputOffset)
+			throws ShortBufferException {
+		throw new IllegalStateException(DeathRayKem.X25519_ML_KEM + " is performed in a single doFinal");
+	}
+
+	@Override
+	protected byte[] engineDoFinal(byte[] input, int inputOffset, int inputLen)
+			throws IllegalBlockSizeException, BadPaddingException {
+		checkInitialised();
+		final KemOperation operation = this.encapsulating ? KemOperation.ENCAPSULATE : KemOperation.DECAPSULATE;
+		try (KemMetrics.OperationTimer timer = KemMetrics.start(DeathRayKem.X25519_ML_KEM, operation)) {
+			final byte[] output = this.encapsulating ? encapsulate((HybridPublicKey) this.key, timer)
+					: decapsulate((HybridPrivateKey) this.key, input == null ? new byte[0] : input, inputOffset, inputLen, timer);
+			timer.succeeded();
+			return output;
+		}
+	}
+
+	@Override
+	protected int engineDoFinal(byte[] input, int inputOffset, int inputLen, byte[] output, int outputOffset)
+			throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+		if (output.length - outputOffset < engineGetOutputSize(inputLen)) {
+			throw new ShortBufferException("Output needs " + engineGetOutputSize(inputLen) + " bytes");
+		}
+		final byte[] result = engineDoFinal(input, inputOffset, inputLen);
+		System.arraycopy(result, 0, output, outputOffset, result.length);
+		Arrays.fill(result, (byte) 0);
+		return result.length;
+	}
+
+	private void init(int opmode, Key key, MlKemParameterSpec params) throws InvalidKeyException {
+		switch (opmode) {
+		case Cipher.ENCRYPT_MODE:
+		case Cipher.WRAP_MODE:
+			if (!(key instanceof HybridPublicKey)) {
+				throw new InvalidKeyException(DeathRayKem.X25519_ML_KEM + " encapsulation requires a HybridPublicKey");
+			}
+			CrystalsKhyberCipher.parametersFor(((HybridPublicKey) key).getMlKemKey(), params);
+			this.encapsulating = true;
+			break;
+		case Cipher.DECRYPT_MODE:
+		case Cipher.UNWRAP_MODE:
+			if (!(key instanceof HybridPrivateKey)) {
+				throw new InvalidKeyException(DeathRayKem.X25519_ML_KEM + " decapsulation requires a HybridPrivateKey");
+			}
+			CrystalsKhyberCipher.parametersFor(((HybridPrivateKey) key).getMlKemKey(), params);
+			this.encapsulating = false;
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown cipher mode " + opmode);
+		}
+		this.key = key;
+		this.parameters = params;
+	}
+
+	private void checkInitialised() {
+		if (this.key == null) {
+			throw new IllegalStateException(DeathRayKem.X25519_ML_KEM + " cipher is not initialised");
+		}
+	}
+
+	private MlKemParameterSpec mlKemParameters() {
+		final Key mlKemKey = this.key instanceof HybridPublicKey ? ((HybridPublicKey) this.key).getMlKemKey()
+				: this.key instanceof HybridPrivateKey ? ((HybridPrivateKey) this.key).getMlKemKey() : null;
+		try {
+			return CrystalsKhyberCipher.parametersFor(mlKemKey, this.parameters);
+		} catch (InvalidKeyException e) {
+			throw new IllegalStateException("Parameters were checked by engineInit", e);
+		}
+	}
+
+	private byte[] encapsulate(HybridPublicKey publicKey, KemMetrics.OperationTimer timer)
+			throws IllegalBlockSizeException, BadPaddingException {
+		final CompletableFuture<byte[]> mlKem = mlKem(Cipher.ENCRYPT_MODE, publicKey.getMlKemKey(), null);
+		final byte[] x25519Ciphertext;
+		final byte[] x25519Secret;
+		final KemMetrics.StageTimer agreement = timer.stage(KemStage.KEY_AGREEMENT);
+		try {
+			final KeyPair ephemeral = X25519Keys.ephemeral();
+			x25519Ciphertext = X25519Keys.raw(ephemeral.getPublic());
+			x25519Secret = X25519Keys.agree(ephemeral.getPrivate(), publicKey.getX25519Key());
+		} catch (InvalidKeyException e) {
+			mlKem.cancel(false);
+			throw new ProviderException("X25519 failed for " + publicKey, e);
+		} finally {
+			agreement.close();
+		}
+		byte[] mlKemOutput = null;
+		byte[] mlKemSecret = null;
+		byte[] secret = null;
+		try {
+			mlKemOutput = join(mlKem);
+			final int mlKemCiphertext = mlKemOutput.length - MlKemParameterSpec.SHARED_SECRET_SIZE;
+			mlKemSecret = Arrays.copyOfRange(mlKemOutput, mlKemCiphertext, mlKemOutput.length);
+			final KemMetrics.StageTimer hashing = timer.stage(KemStage.HASHING);
+			try {
+				secret = HybridCombiner.combine(mlKemSecret, x25519Secret, x25519Ciphertext,
+						X25519Keys.raw(publicKey.getX25519Key()));
+			} finally {
+				hashing.close();
+			}
+
+			final byte[] output = new byte[mlKemCiphertext + X25519Keys.KEY_SIZE + secret.length];
+			System.arraycopy(mlKemOutput, 0, output, 0, mlKemCiphertext);
+			System.arraycopy(x25519Ciphertext, 0, output, mlKemCiphertext, X25519Keys.KEY_SIZE);
+			System.arraycopy(secret, 0, output, mlKemCiphertext + X25519Keys.KEY_SIZE, secret.length);
+			return output;
+		} finally {
+			wipe(mlKemOutput, mlKemSecret, x25519Secret, secret);
+		}
+	}
+
+	private byte[] decapsulate(HybridPrivateKey privateKey, byte[] input, int offset, int length,
+			KemMetrics.OperationTimer timer) throws IllegalBlockSizeException, BadPaddingException {
+		final int mlKemCiphertext = mlKemParameters().getCiphertextSize();
+		if (length != mlKemCiphertext + X25519Keys.KEY_SIZE) {
+			throw new IllegalBlockSizeException(DeathRayKem.X25519_ML_KEM + " ciphertext must be "
+					+ (mlKemCiphertext + X25519Keys.KEY_SIZE) + " bytes, not " + length);
+		}
+		final CompletableFuture<byte[]> mlKem = mlKem(Cipher.DECRYPT_MODE, privateKey.getMlKemKey(),
+				Arrays.copyOfRange(input, offset, offset + mlKemCiphertext));
+		final byte[] x25519Ciphertext = Arrays.copyOfRange(input, offset + mlKemCiphertext, offset + length);
+		final byte[] x25519Secret;
+		final KemMetrics.StageTimer agreement = timer.stage(KemStage.KEY_AGREEMENT);
+		try {
+			x25519Secret = X25519Keys.agree(privateKey.getX25519Key(), X25519Keys.decode(x25519Ciphertext, 0));
+		} catch (InvalidKeyException e) {
+			mlKem.cancel(false);
+			throw new BadPaddingException("Invalid X25519 ciphertext: " + e.getMessage());
+		} finally {
+			agreement.close();
+		}
+		byte[] mlKemSecret = null;
+		try {
+			mlKemSecret = join(mlKem);
+			final KemMetrics.StageTimer hashing = timer.stage(KemStage.HASHING);
+			try {
+				return HybridCombiner.combine(mlKemSecret, x25519Secret, x25519Ciphertext,
+						X25519Keys.raw(privateKey.getX25519PublicKey()));
+			} finally {
+				hashing.close();
+			}
+		} finally {
+			wipe(mlKemSecret, x25519Secret);
+		}
+	}
+
+	/**
+	 * Start the ML-KEM half, on the shared pool if running concurrently, or
+	 * the calling thread otherwise
+	 * 
+	 * @param input  The ciphertext to decapsulate, or null to encapsulate
+	 */
+	private CompletableFuture<byte[]> mlKem(int mode, Key mlKemKey, byte[] input) {
+		final MlKemParameterSpec params = this.parameters;
+		final Supplier<byte[]> half = () -> {
+			// Not the thread's cached cipher, which would keep the key reachable
+			// from a pool thread after the operation
+			final Cipher cipher = DeathRayKem.newMlKem();
+			try {
+				cipher.init(mode, mlKemKey, params);
+				final byte[] output = input == null ? cipher.doFinal() : cipher.doFinal(input);
+				if (output == null || output.length < MlKemParameterSpec.SHARED_SECRET_SIZE) {
+					throw new ProviderException(DeathRayKem.ML_KEM + " produced no shared secret");
+				}
+				return output;
+			} catch (GeneralSecurityException e) {
+				throw new CompletionException(e);
+			}
+		};
+		if (!CONCURRENT) {
+			final CompletableFuture<byte[]> result = new CompletableFuture<>();
+			try {
+				result.complete(half.get());
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+			}
+			return result;
+		}
+		return CompletableFuture.supplyAsync(half, Pool.EXECUTOR);
+	}
+
+	/**
+	 * Wait for the ML-KEM half, rethrowing its failure
+	 */
+	private static byte[] join(CompletableFuture<byte[]> half) throws IllegalBlockSizeException, BadPaddingException {
+		try {
+			return half.join();
+		} catch (CompletionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IllegalBlockSizeException) {
+				throw (IllegalBlockSizeException) cause;
+			}
+			if (cause instanceof BadPaddingException) {
+				throw (BadPaddingException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new ProviderException(DeathRayKem.ML_KEM + " failed", cause);
+		}
+	}
+
+	private static void wipe(byte[]... secrets) {
+		for(byte[] s : secrets) {
+			if (s != null) {
+				Arrays.fill(s, (byte) 0);
+			}
+		}
+	}
+
+	/**
+	 * Lazily create the threads that run the ML-KEM halves.
+	 * <p>
+	 * One thread per processor, since the work is CPU-bound. When they and
+	 * their queue are busy, the caller runs its own ML-KEM half rather than
+	 * waiting behind other operations.
+	 */
+	private static final class Pool {
+		private static final ExecutorService EXECUTOR = createExecutor();
+
+		private static ExecutorService createExecutor() {
+			final int threads = Runtime.getRuntime().availableProcessors();
+			return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(threads * 4),
+					Threads.platformThreadFactory("deathray-hybrid-", true),
+					new ThreadPoolExecutor.CallerRunsPolicy());
+		}
+	}
+}
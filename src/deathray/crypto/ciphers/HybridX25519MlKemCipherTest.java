@@ -0,0 +1,169 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.ciphers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.ProviderException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.HybridPrivateKey;
+import deathray.crypto.HybridPublicKey;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.MlKemPrivateKey;
+import deathray.crypto.MlKemPublicKey;
+import deathray.crypto.metrics.KemMetrics;
+import deathray.crypto.metrics.KemOperation;
+
+public class HybridX25519MlKemCipherTest {
+
+	@BeforeClass
+	public static void noPatch() {
+		// The provider's signing patch needs reflective access newer JVMs refuse,
+		// and OpenJDK does not need it
+		System.setProperty("DeathRay.noPatchJvm", "true");
+	}
+
+	@Test
+	public void testHkdfVector() {
+		// RFC 5869, test case 1
+		byte[] ikm = new byte[22];
+		Arrays.fill(ikm, (byte) 0x0b);
+		byte[] prk = HybridCombiner.extract(hex("000102030405060708090a0b0c"), ikm);
+		assertArrayEquals("PRK", hex("077709362c2e32df0ddc3f0dc47bba6390b6c73bb50f9c3122ec844ad7c2b3e5"), prk);
+		assertArrayEquals("OKM", hex("3cb25f25faacd57a90434f64d0362f2a2d2d0a90cf1a5a4c5db02d56ecc4c5bf34007208d5b887185865"),
+				HybridCombiner.expand(prk, hex("f0f1f2f3f4f5f6f7f8f9"), 42));
+	}
+
+	@Test
+	public void testCombinerBindsX25519() {
+		byte[] mlKem = new byte[32];
+		byte[] x25519 = new byte[32];
+		byte[] ct = new byte[32];
+		byte[] pk = new byte[32];
+		byte[] secret = HybridCombiner.combine(mlKem, x25519, ct, pk);
+		assertEquals("Secret size", HybridCombiner.SECRET_SIZE, secret.length);
+		ct[0] = 1;
+		assertNotEquals("Ciphertext changes the secret", Arrays.toString(secret), Arrays.toString(HybridCombiner.combine(mlKem, x25519, ct, pk)));
+		ct[0] = 0;
+		pk[31] = 1;
+		assertNotEquals("Public key changes the secret", Arrays.toString(secret), Arrays.toString(HybridCombiner.combine(mlKem, x25519, ct, pk)));
+	}
+
+	@Test
+	public void testX25519() throws Exception {
+		KeyPair a = X25519Keys.ephemeral();
+		KeyPair b = X25519Keys.ephemeral();
+		assertNotEquals("Ephemeral keys are never handed out twice", a.getPublic(), b.getPublic());
+		byte[] raw = X25519Keys.raw(a.getPublic());
+		assertEquals("Raw key size", X25519Keys.KEY_SIZE, raw.length);
+		assertEquals("Raw keys decode", a.getPublic(), X25519Keys.decode(raw, 0));
+		assertArrayEquals("Agreement is symmetric", X25519Keys.agree(a.getPrivate(), b.getPublic()),
+				X25519Keys.agree(b.getPrivate(), a.getPublic()));
+		try {
+			X25519Keys.agree(a.getPrivate(), X25519Keys.decode(new byte[32], 0));
+			fail("Expected InvalidKeyException");
+		} catch (InvalidKeyException e) {
+			assertTrue("Small order points are rejected", e.getMessage() != null);
+		}
+	}
+
+	@Test
+	public void testCipherChecks() throws Exception {
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_512;
+		KeyPair x25519 = X25519Keys.generate();
+		HybridPublicKey publicKey = new HybridPublicKey(
+				MlKemPublicKey.wrap(new byte[params.getEncapsulationKeySize()], params), x25519.getPublic());
+		HybridPrivateKey privateKey = new HybridPrivateKey(
+				MlKemPrivateKey.wrap(new byte[params.getDecapsulationKeySize()], params), x25519.getPrivate(), x25519.getPublic());
+		assertEquals("Encoding is both raw keys", params.getEncapsulationKeySize() + 32, publicKey.getEncoded().length);
+
+		HybridX25519MlKemCipher cipher = new HybridX25519MlKemCipher();
+		try {
+			cipher.engineGetOutputSize(0);
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertEquals("Message", "X25519-ML-KEM cipher is not initialised", e.getMessage());
+		}
+		try {
+			cipher.engineInit(Cipher.ENCRYPT_MODE, privateKey, null);
+			fail("Expected InvalidKeyException");
+		} catch (InvalidKeyException e) {
+			assertEquals("Message", "X25519-ML-KEM encapsulation requires a HybridPublicKey", e.getMessage());
+		}
+		cipher.engineInit(Cipher.ENCRYPT_MODE, publicKey, null);
+		assertEquals("Encapsulation output size", params.getCiphertextSize() + 64, cipher.engineGetOutputSize(0));
+		try {
+			cipher.engineInit(Cipher.DECRYPT_MODE, privateKey, MlKemParameterSpec.ML_KEM_768, null);
+			fail("Expected InvalidKeyException");
+		} catch (InvalidKeyException e) {
+			assertEquals("Message", "ML-KEM-512 key cannot be used with ML-KEM-768", e.getMessage());
+		}
+		cipher.engineInit(Cipher.DECRYPT_MODE, privateKey, null);
+		assertEquals("Decapsulation output size", 32, cipher.engineGetOutputSize(0));
+		try {
+			cipher.engineDoFinal(new byte[params.getCiphertextSize()], 0, params.getCiphertextSize());
+			fail("Expected IllegalBlockSizeException");
+		} catch (IllegalBlockSizeException e) {
+			assertTrue("Message", e.getMessage().startsWith("X25519-ML-KEM ciphertext must be " + (params.getCiphertextSize() + 32)));
+		}
+		byte[] ciphertext = new byte[params.getCiphertextSize() + 32];
+		System.arraycopy(X25519Keys.raw(x25519.getPublic()), 0, ciphertext, params.getCiphertextSize(), 32);
+		String decaps = KemMetrics.key(DeathRayKem.X25519_ML_KEM, KemOperation.DECAPSULATE);
+		Long errors = KemMetrics.getInstance().getErrorCounts().get(decaps);
+		try {
+			cipher.engineDoFinal(ciphertext, 0, ciphertext.length);
+			fail("Expected ProviderException");
+		} catch (ProviderException e) {
+			assertEquals("ML-KEM failure surfaces after X25519", "ML-KEM produced no shared secret", e.getMessage());
+		}
+		assertEquals("The failed decapsulation is counted", (errors == null ? 0 : errors) + 1,
+				(long) KemMetrics.getInstance().getErrorCounts().get(decaps));
+	}
+
+	private static byte[] hex(String s) {
+		byte[] b = new byte[s.length() / 2];
+		for(int i = 0; i < b.length; i++) {
+			b[i] = (byte) Integer.parseInt(s.substring(2 * i, 2 * i + 2), 16);
+		}
+		return b;
+	}
+}
@@ -0,0 +1,197 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.ciphers;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.ProviderException;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.crypto.KeyAgreement;
+
+import deathray.util.Threads;
+
+/**
+ * X25519 through the JDK's XDH implementation, with a pool of precomputed
+ * ephemeral key pairs.
+ * <p>
+ * Generating the ephemeral key pair is half the cost of the X25519 side of an
+ * encapsulation, and does not depend on the peer, so a background thread keeps
+ * a pool of them ready. Each pair is handed out exactly once: reusing an
+ * ephemeral key would link the handshakes that shared it. When the pool is
+ * empty the caller generates its own. Set system property
+ * "DeathRay.x25519PoolSize" to change the size of the pool, or to 0 to disable
+ * it.
+ * <p>
+ * XDH needs Java 11 or later; on older JVMs every method throws a
+ * {@link ProviderException}.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+final class X25519Keys {
+	/**
+	 * Number of ephemeral key pairs to keep ready
+	 */
+	static final int POOL_SIZE = Math.max(0, Integer.getInteger("DeathRay.x25519PoolSize", 64));
+	/**
+	 * Size of a raw X25519 public key or shared secret
+	 */
+	static final int KEY_SIZE = 32;
+
+	/**
+	 * The DER prefix of an X.509 encoded X25519 public key, before the raw key
+	 */
+	private static final byte[] X509_PREFIX = {
+		0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x6e, 0x03, 0x21, 0x00
+	};
+
+	private static final BlockingQueue<KeyPair> POOL = new ArrayBlockingQueue<>(Math.max(POOL_SIZE, 1));
+	private static final AtomicBoolean REFILLING = new AtomicBoolean();
+	private static final Executor REFILLER = Executors.newSingleThreadExecutor(
+			Threads.platformThreadFactory("deathray-x25519-", true));
+
+	private static final ThreadLocal<KeyPairGenerator> GENERATOR = ThreadLocal.withInitial(() -> instance(() -> KeyPairGenerator.getInstance("X25519")));
+	private static final ThreadLocal<KeyAgreement> AGREEMENT = ThreadLocal.withInitial(() -> instance(() -> KeyAgreement.getInstance("X25519")));
+	private static final ThreadLocal<KeyFactory> FACTORY = ThreadLocal.withInitial(() -> instance(() -> KeyFactory.getInstance("X25519")));
+
+	private X25519Keys() {}
+
+	/**
+	 * Take an ephemeral key pair that has never been handed out before
+	 * 
+	 * @return A fresh key pair, from the pool if one is ready
+	 */
+	static KeyPair ephemeral() {
+		if (POOL_SIZE == 0) {
+			return generate();
+		}
+		final KeyPair pair = POOL.poll();
+		if (POOL.size() <= POOL_SIZE / 2 && REFILLING.compareAndSet(false, true)) {
+			REFILLER.execute(X25519Keys::refill);
+		}
+		return pair != null ? pair : generate();
+	}
+
+	/**
+	 * @return Number of ephemeral key pairs ready
+	 */
+	static int getPooledCount() {
+		return POOL.size();
+	}
+
+	/**
+	 * Generate a key pair on the calling thread
+	 */
+	static KeyPair generate() {
+		return GENERATOR.get().generateKeyPair();
+	}
+
+	/**
+	 * Perform X25519
+	 * 
+	 * @param privateKey  Our private key
+	 * @param publicKey   The peer's public key
+	 * 
+	 * @return The 32 byte shared secret
+	 * 
+	 * @throws InvalidKeyException  If either key is unusable, or the peer's key has small order
+	 */
+	static byte[] agree(PrivateKey privateKey, PublicKey publicKey) throws InvalidKeyException {
+		final KeyAgreement agreement = AGREEMENT.get();
+		agreement.init(privateKey);
+		agreement.doPhase(publicKey, true);
+		return agreement.generateSecret();
+	}
+
+	/**
+	 * @param key  An X25519 public key
+	 * 
+	 * @return The 32 byte raw encoding of the key
+	 */
+	static byte[] raw(PublicKey key) {
+		final byte[] encoded = key.getEncoded();
+		final byte[] raw = new byte[KEY_SIZE];
+		System.arraycopy(encoded, encoded.length - KEY_SIZE, raw, 0, KEY_SIZE);
+		return raw;
+	}
+
+	/**
+	 * Decode a raw public key
+	 * 
+	 * @param raw     Buffer holding the key
+	 * @param offset  Offset of the 32 byte key in raw
+	 * 
+	 * @return The public key
+	 * 
+	 * @throws InvalidKeyException  If the key cannot be decoded
+	 */
+	static PublicKey decode(byte[] raw, int offset) throws InvalidKeyException {
+		final byte[] encoded = new byte[X509_PREFIX.length + KEY_SIZE];
+		System.arraycopy(X509_PREFIX, 0, encoded, 0, X509_PREFIX.length);
+		System.arraycopy(raw, offset, encoded, X509_PREFIX.length, KEY_SIZE);
+		try {
+			return FACTORY.get().generatePublic(new X509EncodedKeySpec(encoded));
+		} catch (GeneralSecurityException e) {
+			throw new InvalidKeyException("Invalid X25519 public key", e);
+		}
+	}
+
+	private static void refill() {
+		try {
+			while (POOL.size() < POOL_SIZE && POOL.offer(generate())) {
+				// Keep going until full
+			}
+		} finally {
+			REFILLING.set(false);
+		}
+	}
+
+	private interface Lookup<T> {
+		T get() throws GeneralSecurityException;
+	}
+
+	private static <T> T instance(Lookup<T> lookup) {
+		try {
+			return lookup.get();
+		} catch (GeneralSecurityException e) {
+			throw new ProviderException("X25519 needs Java 11 or later", e);
+		}
+	}
+}
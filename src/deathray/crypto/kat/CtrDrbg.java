@@ -0,0 +1,163 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.kat;
+
+import java.security.GeneralSecurityException;
+import java.security.ProviderException;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The AES-256 CTR_DRBG used to generate the NIST post-quantum Known Answer Tests.
+ * <p>
+ * This is the deterministic generator from the {@code rng.c} distributed with
+ * the NIST PQC submissions: SP 800-90A CTR_DRBG with AES-256, no derivation
+ * function, and no prediction resistance, seeded with 48 bytes. Seeding it with
+ * the "seed" of a KAT vector reproduces the randomness the reference
+ * implementation used for that vector, provided the implementation under test
+ * requests it in the same sized pieces, since every request ends with an update
+ * of the state.
+ * <p>
+ * This is for testing only. Its output is entirely determined by its seed.
+ * 
+ * @author Connor F
+ */
+public final class CtrDrbg extends SecureRandom {
+	private static final long serialVersionUID = 8311609727163015246L;
+
+	/**
+	 * Size of the seed, and of the key and counter together
+	 */
+	public static final int SEED_SIZE = 48;
+
+	/**
+	 * Create a generator
+	 * 
+	 * @param seed  48 bytes of seed material
+	 * 
+	 * @throws IllegalArgumentException  If the seed is not 48 bytes
+	 */
+	public CtrDrbg(byte[] seed) {
+		super(new Spi(seed), null);
+	}
+
+	/**
+	 * The generator's state and algorithm
+	 */
+	private static final class Spi extends SecureRandomSpi {
+		private static final long serialVersionUID = -3581726411019482395L;
+
+		private final byte[] key = new byte[32];
+		private final byte[] v = new byte[16];
+		private transient Cipher aes;
+
+		Spi(byte[] seed) {
+			if (seed.length != SEED_SIZE) {
+				throw new IllegalArgumentException("CTR_DRBG seed must be " + SEED_SIZE + " bytes");
+			}
+			update(seed);
+		}
+
+		/**
+		 * Reseeding would break the reproduction of the reference generator
+		 */
+		@Override
+		protected void engineSetSeed(byte[] seed) {
+			throw new UnsupportedOperationException("CTR_DRBG is only seeded when created");
+		}
+
+		@Override
+		protected void engineNextBytes(byte[] bytes) {
+			final byte[] block = new byte[16];
+			for(int offset = 0; offset < bytes.length; offset += block.length) {
+				increment();
+				encrypt(this.v, block);
+				System.arraycopy(block, 0, bytes, offset, Math.min(block.length, bytes.length - offset));
+			}
+			Arrays.fill(block, (byte) 0);
+			update(null);
+		}
+
+		@Override
+		protected byte[] engineGenerateSeed(int numBytes) {
+			final byte[] seed = new byte[numBytes];
+			engineNextBytes(seed);
+			return seed;
+		}
+
+		/**
+		 * CTR_DRBG_Update: derive a new key and counter from three blocks of
+		 * output, mixed with the provided data
+		 */
+		private void update(byte[] provided) {
+			final byte[] temp = new byte[SEED_SIZE];
+			final byte[] block = new byte[16];
+			for(int i = 0; i < 3; i++) {
+				increment();
+				encrypt(this.v, block);
+				System.arraycopy(block, 0, temp, 16 * i, 16);
+			}
+			if (provided != null) {
+				for(int i = 0; i < SEED_SIZE; i++) {
+					temp[i] ^= provided[i];
+				}
+			}
+			System.arraycopy(temp, 0, this.key, 0, this.key.length);
+			System.arraycopy(temp, this.key.length, this.v, 0, this.v.length);
+			Arrays.fill(temp, (byte) 0);
+			Arrays.fill(block, (byte) 0);
+		}
+
+		/**
+		 * Increment the counter as a big-endian integer
+		 */
+		private void increment() {
+			for(int j = this.v.length - 1; j >= 0; j--) {
+				if (++this.v[j] != 0) {
+					return;
+				}
+			}
+		}
+
+		private void encrypt(byte[] input, byte[] output) {
+			try {
+				if (this.aes == null) {
+					this.aes = Cipher.getInstance("AES/ECB/NoPadding");
+				}
+				this.aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(this.key, "AES"));
+				this.aes.doFinal(input, 0, 16, output, 0);
+			} catch (GeneralSecurityException e) {
+				throw new ProviderException("AES-256 failed", e);
+			}
+		}
+	}
+}
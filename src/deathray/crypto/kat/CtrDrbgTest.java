@@ -0,0 +1,78 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.kat;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class CtrDrbgTest {
+
+	@Test
+	public void testNistSeeds() {
+		// The PQC KAT generators seed with bytes 0..47, and draw 48 bytes per vector seed
+		byte[] entropy = new byte[CtrDrbg.SEED_SIZE];
+		for(int i = 0; i < entropy.length; i++) {
+			entropy[i] = (byte) i;
+		}
+		CtrDrbg drbg = new CtrDrbg(entropy);
+		byte[] seed = new byte[CtrDrbg.SEED_SIZE];
+		drbg.nextBytes(seed);
+		assertArrayEquals("Seed of vector 0", KatFileTest.hex(
+				"061550234D158C5EC95595FE04EF7A25767F2E24CC2BC479D09D86DC9ABCFDE7056A8C266F9EF97ED08541DBD2E1FFA1"), seed);
+		drbg.nextBytes(seed);
+		assertArrayEquals("Seed of vector 1", KatFileTest.hex(
+				"D81C4D8D734FCBFBEADE3D3F8A039FAA2A2C9957E835AD55B22E75BF57BB556AC81ADDE6AEEB4A5A875C3BFCADFA958F"), seed);
+	}
+
+	@Test
+	public void testRequestBoundaries() {
+		byte[] seed = new byte[CtrDrbg.SEED_SIZE];
+		byte[] whole = new byte[64];
+		new CtrDrbg(seed).nextBytes(whole);
+		CtrDrbg split = new CtrDrbg(seed);
+		byte[] first = new byte[32];
+		split.nextBytes(first);
+		byte[] prefix = new byte[32];
+		System.arraycopy(whole, 0, prefix, 0, 32);
+		assertArrayEquals("Requests start from the same block", prefix, first);
+		byte[] second = new byte[32];
+		split.nextBytes(second);
+		byte[] suffix = new byte[32];
+		System.arraycopy(whole, 32, suffix, 0, 32);
+		assertEquals("Every request ends with an update", false, java.util.Arrays.equals(suffix, second));
+		try {
+			split.setSeed(seed);
+			fail("Expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			assertEquals("Message", "CTR_DRBG is only seeded when created", e.getMessage());
+		}
+	}
+}
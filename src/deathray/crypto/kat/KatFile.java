@@ -0,0 +1,240 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.crypto.kat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A NIST Known Answer Test response file.
+ * <p>
+ * Response (.rsp) files are blocks of {@code name = value} lines separated by
+ * blank lines, one block per vector, with {@code #} comments and optional
+ * {@code [section]} headers. Values are usually hexadecimal. Each vector
+ * normally starts with a {@code count}; for the PQC KEM files the remaining
+ * fields are {@code seed}, {@code pk}, {@code sk}, {@code ct} and {@code ss}.
+ * <p>
+ * This class is immutable.
+ * 
+ * @author Connor F
+ */
+public final class KatFile {
+	private final String name;
+	private final List<String> comments;
+	private final List<Vector> vectors;
+
+	private KatFile(String name, List<String> comments, List<Vector> vectors) {
+		this.name = name;
+		this.comments = Collections.unmodifiableList(comments);
+		this.vectors = Collections.unmodifiableList(vectors);
+	}
+
+	/**
+	 * Read a response file
+	 * 
+	 * @param path  The file
+	 * 
+	 * @return The vectors in the file, named after it
+	 * 
+	 * @throws IOException  If the file cannot be read, or is malformed
+	 */
+	public static KatFile read(Path path) throws IOException {
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+			return parse(path.getFileName().toString(), reader);
+		}
+	}
+
+	/**
+	 * Parse a response file
+	 * 
+	 * @param name    Name to report the vectors under
+	 * @param source  The contents of the file
+	 * 
+	 * @return The vectors
+	 * 
+	 * @throws IOException  If the source cannot be read, or is malformed
+	 */
+	public static KatFile parse(String name, Reader source) throws IOException {
+		final BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+		final List<String> comments = new ArrayList<>();
+		final List<Vector> vectors = new ArrayList<>();
+		Map<String, String> fields = new LinkedHashMap<>();
+		String section = null;
+		int line = 0;
+		String text;
+		while ((text = reader.readLine()) != null) {
+			line++;
+			text = text.trim();
+			if (text.isEmpty() || text.startsWith("[")) {
+				if (!fields.isEmpty()) {
+					vectors.add(new Vector(section, fields));
+					fields = new LinkedHashMap<>();
+				}
+				if (text.startsWith("[")) {
+					section = text.substring(1, text.endsWith("]") ? text.length() - 1 : text.length()).trim();
+				}
+				continue;
+			}
+			if (text.startsWith("#")) {
+				if (vectors.isEmpty() && fields.isEmpty()) {
+					comments.add(text.substring(1).trim());
+				}
+				continue;
+			}
+			final int equals = text.indexOf('=');
+			if (equals < 0) {
+				throw new IOException(name + ":" + line + ": expected name = value");
+			}
+			final String key = text.substring(0, equals).trim();
+			if (fields.containsKey(key)) {
+				// A repeated name without a blank line starts a new vector
+				vectors.add(new Vector(section, fields));
+				fields = new LinkedHashMap<>();
+			}
+			fields.put(key, text.substring(equals + 1).trim());
+		}
+		if (!fields.isEmpty()) {
+			vectors.add(new Vector(section, fields));
+		}
+		return new KatFile(name, comments, vectors);
+	}
+
+	/**
+	 * @return The name of the file
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return The comments before the first vector, without their #, such as the
+	 *         name of the algorithm
+	 */
+	public List<String> getComments() {
+		return this.comments;
+	}
+
+	/**
+	 * @return The vectors, in file order
+	 */
+	public List<Vector> getVectors() {
+		return this.vectors;
+	}
+
+	/**
+	 * One vector of a response file
+	 */
+	public static final class Vector {
+		private final String section;
+		private final Map<String, String> fields;
+
+		private Vector(String section, Map<String, String> fields) {
+			this.section = section;
+			this.fields = Collections.unmodifiableMap(fields);
+		}
+
+		/**
+		 * @return The section header the vector appeared under, or null
+		 */
+		public String getSection() {
+			return this.section;
+		}
+
+		/**
+		 * @return The vector's count, or -1 if it has none
+		 */
+		public int getCount() {
+			final String count = this.fields.get("count");
+			return count == null ? -1 : Integer.parseInt(count);
+		}
+
+		/**
+		 * @param name  Name of a field
+		 * 
+		 * @return true if the vector has the field
+		 */
+		public boolean has(String name) {
+			return this.fields.containsKey(name);
+		}
+
+		/**
+		 * @param name  Name of a field
+		 * 
+		 * @return The field's value as written, or null if the vector does not have it
+		 */
+		public String get(String name) {
+			return this.fields.get(name);
+		}
+
+		/**
+		 * Decode a hexadecimal field
+		 * 
+		 * @param name  Name of the field
+		 * 
+		 * @return The decoded bytes
+		 * 
+		 * @throws IllegalArgumentException  If the vector does not have the field,
+		 *                                   or it is not hexadecimal
+		 */
+		public byte[] getBytes(String name) {
+			final String hex = this.fields.get(name);
+			if (hex == null) {
+				throw new IllegalArgumentException("KAT vector " + getCount() + " has no " + name);
+			}
+			if (hex.length() % 2 != 0) {
+				throw new IllegalArgumentException("KAT vector " + getCount() + " " + name + " has an odd number of digits");
+			}
+			final byte[] bytes = new byte[hex.length() / 2];
+			for(int i = 0; i < bytes.length; i++) {
+				final int high = Character.digit(hex.charAt(2 * i), 16);
+				final int low = Character.digit(hex.charAt(2 * i + 1), 16);
+				if (high < 0 || low < 0) {
+					throw new IllegalArgumentException("KAT vector " + getCount() + " " + name + " is not hexadecimal");
+				}
+				bytes[i] = (byte) (high << 4 | low);
+			}
+			return bytes;
+		}
+
+		/**
+		 * @return The fields, in file order
+		 */
+		public Map<String, String> getFields() {
+			return this.fields;
+		}
+	}
+}
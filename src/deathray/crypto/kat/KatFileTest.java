@@ -0,0 +1,78 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Remove the report tests with the replay harness
+ */
+package deathray.crypto.kat;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class KatFileTest {
+
+	private static final String RSP = "# ML-KEM-512\n"
+			+ "\n"
+			+ "count = 0\n"
+			+ "seed = 00ff\n"
+			+ "pk = 0102\n"
+			+ "\n"
+			+ "count = 1\n"
+			+ "seed = A0b1\n"
+			+ "pk = \n"
+			+ "count = 2\n"
+			+ "seed = 33\n";
+
+	@Test
+	public void testParse() throws Exception {
+		KatFile file = KatFile.parse("test.rsp", new StringReader(RSP));
+		assertEquals("Header comments are kept", "ML-KEM-512", file.getComments().get(0));
+		assertEquals("Blank lines and repeated names separate vectors", 3, file.getVectors().size());
+		KatFile.Vector v = file.getVectors().get(1);
+		assertEquals("Count", 1, v.getCount());
+		assertArrayEquals("Hex is case insensitive", new byte[] {(byte) 0xa0, (byte) 0xb1}, v.getBytes("seed"));
+		assertArrayEquals("Empty values are empty", new byte[0], v.getBytes("pk"));
+		assertEquals("Missing fields are absent", false, file.getVectors().get(2).has("pk"));
+		try {
+			file.getVectors().get(2).getBytes("pk");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Message", "KAT vector 2 has no pk", e.getMessage());
+		}
+	}
+
+	static byte[] hex(String s) {
+		byte[] b = new byte[s.length() / 2];
+		for(int i = 0; i < b.length; i++) {
+			b[i] = (byte) Integer.parseInt(s.substring(2 * i, 2 * i + 2), 16);
+		}
+		return b;
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Per-thread stage listeners with allocation accounting
+ * 2026, Connor F: Count operations per algorithm
+ * 2026, Connor F: Remove the stage listeners, which nothing gave stages to
+ */
+package deathray.crypto.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import deathray.util.LatencyHistogram;
+import deathray.util.MatrixMetrics;
+import deathray.util.Threads;
+
+/**
+ * Count and time KEM operations.
+ * <p>
+ * Implementations wrap each top-level operation in an {@link OperationTimer},
+ * and each stage of it in a {@link StageTimer}:
+ * 
+ * <pre>
+ * try (KemMetrics.OperationTimer op = KemMetrics.start("ML-KEM", KemOperation.ENCAPSULATE)) {
+ *     final KemMetrics.StageTimer stage = op.stage(KemStage.MATRIX_EXPANSION);
+ *     try {
+ *         ...
+ *     } finally {
+ *         stage.close();
+ *     }
+ *     ...
+ *     op.succeeded();
+ *     return result;
+ * }
+ * </pre>
+ * 
+ * Every operation is counted, and its latency recorded in a histogram, per
+ * algorithm and operation, which are exposed over JMX through
+ * {@link KemMetricsMXBean}. Operations and stages
+ * also emit the {@code deathray.KemOperation} and {@code deathray.KemStage}
+ * Flight Recorder events. The counters are a few uncontended atomic adds, and
+ * the events cost next to nothing unless a recording enables them, so this is
+ * intended to stay on in production.
+ * <p>
+ * The metrics are global to the JVM, and this class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class KemMetrics implements KemMetricsMXBean {
+	/**
+	 * The name the metrics are registered under with the platform MBean server
+	 */
+	public static final String OBJECT_NAME = "deathray.crypto:type=KemMetrics";
+
+	private static final KemMetrics INSTANCE = new KemMetrics();
+
+	/**
+	 * The counters for each algorithm and operation, by {@link #key(String, KemOperation)}
+	 */
+	private final ConcurrentMap<String, Counters> counters = new ConcurrentSkipListMap<>();
+
+	private KemMetrics() {}
+
+	/**
+	 * Get the metrics
+	 * 
+	 * @return The JVM-wide KEM metrics
+	 */
+	public static KemMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Start timing an operation
+	 * <p>
+	 * The returned timer must be closed when the operation finishes; the
+	 * operation is counted as an error unless {@link OperationTimer#succeeded()}
+	 * was called first.
+	 * 
+	 * @param algorithm  The KEM performing the operation, such as "ML-KEM"
+	 * @param operation  The operation being started
+	 * 
+	 * @return A timer for the operation
+	 */
+	public static OperationTimer start(String algorithm, KemOperation operation) {
+		return new OperationTimer(algorithm, operation);
+	}
+
+	/**
+	 * Get the bytes allocated by the calling thread so far
+	 * <p>
+	 * Tools can take the difference of two readings to measure the allocation
+	 * of the work in between. It is not available on virtual threads.
+	 * 
+	 * @return Bytes allocated, or -1 if the JVM cannot measure it
+	 */
+	public static long allocatedBytes() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean) || Threads.isVirtual(Thread.currentThread())) {
+			return -1;
+		}
+		return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Register the metrics with the platform MBean server
+	 * <p>
+	 * Does nothing if they are already registered.
+	 * 
+	 * @throws JMException  If the metrics could not be registered
+	 */
+	public static void register() throws JMException {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+		} catch (InstanceAlreadyExistsException e) {
+			// Another provider instance got there first
+		}
+	}
+
+	@Override
+	public Map<String, Long> getOperationCounts() {
+		final Map<String, Long> result = new LinkedHashMap<>();
+		for(Map.Entry<String, Counters> e : this.counters.entrySet()) {
+			result.put(e.getKey(), e.getValue().count.sum());
+		}
+		return result;
+	}
+
+	@Override
+	public Map<String, Long> getErrorCounts() {
+		final Map<String, Long> result = new LinkedHashMap<>();
+		for(Map.Entry<String, Counters> e : this.counters.entrySet()) {
+			result.put(e.getKey(), e.getValue().errors.sum());
+		}
+		return result;
+	}
+
+	@Override
+	public Map<String, LatencySummary> getLatencies() {
+		final Map<String, LatencySummary> result = new LinkedHashMap<>();
+		for(Map.Entry<String, Counters> e : this.counters.entrySet()) {
+			result.put(e.getKey(), new LatencySummary(e.getValue().latency));
+		}
+		return result;
+	}
+
+	@Override
+	public long getMatrixMultiplyCount() {
+		return MatrixMetrics.getMultiplyCount();
+	}
+
+	@Override
+	public long getMatrixMultiplyAccumulateCount() {
+		return MatrixMetrics.getMultiplyAccumulateCount();
+	}
+
+	@Override
+	public LatencySummary getMatrixMultiplyLatency() {
+		return new LatencySummary(MatrixMetrics.getMultiplyLatency());
+	}
+
+	@Override
+	public boolean isMatrixMetricsEnabled() {
+		return MatrixMetrics.isEnabled();
+	}
+
+	@Override
+	public void setMatrixMetricsEnabled(boolean enabled) {
+		MatrixMetrics.setEnabled(enabled);
+	}
+
+	@Override
+	public void reset() {
+		for(Counters c : this.counters.values()) {
+			c.count.reset();
+			c.errors.reset();
+			c.latency.reset();
+		}
+		MatrixMetrics.reset();
+	}
+
+	/**
+	 * Name an algorithm's operation, as the metrics maps do
+	 * 
+	 * @param algorithm  The KEM, such as "ML-KEM"
+	 * @param operation  The operation
+	 * 
+	 * @return The key for the operation, such as "ML-KEM ENCAPSULATE"
+	 */
+	public static String key(String algorithm, KemOperation operation) {
+		return algorithm + " " + operation.name();
+	}
+
+	private Counters counters(String algorithm, KemOperation operation) {
+		return this.counters.computeIfAbsent(key(algorithm, operation), k -> new Counters());
+	}
+
+	/**
+	 * The counters for one algorithm's operation
+	 */
+	private static final class Counters {
+		final LongAdder count = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		final LatencyHistogram latency = new LatencyHistogram();
+
+		void record(long nanos, boolean succeeded) {
+			this.count.increment();
+			if (!succeeded) {
+				this.errors.increment();
+			}
+			this.latency.record(nanos);
+		}
+	}
+
+	/**
+	 * Times one KEM operation; see {@link KemMetrics#start(String, KemOperation)}.
+	 * <p>
+	 * Not thread-safe; a timer belongs to the thread performing the operation.
+	 */
+	public static final class OperationTimer implements AutoCloseable {
+		private final String algorithm;
+		private final KemOperation operation;
+		private final Counters counters;
+		private final KemOperationEvent event;
+		private final long start;
+		private boolean succeeded;
+
+		private OperationTimer(String algorithm, KemOperation operation) {
+			this.algorithm = algorithm;
+			this.operation = operation;
+			this.counters = INSTANCE.counters(algorithm, operation);
+			this.event = new KemOperationEvent();
+			this.event.begin();
+			this.start = System.nanoTime();
+		}
+
+		/**
+		 * Start timing a stage of this operation
+		 * 
+		 * @param stage  The stage being started
+		 * 
+		 * @return A timer for the stage, which must be closed when it finishes
+		 */
+		public StageTimer stage(KemStage stage) {
+			return new StageTimer(this.algorithm, this.operation, stage);
+		}
+
+		/**
+		 * Mark this operation as successful
+		 */
+		public void succeeded() {
+			this.succeeded = true;
+		}
+
+		/**
+		 * Record this operation
+		 */
+		@Override
+		public void close() {
+			this.counters.record(System.nanoTime() - this.start, this.succeeded);
+			this.event.end();
+			if (this.event.shouldCommit()) {
+				this.event.algorithm = this.algorithm;
+				this.event.operation = this.operation.name();
+				this.event.succeeded = this.succeeded;
+				this.event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Times one stage of a KEM operation; see {@link OperationTimer#stage(KemStage)}.
+	 * <p>
+	 * Stages are recorded as Flight Recorder events.
+	 */
+	public static final class StageTimer implements AutoCloseable {
+		private final String algorithm;
+		private final KemOperation operation;
+		private final KemStage stage;
+		private final KemStageEvent event;
+
+		private StageTimer(String algorithm, KemOperation operation, KemStage stage) {
+			this.algorithm = algorithm;
+			this.operation = operation;
+			this.stage = stage;
+			this.event = new KemStageEvent();
+			this.event.begin();
+		}
+
+		/**
+		 * Record this stage
+		 */
+		@Override
+		public void close() {
+			this.event.end();
+			if (this.event.shouldCommit()) {
+				this.event.algorithm = this.algorithm;
+				this.event.operation = this.operation.name();
+				this.event.stage = this.stage.name();
+				this.event.commit();
+			}
+		}
+	}
+}
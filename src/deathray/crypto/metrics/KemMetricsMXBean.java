@@ -0,0 +1,92 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Key the metrics by algorithm as well as operation
+ */
+package deathray.crypto.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the DeathRay KEM metrics.
+ * <p>
+ * Registered by {@link deathray.crypto.DeathRayCryptoProvider} under
+ * {@value KemMetrics#OBJECT_NAME}. Maps are keyed by algorithm and
+ * {@link KemOperation} name, such as "ML-KEM ENCAPSULATE" (see
+ * {@link KemMetrics#key(String, KemOperation)}), and have an entry for each
+ * operation performed since the JVM started. Latencies are in nanoseconds.
+ * 
+ * @author Connor F
+ */
+public interface KemMetricsMXBean {
+	/**
+	 * @return Number of operations completed, successfully or not, by
+	 *         algorithm and operation
+	 */
+	Map<String, Long> getOperationCounts();
+
+	/**
+	 * @return Number of operations that failed, by algorithm and operation
+	 */
+	Map<String, Long> getErrorCounts();
+
+	/**
+	 * @return Latency distribution of each operation
+	 */
+	Map<String, LatencySummary> getLatencies();
+
+	/**
+	 * @return Number of matrix multiplications, if matrix metrics are enabled
+	 */
+	long getMatrixMultiplyCount();
+
+	/**
+	 * @return Number of element multiply-accumulates in matrix multiplications,
+	 *         if matrix metrics are enabled
+	 */
+	long getMatrixMultiplyAccumulateCount();
+
+	/**
+	 * @return Latency distribution of matrix multiplications, if matrix
+	 *         metrics are enabled
+	 */
+	LatencySummary getMatrixMultiplyLatency();
+
+	/**
+	 * @return true if matrix operations are being counted
+	 */
+	boolean isMatrixMetricsEnabled();
+
+	/**
+	 * @param enabled  true to count matrix operations
+	 */
+	void setMatrixMetricsEnabled(boolean enabled);
+
+	/**
+	 * Reset every counter and histogram to zero
+	 */
+	void reset();
+}
@@ -0,0 +1,70 @@
+package deathray.crypto.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import javax.crypto.Cipher;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.MlKemPrivateKey;
+import deathray.crypto.MlKemPublicKey;
+
+public class KemMetricsTest {
+
+	@BeforeClass
+	public static void noPatch() {
+		// The provider's signing patch needs reflective access newer JVMs refuse,
+		// and OpenJDK does not need it
+		System.setProperty("DeathRay.noPatchJvm", "true");
+	}
+
+	@Test
+	public void testTimer() {
+		KemMetrics metrics = KemMetrics.getInstance();
+		String key = KemMetrics.key("Test-KEM", KemOperation.KEYGEN);
+		assertEquals("Key names the algorithm and operation", "Test-KEM KEYGEN", key);
+		long count = get(metrics.getOperationCounts(), key);
+		long errors = get(metrics.getErrorCounts(), key);
+		try (KemMetrics.OperationTimer op = KemMetrics.start("Test-KEM", KemOperation.KEYGEN)) {
+			op.stage(KemStage.SAMPLING).close();
+			op.succeeded();
+		}
+		KemMetrics.start("Test-KEM", KemOperation.KEYGEN).close();
+		assertEquals("Both operations are counted", count + 2, get(metrics.getOperationCounts(), key));
+		assertEquals("Only the unfinished operation is an error", errors + 1, get(metrics.getErrorCounts(), key));
+		assertTrue("Latencies are recorded", metrics.getLatencies().get(key).getCount() >= 2);
+	}
+
+	@Test
+	public void testMlKemWithoutOutputIsAnError() throws Exception {
+		KemMetrics metrics = KemMetrics.getInstance();
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_512;
+		String encaps = KemMetrics.key(DeathRayKem.ML_KEM, KemOperation.ENCAPSULATE);
+		String decaps = KemMetrics.key(DeathRayKem.ML_KEM, KemOperation.DECAPSULATE);
+		long encapsCount = get(metrics.getOperationCounts(), encaps);
+		long encapsErrors = get(metrics.getErrorCounts(), encaps);
+		long decapsErrors = get(metrics.getErrorCounts(), decaps);
+
+		Cipher cipher = DeathRayKem.newMlKem();
+		cipher.init(Cipher.ENCRYPT_MODE, MlKemPublicKey.wrap(new byte[params.getEncapsulationKeySize()], params));
+		assertNull("ML-KEM has no output yet", cipher.doFinal());
+		cipher.init(Cipher.DECRYPT_MODE, MlKemPrivateKey.wrap(new byte[params.getDecapsulationKeySize()], params));
+		assertNull("ML-KEM has no output yet", cipher.doFinal(new byte[params.getCiphertextSize()]));
+
+		assertEquals("Encapsulation is counted", encapsCount + 1, get(metrics.getOperationCounts(), encaps));
+		assertEquals("Encapsulation without output is an error", encapsErrors + 1, get(metrics.getErrorCounts(), encaps));
+		assertEquals("Decapsulation without output is an error", decapsErrors + 1, get(metrics.getErrorCounts(), decaps));
+	}
+
+	private static long get(Map<String, Long> counts, String key) {
+		Long value = counts.get(key);
+		return value == null ? 0 : value;
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Add the key agreement of hybrid KEMs
+ */
+package deathray.crypto.metrics;
+
+/**
+ * The stages a module-lattice KEM operation spends its time in.
+ * 
+ * @author Connor F
+ */
+public enum KemStage {
+	/**
+	 * Expanding the public matrix A from its seed
+	 */
+	MATRIX_EXPANSION,
+	/**
+	 * Sampling secret and error polynomials from the centred binomial distribution
+	 */
+	SAMPLING,
+	/**
+	 * Forward and inverse Number Theoretic Transforms
+	 */
+	NTT,
+	/**
+	 * Compressing, decompressing, encoding and decoding polynomials
+	 */
+	COMPRESSION,
+	/**
+	 * The hash functions and extendable-output functions (G, H, J, PRF), and
+	 * the key derivation that combines a hybrid KEM's secrets
+	 */
+	HASHING,
+	/**
+	 * The classical key agreement of a hybrid KEM, such as X25519
+	 */
+	KEY_AGREEMENT
+}
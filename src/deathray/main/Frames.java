@@ -0,0 +1,121 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.main;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Length-prefixed framing for the handshake demo.
+ * <p>
+ * A frame is a four byte big-endian length, followed by that many bytes of
+ * payload. Callers supply a direct buffer large enough for their biggest frame
+ * and reuse it, so no buffers are allocated per frame.
+ * 
+ * @author Connor F
+ */
+final class Frames {
+	/**
+	 * Largest payload we accept, comfortably above any ML-KEM key or ciphertext
+	 */
+	static final int MAX_PAYLOAD = 4096;
+	/**
+	 * Size of the buffer needed for the largest frame
+	 */
+	static final int BUFFER_SIZE = Integer.BYTES + MAX_PAYLOAD;
+
+	private Frames() {}
+
+	/**
+	 * Write one frame
+	 * 
+	 * @param channel  Channel to write to
+	 * @param buffer   Scratch buffer of at least {@link #BUFFER_SIZE} bytes
+	 * @param payload  Bytes to send
+	 * 
+	 * @throws IOException If the write fails
+	 */
+	static void write(WritableByteChannel channel, ByteBuffer buffer, byte[] payload) throws IOException {
+		if (payload.length > MAX_PAYLOAD) {
+			throw new IOException("Frame of " + payload.length + " bytes is too large");
+		}
+		buffer.clear();
+		buffer.putInt(payload.length).put(payload).flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Read one frame
+	 * 
+	 * @param channel  Channel to read from
+	 * @param buffer   Scratch buffer of at least {@link #BUFFER_SIZE} bytes
+	 * 
+	 * @return The payload, or null if the channel was closed cleanly between frames
+	 * 
+	 * @throws IOException If the read fails, the channel closes part way through a
+	 *         frame, or the frame is too large
+	 */
+	static byte[] read(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.clear().limit(Integer.BYTES);
+		if (!fill(channel, buffer, true)) {
+			return null;
+		}
+		final int length = buffer.getInt(0);
+		if (length < 0 || length > MAX_PAYLOAD) {
+			throw new IOException("Frame of " + length + " bytes is too large");
+		}
+		buffer.clear().limit(length);
+		fill(channel, buffer, false);
+		buffer.flip();
+		final byte[] payload = new byte[length];
+		buffer.get(payload);
+		return payload;
+	}
+
+	/**
+	 * Read until the buffer is full
+	 * 
+	 * @return false if the channel closed before anything was read and that is allowed
+	 */
+	private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer, boolean eofAllowed) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				if (eofAllowed && buffer.position() == 0) {
+					return false;
+				}
+				throw new EOFException("Connection closed part way through a frame");
+			}
+		}
+		return true;
+	}
+}
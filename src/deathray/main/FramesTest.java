@@ -0,0 +1,149 @@
+package deathray.main;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class FramesTest {
+
+	@Test
+	public void testPipeRoundTrip() throws IOException {
+		Pipe pipe = Pipe.open();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		byte[] first = payload(1088);
+		byte[] largest = payload(Frames.MAX_PAYLOAD);
+		try (Pipe.SinkChannel sink = pipe.sink()) {
+			Frames.write(sink, buffer, first);
+			Frames.write(sink, buffer, new byte[0]);
+			Frames.write(sink, buffer, largest);
+		}
+		try (Pipe.SourceChannel source = pipe.source()) {
+			assertArrayEquals("First frame should round trip", first, Frames.read(source, buffer));
+			assertArrayEquals("Empty frame should round trip", new byte[0], Frames.read(source, buffer));
+			assertArrayEquals("Largest frame should round trip", largest, Frames.read(source, buffer));
+			assertNull("Clean close between frames should read as null", Frames.read(source, buffer));
+		}
+	}
+
+	@Test
+	public void testPartialReadsAndWrites() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		Trickle channel = new Trickle();
+		byte[] first = payload(800);
+		byte[] second = payload(33);
+		Frames.write(channel, buffer, first);
+		Frames.write(channel, buffer, second);
+		assertEquals("Every byte should be written one at a time", 2 * Integer.BYTES + 833, channel.writes);
+		assertArrayEquals("First frame should survive partial reads", first, Frames.read(channel, buffer));
+		assertArrayEquals("Second frame should survive partial reads", second, Frames.read(channel, buffer));
+		assertNull("End of input between frames should read as null", Frames.read(channel, buffer));
+	}
+
+	@Test
+	public void testTruncated() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		Trickle channel = new Trickle();
+		Frames.write(channel, buffer, payload(100));
+		channel.truncate(Integer.BYTES + 50);
+		try {
+			Frames.read(channel, buffer);
+			fail("Should throw exception");
+		} catch(EOFException e) {
+			assertEquals("Message should describe error", "Connection closed part way through a frame", e.getMessage());
+		}
+		channel = new Trickle();
+		Frames.write(channel, buffer, payload(100));
+		channel.truncate(2);
+		try {
+			Frames.read(channel, buffer);
+			fail("Should throw exception");
+		} catch(EOFException e) {
+			assertEquals("Message should describe error", "Connection closed part way through a frame", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testTooLarge() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		try {
+			Frames.write(new Trickle(), buffer, new byte[Frames.MAX_PAYLOAD + 1]);
+			fail("Should throw exception");
+		} catch(IOException e) {
+			assertEquals("Message should describe error", "Frame of 4097 bytes is too large", e.getMessage());
+		}
+		Trickle channel = new Trickle();
+		channel.output.write(new byte[] { 0x7F, 0, 0, 0 });
+		try {
+			Frames.read(channel, buffer);
+			fail("Should throw exception");
+		} catch(IOException e) {
+			assertEquals("Message should describe error", "Frame of 2130706432 bytes is too large", e.getMessage());
+		}
+	}
+
+	private static byte[] payload(int length) {
+		byte[] payload = new byte[length];
+		for(int i = 0; i < length; i++) {
+			payload[i] = (byte) (i * 31 + 7);
+		}
+		return payload;
+	}
+
+	/**
+	 * An in-memory channel that moves at most one byte per read or write, as a
+	 * slow socket might
+	 */
+	private static final class Trickle implements ReadableByteChannel, WritableByteChannel {
+		private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		private byte[] input;
+		private int position;
+		private int writes;
+
+		/**
+		 * Keep only the first bytes written
+		 */
+		void truncate(int length) {
+			this.input = Arrays.copyOf(this.output.toByteArray(), length);
+		}
+
+		@Override
+		public int write(ByteBuffer src) {
+			if (!src.hasRemaining()) {
+				return 0;
+			}
+			this.output.write(src.get());
+			this.writes++;
+			return 1;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) {
+			if (this.input == null) {
+				this.input = this.output.toByteArray();
+			}
+			if (this.position == this.input.length) {
+				return -1;
+			}
+			dst.put(this.input[this.position++]);
+			return 1;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Close the connection when ML-KEM gives no ciphertext
+ * 2026, Connor F: Wrap the request key as an MlKemPublicKey
+ */
+package deathray.main;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.security.ProviderException;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.crypto.Cipher;
+
+import deathray.crypto.DeathRayCryptoProvider;
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.MlKemPublicKey;
+import deathray.util.Threads;
+
+/**
+ * The server half of the ML-KEM handshake demo.
+ * <p>
+ * Clients connect over TCP and send any number of handshake requests, each
+ * framed as described in {@link Frames}. A request is one byte selecting the
+ * parameter set (0 for ML-KEM-512, 1 for ML-KEM-768, 2 for ML-KEM-1024)
+ * followed by the client's encoded encapsulation key. The server encapsulates
+ * against the key and replies with the ciphertext, keeping the shared secret.
+ * The key is wrapped as an {@link MlKemPublicKey} where it lies in the request,
+ * without copying. A request whose key is the wrong size for its parameter set
+ * closes the connection, as does an encapsulation that fails.
+ * <p>
+ * Every connection is served by its own thread, which is a virtual thread when
+ * the JVM supports them, so many thousands of concurrent connections are
+ * cheap. Each connection reuses one direct buffer and one cipher for its whole
+ * life.
+ * <p>
+ * Usage: {@code HandshakeServer [port]}
+ * 
+ * @author Connor F
+ * @see LoopbackHandshake
+ */
+public final class HandshakeServer implements AutoCloseable {
+	/**
+	 * The parameter sets, indexed by the request's first byte
+	 */
+	static final MlKemParameterSpec[] PARAMETER_SETS = new MlKemParameterSpec[] {
+		MlKemParameterSpec.ML_KEM_512, MlKemParameterSpec.ML_KEM_768, MlKemParameterSpec.ML_KEM_1024
+	};
+
+	private static final Logger LOG = Logger.getLogger("deathray.handshake");
+
+	private final ServerSocketChannel server;
+	private final ThreadFactory connections;
+	private final Thread acceptor;
+
+	/**
+	 * Create a server listening on the specified address
+	 * <p>
+	 * The server does not accept connections until {@link #start()} is called.
+	 * 
+	 * @param address  Address to listen on; use port 0 to pick any free port
+	 * 
+	 * @throws IOException If the address can't be bound
+	 */
+	public HandshakeServer(InetSocketAddress address) throws IOException {
+		this.server = ServerSocketChannel.open();
+		this.server.bind(address, 1024);
+		this.connections = Threads.isVirtualSupported() ? Threads.virtualThreadFactory("handshake-")
+				: Threads.platformThreadFactory("handshake-", true);
+		this.acceptor = Threads.platformThreadFactory("handshake-acceptor-", true).newThread(this::accept);
+	}
+
+	/**
+	 * Start accepting connections
+	 */
+	public void start() {
+		this.acceptor.start();
+	}
+
+	/**
+	 * @return The port the server is listening on
+	 * 
+	 * @throws IOException If the port can't be determined
+	 */
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) this.server.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Stop accepting connections
+	 * <p>
+	 * Connections already open are served until their clients close them.
+	 * 
+	 * @throws IOException If the listening socket can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.server.close();
+	}
+
+	private void accept() {
+		try {
+			while (true) {
+				final SocketChannel channel = this.server.accept();
+				this.connections.newThread(() -> serve(channel)).start();
+			}
+		} catch (ClosedChannelException e) {
+			// Closed by close()
+		} catch (IOException e) {
+			LOG.log(Level.WARNING, "Handshake server stopped accepting connections", e);
+		}
+	}
+
+	private void serve(SocketChannel channel) {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		final Cipher cipher = DeathRayKem.newMlKem();
+		try (SocketChannel c = channel) {
+			c.socket().setTcpNoDelay(true);
+			byte[] request;
+			while ((request = Frames.read(c, buffer)) != null) {
+				if (request.length < 2 || request[0] < 0 || request[0] >= PARAMETER_SETS.length) {
+					throw new IOException("Malformed handshake request");
+				}
+				final MlKemParameterSpec params = PARAMETER_SETS[request[0]];
+				final MlKemPublicKey key = MlKemPublicKey.wrap(ByteBuffer.wrap(request, 1, request.length - 1), params);
+				cipher.init(Cipher.ENCRYPT_MODE, key, params);
+				final byte[] output = cipher.doFinal();
+				if (output == null || output.length < params.getCiphertextSize() + MlKemParameterSpec.SHARED_SECRET_SIZE) {
+					throw new ProviderException(DeathRayKem.ML_KEM + " produced no ciphertext");
+				}
+				Frames.write(c, buffer, Arrays.copyOf(output, params.getCiphertextSize()));
+			}
+		} catch (IOException | GeneralSecurityException e) {
+			LOG.log(Level.FINE, "Handshake connection failed", e);
+		} catch (ProviderException e) {
+			LOG.log(Level.WARNING, "Handshake server cannot encapsulate", e);
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Security.addProvider(new DeathRayCryptoProvider());
+		final int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+		try (HandshakeServer server = new HandshakeServer(new InetSocketAddress(port))) {
+			server.start();
+			System.out.println("Listening on port " + server.getPort());
+			server.acceptor.join();
+		}
+	}
+}
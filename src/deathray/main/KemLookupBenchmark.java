@@ -0,0 +1,113 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Also time wrapping the implementation directly
+ */
+package deathray.main;
+
+import java.security.GeneralSecurityException;
+import java.security.Security;
+
+import javax.crypto.Cipher;
+
+import deathray.crypto.DeathRayCryptoProvider;
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.ciphers.CrystalsKhyberCipher;
+
+/**
+ * Compare the cost of obtaining an ML-KEM cipher through each path.
+ * <p>
+ * Times {@link Cipher#getInstance(String, String)} against the
+ * {@link DeathRayKem} factory methods, and against wrapping a
+ * {@link CrystalsKhyberCipher} in a {@link Cipher} directly, which the factory
+ * deliberately does not do. Each path is warmed up before being
+ * measured, so that the JIT has compiled it. This is a rough benchmark, not a
+ * replacement for JMH; run it several times and look at the trend.
+ * <p>
+ * Usage: {@code KemLookupBenchmark [iterations]}
+ * 
+ * @author Connor F
+ */
+public class KemLookupBenchmark {
+	private static final int DEFAULT_ITERATIONS = 1_000_000;
+
+	/**
+	 * Something for the benchmarked code to write to, so it is not optimised away.
+	 */
+	private static volatile Object sink;
+
+	public KemLookupBenchmark() {}
+
+	public static void main(String[] args) throws GeneralSecurityException {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+		Security.addProvider(new DeathRayCryptoProvider());
+
+		final Path[] paths = new Path[] {
+			() -> Cipher.getInstance(DeathRayKem.ML_KEM, "DR"),
+			DeathRayKem::newMlKem,
+			DeathRayKem::threadLocalMlKem,
+			DirectCipher::new
+		};
+		final String[] names = new String[] {
+			"Cipher.getInstance",
+			"DeathRayKem.newMlKem",
+			"DeathRayKem.threadLocalMlKem",
+			"new Cipher(CipherSpi)"
+		};
+		for(int i = 0; i < paths.length; i++) {
+			run(paths[i], iterations);
+		}
+		for(int i = 0; i < paths.length; i++) {
+			final long nanos = run(paths[i], iterations);
+			System.out.println(String.format("%-30s %10.1f ns/op", names[i], (double) nanos / iterations));
+		}
+	}
+
+	private static long run(Path path, int iterations) throws GeneralSecurityException {
+		final long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++) {
+			sink = path.get();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * A cipher built around the implementation without any lookup
+	 */
+	private static final class DirectCipher extends Cipher {
+		DirectCipher() {
+			super(new CrystalsKhyberCipher(), DeathRayKem.getProvider(), DeathRayKem.ML_KEM);
+		}
+	}
+
+	/**
+	 * One way of obtaining a cipher
+	 */
+	@FunctionalInterface
+	private interface Path {
+		Cipher get() throws GeneralSecurityException;
+	}
+}
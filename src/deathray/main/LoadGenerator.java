@@ -0,0 +1,382 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Fail when the cipher gives no output
+ * 2026, Connor F: Use well-formed stand-in keys, and check the mode can run
+ */
+package deathray.main;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProviderException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Cipher;
+
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.metrics.KemMetrics;
+import deathray.util.LatencyHistogram;
+import deathray.util.Threads;
+
+/**
+ * Drive the ML-KEM implementation from many threads and measure it.
+ * <p>
+ * Each worker thread repeats the selected operation until the run ends,
+ * recording the latency of every operation. The first part of the run is a
+ * warm-up, which is not recorded, so that the JIT has compiled the hot paths.
+ * The results give the throughput, the latency percentiles, and (where the JVM
+ * can measure it) the bytes allocated per operation.
+ * <p>
+ * Operations go through the DeathRay ML-KEM {@link Cipher}, obtained from
+ * {@link DeathRayKem} so that the JCA lookup is not part of the measurement.
+ * Key pairs come from the provider's ML-KEM {@link KeyPairGenerator}; if the
+ * provider does not offer one yet, the encapsulation-only and
+ * decapsulation-only modes use {@link StandInKeys}.
+ * <p>
+ * Call {@link #check()} first to find out whether the provider can perform the
+ * mode at all. It cannot yet: the provider has no key pair generator, and its
+ * ML-KEM cipher produces no output.
+ * 
+ * @author Connor F
+ */
+public final class LoadGenerator {
+	/**
+	 * The operation each worker repeats
+	 */
+	public enum Mode {
+		/**
+		 * Generate a key pair
+		 */
+		KEYGEN,
+		/**
+		 * Encapsulate against a fixed encapsulation key
+		 */
+		ENCAPS,
+		/**
+		 * Decapsulate a fixed ciphertext
+		 */
+		DECAPS,
+		/**
+		 * Generate a key pair, encapsulate against it, and decapsulate the result
+		 */
+		HANDSHAKE
+	}
+
+	private final Mode mode;
+	private final MlKemParameterSpec parameters;
+	private final int threads;
+	private final boolean virtual;
+	private final long warmupNanos;
+	private final long durationNanos;
+
+	/**
+	 * Create a new load generator
+	 * 
+	 * @param mode           The operation to repeat
+	 * @param parameters     The ML-KEM parameter set to use
+	 * @param threads        Number of worker threads
+	 * @param virtual        true to use virtual threads rather than platform threads
+	 * @param warmupMillis   Length of the unrecorded warm-up, in milliseconds
+	 * @param durationMillis Length of the recorded run, in milliseconds
+	 * 
+	 * @throws IllegalArgumentException If threads is less than 1, or either time is negative
+	 */
+	public LoadGenerator(Mode mode, MlKemParameterSpec parameters, int threads, boolean virtual,
+			long warmupMillis, long durationMillis) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Cannot run with <1 threads");
+		}
+		if (warmupMillis < 0 || durationMillis < 0) {
+			throw new IllegalArgumentException("Cannot run for a negative time");
+		}
+		this.mode = mode;
+		this.parameters = parameters;
+		this.threads = threads;
+		this.virtual = virtual;
+		this.warmupNanos = TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+		this.durationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+	}
+
+	/**
+	 * Check that the provider can perform this load test's mode
+	 * <p>
+	 * Sets up the keys and performs one operation, on the calling thread, so
+	 * that a mode the provider cannot run is reported before any workers start.
+	 * 
+	 * @return null if the mode can run, or why it cannot
+	 */
+	public String check() {
+		try {
+			operation(new Fixture(), DeathRayKem.newMlKem());
+			return null;
+		} catch (GeneralSecurityException | ProviderException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * Run the load test
+	 * <p>
+	 * Blocks until the warm-up and the run have finished on every thread.
+	 * 
+	 * @return The measurements from the run
+	 * 
+	 * @throws GeneralSecurityException If setting up the keys fails, or any
+	 *         operation fails during the run
+	 * @throws InterruptedException If interrupted while waiting for the workers
+	 */
+	public Result run() throws GeneralSecurityException, InterruptedException {
+		final Fixture fixture = new Fixture();
+		final ThreadFactory factory = this.virtual ? Threads.virtualThreadFactory("load-")
+				: Threads.platformThreadFactory("load-", true);
+		final LatencyHistogram histogram = new LatencyHistogram();
+		final LongAdder allocated = new LongAdder();
+		final AtomicBoolean allocationUnknown = new AtomicBoolean();
+		final AtomicReference<Exception> failure = new AtomicReference<>();
+		final CountDownLatch done = new CountDownLatch(this.threads);
+
+		final long start = System.nanoTime();
+		final long measureFrom = start + this.warmupNanos;
+		final long measureTo = measureFrom + this.durationNanos;
+		final List<Thread> workers = new ArrayList<>(this.threads);
+		for(int i = 0; i < this.threads; i++) {
+			workers.add(factory.newThread(() -> {
+				try {
+					final LatencyHistogram local = new LatencyHistogram();
+					final long bytes = work(fixture, measureFrom, measureTo, local, failure);
+					histogram.add(local);
+					if (bytes < 0) {
+						allocationUnknown.set(true);
+					} else {
+						allocated.add(bytes);
+					}
+				} catch (Exception e) {
+					failure.compareAndSet(null, e);
+				} finally {
+					done.countDown();
+				}
+			}));
+		}
+		for(Thread t : workers) {
+			t.start();
+		}
+		done.await();
+		if (failure.get() != null) {
+			throw new GeneralSecurityException(this.mode + " failed during load test", failure.get());
+		}
+		return new Result(histogram, this.durationNanos, allocationUnknown.get() ? -1 : allocated.sum());
+	}
+
+	/**
+	 * The loop each worker runs
+	 * 
+	 * @return Bytes allocated while measuring, or -1 if the JVM can't tell us
+	 */
+	private long work(Fixture fixture, long measureFrom, long measureTo, LatencyHistogram histogram,
+			AtomicReference<Exception> failure) throws GeneralSecurityException {
+		final Cipher cipher = DeathRayKem.newMlKem();
+		long now = System.nanoTime();
+		while (now < measureFrom && failure.get() == null) {
+			operation(fixture, cipher);
+			now = System.nanoTime();
+		}
+		final long allocatedBefore = KemMetrics.allocatedBytes();
+		while (now < measureTo && failure.get() == null) {
+			operation(fixture, cipher);
+			final long end = System.nanoTime();
+			histogram.record(end - now);
+			now = end;
+		}
+		final long allocatedAfter = KemMetrics.allocatedBytes();
+		return allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+	}
+
+	private void operation(Fixture fixture, Cipher cipher) throws GeneralSecurityException {
+		switch (this.mode) {
+		case KEYGEN:
+			fixture.generator().generateKeyPair();
+			break;
+		case ENCAPS:
+			encapsulate(cipher, fixture.encapsulationKey);
+			break;
+		case DECAPS:
+			decapsulate(cipher, fixture.decapsulationKey, fixture.ciphertext);
+			break;
+		case HANDSHAKE:
+			final KeyPair pair = fixture.generator().generateKeyPair();
+			final byte[] ciphertext = encapsulate(cipher, pair.getPublic());
+			decapsulate(cipher, pair.getPrivate(), ciphertext);
+			break;
+		}
+	}
+
+	private byte[] encapsulate(Cipher cipher, Key key) throws GeneralSecurityException {
+		cipher.init(Cipher.ENCRYPT_MODE, key, this.parameters);
+		final byte[] output = cipher.doFinal();
+		final int ciphertextSize = this.parameters.getCiphertextSize();
+		if (output == null || output.length < ciphertextSize + MlKemParameterSpec.SHARED_SECRET_SIZE) {
+			throw new ProviderException(DeathRayKem.ML_KEM + " produced no ciphertext");
+		}
+		return Arrays.copyOf(output, ciphertextSize);
+	}
+
+	private byte[] decapsulate(Cipher cipher, Key key, byte[] ciphertext) throws GeneralSecurityException {
+		cipher.init(Cipher.DECRYPT_MODE, key, this.parameters);
+		final byte[] output = cipher.doFinal(ciphertext);
+		if (output == null || output.length < MlKemParameterSpec.SHARED_SECRET_SIZE) {
+			throw new ProviderException(DeathRayKem.ML_KEM + " produced no shared secret");
+		}
+		return output;
+	}
+
+	/**
+	 * The keys and ciphertext shared by all workers
+	 */
+	private final class Fixture {
+		private final Key encapsulationKey;
+		private final Key decapsulationKey;
+		private final byte[] ciphertext;
+		private final ThreadLocal<KeyPairGenerator> generators;
+
+		private Fixture() throws GeneralSecurityException {
+			final SecureRandom random = new SecureRandom();
+			KeyPairGenerator generator;
+			try {
+				generator = newGenerator(random);
+			} catch (NoSuchAlgorithmException e) {
+				generator = null;
+			}
+			if (generator == null && (mode == Mode.KEYGEN || mode == Mode.HANDSHAKE)) {
+				throw new NoSuchAlgorithmException("DeathRay provider has no ML-KEM key pair generator");
+			}
+			if (generator != null) {
+				final KeyPair pair = generator.generateKeyPair();
+				this.encapsulationKey = pair.getPublic();
+				this.decapsulationKey = pair.getPrivate();
+			} else {
+				final KeyPair pair = StandInKeys.standIn(parameters, random);
+				this.encapsulationKey = pair.getPublic();
+				this.decapsulationKey = pair.getPrivate();
+			}
+			this.ciphertext = encapsulate(DeathRayKem.newMlKem(), this.encapsulationKey);
+			this.generators = ThreadLocal.withInitial(() -> {
+				try {
+					return newGenerator(new SecureRandom());
+				} catch (GeneralSecurityException e) {
+					throw new IllegalStateException("Can't create ML-KEM key pair generator", e);
+				}
+			});
+		}
+
+		private KeyPairGenerator newGenerator(SecureRandom random) throws GeneralSecurityException {
+			final KeyPairGenerator g = KeyPairGenerator.getInstance(DeathRayKem.ML_KEM, DeathRayKem.getProvider());
+			g.initialize(parameters, random);
+			return g;
+		}
+
+		private KeyPairGenerator generator() {
+			return this.generators.get();
+		}
+	}
+
+	/**
+	 * The measurements from one run
+	 */
+	public static final class Result {
+		private final LatencyHistogram latency;
+		private final long durationNanos;
+		private final long allocatedBytes;
+
+		private Result(LatencyHistogram latency, long durationNanos, long allocatedBytes) {
+			this.latency = latency;
+			this.durationNanos = durationNanos;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		/**
+		 * @return Number of operations completed while measuring
+		 */
+		public long getOperations() {
+			return this.latency.getCount();
+		}
+
+		/**
+		 * @return Operations per second, across all threads
+		 */
+		public double getThroughput() {
+			return this.durationNanos == 0 ? 0 : getOperations() * 1e9 / this.durationNanos;
+		}
+
+		/**
+		 * @return Latency distribution of the operations, in nanoseconds
+		 */
+		public LatencyHistogram getLatency() {
+			return this.latency;
+		}
+
+		/**
+		 * @return Mean bytes allocated per operation, or -1 if the JVM can't
+		 *         measure allocation on the threads used
+		 */
+		public double getAllocatedBytesPerOperation() {
+			if (this.allocatedBytes < 0) {
+				return -1;
+			}
+			return getOperations() == 0 ? 0 : (double) this.allocatedBytes / getOperations();
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append(String.format("operations     %d%n", getOperations()));
+			sb.append(String.format("throughput     %.1f ops/s%n", getThroughput()));
+			sb.append(String.format("latency mean   %.1f us%n", this.latency.getMean() / 1e3));
+			sb.append(String.format("latency p50    %.1f us%n", this.latency.getValueAtPercentile(50) / 1e3));
+			sb.append(String.format("latency p99    %.1f us%n", this.latency.getValueAtPercentile(99) / 1e3));
+			sb.append(String.format("latency p99.9  %.1f us%n", this.latency.getValueAtPercentile(99.9) / 1e3));
+			sb.append(String.format("latency max    %.1f us%n", this.latency.getMax() / 1e3));
+			if (this.allocatedBytes < 0) {
+				sb.append(String.format("allocated      n/a%n"));
+			} else {
+				sb.append(String.format("allocated      %.1f bytes/op%n", getAllocatedBytesPerOperation()));
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Fail handshakes that exchange no key material
+ * 2026, Connor F: Use ML-KEM key classes, and report failed handshakes separately
+ */
+package deathray.main;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.ProviderException;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Cipher;
+
+import deathray.crypto.DeathRayCryptoProvider;
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.util.LatencyHistogram;
+import deathray.util.Threads;
+
+/**
+ * Measure end-to-end ML-KEM handshakes over loopback TCP.
+ * <p>
+ * Starts a {@link HandshakeServer} on localhost, then opens the requested
+ * number of client connections to it at once. Each client performs a number of
+ * handshakes in turn: send its encapsulation key, receive the ciphertext, and
+ * decapsulate it. Unlike {@link LoadGenerator}, the time measured includes
+ * framing, copying and system calls, which is what determines how many
+ * handshakes a node can actually serve.
+ * <p>
+ * A handshake that fails ends its connection, and is reported as a failure
+ * rather than counted in the throughput or latency; if any fail, this exits
+ * with status 1. Keys come from {@link StandInKeys}, as the provider has no
+ * key pair generator yet.
+ * <p>
+ * Usage: {@code LoopbackHandshake [--connections N] [--rounds R] [--params ML-KEM-768]}
+ * 
+ * @author Connor F
+ */
+public class LoopbackHandshake {
+
+	public LoopbackHandshake() {}
+
+	public static void main(String[] args) throws IOException, GeneralSecurityException, InterruptedException {
+		Security.addProvider(new DeathRayCryptoProvider());
+		int connections = 100;
+		int rounds = 100;
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_768;
+		for(int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+			case "--connections":
+				connections = Integer.parseInt(args[i + 1]);
+				break;
+			case "--rounds":
+				rounds = Integer.parseInt(args[i + 1]);
+				break;
+			case "--params":
+				params = MlKemParameterSpec.forName(args[i + 1]);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		try (HandshakeServer server = new HandshakeServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+			server.start();
+			final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+			final KeyPair keys = StandInKeys.generate(params, new SecureRandom());
+			final LatencyHistogram latency = new LatencyHistogram();
+			final LongAdder failed = new LongAdder();
+			final AtomicReference<Exception> failure = new AtomicReference<>();
+			final ThreadFactory factory = Threads.isVirtualSupported() ? Threads.virtualThreadFactory("client-")
+					: Threads.platformThreadFactory("client-", true);
+			final List<Thread> clients = new ArrayList<>(connections);
+			final MlKemParameterSpec p = params;
+			final int r = rounds;
+			for(int i = 0; i < connections; i++) {
+				clients.add(factory.newThread(() -> {
+					try {
+						client(address, p, keys, r, latency);
+					} catch (IOException | GeneralSecurityException | RuntimeException e) {
+						failed.increment();
+						failure.compareAndSet(null, e);
+					}
+				}));
+			}
+			final long start = System.nanoTime();
+			for(Thread t : clients) {
+				t.start();
+			}
+			for(Thread t : clients) {
+				t.join();
+			}
+			final long elapsed = System.nanoTime() - start;
+			System.out.println(String.format("%s: %d connections x %d handshakes", params, connections, rounds));
+			System.out.println(String.format("completed      %d", latency.getCount()));
+			System.out.println(String.format("failed         %d", failed.sum()));
+			if (latency.getCount() > 0) {
+				System.out.println(String.format("throughput     %.1f handshakes/s", latency.getCount() * 1e9 / elapsed));
+				System.out.println(String.format("latency p50    %.1f us", latency.getValueAtPercentile(50) / 1e3));
+				System.out.println(String.format("latency p99    %.1f us", latency.getValueAtPercentile(99) / 1e3));
+				System.out.println(String.format("latency p99.9  %.1f us", latency.getValueAtPercentile(99.9) / 1e3));
+				System.out.println(String.format("latency max    %.1f us", latency.getMax() / 1e3));
+			}
+			if (failure.get() != null) {
+				System.out.println("first failure  " + failure.get());
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Perform handshakes over one connection, stopping at the first that fails
+	 */
+	private static void client(InetSocketAddress address, MlKemParameterSpec params, KeyPair keys, int rounds,
+			LatencyHistogram latency) throws IOException, GeneralSecurityException {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+		final Cipher cipher = DeathRayKem.newMlKem();
+		final byte[] encoded = keys.getPublic().getEncoded();
+		final byte[] request = new byte[encoded.length + 1];
+		request[0] = (byte) indexOf(params);
+		System.arraycopy(encoded, 0, request, 1, encoded.length);
+		try (SocketChannel channel = SocketChannel.open(address)) {
+			channel.socket().setTcpNoDelay(true);
+			for(int i = 0; i < rounds; i++) {
+				final long start = System.nanoTime();
+				Frames.write(channel, buffer, request);
+				final byte[] ciphertext = Frames.read(channel, buffer);
+				if (ciphertext == null) {
+					throw new IOException("Server closed the connection");
+				}
+				if (ciphertext.length != params.getCiphertextSize()) {
+					throw new IOException("Server sent a " + ciphertext.length + " byte ciphertext");
+				}
+				cipher.init(Cipher.DECRYPT_MODE, keys.getPrivate(), params);
+				final byte[] secret = cipher.doFinal(ciphertext);
+				if (secret == null || secret.length != MlKemParameterSpec.SHARED_SECRET_SIZE) {
+					throw new ProviderException(DeathRayKem.ML_KEM + " produced no shared secret");
+				}
+				latency.record(System.nanoTime() - start);
+			}
+		}
+	}
+
+	private static int indexOf(MlKemParameterSpec params) {
+		for(int i = 0; i < HandshakeServer.PARAMETER_SETS.length; i++) {
+			if (HandshakeServer.PARAMETER_SETS[i] == params) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported parameter set " + params);
+	}
+}
@@ -1,26 +1,98 @@
 package deathray.main;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
+import java.security.GeneralSecurityException;
 import java.security.Security;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.crypto.Cipher;
-import javax.crypto.NoSuchPaddingException;
 
 import deathray.crypto.DeathRayCryptoProvider;
+import deathray.crypto.MlKemParameterSpec;
 
+/**
+ * Load-test the DeathRay ML-KEM implementation from the command line.
+ * <p>
+ * With no options this just prints the name of the ML-KEM algorithm. Usage:
+ * {@code MainMethod [options]}, where the options are:
+ * <dl>
+ * <dt>--mode keygen|encaps|decaps|handshake</dt><dd>Operation to repeat (default encaps)</dd>
+ * <dt>--params ML-KEM-512|ML-KEM-768|ML-KEM-1024</dt><dd>Parameter set (default ML-KEM-768)</dd>
+ * <dt>--threads N</dt><dd>Number of worker threads (default one per processor)</dd>
+ * <dt>--virtual</dt><dd>Use virtual threads rather than platform threads</dd>
+ * <dt>--warmup S</dt><dd>Seconds of unrecorded warm-up (default 5)</dd>
+ * <dt>--duration S</dt><dd>Seconds to record for (default 10)</dd>
+ * </dl>
+ * If the provider cannot perform the chosen mode yet, this says why and exits
+ * with status 1.
+ * 
+ * @author Connor F
+ * @see LoadGenerator
+ */
 public class MainMethod {
 
 	public MainMethod() {}
 	
-	public static void main(String[] args) throws NoSuchAlgorithmException, NoSuchProviderException, NoSuchPaddingException {
+	public static void main(String[] args) throws GeneralSecurityException, InterruptedException {
 		Logger.getLogger("deathray.provider").setLevel(Level.FINEST);
 		Security.addProvider(new DeathRayCryptoProvider());
 		
+		LoadGenerator.Mode mode = LoadGenerator.Mode.ENCAPS;
+		MlKemParameterSpec params = MlKemParameterSpec.ML_KEM_768;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean virtual = false;
+		long warmup = 5;
+		long duration = 10;
+		for(int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--mode":
+				mode = LoadGenerator.Mode.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+				break;
+			case "--params":
+				params = MlKemParameterSpec.forName(value(args, ++i));
+				break;
+			case "--threads":
+				threads = Integer.parseInt(value(args, ++i));
+				break;
+			case "--virtual":
+				virtual = true;
+				break;
+			case "--warmup":
+				warmup = Long.parseLong(value(args, ++i));
+				break;
+			case "--duration":
+				duration = Long.parseLong(value(args, ++i));
+				break;
+			default:
+				System.err.println("Unknown option " + args[i]);
+				System.err.println("Usage: MainMethod [--mode keygen|encaps|decaps|handshake] [--params ML-KEM-768]"
+						+ " [--threads N] [--virtual] [--warmup S] [--duration S]");
+				System.exit(2);
+			}
+		}
+
 		Cipher c = Cipher.getInstance("ML-KEM", "DR");
-		System.out.println(c.getAlgorithm());
+		if (args.length == 0) {
+			System.out.println(c.getAlgorithm());
+			return;
+		}
+		System.out.println(String.format("%s %s: %s on %d %s threads, %ds warm-up, %ds measured",
+				c.getAlgorithm(), params, mode, threads, virtual ? "virtual" : "platform", warmup, duration));
+		LoadGenerator generator = new LoadGenerator(mode, params, threads, virtual, warmup * 1000, duration * 1000);
+		String unavailable = generator.check();
+		if (unavailable != null) {
+			System.out.println(mode + " cannot run yet: " + unavailable);
+			System.exit(1);
+		}
+		System.out.print(generator.run());
+	}
+
+	private static String value(String[] args, int i) {
+		if (i >= args.length) {
+			throw new IllegalArgumentException(args[i - 1] + " needs a value");
+		}
+		return args[i];
 	}
 
 }
@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.main;
+
+import java.util.Random;
+
+import deathray.util.Polynomial;
+import deathray.util.PolynomialMultiplier;
+import deathray.util.PolynomialRing;
+
+/**
+ * Find the crossovers between the polynomial multipliers.
+ * <p>
+ * For each degree, times a multiplication in Z<sub>q</sub>[X]/(X<sup>n</sup> + 1)
+ * with each {@link PolynomialMultiplier}. The smallest degree at which Karatsuba
+ * beats schoolbook is where to set system property "DeathRay.karatsubaThreshold",
+ * and the smallest at which Toom-Cook beats Karatsuba is where to set
+ * "DeathRay.toomCookThreshold". Since each algorithm recurses into the next, rerun
+ * with the properties set to confirm they help. The default modulus is
+ * 2<sup>13</sup>, as in Saber; the choice only changes the reduction, not the
+ * multiplication.
+ * <p>
+ * This is a rough benchmark, not a replacement for JMH; run it several times and
+ * look at the trend.
+ * <p>
+ * Usage: {@code PolynomialBenchmark [degrees] [modulus]}, where degrees is a comma
+ * separated list, by default {@code 16,32,64,128,256,512,701,1024}.
+ * 
+ * @author Connor F
+ */
+public class PolynomialBenchmark {
+	/**
+	 * Minimum time to spend measuring each case
+	 */
+	private static final long MEASURE_NANOS = 500_000_000L;
+
+	/**
+	 * Something for the benchmarked code to write to, so it is not optimised away.
+	 */
+	private static volatile Object sink;
+
+	public PolynomialBenchmark() {}
+
+	public static void main(String[] args) {
+		final int[] degrees = parse(args.length > 0 ? args[0] : "16,32,64,128,256,512,701,1024");
+		final int modulus = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 13;
+		final PolynomialMultiplier[] multipliers = PolynomialMultiplier.values();
+		final Random random = new Random(1);
+
+		System.out.println("Karatsuba threshold " + PolynomialMultiplier.KARATSUBA_THRESHOLD
+				+ ", Toom-Cook threshold " + PolynomialMultiplier.TOOM_COOK_THRESHOLD);
+		final StringBuilder header = new StringBuilder(String.format("%6s", "degree"));
+		for(PolynomialMultiplier m : multipliers) {
+			header.append(String.format(" %14s", m));
+		}
+		System.out.println(header.append("   (us/op)"));
+		for(int degree : degrees) {
+			final PolynomialRing ring = PolynomialRing.negacyclic(degree, modulus, PolynomialMultiplier.SCHOOLBOOK);
+			final Polynomial a = ring.random(random);
+			final Polynomial b = ring.random(random);
+			final StringBuilder line = new StringBuilder(String.format("%6d", degree));
+			for(PolynomialMultiplier m : multipliers) {
+				line.append(String.format(" %14.1f", time(a.withMultiplier(m), b)));
+			}
+			System.out.println(line);
+		}
+	}
+
+	/**
+	 * Time one multiplication, after warming it up
+	 * 
+	 * @return Mean microseconds per multiplication
+	 */
+	private static double time(Polynomial a, Polynomial b) {
+		for(int i = 0; i < 1000; i++) {
+			sink = a.multiplyBy(b);
+		}
+		final long start = System.nanoTime();
+		long elapsed;
+		int iterations = 0;
+		do {
+			sink = a.multiplyBy(b);
+			iterations++;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < MEASURE_NANOS);
+		return elapsed / 1e3 / iterations;
+	}
+
+	private static int[] parse(String list) {
+		final String[] parts = list.split(",");
+		final int[] values = new int[parts.length];
+		for(int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+}
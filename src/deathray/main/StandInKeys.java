@@ -0,0 +1,129 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.main;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import deathray.crypto.DeathRayKem;
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.MlKemPrivateKey;
+import deathray.crypto.MlKemPublicKey;
+
+/**
+ * ML-KEM key pairs for the demos and load tests.
+ * <p>
+ * Keys come from the provider's ML-KEM {@link KeyPairGenerator} when it has
+ * one. Until then we build stand-ins: random, but well-formed, FIPS 203
+ * encodings wrapped in {@link MlKemPublicKey} and {@link MlKemPrivateKey}.
+ * Their coefficients are reduced mod q and the decapsulation key holds the
+ * hash of its encapsulation key, so both pass {@code validate()}, but the
+ * secret is not the one the public key was derived from, so the two do not
+ * agree on a shared secret.
+ * 
+ * @author Connor F
+ */
+final class StandInKeys {
+
+	private StandInKeys() {}
+
+	/**
+	 * Get a key pair from the provider, or a stand-in if it cannot generate one
+	 * 
+	 * @param params  The parameter set
+	 * @param random  Source of randomness
+	 * 
+	 * @return A key pair for the parameter set
+	 * 
+	 * @throws GeneralSecurityException If the provider's generator fails
+	 */
+	static KeyPair generate(MlKemParameterSpec params, SecureRandom random) throws GeneralSecurityException {
+		final KeyPairGenerator generator;
+		try {
+			generator = KeyPairGenerator.getInstance(DeathRayKem.ML_KEM, DeathRayKem.getProvider());
+		} catch (NoSuchAlgorithmException e) {
+			return standIn(params, random);
+		}
+		generator.initialize(params, random);
+		return generator.generateKeyPair();
+	}
+
+	/**
+	 * Build a stand-in key pair
+	 * <p>
+	 * Without SHA3-256 (before Java 9) the hash in the decapsulation key is left
+	 * zero, as it could not be checked either.
+	 * 
+	 * @param params  The parameter set
+	 * @param random  Source of randomness
+	 * 
+	 * @return Well-formed encapsulation and decapsulation keys
+	 * 
+	 * @throws GeneralSecurityException If the encodings are rejected
+	 */
+	static KeyPair standIn(MlKemParameterSpec params, SecureRandom random) throws GeneralSecurityException {
+		final int vector = 384 * params.getK();
+		final byte[] ek = new byte[params.getEncapsulationKeySize()];
+		randomVector(ek, 0, params.getK(), random);
+		final byte[] rho = new byte[ek.length - vector];
+		random.nextBytes(rho);
+		System.arraycopy(rho, 0, ek, vector, rho.length);
+
+		final byte[] dk = new byte[params.getDecapsulationKeySize()];
+		randomVector(dk, 0, params.getK(), random);
+		System.arraycopy(ek, 0, dk, vector, ek.length);
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA3-256").digest(ek);
+			System.arraycopy(hash, 0, dk, vector + ek.length, hash.length);
+		} catch (NoSuchAlgorithmException e) {
+			// Leave the hash zero
+		}
+		final byte[] z = new byte[32];
+		random.nextBytes(z);
+		System.arraycopy(z, 0, dk, dk.length - z.length, z.length);
+		return new KeyPair(MlKemPublicKey.wrap(ek, params), MlKemPrivateKey.wrap(dk, params));
+	}
+
+	/**
+	 * Fill in ByteEncode<sub>12</sub> of k polynomials of random coefficients mod q
+	 */
+	private static void randomVector(byte[] dst, int offset, int k, SecureRandom random) {
+		for(int i = 0; i < k * MlKemParameterSpec.N; i += 2) {
+			final int a = random.nextInt(MlKemParameterSpec.Q);
+			final int b = random.nextInt(MlKemParameterSpec.Q);
+			final int at = offset + i / 2 * 3;
+			dst[at] = (byte) a;
+			dst[at + 1] = (byte) ((a >>> 8) | (b << 4));
+			dst[at + 2] = (byte) (b >>> 4);
+		}
+	}
+}
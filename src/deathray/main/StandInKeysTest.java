@@ -0,0 +1,31 @@
+package deathray.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.security.KeyPair;
+import java.security.SecureRandom;
+
+import org.junit.Test;
+
+import deathray.crypto.MlKemParameterSpec;
+import deathray.crypto.MlKemPrivateKey;
+import deathray.crypto.MlKemPublicKey;
+
+public class StandInKeysTest {
+
+	@Test
+	public void testWellFormed() throws Exception {
+		SecureRandom random = new SecureRandom();
+		for(MlKemParameterSpec params : HandshakeServer.PARAMETER_SETS) {
+			KeyPair pair = StandInKeys.standIn(params, random);
+			MlKemPublicKey publicKey = (MlKemPublicKey) pair.getPublic();
+			MlKemPrivateKey privateKey = (MlKemPrivateKey) pair.getPrivate();
+			assertEquals("Parameter set", params, publicKey.getParams());
+			publicKey.validate();
+			privateKey.validate();
+			assertEquals("The decapsulation key holds the encapsulation key", publicKey, privateKey.getPublicKey());
+			assertNotEquals("Keys are random", publicKey, StandInKeys.standIn(params, random).getPublic());
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.main;
+
+import java.util.Random;
+
+import deathray.util.ArithmeticPrimitive;
+import deathray.util.Matrix;
+
+/**
+ * Find the crossover between classic and Strassen-Winograd multiplication.
+ * <p>
+ * For each matrix size, times {@link Matrix#multiplyStrassen(Matrix, int)}
+ * with a cutoff equal to the size, which is the classic kernel alone, and then
+ * with each smaller cutoff. The fastest cutoff across the sizes you care about
+ * is the one to set with system property "DeathRay.strassenCutoff". Elements are
+ * integers modulo a 31-bit prime, so the arithmetic is exact and representative
+ * of the modular types used for lattices.
+ * <p>
+ * This is a rough benchmark, not a replacement for JMH; run it several times and
+ * look at the trend.
+ * <p>
+ * Usage: {@code StrassenBenchmark [sizes] [cutoffs]}, where both are comma
+ * separated lists, by default {@code 64,128,256,512} and {@code 16,32,64,128}.
+ * 
+ * @author Connor F
+ */
+public class StrassenBenchmark {
+	/**
+	 * Minimum time to spend measuring each case
+	 */
+	private static final long MEASURE_NANOS = 1_000_000_000L;
+
+	/**
+	 * Something for the benchmarked code to write to, so it is not optimised away.
+	 */
+	private static volatile Object sink;
+
+	public StrassenBenchmark() {}
+
+	public static void main(String[] args) {
+		final int[] sizes = parse(args.length > 0 ? args[0] : "64,128,256,512");
+		final int[] cutoffs = parse(args.length > 1 ? args[1] : "16,32,64,128");
+		final Random random = new Random(1);
+
+		System.out.println(String.format("%6s %8s %12s %8s", "size", "cutoff", "ms/op", "speedup"));
+		for(int size : sizes) {
+			final Matrix<ModInt> a = randomMatrix(size, random);
+			final Matrix<ModInt> b = randomMatrix(size, random);
+			final double classic = time(a, b, size);
+			System.out.println(String.format("%6d %8s %12.2f %8s", size, "classic", classic, ""));
+			for(int cutoff : cutoffs) {
+				if (cutoff < size) {
+					final double strassen = time(a, b, cutoff);
+					System.out.println(String.format("%6d %8d %12.2f %7.2fx", size, cutoff, strassen, classic / strassen));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Time one multiplication, after warming it up
+	 * 
+	 * @return Mean milliseconds per multiplication
+	 */
+	private static double time(Matrix<ModInt> a, Matrix<ModInt> b, int cutoff) {
+		sink = a.multiplyStrassen(b, cutoff);
+		final long start = System.nanoTime();
+		long elapsed;
+		int iterations = 0;
+		do {
+			sink = a.multiplyStrassen(b, cutoff);
+			iterations++;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < MEASURE_NANOS);
+		return elapsed / 1e6 / iterations;
+	}
+
+	private static Matrix<ModInt> randomMatrix(int size, Random random) {
+		final ModInt[][] data = new ModInt[size][size];
+		for(int r = 0; r < size; r++) {
+			for(int c = 0; c < size; c++) {
+				data[r][c] = new ModInt(random.nextInt(ModInt.MODULUS));
+			}
+		}
+		return new Matrix<>(data);
+	}
+
+	private static int[] parse(String list) {
+		final String[] parts = list.split(",");
+		final int[] values = new int[parts.length];
+		for(int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+
+	/**
+	 * An integer modulo the prime 2<sup>31</sup> - 1
+	 */
+	private static final class ModInt extends ArithmeticPrimitive {
+		private static final long serialVersionUID = -6183043225829386216L;
+		static final int MODULUS = Integer.MAX_VALUE;
+		private final int value;
+
+		ModInt(long value) {
+			this.value = (int) Math.floorMod(value, (long) MODULUS);
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new ModInt((long) this.value + ((ModInt) n).value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new ModInt((long) this.value - ((ModInt) n).value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new ModInt((long) this.value * ((ModInt) n).value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			throw new UnsupportedOperationException("Division is not benchmarked");
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Integer.compare(this.value, ((ModInt) o).value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ModInt && ((ModInt) obj).value == this.value;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return Integer.toString(this.value);
+		}
+	}
+}
@@ -0,0 +1,496 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A matrix over GF(2), packed 64 elements to a word.
+ * <p>
+ * A {@link Matrix} over GF(2) would hold one boxed object per bit. This class
+ * stores each row as a <code>long[]</code> bit vector instead, with column c in
+ * bit c % 64 of word c / 64, so a row of 1024 elements is sixteen longs.
+ * Addition is XOR, and a row is combined with another in one XOR per word.
+ * <p>
+ * Multiplication XORs together the rows of the other matrix selected by each
+ * row of this one. For larger matrices it uses the Method of Four Russians
+ * (M4RM): the other matrix's rows are taken eight at a time, all 256 of their
+ * sums are tabulated, and each row of this matrix then selects a table entry
+ * with eight of its bits, replacing eight row XORs with one.
+ * <p>
+ * Like {@link Matrix}, this class is immutable; every operation returns a new
+ * matrix.
+ * 
+ * @author Connor F
+ */
+public final class BinaryMatrix {
+	/**
+	 * Number of rows from which {@link #multiply(BinaryMatrix)} uses M4RM. Below
+	 * this, building the tables costs more than they save.
+	 */
+	static final int M4RM_THRESHOLD = 384;
+	/**
+	 * Rows of the other matrix combined by each M4RM table
+	 */
+	private static final int M4RM_BITS = 8;
+
+	private final int rows;
+	private final int cols;
+	/**
+	 * Words per row
+	 */
+	private final int words;
+	/**
+	 * The rows, as bit vectors. Bits beyond the last column are always zero.
+	 */
+	private final long[][] data;
+
+	private BinaryMatrix(int rows, int cols, long[][] data) {
+		this.rows = rows;
+		this.cols = cols;
+		this.words = wordsFor(cols);
+		this.data = data;
+	}
+
+	/**
+	 * Create a zero matrix with specified dimensions
+	 * 
+	 * @param rows     Number of rows in this matrix
+	 * @param columns  Number of columns in this matrix
+	 * 
+	 * @throws IllegalArgumentException If rows or columns is less than 1
+	 */
+	public BinaryMatrix(int rows, int columns) {
+		this(checkRows(rows), checkColumns(columns), new long[rows][wordsFor(columns)]);
+	}
+
+	/**
+	 * Create a matrix with specified data
+	 * 
+	 * @param data  The elements, as rows of booleans; true is one
+	 * 
+	 * @throws IllegalArgumentException If the rows have differing lengths
+	 */
+	public BinaryMatrix(boolean[][] data) {
+		this(data.length, data[0].length);
+		for(int r = 0; r < this.rows; r++) {
+			if (data[r].length != this.cols) {
+				throw new IllegalArgumentException("All rows of a matrix should have the same number of columns");
+			}
+			for(int c = 0; c < this.cols; c++) {
+				if (data[r][c]) {
+					this.data[r][c >>> 6] |= 1L << c;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create an identity matrix
+	 * 
+	 * @param size  Number of rows and columns
+	 * 
+	 * @return A size &times; size matrix with ones on the diagonal
+	 */
+	public static BinaryMatrix identity(int size) {
+		final BinaryMatrix id = new BinaryMatrix(size, size);
+		for(int i = 0; i < size; i++) {
+			id.data[i][i >>> 6] |= 1L << i;
+		}
+		return id;
+	}
+
+	/**
+	 * Create a matrix with uniformly random elements
+	 * 
+	 * @param rows     Number of rows in the matrix
+	 * @param columns  Number of columns in the matrix
+	 * @param random   Source of randomness
+	 * 
+	 * @return A new random matrix
+	 */
+	public static BinaryMatrix random(int rows, int columns, Random random) {
+		final BinaryMatrix m = new BinaryMatrix(rows, columns);
+		for(long[] row : m.data) {
+			for(int w = 0; w < row.length; w++) {
+				row[w] = random.nextLong();
+			}
+			m.clearTail(row);
+		}
+		return m;
+	}
+
+	/**
+	 * Get the number of rows in this matrix
+	 * 
+	 * @return  Number of rows in this matrix
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns in this matrix
+	 * 
+	 * @return  Number of columns in this matrix
+	 */
+	public int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Get the specified element.
+	 * 
+	 * @param row     The row of the element to retrieve
+	 * @param column  The column of the element to retrieve
+	 * 
+	 * @return true if the element is one
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 */
+	public boolean getValue(int row, int column) {
+		checkIndex(row, column);
+		return (this.data[row][column >>> 6] & (1L << column)) != 0;
+	}
+
+	/**
+	 * Set the specified element to a new value
+	 * <p>
+	 * Returns a copy of this matrix, sharing every row but the one changed.
+	 * 
+	 * @param value   true to set the element to one
+	 * @param row     The row of the element to set
+	 * @param column  The column of the element to set
+	 * 
+	 * @return A new matrix, with identical data except for the specified element
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specifed row or column is
+	 *         outside the bounds of this matrix
+	 */
+	public BinaryMatrix setValue(boolean value, int row, int column) {
+		checkIndex(row, column);
+		final long[][] copy = this.data.clone();
+		copy[row] = copy[row].clone();
+		if (value) {
+			copy[row][column >>> 6] |= 1L << column;
+		} else {
+			copy[row][column >>> 6] &= ~(1L << column);
+		}
+		return new BinaryMatrix(this.rows, this.cols, copy);
+	}
+
+	/**
+	 * Get a copy of the specified row
+	 * 
+	 * @param row  The row to retrieve
+	 * 
+	 * @return The row as a bit vector, with column c in bit c % 64 of word c / 64
+	 */
+	public long[] getRow(int row) {
+		checkIndex(row, 0);
+		return this.data[row].clone();
+	}
+
+	/**
+	 * Add the specified matrix to this matrix
+	 * <p>
+	 * Addition over GF(2) is exclusive or.
+	 * 
+	 * @param other  The matrix to add to this one
+	 * 
+	 * @return A new matrix holding the sum
+	 * 
+	 * @throws IllegalArgumentException If the specified matrix has different dimensions
+	 */
+	public BinaryMatrix add(BinaryMatrix other) {
+		if (other.rows != this.rows || other.cols != this.cols) {
+			throw new IllegalArgumentException("Cannot add two matricies of different orders together");
+		}
+		final long[][] sum = new long[this.rows][];
+		for(int r = 0; r < this.rows; r++) {
+			sum[r] = this.data[r].clone();
+			xorInto(sum[r], other.data[r]);
+		}
+		return new BinaryMatrix(this.rows, this.cols, sum);
+	}
+
+	/**
+	 * Multiply this matrix by the specified matrix
+	 * <p>
+	 * Uses M4RM when this matrix has at least {@value #M4RM_THRESHOLD} rows.
+	 * 
+	 * @param other  matrix to multiply this matrix by
+	 * 
+	 * @return A new matrix holding the product
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 *         number of rows than this matrix has columns
+	 */
+	public BinaryMatrix multiply(BinaryMatrix other) {
+		if (this.cols != other.rows) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		return this.rows >= M4RM_THRESHOLD ? multiplyM4RM(other) : multiplyRows(other);
+	}
+
+	/**
+	 * Multiply this matrix by a column vector
+	 * <p>
+	 * Each element of the result is the parity of a row ANDed with the vector.
+	 * 
+	 * @param vector  The vector, with element c in bit c % 64 of word c / 64
+	 * 
+	 * @return The product, with element r in bit r % 64 of word r / 64
+	 * 
+	 * @throws IllegalArgumentException If the vector has the wrong number of words
+	 */
+	public long[] multiplyVector(long[] vector) {
+		if (vector.length != this.words) {
+			throw new IllegalArgumentException("Vector must have " + this.words + " words");
+		}
+		final long[] out = new long[wordsFor(this.rows)];
+		for(int r = 0; r < this.rows; r++) {
+			final long[] row = this.data[r];
+			int bits = 0;
+			for(int w = 0; w < this.words; w++) {
+				bits += Long.bitCount(row[w] & vector[w]);
+			}
+			out[r >>> 6] |= (long) (bits & 1) << r;
+		}
+		return out;
+	}
+
+	/**
+	 * Transpose this matrix
+	 * 
+	 * @return A new matrix that is the transposition of this matrix
+	 */
+	public BinaryMatrix transpose() {
+		final BinaryMatrix t = new BinaryMatrix(this.cols, this.rows);
+		for(int r = 0; r < this.rows; r++) {
+			final long[] row = this.data[r];
+			for(int w = 0; w < this.words; w++) {
+				long bits = row[w];
+				while (bits != 0) {
+					final int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+					t.data[c][r >>> 6] |= 1L << r;
+					bits &= bits - 1;
+				}
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Reduce this matrix to reduced row echelon form
+	 * <p>
+	 * Performs Gauss-Jordan elimination. Over GF(2) every non-zero pivot is one,
+	 * so eliminating a column is one row XOR per row that has a one in it.
+	 * 
+	 * @return A new matrix in reduced row echelon form, with the same row space
+	 *         as this matrix
+	 */
+	public BinaryMatrix rowReduce() {
+		final long[][] reduced = new long[this.rows][];
+		for(int r = 0; r < this.rows; r++) {
+			reduced[r] = this.data[r].clone();
+		}
+		eliminate(reduced);
+		return new BinaryMatrix(this.rows, this.cols, reduced);
+	}
+
+	/**
+	 * Get the rank of this matrix
+	 * 
+	 * @return The number of linearly independent rows
+	 */
+	public int getRank() {
+		final long[][] scratch = new long[this.rows][];
+		for(int r = 0; r < this.rows; r++) {
+			scratch[r] = this.data[r].clone();
+		}
+		return eliminate(scratch);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * this.rows + this.cols) + Arrays.deepHashCode(this.data);
+	}
+
+	/**
+	 * Returns true if the specified matrix is equal to this one.
+	 * 
+	 * @return true if the specified matrix has the same dimensions and elements
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof BinaryMatrix)) {
+			return false;
+		}
+		final BinaryMatrix other = (BinaryMatrix) obj;
+		return other.rows == this.rows && other.cols == this.cols && Arrays.deepEquals(this.data, other.data);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("BinaryMatrix\n");
+		for(int r = 0; r < this.rows; r++) {
+			sb.append(r).append(": [");
+			for(int c = 0; c < this.cols; c++) {
+				sb.append(getValue(r, c) ? '1' : '0');
+			}
+			sb.append("]\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Multiply by XORing in the other matrix's row for each set bit
+	 */
+	private BinaryMatrix multiplyRows(BinaryMatrix other) {
+		final long[][] product = new long[this.rows][other.words];
+		for(int r = 0; r < this.rows; r++) {
+			final long[] row = this.data[r];
+			final long[] out = product[r];
+			for(int w = 0; w < this.words; w++) {
+				long bits = row[w];
+				while (bits != 0) {
+					xorInto(out, other.data[(w << 6) + Long.numberOfTrailingZeros(bits)]);
+					bits &= bits - 1;
+				}
+			}
+		}
+		return new BinaryMatrix(this.rows, other.cols, product);
+	}
+
+	/**
+	 * Multiply with the Method of Four Russians
+	 */
+	private BinaryMatrix multiplyM4RM(BinaryMatrix other) {
+		final long[][] product = new long[this.rows][other.words];
+		final long[][] table = new long[1 << M4RM_BITS][other.words];
+		for(int k = 0; k < this.cols; k += M4RM_BITS) {
+			final int width = Math.min(M4RM_BITS, this.cols - k);
+			// Entry g is the sum of the rows k + i for each bit i of g, built from
+			// the entry with g's lowest bit cleared
+			for(int g = 1; g < 1 << width; g++) {
+				final long[] entry = table[g];
+				System.arraycopy(table[g & (g - 1)], 0, entry, 0, other.words);
+				xorInto(entry, other.data[k + Integer.numberOfTrailingZeros(g)]);
+			}
+			// k is a multiple of eight, so the eight bits never span two words
+			final int word = k >>> 6;
+			final int shift = k & 63;
+			final int mask = (1 << width) - 1;
+			for(int r = 0; r < this.rows; r++) {
+				final int g = (int) (this.data[r][word] >>> shift) & mask;
+				if (g != 0) {
+					xorInto(product[r], table[g]);
+				}
+			}
+		}
+		return new BinaryMatrix(this.rows, other.cols, product);
+	}
+
+	/**
+	 * Reduce rows to reduced row echelon form in place
+	 * 
+	 * @return The number of pivots, which is the rank
+	 */
+	private int eliminate(long[][] m) {
+		int pivot = 0;
+		for(int c = 0; c < this.cols && pivot < this.rows; c++) {
+			final int word = c >>> 6;
+			final long bit = 1L << c;
+			int found = pivot;
+			while (found < this.rows && (m[found][word] & bit) == 0) {
+				found++;
+			}
+			if (found == this.rows) {
+				continue;
+			}
+			final long[] row = m[found];
+			m[found] = m[pivot];
+			m[pivot] = row;
+			for(int r = 0; r < this.rows; r++) {
+				if (r != pivot && (m[r][word] & bit) != 0) {
+					// Words before the pivot's are already zero in the pivot row
+					for(int w = word; w < this.words; w++) {
+						m[r][w] ^= row[w];
+					}
+				}
+			}
+			pivot++;
+		}
+		return pivot;
+	}
+
+	private static void xorInto(long[] target, long[] source) {
+		for(int w = 0; w < target.length; w++) {
+			target[w] ^= source[w];
+		}
+	}
+
+	private void clearTail(long[] row) {
+		final int used = this.cols & 63;
+		if (used != 0) {
+			row[this.words - 1] &= (1L << used) - 1;
+		}
+	}
+
+	private void checkIndex(int row, int column) {
+		if (row >= this.rows || row < 0) {
+			throw new IndexOutOfBoundsException(row + "");
+		}
+		if (column >= this.cols || column < 0) {
+			throw new IndexOutOfBoundsException("" + column);
+		}
+	}
+
+	private static int wordsFor(int columns) {
+		return (columns + 63) >>> 6;
+	}
+
+	private static int checkRows(int rows) {
+		if (rows < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 rows");
+		}
+		return rows;
+	}
+
+	private static int checkColumns(int columns) {
+		if (columns < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 columns");
+		}
+		return columns;
+	}
+}
@@ -0,0 +1,74 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BinaryMatrixTest {
+
+	@Test
+	public void testAddAndMultiply() {
+		BinaryMatrix a = new BinaryMatrix(new boolean[][] {
+			new boolean[] {true, false, true},
+			new boolean[] {false, true, true}
+		});
+		BinaryMatrix b = new BinaryMatrix(new boolean[][] {
+			new boolean[] {true, true},
+			new boolean[] {false, true},
+			new boolean[] {true, true}
+		});
+		BinaryMatrix product = a.multiply(b);
+		assertFalse("1 + 1 = 0 over GF(2)", product.getValue(0, 0));
+		assertFalse("1 + 1 = 0 over GF(2)", product.getValue(0, 1));
+		assertTrue("0 + 0 + 1 = 1", product.getValue(1, 0));
+		assertFalse("0 + 1 + 1 = 0", product.getValue(1, 1));
+		assertEquals("A matrix plus itself is zero", new BinaryMatrix(2, 3), a.add(a));
+		assertEquals("Identity is neutral", a, BinaryMatrix.identity(2).multiply(a));
+	}
+
+	@Test
+	public void testM4RMMatchesNaive() {
+		Random random = new Random(42);
+		BinaryMatrix a = BinaryMatrix.random(BinaryMatrix.M4RM_THRESHOLD + 13, 150, random);
+		BinaryMatrix b = BinaryMatrix.random(150, 70, random);
+		BinaryMatrix product = a.multiply(b);
+		for(int r = 0; r < a.getRows(); r++) {
+			for(int c = 0; c < b.getColumns(); c++) {
+				boolean expected = false;
+				for(int k = 0; k < a.getColumns(); k++) {
+					expected ^= a.getValue(r, k) & b.getValue(k, c);
+				}
+				assertEquals("M4RM product matches definition", expected, product.getValue(r, c));
+			}
+		}
+		assertEquals("(AB)^T = B^T A^T", product.transpose(), b.transpose().multiply(a.transpose()));
+	}
+
+	@Test
+	public void testMultiplyVector() {
+		Random random = new Random(7);
+		BinaryMatrix a = BinaryMatrix.random(100, 130, random);
+		BinaryMatrix v = BinaryMatrix.random(1, 130, random);
+		assertArrayEquals("Vector product matches matrix product",
+				a.multiply(v.transpose()).transpose().getRow(0), a.multiplyVector(v.getRow(0)));
+	}
+
+	@Test
+	public void testRank() {
+		assertEquals("Identity has full rank", 100, BinaryMatrix.identity(100).getRank());
+		BinaryMatrix m = new BinaryMatrix(new boolean[][] {
+			new boolean[] {true, true, false, false},
+			new boolean[] {false, true, true, false},
+			new boolean[] {true, false, true, false}
+		});
+		assertEquals("Third row is the sum of the first two", 2, m.getRank());
+		BinaryMatrix reduced = m.rowReduce();
+		assertTrue("Reduced form has leading ones", reduced.getValue(0, 0) && reduced.getValue(1, 1));
+		assertFalse("Pivot columns are cleared", reduced.getValue(0, 1));
+		assertEquals("Dependent row becomes zero", new BinaryMatrix(1, 4).getRow(0)[0], reduced.getRow(2)[0]);
+		assertEquals("Random square matrices usually have near full rank", true,
+				BinaryMatrix.random(200, 200, new Random(1)).getRank() >= 190);
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import deathray.util.MatrixProfile.Counter;
+
+/**
+ * An {@link ArithmeticPrimitive} that counts the operations performed on it.
+ * <p>
+ * Wraps any other {@link ArithmeticPrimitive}, delegating the arithmetic to it
+ * and reporting each operation, and each new element created, to the calling
+ * thread's {@link MatrixProfiler}. When the thread is not profiling this behaves
+ * exactly like the wrapped value, apart from the cost of the extra object.
+ * <p>
+ * Operands may be either wrapped or unwrapped values; results are always
+ * wrapped.
+ * 
+ * @author Connor F
+ */
+public final class CountingPrimitive extends ArithmeticPrimitive {
+	private static final long serialVersionUID = -3101398232716434530L;
+
+	private final ArithmeticPrimitive value;
+
+	/**
+	 * Wrap the specified value
+	 * 
+	 * @param value  Value to wrap
+	 * 
+	 * @throws IllegalArgumentException  If value is null
+	 */
+	public CountingPrimitive(ArithmeticPrimitive value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cannot wrap null");
+		}
+		this.value = value instanceof CountingPrimitive ? ((CountingPrimitive) value).value : value;
+		MatrixProfiler.count(Counter.ELEMENT_ALLOCATIONS, 1);
+	}
+
+	/**
+	 * Wrap every element of the specified matrix
+	 * <p>
+	 * Null elements are left as null.
+	 * 
+	 * @param matrix  Matrix to wrap
+	 * 
+	 * @return A matrix with the same values, wrapped so that they are counted
+	 */
+	public static Matrix<CountingPrimitive> wrap(Matrix<? extends ArithmeticPrimitive> matrix) {
+		final List<List<CountingPrimitive>> rows = new ArrayList<>(matrix.getRows());
+		for(int r = 0; r < matrix.getRows(); r++) {
+			final List<CountingPrimitive> row = new ArrayList<>(matrix.getColumns());
+			for(int c = 0; c < matrix.getColumns(); c++) {
+				final ArithmeticPrimitive v = matrix.getValue(r, c);
+				row.add(v == null ? null : new CountingPrimitive(v));
+			}
+			rows.add(row);
+		}
+		return new Matrix<CountingPrimitive>(rows);
+	}
+
+	/**
+	 * Get the wrapped value
+	 * 
+	 * @return The value this object wraps
+	 */
+	public ArithmeticPrimitive getValue() {
+		return this.value;
+	}
+
+	@Override
+	public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+		MatrixProfiler.count(Counter.ADDS, 1);
+		return new CountingPrimitive(this.value.add(unwrap(n)));
+	}
+
+	@Override
+	public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+		MatrixProfiler.count(Counter.SUBTRACTS, 1);
+		return new CountingPrimitive(this.value.subtract(unwrap(n)));
+	}
+
+	@Override
+	public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+		MatrixProfiler.count(Counter.MULTIPLIES, 1);
+		return new CountingPrimitive(this.value.multiplyBy(unwrap(n)));
+	}
+
+	@Override
+	public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+		MatrixProfiler.count(Counter.DIVIDES, 1);
+		return new CountingPrimitive(this.value.divideBy(unwrap(n)));
+	}
+
+	@Override
+	public int compareTo(ArithmeticPrimitive o) {
+		MatrixProfiler.count(Counter.COMPARISONS, 1);
+		return this.value.compareTo(unwrap(o));
+	}
+
+	private static ArithmeticPrimitive unwrap(ArithmeticPrimitive n) {
+		return n instanceof CountingPrimitive ? ((CountingPrimitive) n).value : n;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.value.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CountingPrimitive)) {
+			return false;
+		}
+		return this.value.equals(((CountingPrimitive) obj).value);
+	}
+
+	@Override
+	public String toString() {
+		return this.value.toString();
+	}
+}
@@ -0,0 +1,206 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Record a distribution of non-negative values, such as latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets, in the style of HdrHistogram: each
+ * power of two is split into {@value #SUB_BUCKETS} equal sub-buckets, so any
+ * reported value is within about 6% of the true value, while the whole range of
+ * a long fits in a fixed, small array. Recording is a couple of atomic adds and
+ * never allocates, so histograms can be left recording in production.
+ * <p>
+ * This class is thread-safe. Percentiles read while other threads are
+ * recording are approximate.
+ * 
+ * @author Connor F
+ */
+public final class LatencyHistogram {
+	/**
+	 * log2 of {@link #SUB_BUCKETS}
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+	/**
+	 * Number of linear sub-buckets per power of two
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Enough buckets for every non-negative long
+	 */
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+
+	public LatencyHistogram() {}
+
+	/**
+	 * Record a value
+	 * <p>
+	 * Negative values are recorded as zero.
+	 * 
+	 * @param value  The value to record
+	 */
+	public void record(long value) {
+		final long v = Math.max(0, value);
+		this.counts.incrementAndGet(bucket(v));
+		this.total.increment();
+		this.sum.add(v);
+	}
+
+	/**
+	 * Add every value recorded in the specified histogram to this one
+	 * 
+	 * @param other  Histogram to add to this one
+	 */
+	public void add(LatencyHistogram other) {
+		for(int i = 0; i < BUCKETS; i++) {
+			final long c = other.counts.get(i);
+			if (c != 0) {
+				this.counts.addAndGet(i, c);
+			}
+		}
+		this.total.add(other.total.sum());
+		this.sum.add(other.sum.sum());
+	}
+
+	/**
+	 * Discard every recorded value
+	 */
+	public void reset() {
+		for(int i = 0; i < BUCKETS; i++) {
+			this.counts.set(i, 0);
+		}
+		this.total.reset();
+		this.sum.reset();
+	}
+
+	/**
+	 * Get the number of values recorded
+	 * 
+	 * @return  Number of values recorded
+	 */
+	public long getCount() {
+		return this.total.sum();
+	}
+
+	/**
+	 * Get the mean of the values recorded
+	 * 
+	 * @return  The exact mean, or 0 if nothing has been recorded
+	 */
+	public double getMean() {
+		final long n = getCount();
+		return n == 0 ? 0 : (double) this.sum.sum() / n;
+	}
+
+	/**
+	 * Get the largest value recorded
+	 * 
+	 * @return  The largest value, to bucket precision, or 0 if nothing has been recorded
+	 */
+	public long getMax() {
+		for(int i = BUCKETS - 1; i >= 0; i--) {
+			if (this.counts.get(i) != 0) {
+				return highestValue(i);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Get the value at the specified percentile
+	 * <p>
+	 * Returns the smallest value such that the specified percentage of the
+	 * recorded values are less than or equal to it, to bucket precision.
+	 * 
+	 * @param percentile  Percentile to get, between 0 and 100
+	 * 
+	 * @return The value at the percentile, or 0 if nothing has been recorded
+	 * 
+	 * @throws IllegalArgumentException If percentile is not between 0 and 100
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+		final long n = getCount();
+		if (n == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += this.counts.get(i);
+			if (seen >= rank) {
+				return highestValue(i);
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Get the bucket that the specified value falls in
+	 * <p>
+	 * Values below {@link #SUB_BUCKETS} have a bucket each. Above that, the
+	 * exponent picks the group, and the next {@link #SUB_BUCKET_BITS} bits
+	 * below the leading one pick the sub-bucket.
+	 */
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * The highest value that falls in the specified bucket; the inverse of {@link #bucket(long)}
+	 */
+	private static long highestValue(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		final int shift = bucket / SUB_BUCKETS - 1;
+		final long lowest = ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LatencyHistogram [count=%d, mean=%.1f, p50=%d, p99=%d, p99.9=%d, max=%d]",
+				getCount(), getMean(), getValueAtPercentile(50), getValueAtPercentile(99),
+				getValueAtPercentile(99.9), getMax());
+	}
+}
@@ -0,0 +1,77 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram h = new LatencyHistogram();
+		assertEquals("Empty histogram has no values", 0, h.getCount());
+		assertEquals("Empty histogram has zero percentile", 0, h.getValueAtPercentile(99));
+		assertEquals("Empty histogram has zero max", 0, h.getMax());
+	}
+
+	@Test
+	public void testSmallValuesExact() {
+		LatencyHistogram h = new LatencyHistogram();
+		for(int i = 1; i <= 10; i++) {
+			h.record(i);
+		}
+		assertEquals("Count should match values recorded", 10, h.getCount());
+		assertEquals("Small values are exact", 5, h.getValueAtPercentile(50));
+		assertEquals("Small values are exact", 10, h.getMax());
+		assertEquals("Mean is exact", 5.5, h.getMean(), 0);
+	}
+
+	@Test
+	public void testPercentilePrecision() {
+		LatencyHistogram h = new LatencyHistogram();
+		for(int i = 1; i <= 100000; i++) {
+			h.record(i * 1000L);
+		}
+		long[] expected = new long[] {50000000L, 99000000L, 99900000L};
+		double[] percentiles = new double[] {50, 99, 99.9};
+		for(int i = 0; i < percentiles.length; i++) {
+			long actual = h.getValueAtPercentile(percentiles[i]);
+			assertTrue("Percentile should be within bucket precision", Math.abs(actual - expected[i]) <= expected[i] / 16);
+			assertTrue("Percentile should not understate", actual >= expected[i]);
+		}
+		assertEquals("Largest value fits", Long.MAX_VALUE, bucketMax(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testAddAndReset() {
+		LatencyHistogram a = new LatencyHistogram();
+		LatencyHistogram b = new LatencyHistogram();
+		a.record(3);
+		b.record(7);
+		b.record(-1);
+		a.add(b);
+		assertEquals("Added histogram has both counts", 3, a.getCount());
+		assertEquals("Negative values record as zero", 0, a.getValueAtPercentile(0));
+		assertEquals("Added histogram has combined max", 7, a.getMax());
+		a.reset();
+		assertEquals("Reset histogram is empty", 0, a.getCount());
+		assertEquals("Reset histogram is empty", 0, a.getMax());
+	}
+
+	@Test
+	public void testBadPercentile() {
+		try {
+			new LatencyHistogram().getValueAtPercentile(101);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe error", "Percentile must be between 0 and 100", e.getMessage());
+		}
+	}
+
+	private static long bucketMax(long value) {
+		LatencyHistogram h = new LatencyHistogram();
+		h.record(value);
+		return h.getMax();
+	}
+}
@@ -0,0 +1,249 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Release the off-heap copy if copying fails
+ */
+package deathray.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * A read-only view of a matrix file written by {@link MatrixFormat}.
+ * <p>
+ * The file is mapped into memory, and elements are read from the mapping when
+ * asked for. Loading a matrix this way costs only the header check, however
+ * large the matrix is; the operating system pages the elements in as they are
+ * used, and can share them between processes mapping the same file.
+ * <p>
+ * The mapping stays valid until the view is garbage collected. The file must
+ * not be truncated or rewritten while a view of it is in use.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class MappedMatrix {
+	/**
+	 * Size of each mapped region. Mappings are limited to 2GB each, so larger
+	 * files are mapped in several regions. The size is a multiple of every element
+	 * width, and the header size is too, so no element spans two regions.
+	 */
+	private static final int REGION_BITS = 30;
+	private static final long REGION_MASK = (1L << REGION_BITS) - 1;
+
+	private final ByteBuffer[] regions;
+	private final int rows;
+	private final int cols;
+	private final int width;
+	private final long modulus;
+
+	private MappedMatrix(ByteBuffer[] regions, int rows, int cols, int width, long modulus) {
+		this.regions = regions;
+		this.rows = rows;
+		this.cols = cols;
+		this.width = width;
+		this.modulus = modulus;
+	}
+
+	/**
+	 * Map a matrix file
+	 * 
+	 * @param file  The file to map
+	 * 
+	 * @return A read-only view of the matrix in the file
+	 * 
+	 * @throws IOException If the file cannot be read, is not a matrix file, or
+	 *         is shorter than its header says
+	 */
+	public static MappedMatrix map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size < MatrixFormat.HEADER_SIZE) {
+				throw new IOException(file + " is not a matrix file");
+			}
+			final ByteBuffer header = ByteBuffer.allocate(MatrixFormat.HEADER_SIZE).order(MatrixFormat.ORDER);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) < 0) {
+					throw new IOException(file + " is not a matrix file");
+				}
+			}
+			header.flip();
+			final byte[] magic = new byte[MatrixFormat.MAGIC.length];
+			header.get(magic);
+			if (!Arrays.equals(magic, MatrixFormat.MAGIC)) {
+				throw new IOException(file + " is not a matrix file");
+			}
+			final int version = header.getShort() & 0xFFFF;
+			if (version != MatrixFormat.VERSION) {
+				throw new IOException("Unsupported matrix format version " + version);
+			}
+			final int width = header.get();
+			header.get();
+			final int rows = header.getInt();
+			final int cols = header.getInt();
+			final long modulus = header.getLong();
+			if (rows < 1 || cols < 1 || (width != 1 && width != 2 && width != 4 && width != 8)) {
+				throw new IOException(file + " has a corrupt matrix header");
+			}
+			final long end = MatrixFormat.HEADER_SIZE + (long) rows * cols * width;
+			if (size < end) {
+				throw new IOException(file + " is truncated: expected " + end + " bytes, found " + size);
+			}
+			final ByteBuffer[] regions = new ByteBuffer[(int) ((end - 1) >>> REGION_BITS) + 1];
+			for(int i = 0; i < regions.length; i++) {
+				final long start = (long) i << REGION_BITS;
+				final MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(end - start, 1L << REGION_BITS));
+				regions[i] = region.order(MatrixFormat.ORDER);
+			}
+			return new MappedMatrix(regions, rows, cols, width, modulus);
+		}
+	}
+
+	/**
+	 * Get the number of rows in this matrix
+	 * 
+	 * @return  Number of rows in this matrix
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns in this matrix
+	 * 
+	 * @return  Number of columns in this matrix
+	 */
+	public int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Get the modulus of the elements of this matrix
+	 * 
+	 * @return The modulus, or zero if none was recorded
+	 */
+	public long getModulus() {
+		return this.modulus;
+	}
+
+	/**
+	 * Get the width each element is stored in
+	 * 
+	 * @return Element width, in bytes
+	 */
+	public int getElementWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Get the specified element
+	 * 
+	 * @param row     The row of the element to retrieve
+	 * @param column  The column of the element to retrieve
+	 * 
+	 * @return The specified element
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 */
+	public long getValue(int row, int column) {
+		if (row >= this.rows || row < 0) {
+			throw new IndexOutOfBoundsException(row + "");
+		}
+		if (column >= this.cols || column < 0) {
+			throw new IndexOutOfBoundsException("" + column);
+		}
+		final long offset = MatrixFormat.HEADER_SIZE + ((long) row * this.cols + column) * this.width;
+		final ByteBuffer region = this.regions[(int) (offset >>> REGION_BITS)];
+		final int index = (int) (offset & REGION_MASK);
+		switch (this.width) {
+		case 1:
+			return region.get(index) & 0xFFL;
+		case 2:
+			return region.getShort(index) & 0xFFFFL;
+		case 4:
+			return region.getInt(index) & 0xFFFFFFFFL;
+		default:
+			return region.getLong(index);
+		}
+	}
+
+	/**
+	 * Copy this matrix onto the heap
+	 * 
+	 * @param fromLong  Function creating an element from its value
+	 * 
+	 * @return A new {@link Matrix} holding the same values
+	 */
+	public <T extends ArithmeticPrimitive> Matrix<T> toMatrix(LongFunction<? extends T> fromLong) {
+		final List<List<T>> data = new ArrayList<>(this.rows);
+		for(int r = 0; r < this.rows; r++) {
+			final List<T> row = new ArrayList<>(this.cols);
+			for(int c = 0; c < this.cols; c++) {
+				row.add(fromLong.apply(getValue(r, c)));
+			}
+			data.add(row);
+		}
+		return new Matrix<T>(data);
+	}
+
+	/**
+	 * Copy this matrix into native memory
+	 * 
+	 * @return A new off-heap matrix holding the same values, which the caller must close
+	 * 
+	 * @throws IllegalArgumentException If the modulus is too large for {@link OffHeapMatrix}
+	 */
+	public OffHeapMatrix toOffHeap() {
+		final OffHeapMatrix copy = new OffHeapMatrix(this.rows, this.cols, this.modulus);
+		try {
+			for(int r = 0; r < this.rows; r++) {
+				for(int c = 0; c < this.cols; c++) {
+					copy.setValue(getValue(r, c), r, c);
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			copy.close();
+			throw e;
+		}
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return "MappedMatrix [" + this.rows + "x" + this.cols + ", " + this.width + " byte elements"
+				+ (this.modulus == 0 ? "" : ", mod " + this.modulus) + "]";
+	}
+}
@@ -1,7 +1,20 @@
 package deathray.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import deathray.util.MatrixProfile.Counter;
 
 /**
  * Implement the Matrix algebraic structure.
@@ -24,6 +37,12 @@ import java.util.List;
  */
 @SuppressWarnings("unchecked")
 public final class Matrix<T extends ArithmeticPrimitive> {
+	/**
+	 * Size at or below which {@link #multiplyStrassen(Matrix)} switches to the
+	 * classic kernel. Set with system property "DeathRay.strassenCutoff"; see
+	 * {@code deathray.main.StrassenBenchmark} for measuring the crossover.
+	 */
+	static final int STRASSEN_CUTOFF = Integer.getInteger("DeathRay.strassenCutoff", 64);
 	/**
 	 * The internal matrix data. We store the values as a list of rows. A row is 
 	 * itself a list, containing elements of type T.
@@ -37,6 +56,11 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 	 * The number of columns in this matrix
 	 */
 	private final int cols;
+	/**
+	 * The hash code, or 0 until first computed. Racy but safe, as every thread
+	 * computes the same value.
+	 */
+	private int hash;
 	
 	/**
 	 * Create an empty Matrix, with specified dimensions.
@@ -59,6 +83,8 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		this.matrix = new ArrayList<List<T>>();
 		this.rows = rows;
 		this.cols = columns;
+		MatrixProfiler.count(Counter.MATRIX_ALLOCATIONS, 1);
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, 1);
 	}
 	
 	/**
@@ -90,19 +116,36 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 				dataList.get(r).add(data[r][c]);
 			}
 		}
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, data.length + 1);
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, data.length * len);
 		this.matrix.addAll(dataList);
 	}
 	/**
 	 * Create a matrix with specified data
 	 * <p>
 	 * Creates a new matrix with specified data. The data cannot be null (however it can 
-	 * contain null), and all inner lists must be of the same size.
+	 * contain null), and all inner lists must be of the same size. The rows are
+	 * copied, so later changes to the lists do not affect the matrix.
 	 * 
 	 * @param data  Data to populate the new matrix
 	 * @throws NullPointerException  If the data parameter is null
 	 * @throws IllegalArgumentException  If the columns have differing lengths
 	 */
 	public Matrix(List<List<T>> data) {
+		this(data, true);
+	}
+
+	/**
+	 * Create a matrix with specified data, copying the rows only if asked
+	 * <p>
+	 * The cached hash code, and interning, rely on the rows never changing, so
+	 * rows from callers are always copied. Rows built in this package, and
+	 * never shared, are adopted as they are.
+	 * 
+	 * @param data  Data to populate the new matrix
+	 * @param copy  true to copy the rows, false to adopt them
+	 */
+	Matrix(List<List<T>> data, boolean copy) {
 		this(data.size(), data.get(0).size());
 		this.matrix.clear();
 		for(List<T> row : data) {
@@ -110,7 +153,15 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 				throw new IllegalArgumentException("All rows of a matrix should have the same number of columns");
 			}
 		}
-		this.matrix.addAll(data);
+		if (copy) {
+			for(List<T> row : data) {
+				this.matrix.add(new ArrayList<>(row));
+			}
+			MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getRows());
+			MatrixProfiler.count(Counter.ELEMENT_COPIES, size());
+		} else {
+			this.matrix.addAll(data);
+		}
 	}
 	
 	/**
@@ -195,10 +246,15 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		if( column > getColumns() || column < 0 ) {
 			throw new IndexOutOfBoundsException(""+column);
 		}
-		List<List<T>> copy = getMatrixData();
-		copy.get(row).remove(column);
-		copy.get(row).add(column,value);
-		return new Matrix<T>(copy);
+		MatrixProfiler.enter("setValue");
+		try {
+			List<List<T>> copy = getMatrixData();
+			copy.get(row).remove(column);
+			copy.get(row).add(column,value);
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
+		}
 	}
 	
 	/**
@@ -219,18 +275,23 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		if (scalar == null) {
 			throw new IllegalArgumentException("Cannot multiply by null");
 		}
-		List<List<T>> copy = getMatrixData();
-		for(int r = 0; r < getRows(); r++) {
-			for(int c = 0; c < getColumns(); c++) {
-				T elem = copy.get(r).remove(c);
-				if( elem != null ) {
-					copy.get(r).add(c, (T) elem.multiplyBy(scalar));
-				} else {
-					copy.get(r).add(c, elem);
+		MatrixProfiler.enter("scalarMult");
+		try {
+			List<List<T>> copy = getMatrixData();
+			for(int r = 0; r < getRows(); r++) {
+				for(int c = 0; c < getColumns(); c++) {
+					T elem = copy.get(r).remove(c);
+					if( elem != null ) {
+						copy.get(r).add(c, (T) elem.multiplyBy(scalar));
+					} else {
+						copy.get(r).add(c, elem);
+					}
 				}
 			}
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
 		}
-		return new Matrix<T>(copy);
 	}
 
 	/**
@@ -251,14 +312,19 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		if ( other.getRows() != getRows() || other.getColumns() != getColumns() ) {
 			throw new IllegalArgumentException("Cannot add two matricies of different orders together");
 		}
-		List<List<T>> copy = getMatrixData();
-		for(int r = 0; r < getRows(); r++) {
-			for(int c = 0; c < getColumns(); c++) {
-				T elem = copy.get(r).remove(c);
-				copy.get(r).add(c, (T) elem.add(other.getValue(r, c)));
+		MatrixProfiler.enter("add");
+		try {
+			List<List<T>> copy = getMatrixData();
+			for(int r = 0; r < getRows(); r++) {
+				for(int c = 0; c < getColumns(); c++) {
+					T elem = copy.get(r).remove(c);
+					copy.get(r).add(c, (T) elem.add(other.getValue(r, c)));
+				}
 			}
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
 		}
-		return new Matrix<T>(copy);
 	}
 	
 	/**
@@ -279,16 +345,256 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		if ( other.getRows() != getRows() || other.getColumns() != getColumns() ) {
 			throw new IllegalArgumentException("Cannot subtract two matricies of different orders");
 		}
-		final List<List<T>> copy = getMatrixData();
-		for(int r = 0; r < getRows(); r++) {
-			for(int c = 0; c < getColumns(); c++) {
-				T elem = copy.get(r).remove(c);
-				copy.get(r).add(c, (T) elem.subtract(other.getValue(r, c)));
+		MatrixProfiler.enter("subtract");
+		try {
+			final List<List<T>> copy = getMatrixData();
+			for(int r = 0; r < getRows(); r++) {
+				for(int c = 0; c < getColumns(); c++) {
+					T elem = copy.get(r).remove(c);
+					copy.get(r).add(c, (T) elem.subtract(other.getValue(r, c)));
+				}
 			}
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
 		}
-		return new Matrix<T>(copy);
 	}
 	
+	/**
+	 * Apply a function to every element
+	 * <p>
+	 * Return a new matrix, with the same dimensions as this one, where every
+	 * element is the result of applying the function to the corresponding
+	 * element of this matrix. This is how to reduce, compress or otherwise
+	 * transform every element without a loop over {@link #getValue(int, int)}.
+	 * 
+	 * @param function  Function to apply to each element
+	 * 
+	 * @return A new matrix of the function's results
+	 */
+	public <R extends ArithmeticPrimitive> Matrix<R> map(Function<? super T, ? extends R> function) {
+		return map(function, false);
+	}
+
+	/**
+	 * Apply a function to every element, optionally in parallel
+	 * <p>
+	 * As {@link #map(Function)}. When parallel, rows are transformed
+	 * concurrently on the common fork/join pool, so the function must be
+	 * thread-safe; this pays only for large matrices or expensive functions.
+	 * 
+	 * @param function  Function to apply to each element
+	 * @param parallel  true to transform rows in parallel
+	 * 
+	 * @return A new matrix of the function's results
+	 */
+	public <R extends ArithmeticPrimitive> Matrix<R> map(Function<? super T, ? extends R> function, boolean parallel) {
+		MatrixProfiler.enter("map");
+		try {
+			return new Matrix<R>(buildRows(r -> {
+				final List<T> source = this.matrix.get(r);
+				final List<R> row = new ArrayList<>(getColumns());
+				for(T elem : source) {
+					row.add(function.apply(elem));
+				}
+				return row;
+			}, parallel), false);
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	/**
+	 * Combine every element with the corresponding element of another matrix
+	 * 
+	 * @param other     The matrix to combine with this one
+	 * @param function  Function taking an element of this matrix and the
+	 *                  corresponding element of the other
+	 * 
+	 * @return A new matrix of the function's results
+	 * 
+	 * @throws IllegalArgumentException If the specified matrix has different dimensions
+	 * than this matrix
+	 */
+	public <U extends ArithmeticPrimitive, R extends ArithmeticPrimitive> Matrix<R> zipWith(Matrix<U> other,
+			BiFunction<? super T, ? super U, ? extends R> function) {
+		return zipWith(other, function, false);
+	}
+
+	/**
+	 * Combine every element with the corresponding element of another matrix,
+	 * optionally in parallel
+	 * <p>
+	 * As {@link #zipWith(Matrix, BiFunction)}. When parallel, rows are combined
+	 * concurrently on the common fork/join pool, so the function must be
+	 * thread-safe.
+	 * 
+	 * @param other     The matrix to combine with this one
+	 * @param function  Function taking an element of this matrix and the
+	 *                  corresponding element of the other
+	 * @param parallel  true to combine rows in parallel
+	 * 
+	 * @return A new matrix of the function's results
+	 * 
+	 * @throws IllegalArgumentException If the specified matrix has different dimensions
+	 * than this matrix
+	 */
+	public <U extends ArithmeticPrimitive, R extends ArithmeticPrimitive> Matrix<R> zipWith(Matrix<U> other,
+			BiFunction<? super T, ? super U, ? extends R> function, boolean parallel) {
+		if ( other.getRows() != getRows() || other.getColumns() != getColumns() ) {
+			throw new IllegalArgumentException("Cannot combine two matricies of different orders");
+		}
+		MatrixProfiler.enter("zipWith");
+		try {
+			return new Matrix<R>(buildRows(r -> {
+				final List<T> left = this.matrix.get(r);
+				final List<U> right = other.matrix.get(r);
+				final List<R> row = new ArrayList<>(getColumns());
+				for(int c = 0; c < getColumns(); c++) {
+					row.add(function.apply(left.get(c), right.get(c)));
+				}
+				return row;
+			}, parallel), false);
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	/**
+	 * Combine every element into one value
+	 * <p>
+	 * Elements are combined in row-major order, starting from the identity.
+	 * 
+	 * @param identity     The identity of the operator, returned for no elements
+	 * @param accumulator  An associative operator combining two values
+	 * 
+	 * @return The combination of every element
+	 */
+	public T reduce(T identity, BinaryOperator<T> accumulator) {
+		return reduce(identity, accumulator, false);
+	}
+
+	/**
+	 * Combine every element into one value, optionally in parallel
+	 * <p>
+	 * As {@link #reduce(Object, BinaryOperator)}. When parallel, the operator
+	 * must be associative and thread-safe, and the identity a true identity, as
+	 * for {@link Stream#reduce(Object, BinaryOperator)}.
+	 * 
+	 * @param identity     The identity of the operator
+	 * @param accumulator  An associative operator combining two values
+	 * @param parallel     true to reduce parts of the matrix in parallel
+	 * 
+	 * @return The combination of every element
+	 */
+	public T reduce(T identity, BinaryOperator<T> accumulator, boolean parallel) {
+		final Stream<T> elements = parallel ? parallelStream() : stream();
+		return elements.reduce(identity, accumulator);
+	}
+
+	/**
+	 * Get a sequential stream of the elements, in row-major order
+	 * 
+	 * @return A stream of every element of this matrix
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Get a parallel stream of the elements, in row-major order
+	 * 
+	 * @return A possibly parallel stream of every element of this matrix
+	 */
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Get a spliterator over the elements, in row-major order
+	 * <p>
+	 * The spliterator reads the rows directly, and splits evenly by element
+	 * count, so parallel streams divide the work well.
+	 * 
+	 * @return A sized, ordered spliterator over every element of this matrix
+	 */
+	public Spliterator<T> spliterator() {
+		return new ElementSpliterator(0, size());
+	}
+
+	/**
+	 * Splits the elements, in row-major order, by index range
+	 */
+	private final class ElementSpliterator implements Spliterator<T> {
+		private int index;
+		private final int end;
+
+		ElementSpliterator(int index, int end) {
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (this.index >= this.end) {
+				return false;
+			}
+			action.accept(Matrix.this.matrix.get(this.index / getColumns()).get(this.index % getColumns()));
+			this.index++;
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			final int cols = getColumns();
+			int i = this.index;
+			while (i < this.end) {
+				final List<T> row = Matrix.this.matrix.get(i / cols);
+				final int rowEnd = Math.min(this.end, (i / cols + 1) * cols);
+				for(int c = i % cols; i < rowEnd; c++, i++) {
+					action.accept(row.get(c));
+				}
+			}
+			this.index = i;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			final int mid = (this.index + this.end) >>> 1;
+			if (mid <= this.index) {
+				return null;
+			}
+			final Spliterator<T> prefix = new ElementSpliterator(this.index, mid);
+			this.index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return this.end - this.index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+		}
+	}
+
+	/**
+	 * Build a list of rows, optionally in parallel
+	 * 
+	 * @param row       Function building the row with a given index
+	 * @param parallel  true to build rows in parallel
+	 * 
+	 * @return The rows, in order
+	 */
+	private <R> List<List<R>> buildRows(IntFunction<List<R>> row, boolean parallel) {
+		final IntStream indices = IntStream.range(0, getRows());
+		final List<R>[] rows = (parallel ? indices.parallel() : indices).mapToObj(row).toArray(List[]::new);
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getRows() + 1);
+		return Arrays.asList(rows);
+	}
+
 	/**
 	 * Transpose this matrix
 	 * <p>
@@ -299,15 +605,22 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 	 * @return A new matrix that is the transposition of this matrix
 	 */
 	public Matrix<T> transpose(){
-		List<List<T>> copy = new ArrayList<>();
-		for(int i = 0; i < getColumns(); i++) {
-			List<T> column = new ArrayList<T>();
-			for(List<T> row : getMatrixData() ) {
-				column.add(row.get(i));
+		MatrixProfiler.enter("transpose");
+		try {
+			List<List<T>> copy = new ArrayList<>();
+			for(int i = 0; i < getColumns(); i++) {
+				List<T> column = new ArrayList<T>();
+				for(List<T> row : getMatrixData() ) {
+					column.add(row.get(i));
+				}
+				copy.add(column);
 			}
-			copy.add(column);
+			MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getColumns() + 1);
+			MatrixProfiler.count(Counter.ELEMENT_COPIES, size());
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
 		}
-		return new Matrix<T>(copy);
 	}
 	
 	/**
@@ -317,6 +630,18 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 	 * on this matrix and the specified matrix. Matrix multiplication consolodates
 	 * to matricies, into a new matrix where every element is the dot product of
 	 * the corresponding row and column in the original matricies.
+	 * <p>
+	 * When the other matrix is a single column, this uses
+	 * {@link #multiplyVector(Matrix)}. For large matricies of exact elements,
+	 * such as integers modulo q, {@link #multiplyStrassen(Matrix)} is faster;
+	 * it is never chosen automatically, as it rounds differently for inexact
+	 * elements such as floating point.
+	 * <p>
+	 * Otherwise the rows of the product are computed in parallel when there are
+	 * enough of them, and they are expensive enough, for that to be faster; this
+	 * is aimed at small matricies of costly elements, such as the k&times;k
+	 * matrix of polynomials in a module-lattice scheme. See
+	 * {@link #multiply(Matrix, boolean)} to choose explicitly.
 	 * 
 	 * @param other  matrix to multiply this matrix by
 	 * 
@@ -327,35 +652,254 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 	 * number of rows than this matrix has columns
 	 */
 	public Matrix<T> multiply(Matrix<T> other){
+		return multiply(other, ParallelRows.Mode.AUTO);
+	}
+
+	/**
+	 * Multiply this matrix by the specified matrix, choosing whether to compute
+	 * the rows of the product in parallel
+	 * <p>
+	 * As {@link #multiply(Matrix)}. When parallel, the rows of the product are
+	 * spread across a small pool of threads shared by all matricies, which
+	 * reduces the latency of a single multiplication of expensive elements. The
+	 * result is the same either way. Work done on the pool's threads is not
+	 * counted by the calling thread's {@link MatrixProfiler}.
+	 * 
+	 * @param other     matrix to multiply this matrix by
+	 * @param parallel  true to compute rows in parallel, false to compute them
+	 *                  all on the calling thread
+	 * 
+	 * @return A new matrix, where every element is the dot product of
+	 * the corresponding row and column in the original matricies.
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 * number of rows than this matrix has columns
+	 */
+	public Matrix<T> multiply(Matrix<T> other, boolean parallel){
+		return multiply(other, ParallelRows.Mode.of(parallel));
+	}
+
+	private Matrix<T> multiply(Matrix<T> other, ParallelRows.Mode mode){
 		if (getColumns() != other.getRows()) {
 			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
 		}
-		List<List<T>> copy = new ArrayList<>();
-		for(int r = 0; r < getRows(); r++) {
-			for(int c = 0; c < other.getColumns(); c++) {
-				if(r >= copy.size()) {
-					copy.add(new ArrayList<T>());
+		MatrixProfiler.enter("multiply");
+		try {
+			final MatrixMultiplyEvent event = MatrixMetrics.beginMultiply();
+			if (other.getColumns() == 1) {
+				final Matrix<T> product = vectorProduct(other, mode);
+				MatrixMetrics.endMultiply(event, getRows(), getColumns(), 1);
+				return product;
+			}
+			final List<List<T>> copy = new ArrayList<>(Collections.nCopies(getRows(), (List<T>) null));
+			ParallelRows.forEach(getRows(), r -> {
+				final List<T> rowVector = getRowVector(r);
+				final List<T> row = new ArrayList<>(other.getColumns());
+				for(int c = 0; c < other.getColumns(); c++) {
+					row.add(dotProduct(rowVector, other.getColumnVector(c)));
+				}
+				copy.set(r, row);
+			}, mode);
+			MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getRows() + 1);
+			MatrixMetrics.endMultiply(event, getRows(), getColumns(), other.getColumns());
+			return new Matrix<T>(copy, false);
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	/**
+	 * Multiply this matrix by a column vector
+	 * <p>
+	 * Computes A&middot;v by streaming each row of this matrix against the vector,
+	 * without the row and column copies of the general multiply. The result is
+	 * the same as {@link #multiply(Matrix)} with a single-column matrix, and
+	 * like it, rows are computed in parallel when that is likely to be faster.
+	 * 
+	 * @param vector  A column vector with as many rows as this matrix has columns
+	 * 
+	 * @return A new column vector with as many rows as this matrix
+	 * 
+	 * @throws IllegalArgumentException If the vector is not a single column of
+	 *         the right length
+	 */
+	public Matrix<T> multiplyVector(Matrix<T> vector) {
+		return multiplyVector(vector, ParallelRows.Mode.AUTO);
+	}
+
+	/**
+	 * Multiply this matrix by a column vector, choosing whether to compute the
+	 * rows in parallel
+	 * <p>
+	 * As {@link #multiplyVector(Matrix)}, with parallelism chosen as for
+	 * {@link #multiply(Matrix, boolean)}.
+	 * 
+	 * @param vector    A column vector with as many rows as this matrix has columns
+	 * @param parallel  true to compute rows in parallel, false to compute them
+	 *                  all on the calling thread
+	 * 
+	 * @return A new column vector with as many rows as this matrix
+	 * 
+	 * @throws IllegalArgumentException If the vector is not a single column of
+	 *         the right length
+	 */
+	public Matrix<T> multiplyVector(Matrix<T> vector, boolean parallel) {
+		return multiplyVector(vector, ParallelRows.Mode.of(parallel));
+	}
+
+	private Matrix<T> multiplyVector(Matrix<T> vector, ParallelRows.Mode mode) {
+		if (vector.getColumns() != 1 || vector.getRows() != getColumns()) {
+			throw new IllegalArgumentException("Vector must be a single column with as many rows as this matrix has columns");
+		}
+		MatrixProfiler.enter("multiplyVector");
+		try {
+			final MatrixMultiplyEvent event = MatrixMetrics.beginMultiply();
+			final Matrix<T> product = vectorProduct(vector, mode);
+			MatrixMetrics.endMultiply(event, getRows(), getColumns(), 1);
+			return product;
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	/**
+	 * Multiply the transposition of this matrix by a column vector
+	 * <p>
+	 * Computes A<sup>T</sup>&middot;v without forming A<sup>T</sup>: each row of
+	 * this matrix is scaled by the corresponding vector element and accumulated
+	 * into the result, so rows are read in order. The result is the same as
+	 * <code>transpose().multiplyVector(vector)</code>.
+	 * 
+	 * @param vector  A column vector with as many rows as this matrix
+	 * 
+	 * @return A new column vector with as many rows as this matrix has columns
+	 * 
+	 * @throws IllegalArgumentException If the vector is not a single column of
+	 *         the right length
+	 */
+	public Matrix<T> multiplyVectorTransposed(Matrix<T> vector) {
+		if (vector.getColumns() != 1 || vector.getRows() != getRows()) {
+			throw new IllegalArgumentException("Vector must be a single column with as many rows as this matrix");
+		}
+		MatrixProfiler.enter("multiplyVectorTransposed");
+		try {
+			final MatrixMultiplyEvent event = MatrixMetrics.beginMultiply();
+			final Object[] sums = new Object[getColumns()];
+			for(int r = 0; r < getRows(); r++) {
+				final T scale = vector.matrix.get(r).get(0);
+				final List<T> row = this.matrix.get(r);
+				for(int c = 0; c < sums.length; c++) {
+					final T term = (T) row.get(c).multiplyBy(scale);
+					sums[c] = r == 0 ? term : ((T) sums[c]).add(term);
 				}
-				copy.get(r).add(dotProduct(getRowVector(r), other.getColumnVector(c)));
 			}
+			final List<List<T>> result = new ArrayList<>(sums.length);
+			for(Object sum : sums) {
+				final List<T> row = new ArrayList<>(1);
+				row.add((T) sum);
+				result.add(row);
+			}
+			MatrixProfiler.count(Counter.LIST_ALLOCATIONS, sums.length + 1);
+			MatrixMetrics.endMultiply(event, getColumns(), getRows(), 1);
+			return new Matrix<T>(result, false);
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	/**
+	 * Multiply this matrix by the specified matrix, using Strassen-Winograd with
+	 * the default cutoff
+	 * <p>
+	 * As {@link #multiplyStrassen(Matrix, int)}, switching to the classic kernel
+	 * at {@link #STRASSEN_CUTOFF}.
+	 * 
+	 * @param other  matrix to multiply this matrix by
+	 * 
+	 * @return A new matrix holding the product
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 * number of rows than this matrix has columns
+	 */
+	public Matrix<T> multiplyStrassen(Matrix<T> other) {
+		return multiplyStrassen(other, STRASSEN_CUTOFF);
+	}
+
+	/**
+	 * Multiply this matrix by the specified matrix, using Strassen-Winograd
+	 * <p>
+	 * Recursively forms the product from seven half-size products instead of
+	 * eight, switching to the classic kernel once the halves are no larger than
+	 * the cutoff. The operands are padded to a square with zeros, derived from
+	 * this matrix's elements as x - x. Only ring operations are used, so for
+	 * elements with exact arithmetic, such as integers modulo q, the result
+	 * equals that of {@link #multiply(Matrix)}. Inexact elements, such as
+	 * floating point, round differently, so the result may differ slightly.
+	 * <p>
+	 * It pays only when at least one level of recursion happens, and the
+	 * operands are close enough to square that padding does not waste the gain.
+	 * Neither matrix may contain null.
+	 * 
+	 * @param other   matrix to multiply this matrix by
+	 * @param cutoff  Size at or below which to use the classic kernel; a cutoff
+	 *                at least as large as every dimension uses only the classic kernel
+	 * 
+	 * @return A new matrix holding the product
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 * number of rows than this matrix has columns, or the cutoff is less than 1
+	 */
+	public Matrix<T> multiplyStrassen(Matrix<T> other, int cutoff) {
+		if (getColumns() != other.getRows()) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		if (cutoff < 1) {
+			throw new IllegalArgumentException("Strassen cutoff must be at least 1");
+		}
+		MatrixProfiler.enter("multiplyStrassen");
+		try {
+			final MatrixMultiplyEvent event = MatrixMetrics.beginMultiply();
+			final Matrix<T> product = strassen(other, cutoff);
+			MatrixMetrics.endMultiply(event, getRows(), getColumns(), other.getColumns());
+			return product;
+		} finally {
+			MatrixProfiler.exit();
 		}
-		return new Matrix<T>(copy);
 	}
 
 	/**
 	 * Required for Hash*
 	 * <p>
 	 * Required to ensure that we get a unique hash code for every matrix, for use
-	 * in Hash based collections
+	 * in Hash based collections. As the matrix is immutable, the hash is computed
+	 * on first use and kept.
 	 */
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + this.matrix.hashCode();
+		int result = this.hash;
+		if (result == 0) {
+			final int prime = 31;
+			result = 1;
+			result = prime * result + this.matrix.hashCode();
+			this.hash = result;
+		}
 		return result;
 	}
 
+	/**
+	 * Get the canonical instance of this matrix
+	 * <p>
+	 * Returns the one instance shared by every equal matrix interned, this one
+	 * if it is the first. Canonical instances compare equal by identity, and
+	 * once unreachable elsewhere they are collected as usual. See
+	 * {@link MatrixInterner} for interners with their own pools.
+	 * 
+	 * @return A matrix equal to this one, shared by every equal interned matrix
+	 */
+	public Matrix<T> intern() {
+		return MatrixInterner.SHARED.intern(this);
+	}
+
 	/**
 	 * Returns true if the specified matrix is equal to this one.
 	 * <p>
@@ -376,6 +920,10 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		if( other.getRows() != getRows() || other.getColumns() != getColumns() || size() != other.size() ) {
 			return false;
 		}
+		if( this.hash != 0 && other.hash != 0 && this.hash != other.hash ) {
+			// Both hashes are already known, and differ
+			return false;
+		}
 		return this.matrix.equals(other.matrix);
 	}
 
@@ -390,6 +938,8 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 	 * @return List of elements in the specified row
 	 */
 	private List<T> getRowVector(int row){
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, 1);
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, getColumns());
 		return new ArrayList<T>(this.matrix.get(row));
 	}
 	
@@ -407,6 +957,8 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		for(List<T> row : getMatrixData()) {
 			copy.add(row.get(column));
 		}
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, 1);
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, getRows());
 		return copy;
 	}
 	
@@ -434,6 +986,58 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		return sum;
 	}
 
+	/**
+	 * Multiply by a column vector, without checks or instrumentation
+	 */
+	private Matrix<T> vectorProduct(Matrix<T> vector, ParallelRows.Mode mode) {
+		final List<T> v = new ArrayList<>(vector.getRows());
+		for(List<T> row : vector.matrix) {
+			v.add(row.get(0));
+		}
+		final List<List<T>> result = new ArrayList<>(Collections.nCopies(getRows(), (List<T>) null));
+		ParallelRows.forEach(getRows(), r -> {
+			final List<T> out = new ArrayList<>(1);
+			out.add(dotProduct(this.matrix.get(r), v));
+			result.set(r, out);
+		}, mode);
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getRows() + 2);
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, vector.getRows());
+		return new Matrix<T>(result, false);
+	}
+
+	/**
+	 * Multiply using {@link StrassenWinograd}, without checks or instrumentation
+	 */
+	private Matrix<T> strassen(Matrix<T> other, int cutoff) {
+		final T any = getValue(0, 0);
+		final ArithmeticPrimitive[][] product = StrassenWinograd.multiply(toArray(), other.toArray(),
+				any.subtract(any), cutoff);
+		final List<List<T>> rows = new ArrayList<>(product.length);
+		for(ArithmeticPrimitive[] row : product) {
+			final List<T> list = new ArrayList<>(row.length);
+			for(ArithmeticPrimitive elem : row) {
+				list.add((T) elem);
+			}
+			rows.add(list);
+		}
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, product.length + 1);
+		return new Matrix<T>(rows, false);
+	}
+
+	/**
+	 * Get the elements as an array of rows
+	 * 
+	 * @return A new array holding the elements of this matrix
+	 */
+	private ArithmeticPrimitive[][] toArray() {
+		final ArithmeticPrimitive[][] array = new ArithmeticPrimitive[getRows()][];
+		for(int r = 0; r < getRows(); r++) {
+			array[r] = this.matrix.get(r).toArray(new ArithmeticPrimitive[getColumns()]);
+		}
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, size());
+		return array;
+	}
+
 	/**
 	 * Get a copy of the elements
 	 * <p>
@@ -446,6 +1050,8 @@ public final class Matrix<T extends ArithmeticPrimitive> {
 		for(List<T> row : this.matrix) {
 			copy.add(new ArrayList<>(row));
 		}
+		MatrixProfiler.count(Counter.LIST_ALLOCATIONS, getRows() + 1);
+		MatrixProfiler.count(Counter.ELEMENT_COPIES, size());
 		return copy;
 	}
 
@@ -0,0 +1,540 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import deathray.util.MatrixProfile.Counter;
+
+/**
+ * A lazily evaluated chain of {@link Matrix} operations.
+ * <p>
+ * Chaining Matrix operations, as in
+ * <code>a.multiply(b).add(c).scalarMult(k).transpose()</code>, copies the whole
+ * matrix at every step. An expression instead records the operations as a small
+ * graph, and computes only the final matrix when {@link #evaluate()} is called:
+ * 
+ * <pre>
+ * Matrix&lt;T&gt; result = MatrixExpression.of(a).multiply(MatrixExpression.of(b))
+ *         .add(MatrixExpression.of(c)).scalarMult(k).transpose().evaluate();
+ * </pre>
+ * 
+ * Evaluation works element by element from the result backwards:
+ * <ul>
+ * <li>Element-wise operations (add, subtract, scalar multiplication) are fused:
+ * each result element is computed from its operands' elements directly, with
+ * no intermediate matrices.</li>
+ * <li>Transposition allocates nothing; it swaps the row and column indices
+ * used to read its operand.</li>
+ * <li>A product used once is computed inside the result loop, one dot product
+ * per element, with the element-wise steps above it applied as it is
+ * produced.</li>
+ * <li>Common subexpressions are shared: a product that appears more than once,
+ * whether as the same object or as an equal expression, is computed once into
+ * a buffer. Expressions are equal when they apply the same operations to the
+ * same Matrix objects.</li>
+ * <li>The operands of a product are read many times each, so an operand that is
+ * more than a transposed Matrix is computed once into a buffer first.</li>
+ * </ul>
+ * Element operations are applied in the same order as the eager Matrix methods
+ * apply them, so the result is the same. Products always use the classic dot
+ * product; for very large square products, {@link Matrix#multiply(Matrix)}
+ * may be faster.
+ * <p>
+ * Dimensions are checked as the expression is built, with the same errors as
+ * the eager methods. Expressions are immutable, and may be evaluated any number
+ * of times, from any thread.
+ * 
+ * @param <T> A type that extends {@link ArithmeticPrimitive}
+ * 
+ * @author Connor F
+ */
+@SuppressWarnings("unchecked")
+public abstract class MatrixExpression<T extends ArithmeticPrimitive> {
+	private final int rows;
+	private final int cols;
+	private final int hash;
+
+	private MatrixExpression(int rows, int cols, int hash) {
+		this.rows = rows;
+		this.cols = cols;
+		this.hash = hash;
+	}
+
+	/**
+	 * Start an expression from a matrix
+	 * 
+	 * @param matrix  The matrix
+	 * 
+	 * @return An expression whose value is the matrix
+	 */
+	public static <T extends ArithmeticPrimitive> MatrixExpression<T> of(Matrix<T> matrix) {
+		return new Leaf<T>(matrix);
+	}
+
+	/**
+	 * Get the number of rows the result will have
+	 * 
+	 * @return  Number of rows in the result
+	 */
+	public final int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns the result will have
+	 * 
+	 * @return  Number of columns in the result
+	 */
+	public final int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Add another expression to this one
+	 * 
+	 * @param other  The expression to add
+	 * 
+	 * @return An expression for the sum
+	 * 
+	 * @throws IllegalArgumentException If the expressions have different dimensions
+	 */
+	public final MatrixExpression<T> add(MatrixExpression<T> other) {
+		if (other.rows != this.rows || other.cols != this.cols) {
+			throw new IllegalArgumentException("Cannot add two matricies of different orders together");
+		}
+		return new Sum<T>(this, other, false);
+	}
+
+	/**
+	 * Subtract another expression from this one
+	 * 
+	 * @param other  The expression to subtract
+	 * 
+	 * @return An expression for the difference
+	 * 
+	 * @throws IllegalArgumentException If the expressions have different dimensions
+	 */
+	public final MatrixExpression<T> subtract(MatrixExpression<T> other) {
+		if (other.rows != this.rows || other.cols != this.cols) {
+			throw new IllegalArgumentException("Cannot subtract two matricies of different orders");
+		}
+		return new Sum<T>(this, other, true);
+	}
+
+	/**
+	 * Multiply every element by a scalar
+	 * 
+	 * @param scalar  Value to multiply each element by
+	 * 
+	 * @return An expression for the scaled matrix
+	 * 
+	 * @throws IllegalArgumentException  If the specified scalar value is null
+	 */
+	public final MatrixExpression<T> scalarMult(T scalar) {
+		if (scalar == null) {
+			throw new IllegalArgumentException("Cannot multiply by null");
+		}
+		return new Scale<T>(this, scalar);
+	}
+
+	/**
+	 * Multiply this expression by another
+	 * 
+	 * @param other  The expression to multiply by
+	 * 
+	 * @return An expression for the product
+	 * 
+	 * @throws IllegalArgumentException If the other expression has a different
+	 *         number of rows than this one has columns
+	 */
+	public final MatrixExpression<T> multiply(MatrixExpression<T> other) {
+		if (this.cols != other.rows) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		return new Product<T>(this, other);
+	}
+
+	/**
+	 * Transpose this expression
+	 * 
+	 * @return An expression for the transposition
+	 */
+	public final MatrixExpression<T> transpose() {
+		if (this instanceof Transpose) {
+			return ((Transpose<T>) this).operand;
+		}
+		return new Transpose<T>(this);
+	}
+
+	/**
+	 * Compute the value of this expression
+	 * 
+	 * @return A new matrix holding the result, or the original matrix if this
+	 *         expression is just a matrix
+	 */
+	public final Matrix<T> evaluate() {
+		if (this instanceof Leaf) {
+			return ((Leaf<T>) this).matrix;
+		}
+		MatrixProfiler.enter("evaluate");
+		try {
+			final Map<MatrixExpression<?>, Integer> uses = new HashMap<>();
+			countUses(uses);
+			final Accessor result = compile(new Plan(uses));
+			final List<List<T>> data = new ArrayList<>(this.rows);
+			for(int r = 0; r < this.rows; r++) {
+				final List<T> row = new ArrayList<>(this.cols);
+				for(int c = 0; c < this.cols; c++) {
+					row.add((T) result.get(r, c));
+				}
+				data.add(row);
+			}
+			MatrixProfiler.count(Counter.LIST_ALLOCATIONS, this.rows + 1);
+			return new Matrix<T>(data, false);
+		} finally {
+			MatrixProfiler.exit();
+		}
+	}
+
+	@Override
+	public final int hashCode() {
+		return this.hash;
+	}
+
+	/**
+	 * Returns true if the specified expression applies the same operations to
+	 * the same matrices as this one
+	 */
+	@Override
+	public abstract boolean equals(Object obj);
+
+	/**
+	 * Count how many times each distinct subexpression would be evaluated
+	 * element by element. A product's operands are counted only the first time
+	 * the product is seen, as a shared product is computed once.
+	 */
+	void countUses(Map<MatrixExpression<?>, Integer> uses) {
+		final int count = uses.merge(this, 1, Integer::sum);
+		if (!(this instanceof Product) || count == 1) {
+			for(MatrixExpression<T> operand : operands()) {
+				operand.countUses(uses);
+			}
+		}
+	}
+
+	/**
+	 * Get this expression's operands
+	 */
+	abstract List<MatrixExpression<T>> operands();
+
+	/**
+	 * Build an accessor for this expression's elements, sharing accessors
+	 * between equal subexpressions
+	 */
+	final Accessor compile(Plan plan) {
+		Accessor accessor = plan.compiled.get(this);
+		if (accessor == null) {
+			accessor = compileNew(plan);
+			plan.compiled.put(this, accessor);
+		}
+		return accessor;
+	}
+
+	/**
+	 * Build an accessor for this expression's elements
+	 */
+	abstract Accessor compileNew(Plan plan);
+
+	/**
+	 * Returns true if this expression is a matrix, possibly transposed, whose
+	 * elements can be read without computation
+	 */
+	boolean isDirect() {
+		return false;
+	}
+
+	/**
+	 * Reads one element of an expression's value
+	 */
+	@FunctionalInterface
+	interface Accessor {
+		ArithmeticPrimitive get(int row, int column);
+	}
+
+	/**
+	 * The state of one evaluation
+	 */
+	static final class Plan {
+		final Map<MatrixExpression<?>, Integer> uses;
+		final Map<MatrixExpression<?>, Accessor> compiled = new HashMap<>();
+
+		Plan(Map<MatrixExpression<?>, Integer> uses) {
+			this.uses = uses;
+		}
+	}
+
+	/**
+	 * Compute every element of an expression into a buffer
+	 */
+	private static Accessor materialize(Accessor accessor, int rows, int cols) {
+		final ArithmeticPrimitive[][] buffer = new ArithmeticPrimitive[rows][cols];
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++) {
+				buffer[r][c] = accessor.get(r, c);
+			}
+		}
+		return (r, c) -> buffer[r][c];
+	}
+
+	private static final class Leaf<T extends ArithmeticPrimitive> extends MatrixExpression<T> {
+		final Matrix<T> matrix;
+
+		Leaf(Matrix<T> matrix) {
+			super(matrix.getRows(), matrix.getColumns(), System.identityHashCode(matrix));
+			this.matrix = matrix;
+		}
+
+		@Override
+		List<MatrixExpression<T>> operands() {
+			return new ArrayList<>(0);
+		}
+
+		@Override
+		Accessor compileNew(Plan plan) {
+			return this.matrix::getValue;
+		}
+
+		@Override
+		boolean isDirect() {
+			return true;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Leaf && ((Leaf<?>) obj).matrix == this.matrix;
+		}
+
+		@Override
+		public String toString() {
+			return "Matrix[" + getRows() + "x" + getColumns() + "]@" + Integer.toHexString(hashCode());
+		}
+	}
+
+	private static final class Transpose<T extends ArithmeticPrimitive> extends MatrixExpression<T> {
+		final MatrixExpression<T> operand;
+
+		Transpose(MatrixExpression<T> operand) {
+			super(operand.getColumns(), operand.getRows(), 31 * operand.hashCode() + 1);
+			this.operand = operand;
+		}
+
+		@Override
+		List<MatrixExpression<T>> operands() {
+			final List<MatrixExpression<T>> list = new ArrayList<>(1);
+			list.add(this.operand);
+			return list;
+		}
+
+		@Override
+		Accessor compileNew(Plan plan) {
+			final Accessor inner = this.operand.compile(plan);
+			return (r, c) -> inner.get(c, r);
+		}
+
+		@Override
+		boolean isDirect() {
+			return this.operand.isDirect();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Transpose && ((Transpose<?>) obj).operand.equals(this.operand);
+		}
+
+		@Override
+		public String toString() {
+			return this.operand + "^T";
+		}
+	}
+
+	private static final class Sum<T extends ArithmeticPrimitive> extends MatrixExpression<T> {
+		final MatrixExpression<T> left;
+		final MatrixExpression<T> right;
+		final boolean subtract;
+
+		Sum(MatrixExpression<T> left, MatrixExpression<T> right, boolean subtract) {
+			super(left.getRows(), left.getColumns(), (31 * left.hashCode() + right.hashCode()) * 31 + (subtract ? 2 : 3));
+			this.left = left;
+			this.right = right;
+			this.subtract = subtract;
+		}
+
+		@Override
+		List<MatrixExpression<T>> operands() {
+			final List<MatrixExpression<T>> list = new ArrayList<>(2);
+			list.add(this.left);
+			list.add(this.right);
+			return list;
+		}
+
+		@Override
+		Accessor compileNew(Plan plan) {
+			final Accessor l = this.left.compile(plan);
+			final Accessor r = this.right.compile(plan);
+			if (this.subtract) {
+				return (i, j) -> l.get(i, j).subtract(r.get(i, j));
+			}
+			return (i, j) -> l.get(i, j).add(r.get(i, j));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Sum)) {
+				return false;
+			}
+			final Sum<?> other = (Sum<?>) obj;
+			return other.subtract == this.subtract && other.left.equals(this.left) && other.right.equals(this.right);
+		}
+
+		@Override
+		public String toString() {
+			return "(" + this.left + (this.subtract ? " - " : " + ") + this.right + ")";
+		}
+	}
+
+	private static final class Scale<T extends ArithmeticPrimitive> extends MatrixExpression<T> {
+		final MatrixExpression<T> operand;
+		final T scalar;
+
+		Scale(MatrixExpression<T> operand, T scalar) {
+			super(operand.getRows(), operand.getColumns(), (31 * operand.hashCode() + scalar.hashCode()) * 31 + 4);
+			this.operand = operand;
+			this.scalar = scalar;
+		}
+
+		@Override
+		List<MatrixExpression<T>> operands() {
+			final List<MatrixExpression<T>> list = new ArrayList<>(1);
+			list.add(this.operand);
+			return list;
+		}
+
+		@Override
+		Accessor compileNew(Plan plan) {
+			final Accessor inner = this.operand.compile(plan);
+			final T k = this.scalar;
+			return (r, c) -> {
+				final ArithmeticPrimitive elem = inner.get(r, c);
+				return elem == null ? null : elem.multiplyBy(k);
+			};
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Scale)) {
+				return false;
+			}
+			final Scale<?> other = (Scale<?>) obj;
+			return Objects.equals(other.scalar, this.scalar) && other.operand.equals(this.operand);
+		}
+
+		@Override
+		public String toString() {
+			return this.operand + " * " + this.scalar;
+		}
+	}
+
+	private static final class Product<T extends ArithmeticPrimitive> extends MatrixExpression<T> {
+		final MatrixExpression<T> left;
+		final MatrixExpression<T> right;
+
+		Product(MatrixExpression<T> left, MatrixExpression<T> right) {
+			super(left.getRows(), right.getColumns(), (31 * left.hashCode() + right.hashCode()) * 31 + 5);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		List<MatrixExpression<T>> operands() {
+			final List<MatrixExpression<T>> list = new ArrayList<>(2);
+			list.add(this.left);
+			list.add(this.right);
+			return list;
+		}
+
+		@Override
+		Accessor compileNew(Plan plan) {
+			final Accessor l = operand(this.left, plan);
+			final Accessor r = operand(this.right, plan);
+			final int inner = this.left.getColumns();
+			final Accessor dot = (i, j) -> {
+				ArithmeticPrimitive sum = l.get(i, 0).multiplyBy(r.get(0, j));
+				for(int k = 1; k < inner; k++) {
+					sum = sum.add(l.get(i, k).multiplyBy(r.get(k, j)));
+				}
+				return sum;
+			};
+			if (plan.uses.get(this) > 1) {
+				return materialize(dot, getRows(), getColumns());
+			}
+			return dot;
+		}
+
+		/**
+		 * Compile an operand, buffering it unless its elements can be read directly
+		 */
+		private static Accessor operand(MatrixExpression<?> operand, Plan plan) {
+			final Accessor accessor = operand.compile(plan);
+			if (operand.isDirect() || operand instanceof Product && plan.uses.get(operand) > 1) {
+				return accessor;
+			}
+			final Accessor buffered = materialize(accessor, operand.getRows(), operand.getColumns());
+			plan.compiled.put(operand, buffered);
+			return buffered;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Product)) {
+				return false;
+			}
+			final Product<?> other = (Product<?>) obj;
+			return other.left.equals(this.left) && other.right.equals(this.right);
+		}
+
+		@Override
+		public String toString() {
+			return "(" + this.left + " x " + this.right + ")";
+		}
+	}
+}
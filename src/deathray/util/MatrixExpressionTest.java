@@ -0,0 +1,135 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import deathray.util.MatrixProfile.Counter;
+
+public class MatrixExpressionTest {
+
+	private static final TestLong[][] leftData = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(2), new TestLong(3)},
+		new TestLong[] {new TestLong(4), new TestLong(5), new TestLong(6)}
+	};
+
+	private static final TestLong[][] rightData = new TestLong[][] {
+		new TestLong[] {new TestLong(7), new TestLong(8)},
+		new TestLong[] {new TestLong(9), new TestLong(10)},
+		new TestLong[] {new TestLong(11), new TestLong(12)}
+	};
+
+	private static final TestLong[][] squareData = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(-1)},
+		new TestLong[] {new TestLong(2), new TestLong(3)}
+	};
+
+	@Test
+	public void testMatchesEagerChain() {
+		Matrix<TestLong> a = new Matrix<>(leftData);
+		Matrix<TestLong> b = new Matrix<>(rightData);
+		Matrix<TestLong> c = new Matrix<>(squareData);
+		TestLong k = new TestLong(3);
+		Matrix<TestLong> eager = a.multiply(b).add(c).scalarMult(k).transpose();
+		MatrixExpression<TestLong> lazy = MatrixExpression.of(a).multiply(MatrixExpression.of(b))
+				.add(MatrixExpression.of(c)).scalarMult(k).transpose();
+		assertEquals("Result has transposed dimensions", 2, lazy.getRows());
+		assertEquals("Lazy result matches eager chain", eager, lazy.evaluate());
+		assertEquals("Expressions can be evaluated again", eager, lazy.evaluate());
+
+		Matrix<TestLong> eagerOperand = c.add(c).multiply(a.transpose().subtract(b).transpose());
+		MatrixExpression<TestLong> lazyOperand = MatrixExpression.of(c).add(MatrixExpression.of(c))
+				.multiply(MatrixExpression.of(a).transpose().subtract(MatrixExpression.of(b)).transpose());
+		assertEquals("Computed operands match eager chain", eagerOperand, lazyOperand.evaluate());
+	}
+
+	@Test
+	public void testFusionAllocatesOnlyResult() {
+		Matrix<CountingPrimitive> a = CountingPrimitive.wrap(new Matrix<>(leftData));
+		Matrix<CountingPrimitive> b = CountingPrimitive.wrap(new Matrix<>(rightData));
+		Matrix<CountingPrimitive> c = CountingPrimitive.wrap(new Matrix<>(squareData));
+		MatrixExpression<CountingPrimitive> lazy = MatrixExpression.of(a).multiply(MatrixExpression.of(b))
+				.add(MatrixExpression.of(c)).transpose();
+		MatrixProfiler.start();
+		lazy.evaluate();
+		MatrixProfile profile = MatrixProfiler.stop();
+		assertEquals("Only the result matrix is allocated", 1, profile.getTotal(Counter.MATRIX_ALLOCATIONS));
+		assertEquals("Only the result elements are copied", 0, profile.getTotal(Counter.ELEMENT_COPIES));
+		assertEquals("2x3 by 3x2 performs 12 element multiplies", 12, profile.getTotal(Counter.MULTIPLIES));
+	}
+
+	@Test
+	public void testCommonSubexpressions() {
+		Matrix<CountingPrimitive> a = CountingPrimitive.wrap(new Matrix<>(leftData));
+		Matrix<CountingPrimitive> b = CountingPrimitive.wrap(new Matrix<>(rightData));
+		MatrixExpression<CountingPrimitive> first = MatrixExpression.of(a).multiply(MatrixExpression.of(b));
+		MatrixExpression<CountingPrimitive> second = MatrixExpression.of(a).multiply(MatrixExpression.of(b));
+		assertEquals("Equal expressions are equal", first, second);
+		assertEquals("Equal expressions have equal hash codes", first.hashCode(), second.hashCode());
+		MatrixProfiler.start();
+		Matrix<CountingPrimitive> sum = first.add(second.transpose().transpose()).evaluate();
+		MatrixProfile profile = MatrixProfiler.stop();
+		assertEquals("Shared product is computed once", 12, profile.getTotal(Counter.MULTIPLIES));
+		assertEquals("Sum is correct", new TestLong(116), sum.getValue(0, 0).getValue());
+	}
+
+	@Test
+	public void testDimensionsChecked() {
+		try {
+			MatrixExpression.of(new Matrix<>(leftData)).multiply(MatrixExpression.of(new Matrix<>(squareData)));
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Should be IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe issue", "Cannot multiple matrix where cols != other.rows", e.getMessage());
+		}
+	}
+
+	private static final class TestLong extends ArithmeticPrimitive {
+		private static final long serialVersionUID = 2390173618550237314L;
+		private final long _value;
+
+		public TestLong(long l) {
+			this._value = l;
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new TestLong(this._value + ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new TestLong(this._value - ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value * ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value / ((TestLong) n)._value);
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Long.compare(this._value, ((TestLong) o)._value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestLong && ((TestLong) obj)._value == this._value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this._value);
+		}
+
+		@Override
+		public String toString() {
+			return "TestLong [_value=" + this._value + "]";
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToLongFunction;
+
+/**
+ * A compact binary format for matrices of integers.
+ * <p>
+ * Writing a {@link Matrix} with Java serialisation stores one object per
+ * element. This format stores a fixed header followed by the elements as raw
+ * integers, in row-major order, so a file can be mapped into memory and read
+ * in place by {@link MappedMatrix} with no deserialisation step.
+ * <p>
+ * The header is {@value #HEADER_SIZE} bytes:
+ * <table summary="Header layout">
+ * <tr><th>Offset</th><th>Size</th><th>Field</th></tr>
+ * <tr><td>0</td><td>4</td><td>The ASCII characters "DRMX"</td></tr>
+ * <tr><td>4</td><td>2</td><td>Format version, currently {@value #VERSION}</td></tr>
+ * <tr><td>6</td><td>1</td><td>Element width in bytes: 1, 2, 4 or 8</td></tr>
+ * <tr><td>7</td><td>1</td><td>Reserved, zero</td></tr>
+ * <tr><td>8</td><td>4</td><td>Number of rows</td></tr>
+ * <tr><td>12</td><td>4</td><td>Number of columns</td></tr>
+ * <tr><td>16</td><td>8</td><td>Modulus of the elements, or zero if none</td></tr>
+ * </table>
+ * All numbers are little-endian. Elements narrower than eight bytes are
+ * unsigned. The header size is a multiple of every element width, so elements
+ * are naturally aligned within the file.
+ * <p>
+ * When a matrix has a modulus, elements are stored in the narrowest width that
+ * holds every value below it; otherwise they are stored as eight byte longs.
+ * 
+ * @author Connor F
+ */
+public final class MatrixFormat {
+	/**
+	 * The first four bytes of every matrix file
+	 */
+	static final byte[] MAGIC = "DRMX".getBytes(StandardCharsets.US_ASCII);
+	/**
+	 * The version written by this class
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * The size of the header, in bytes
+	 */
+	public static final int HEADER_SIZE = 24;
+	/**
+	 * The byte order of every number in the format
+	 */
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+	/**
+	 * Size of the buffer used to write elements
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private MatrixFormat() {}
+
+	/**
+	 * Write a matrix to a channel
+	 * 
+	 * @param channel  Channel to write to
+	 * @param matrix   The matrix to write
+	 * @param modulus  The modulus of the elements, or zero if none
+	 * @param toLong   Function giving the value of each element, which is
+	 *                 reduced by the modulus before being written
+	 * 
+	 * @throws IOException If the channel cannot be written
+	 * @throws IllegalArgumentException If the modulus is negative or one
+	 */
+	public static <T extends ArithmeticPrimitive> void write(WritableByteChannel channel, Matrix<T> matrix,
+			long modulus, ToLongFunction<? super T> toLong) throws IOException {
+		final int rows = matrix.getRows();
+		final int cols = matrix.getColumns();
+		final Writer writer = new Writer(channel, rows, cols, modulus);
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++) {
+				writer.put(toLong.applyAsLong(matrix.getValue(r, c)));
+			}
+		}
+		writer.finish();
+	}
+
+	/**
+	 * Write an off-heap matrix to a channel
+	 * 
+	 * @param channel  Channel to write to
+	 * @param matrix   The matrix to write
+	 * 
+	 * @throws IOException If the channel cannot be written
+	 * @throws IllegalStateException If the matrix has been closed
+	 */
+	public static void write(WritableByteChannel channel, OffHeapMatrix matrix) throws IOException {
+		final int rows = matrix.getRows();
+		final int cols = matrix.getColumns();
+		final Writer writer = new Writer(channel, rows, cols, matrix.getModulus());
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++) {
+				writer.put(matrix.getValue(r, c));
+			}
+		}
+		writer.finish();
+	}
+
+	/**
+	 * Get the element width used for a modulus
+	 * 
+	 * @param modulus  The modulus of the elements, or zero if none
+	 * 
+	 * @return The narrowest of 1, 2, 4 or 8 bytes that holds every value below the modulus
+	 * 
+	 * @throws IllegalArgumentException If the modulus is negative or one
+	 */
+	public static int elementWidth(long modulus) {
+		if (modulus < 0 || modulus == 1) {
+			throw new IllegalArgumentException("Modulus must be zero or at least 2");
+		}
+		if (modulus == 0) {
+			return Long.BYTES;
+		}
+		final int bits = 64 - Long.numberOfLeadingZeros(modulus - 1);
+		return bits <= 8 ? 1 : bits <= 16 ? 2 : bits <= 32 ? 4 : 8;
+	}
+
+	/**
+	 * Streams elements to a channel through a direct buffer
+	 */
+	private static final class Writer {
+		private final WritableByteChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ORDER);
+		private final long modulus;
+		private final int width;
+
+		Writer(WritableByteChannel channel, int rows, int cols, long modulus) throws IOException {
+			this.channel = channel;
+			this.modulus = modulus;
+			this.width = elementWidth(modulus);
+			this.buffer.put(MAGIC);
+			this.buffer.putShort((short) VERSION);
+			this.buffer.put((byte) this.width);
+			this.buffer.put((byte) 0);
+			this.buffer.putInt(rows);
+			this.buffer.putInt(cols);
+			this.buffer.putLong(modulus);
+		}
+
+		void put(long value) throws IOException {
+			if (this.buffer.remaining() < this.width) {
+				flush();
+			}
+			final long v = this.modulus == 0 ? value : Math.floorMod(value, this.modulus);
+			switch (this.width) {
+			case 1:
+				this.buffer.put((byte) v);
+				break;
+			case 2:
+				this.buffer.putShort((short) v);
+				break;
+			case 4:
+				this.buffer.putInt((int) v);
+				break;
+			default:
+				this.buffer.putLong(v);
+				break;
+			}
+		}
+
+		void finish() throws IOException {
+			flush();
+		}
+
+		private void flush() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+	}
+}
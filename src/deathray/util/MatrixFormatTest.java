@@ -0,0 +1,94 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+public class MatrixFormatTest {
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Path file = Files.createTempFile("matrix", ".drmx");
+		try (OffHeapMatrix m = new OffHeapMatrix(3, 5, 3329)) {
+			for(int r = 0; r < 3; r++) {
+				for(int c = 0; c < 5; c++) {
+					m.setValue(r * 1000 + c, r, c);
+				}
+			}
+			try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				MatrixFormat.write(out, m);
+			}
+			assertEquals("Elements below 3329 take two bytes", MatrixFormat.HEADER_SIZE + 15 * 2, Files.size(file));
+
+			MappedMatrix mapped = MappedMatrix.map(file);
+			assertEquals("Rows survive", 3, mapped.getRows());
+			assertEquals("Columns survive", 5, mapped.getColumns());
+			assertEquals("Modulus survives", 3329, mapped.getModulus());
+			assertEquals("Values survive", 2004, mapped.getValue(2, 4));
+			try (OffHeapMatrix copy = mapped.toOffHeap()) {
+				assertEquals("Values survive", 1003, copy.getValue(1, 3));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testWideElements() throws IOException {
+		Path file = Files.createTempFile("matrix", ".drmx");
+		try (OffHeapMatrix m = new OffHeapMatrix(1, 2, 0)) {
+			m.setValue(-5, 0, 0);
+			m.setValue(Long.MAX_VALUE, 0, 1);
+			try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				MatrixFormat.write(out, m);
+			}
+			MappedMatrix mapped = MappedMatrix.map(file);
+			assertEquals("No modulus means eight byte elements", 8, mapped.getElementWidth());
+			assertEquals("Negative values survive", -5, mapped.getValue(0, 0));
+			assertEquals("Large values survive", Long.MAX_VALUE, mapped.getValue(0, 1));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testElementWidth() {
+		assertEquals("256 values fit in a byte", 1, MatrixFormat.elementWidth(256));
+		assertEquals("257 values do not", 2, MatrixFormat.elementWidth(257));
+		assertEquals("2^32 values fit in an int", 4, MatrixFormat.elementWidth(1L << 32));
+		assertEquals("2^32 + 1 values do not", 8, MatrixFormat.elementWidth((1L << 32) + 1));
+	}
+
+	@Test
+	public void testBadFiles() throws IOException {
+		Path file = Files.createTempFile("matrix", ".drmx");
+		try {
+			Files.write(file, new byte[MatrixFormat.HEADER_SIZE]);
+			try {
+				MappedMatrix.map(file);
+				fail("Should throw exception");
+			} catch(IOException e) {
+				assertEquals("Message should describe error", file + " is not a matrix file", e.getMessage());
+			}
+			try (OffHeapMatrix m = new OffHeapMatrix(4, 4, 0);
+					FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				MatrixFormat.write(out, m);
+				out.truncate(MatrixFormat.HEADER_SIZE + 8);
+			}
+			try {
+				MappedMatrix.map(file);
+				fail("Should throw exception");
+			} catch(IOException e) {
+				assertEquals("Message should describe error", file + " is truncated: expected 152 bytes, found 32", e.getMessage());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
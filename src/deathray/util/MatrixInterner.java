@@ -0,0 +1,194 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalise equal {@link Matrix} instances to one shared instance.
+ * <p>
+ * Public matrices, such as the expanded A of a lattice key, are often rebuilt
+ * many times from the same seed. Interning them keeps one copy alive, and lets
+ * later comparisons succeed on identity rather than by walking every element.
+ * <p>
+ * The pool holds its matrices weakly, so an interned matrix is collected once
+ * nothing else refers to it, and its entry is dropped on a later call.
+ * 
+ * @author Connor F
+ */
+public final class MatrixInterner {
+	/**
+	 * The pool used by {@link Matrix#intern()}
+	 */
+	static final MatrixInterner SHARED = new MatrixInterner();
+
+	/**
+	 * The canonical matrices, keyed by themselves
+	 */
+	private final ConcurrentHashMap<Object, WeakKey> pool = new ConcurrentHashMap<>();
+	/**
+	 * Where the keys of collected matrices are queued
+	 */
+	private final ReferenceQueue<Matrix<?>> queue = new ReferenceQueue<>();
+
+	/**
+	 * Get the canonical instance of a matrix
+	 * 
+	 * @param <T>    The type of the matrix elements
+	 * @param matrix The matrix to intern
+	 * @return The interned matrix equal to the one given, or the one given if
+	 *         there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends ArithmeticPrimitive> Matrix<T> intern(Matrix<T> matrix) {
+		if( matrix == null ) {
+			throw new IllegalArgumentException("Cannot intern a null matrix");
+		}
+		expunge();
+		WeakKey created = null;
+		while( true ) {
+			WeakKey existing = this.pool.get(new Probe(matrix));
+			if( existing == null ) {
+				if( created == null ) {
+					created = new WeakKey(matrix, this.queue);
+				}
+				existing = this.pool.putIfAbsent(created, created);
+				if( existing == null ) {
+					return matrix;
+				}
+			}
+			Matrix<?> canonical = existing.get();
+			if( canonical != null ) {
+				return (Matrix<T>) canonical;
+			}
+			// Collected but not yet expunged; replace it
+			this.pool.remove(existing, existing);
+		}
+	}
+
+	/**
+	 * Get the number of matrices in the pool
+	 * <p>
+	 * Matrices that have been collected are not counted.
+	 * 
+	 * @return The number of live interned matrices
+	 */
+	public int size() {
+		expunge();
+		return this.pool.size();
+	}
+
+	/**
+	 * Drop the entries of matrices that have been collected
+	 */
+	private void expunge() {
+		Reference<? extends Matrix<?>> ref;
+		while( (ref = this.queue.poll()) != null ) {
+			this.pool.remove(ref, ref);
+		}
+	}
+
+	/**
+	 * A pool entry, holding its matrix weakly
+	 * <p>
+	 * The hash is kept so the entry can still be found and removed after the
+	 * matrix has been collected.
+	 */
+	private static final class WeakKey extends WeakReference<Matrix<?>> {
+		/**
+		 * The hash of the matrix
+		 */
+		private final int hash;
+
+		/**
+		 * Create a new entry
+		 * 
+		 * @param matrix The matrix to hold
+		 * @param queue  Where to queue this entry once the matrix is collected
+		 */
+		WeakKey(Matrix<?> matrix, ReferenceQueue<Matrix<?>> queue) {
+			super(matrix, queue);
+			this.hash = matrix.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if( this == obj ) {
+				return true;
+			}
+			if( obj instanceof Probe ) {
+				return obj.equals(this);
+			}
+			if( !(obj instanceof WeakKey) ) {
+				return false;
+			}
+			Matrix<?> mine = get();
+			return mine != null && mine.equals(((WeakKey) obj).get());
+		}
+	}
+
+	/**
+	 * A lookup key, holding its matrix strongly for the duration of a lookup
+	 */
+	private static final class Probe {
+		/**
+		 * The matrix being looked up
+		 */
+		private final Matrix<?> matrix;
+
+		/**
+		 * Create a new lookup key
+		 * 
+		 * @param matrix The matrix being looked up
+		 */
+		Probe(Matrix<?> matrix) {
+			this.matrix = matrix;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.matrix.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if( obj instanceof WeakKey ) {
+				return this.matrix.equals(((WeakKey) obj).get());
+			}
+			return obj instanceof Probe && this.matrix.equals(((Probe) obj).matrix);
+		}
+	}
+}
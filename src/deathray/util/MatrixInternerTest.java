@@ -0,0 +1,104 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MatrixInternerTest {
+	private static final PolynomialRing RING = PolynomialRing.negacyclic(16, 3329, PolynomialMultiplier.SCHOOLBOOK);
+
+	@Test
+	public void testIntern() {
+		MatrixInterner interner = new MatrixInterner();
+		Matrix<Polynomial> a = randomMatrix(4, 3, 1);
+		Matrix<Polynomial> b = randomMatrix(4, 3, 1);
+		Matrix<Polynomial> c = randomMatrix(4, 3, 2);
+		assertNotSame("Expected separately built matrices", a, b);
+
+		assertSame("Expected the first matrix to become canonical", a, interner.intern(a));
+		assertSame("Expected an equal matrix to intern to the canonical instance", a, interner.intern(b));
+		assertSame("Expected a different matrix to become its own canonical instance", c, interner.intern(c));
+		assertEquals("Expected two matrices in the pool", 2, interner.size());
+
+		try {
+			interner.intern(null);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Expected message", "Cannot intern a null matrix", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testInternShared() {
+		Matrix<Polynomial> a = randomMatrix(3, 3, 3).intern();
+		assertSame("Expected the shared pool to return the canonical instance", a, randomMatrix(3, 3, 3).intern());
+	}
+
+	@Test
+	public void testHashCode() {
+		Matrix<Polynomial> a = randomMatrix(5, 2, 4);
+		List<List<Polynomial>> rows = new ArrayList<>();
+		for(int r = 0; r < a.getRows(); r++) {
+			List<Polynomial> row = new ArrayList<>();
+			for(int c = 0; c < a.getColumns(); c++) {
+				row.add(a.getValue(r, c));
+			}
+			rows.add(row);
+		}
+		int expected = 31 + rows.hashCode();
+		assertEquals("Expected the hash of the elements in row order", expected, a.hashCode());
+		assertEquals("Expected the cached hash to be unchanged", expected, a.hashCode());
+		Matrix<Polynomial> b = randomMatrix(5, 2, 5);
+		b.hashCode();
+		assertNotEquals("Expected different matrices to differ", a, b);
+		assertEquals("Expected equal matrices to be equal once hashed", a, randomMatrix(5, 2, 4));
+	}
+
+	@Test
+	public void testCallerListsNotShared() {
+		MatrixInterner interner = new MatrixInterner();
+		List<List<Polynomial>> rows = new ArrayList<>();
+		for(int r = 0; r < 2; r++) {
+			List<Polynomial> row = new ArrayList<>();
+			for(int c = 0; c < 2; c++) {
+				row.add(RING.element(r, c));
+			}
+			rows.add(row);
+		}
+		Matrix<Polynomial> a = interner.intern(new Matrix<>(rows));
+		int hash = a.hashCode();
+		rows.get(0).set(0, RING.element(9));
+		assertEquals("Editing the caller's rows should not change the matrix", RING.element(0, 0), a.getValue(0, 0));
+		assertEquals("Editing the caller's rows should not change the cached hash", hash, new Matrix<>(copyOf(a)).hashCode());
+		assertNotEquals("Edited rows should make a different matrix", a, new Matrix<>(rows));
+		assertSame("The canonical instance should still be found", a, interner.intern(new Matrix<>(copyOf(a))));
+		assertNotSame("Edited rows should not find the canonical instance", a, interner.intern(new Matrix<>(rows)));
+	}
+
+	private static List<List<Polynomial>> copyOf(Matrix<Polynomial> m) {
+		List<List<Polynomial>> rows = new ArrayList<>();
+		for(int r = 0; r < m.getRows(); r++) {
+			List<Polynomial> row = new ArrayList<>();
+			for(int c = 0; c < m.getColumns(); c++) {
+				row.add(m.getValue(r, c));
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	private static Matrix<Polynomial> randomMatrix(int rows, int cols, long seed) {
+		Random random = new Random(seed);
+		Polynomial[][] data = new Polynomial[rows][cols];
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++) {
+				data[r][c] = RING.random(random);
+			}
+		}
+		return new Matrix<>(data);
+	}
+}
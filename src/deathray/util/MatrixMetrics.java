@@ -0,0 +1,148 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional counters for {@link Matrix} operations.
+ * <p>
+ * When enabled, every {@link Matrix#multiply(Matrix)} call is counted, along
+ * with the number of element multiply-accumulates it performed and how long it
+ * took. Counting is off by default; enable it with {@link #setEnabled(boolean)},
+ * or by setting system property "DeathRay.matrixMetrics" to true. Matrix
+ * multiplication also emits the {@code deathray.MatrixMultiply} Flight Recorder
+ * event regardless of this setting.
+ * <p>
+ * The counters are global to the JVM and thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class MatrixMetrics {
+	private static volatile boolean enabled = Boolean.getBoolean("DeathRay.matrixMetrics");
+
+	private static final LongAdder MULTIPLIES = new LongAdder();
+	private static final LongAdder MULTIPLY_ACCUMULATES = new LongAdder();
+	private static final LatencyHistogram MULTIPLY_LATENCY = new LatencyHistogram();
+
+	private MatrixMetrics() {}
+
+	/**
+	 * Returns true if matrix operations are being counted
+	 * 
+	 * @return true if counting is enabled
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turn counting on or off
+	 * 
+	 * @param enable  true to count matrix operations
+	 */
+	public static void setEnabled(boolean enable) {
+		enabled = enable;
+	}
+
+	/**
+	 * Get the number of matrix multiplications counted
+	 * 
+	 * @return Number of calls to {@link Matrix#multiply(Matrix)}
+	 */
+	public static long getMultiplyCount() {
+		return MULTIPLIES.sum();
+	}
+
+	/**
+	 * Get the number of element multiply-accumulates counted
+	 * <p>
+	 * Multiplying an m&times;n matrix by an n&times;p matrix performs m&times;n&times;p
+	 * multiply-accumulates.
+	 * 
+	 * @return Number of element multiply-accumulates
+	 */
+	public static long getMultiplyAccumulateCount() {
+		return MULTIPLY_ACCUMULATES.sum();
+	}
+
+	/**
+	 * Get the distribution of matrix multiplication times, in nanoseconds
+	 * 
+	 * @return Live histogram of multiplication times
+	 */
+	public static LatencyHistogram getMultiplyLatency() {
+		return MULTIPLY_LATENCY;
+	}
+
+	/**
+	 * Reset every counter to zero
+	 */
+	public static void reset() {
+		MULTIPLIES.reset();
+		MULTIPLY_ACCUMULATES.reset();
+		MULTIPLY_LATENCY.reset();
+	}
+
+	/**
+	 * Start timing a multiplication
+	 * 
+	 * @return The event to pass to {@link #endMultiply(MatrixMultiplyEvent, int, int, int)}
+	 */
+	static MatrixMultiplyEvent beginMultiply() {
+		final MatrixMultiplyEvent event = new MatrixMultiplyEvent();
+		event.begin();
+		if (enabled) {
+			event.start = System.nanoTime();
+		}
+		return event;
+	}
+
+	/**
+	 * Finish timing a multiplication
+	 * 
+	 * @param event    The event returned by {@link #beginMultiply()}
+	 * @param rows     Rows of the left operand
+	 * @param inner    Columns of the left operand
+	 * @param columns  Columns of the right operand
+	 */
+	static void endMultiply(MatrixMultiplyEvent event, int rows, int inner, int columns) {
+		event.end();
+		if (enabled && event.start != 0) {
+			MULTIPLY_LATENCY.record(System.nanoTime() - event.start);
+			MULTIPLIES.increment();
+			MULTIPLY_ACCUMULATES.add((long) rows * inner * columns);
+		}
+		if (event.shouldCommit()) {
+			event.rows = rows;
+			event.inner = inner;
+			event.columns = columns;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one {@link Matrix#multiply(Matrix)} call.
+ * <p>
+ * Like all Flight Recorder events this costs next to nothing unless a recording
+ * has enabled it.
+ * 
+ * @author Connor F
+ */
+@Name("deathray.MatrixMultiply")
+@Label("Matrix Multiply")
+@Category({ "DeathRay", "Matrix" })
+@Description("Multiplication of two matrices")
+final class MatrixMultiplyEvent extends Event {
+	@Label("Rows")
+	int rows;
+
+	@Label("Inner Dimension")
+	@Description("Columns of the left operand, which equals rows of the right operand")
+	int inner;
+
+	@Label("Columns")
+	int columns;
+
+	/**
+	 * Start time for {@link MatrixMetrics}, if enabled; not recorded by Flight Recorder
+	 */
+	transient long start;
+}
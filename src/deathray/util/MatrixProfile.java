@@ -0,0 +1,168 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The operation counts collected by a {@link MatrixProfiler}.
+ * <p>
+ * Counts are grouped by the outermost {@link Matrix} method that caused them
+ * (for example, the copies made by a {@code setValue} call are attributed to
+ * {@code setValue}, not to the constructor it calls internally). Element
+ * operations performed outside any {@link Matrix} method are grouped under
+ * {@value #OUTSIDE}.
+ * <p>
+ * Counts do not depend on the hardware, the JIT or the garbage collector, so
+ * they can be compared directly between runs and between algorithms.
+ * 
+ * @author Connor F
+ */
+public final class MatrixProfile {
+	/**
+	 * The method name used for operations performed outside any Matrix method
+	 */
+	public static final String OUTSIDE = "(outside Matrix)";
+
+	/**
+	 * The things that are counted
+	 */
+	public enum Counter {
+		/**
+		 * Calls to the method
+		 */
+		CALLS,
+		/**
+		 * {@link ArithmeticPrimitive#add(ArithmeticPrimitive)} calls
+		 */
+		ADDS,
+		/**
+		 * {@link ArithmeticPrimitive#subtract(ArithmeticPrimitive)} calls
+		 */
+		SUBTRACTS,
+		/**
+		 * {@link ArithmeticPrimitive#multiplyBy(ArithmeticPrimitive)} calls
+		 */
+		MULTIPLIES,
+		/**
+		 * {@link ArithmeticPrimitive#divideBy(ArithmeticPrimitive)} calls
+		 */
+		DIVIDES,
+		/**
+		 * {@link ArithmeticPrimitive#compareTo(ArithmeticPrimitive)} calls
+		 */
+		COMPARISONS,
+		/**
+		 * Element objects created, including the results of arithmetic
+		 */
+		ELEMENT_ALLOCATIONS,
+		/**
+		 * Row, column and outer lists created
+		 */
+		LIST_ALLOCATIONS,
+		/**
+		 * Element references copied from one list into another
+		 */
+		ELEMENT_COPIES,
+		/**
+		 * {@link Matrix} instances created
+		 */
+		MATRIX_ALLOCATIONS
+	}
+
+	private final Map<String, long[]> counts;
+
+	MatrixProfile(Map<String, long[]> counts) {
+		final Map<String, long[]> copy = new LinkedHashMap<>();
+		for(Map.Entry<String, long[]> e : counts.entrySet()) {
+			copy.put(e.getKey(), e.getValue().clone());
+		}
+		this.counts = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Get the methods that were called while profiling
+	 * 
+	 * @return The names of the methods that have counts, in order of first call
+	 */
+	public Set<String> getMethods() {
+		return this.counts.keySet();
+	}
+
+	/**
+	 * Get a count for one method
+	 * 
+	 * @param method   Name of the method, as returned by {@link #getMethods()}
+	 * @param counter  The count to get
+	 * 
+	 * @return The count, or 0 if the method was not called
+	 */
+	public long get(String method, Counter counter) {
+		final long[] c = this.counts.get(method);
+		return c == null ? 0 : c[counter.ordinal()];
+	}
+
+	/**
+	 * Get a count summed over every method
+	 * 
+	 * @param counter  The count to get
+	 * 
+	 * @return The total count
+	 */
+	public long getTotal(Counter counter) {
+		long total = 0;
+		for(long[] c : this.counts.values()) {
+			total += c[counter.ordinal()];
+		}
+		return total;
+	}
+
+	/**
+	 * Format the counts as a table, one row per method
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("MatrixProfile\n");
+		sb.append(String.format("%-18s", "method"));
+		for(Counter c : Counter.values()) {
+			sb.append(String.format(" %20s", c.name()));
+		}
+		sb.append('\n');
+		for(Map.Entry<String, long[]> e : this.counts.entrySet()) {
+			sb.append(String.format("%-18s", e.getKey()));
+			for(long n : e.getValue()) {
+				sb.append(String.format(" %20d", n));
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
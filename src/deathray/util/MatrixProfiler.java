@@ -0,0 +1,175 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Expose whether the thread is profiling, for parallel rows
+ */
+package deathray.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import deathray.util.MatrixProfile.Counter;
+
+/**
+ * Count the work done by {@link Matrix} operations on the calling thread.
+ * <p>
+ * Profiling is opt-in, and per thread:
+ * 
+ * <pre>
+ * Matrix&lt;CountingPrimitive&gt; a = CountingPrimitive.wrap(someMatrix);
+ * MatrixProfiler.start();
+ * a.multiply(a).transpose();
+ * MatrixProfile profile = MatrixProfiler.stop();
+ * </pre>
+ * 
+ * While profiling, {@link Matrix} reports the lists it allocates and the
+ * element references it copies, and {@link CountingPrimitive} elements report
+ * their arithmetic and the objects they create. Element types other than
+ * {@link CountingPrimitive} are not counted, but the list and copy counts are
+ * still collected.
+ * <p>
+ * When no thread is profiling, each hook costs one volatile read.
+ * 
+ * @author Connor F
+ * @see MatrixProfile
+ */
+public final class MatrixProfiler {
+	/**
+	 * Number of threads currently profiling
+	 */
+	private static final AtomicInteger ACTIVE = new AtomicInteger();
+	/**
+	 * The profiler for each thread that is profiling
+	 */
+	private static final ThreadLocal<MatrixProfiler> CURRENT = new ThreadLocal<>();
+
+	private final Map<String, long[]> counts = new LinkedHashMap<>();
+	/**
+	 * Counts for the outermost Matrix method in progress, or null if none
+	 */
+	private long[] current;
+	/**
+	 * Nesting depth of Matrix method calls
+	 */
+	private int depth;
+
+	private MatrixProfiler() {}
+
+	/**
+	 * Start profiling on the calling thread
+	 * 
+	 * @throws IllegalStateException If the calling thread is already profiling
+	 */
+	public static void start() {
+		if (CURRENT.get() != null) {
+			throw new IllegalStateException("Already profiling on this thread");
+		}
+		CURRENT.set(new MatrixProfiler());
+		ACTIVE.incrementAndGet();
+	}
+
+	/**
+	 * Stop profiling on the calling thread
+	 * 
+	 * @return The counts collected since {@link #start()}
+	 * 
+	 * @throws IllegalStateException If the calling thread is not profiling
+	 */
+	public static MatrixProfile stop() {
+		final MatrixProfiler profiler = CURRENT.get();
+		if (profiler == null) {
+			throw new IllegalStateException("Not profiling on this thread");
+		}
+		CURRENT.remove();
+		ACTIVE.decrementAndGet();
+		return new MatrixProfile(profiler.counts);
+	}
+
+	/**
+	 * Note that a Matrix method has been entered; must be paired with {@link #exit()}
+	 * 
+	 * @param method  Name of the method
+	 */
+	static void enter(String method) {
+		final MatrixProfiler profiler = current();
+		if (profiler == null) {
+			return;
+		}
+		if (profiler.depth++ == 0) {
+			profiler.current = profiler.countsFor(method);
+			profiler.current[Counter.CALLS.ordinal()]++;
+		}
+	}
+
+	/**
+	 * Note that the Matrix method last entered has returned
+	 */
+	static void exit() {
+		final MatrixProfiler profiler = current();
+		if (profiler == null || profiler.depth == 0) {
+			return;
+		}
+		if (--profiler.depth == 0) {
+			profiler.current = null;
+		}
+	}
+
+	/**
+	 * Add to one of the counts of the method in progress
+	 * 
+	 * @param counter  The count to add to
+	 * @param n        The amount to add
+	 */
+	static void count(Counter counter, long n) {
+		final MatrixProfiler profiler = current();
+		if (profiler == null) {
+			return;
+		}
+		final long[] target = profiler.current != null ? profiler.current : profiler.countsFor(MatrixProfile.OUTSIDE);
+		target[counter.ordinal()] += n;
+	}
+
+	/**
+	 * @return true if the calling thread is profiling
+	 */
+	static boolean isProfiling() {
+		return current() != null;
+	}
+
+	private static MatrixProfiler current() {
+		return ACTIVE.get() == 0 ? null : CURRENT.get();
+	}
+
+	private long[] countsFor(String method) {
+		long[] c = this.counts.get(method);
+		if (c == null) {
+			c = new long[Counter.values().length];
+			this.counts.put(method, c);
+		}
+		return c;
+	}
+}
@@ -0,0 +1,121 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import deathray.util.MatrixProfile.Counter;
+
+public class MatrixProfilerTest {
+
+	private static final TestLong[][] leftData = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(2), new TestLong(3)},
+		new TestLong[] {new TestLong(4), new TestLong(5), new TestLong(6)}
+	};
+
+	private static final TestLong[][] rightData = new TestLong[][] {
+		new TestLong[] {new TestLong(7), new TestLong(8)},
+		new TestLong[] {new TestLong(9), new TestLong(10)},
+		new TestLong[] {new TestLong(11), new TestLong(12)}
+	};
+
+	@Test
+	public void testMultiplyCounts() {
+		Matrix<CountingPrimitive> a = CountingPrimitive.wrap(new Matrix<>(leftData));
+		Matrix<CountingPrimitive> b = CountingPrimitive.wrap(new Matrix<>(rightData));
+		MatrixProfiler.start();
+		Matrix<CountingPrimitive> c = a.multiply(b);
+		MatrixProfile profile = MatrixProfiler.stop();
+		assertEquals("Result is unchanged by counting", new TestLong(58), c.getValue(0, 0).getValue());
+		assertEquals("One call to multiply", 1, profile.get("multiply", Counter.CALLS));
+		assertEquals("2x3 by 3x2 performs 12 element multiplies", 12, profile.get("multiply", Counter.MULTIPLIES));
+		assertEquals("2x3 by 3x2 performs 8 element adds", 8, profile.get("multiply", Counter.ADDS));
+		assertEquals("Every multiply and add creates an element", 20, profile.get("multiply", Counter.ELEMENT_ALLOCATIONS));
+		assertEquals("Result matrix is the only Matrix allocated", 1, profile.get("multiply", Counter.MATRIX_ALLOCATIONS));
+		assertTrue("Column vectors copy the whole right operand", profile.get("multiply", Counter.ELEMENT_COPIES) >= 4 * 6);
+		assertEquals("Nested constructor is attributed to multiply", 0, profile.get("Matrix", Counter.CALLS));
+	}
+
+	@Test
+	public void testSetValueCopiesWholeMatrix() {
+		Matrix<CountingPrimitive> a = CountingPrimitive.wrap(new Matrix<>(leftData));
+		MatrixProfiler.start();
+		a.setValue(new CountingPrimitive(new TestLong(0)), 0, 0);
+		MatrixProfile profile = MatrixProfiler.stop();
+		assertEquals("setValue copies every element", 6, profile.get("setValue", Counter.ELEMENT_COPIES));
+		assertEquals("setValue does no arithmetic", 0, profile.get("setValue", Counter.ADDS));
+		assertEquals("Element created by the caller is counted outside Matrix", 1,
+				profile.get(MatrixProfile.OUTSIDE, Counter.ELEMENT_ALLOCATIONS));
+		assertEquals("Totals sum over methods", 1, profile.getTotal(Counter.ELEMENT_ALLOCATIONS));
+	}
+
+	@Test
+	public void testNotProfiling() {
+		try {
+			MatrixProfiler.stop();
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalStateException", IllegalStateException.class, e.getClass());
+			assertEquals("Message should describe error", "Not profiling on this thread", e.getMessage());
+		}
+		MatrixProfiler.start();
+		try {
+			MatrixProfiler.start();
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalStateException", IllegalStateException.class, e.getClass());
+			assertEquals("Message should describe error", "Already profiling on this thread", e.getMessage());
+		} finally {
+			MatrixProfiler.stop();
+		}
+	}
+
+	private static final class TestLong extends ArithmeticPrimitive {
+		private static final long serialVersionUID = -1650398112254930131L;
+		private final long _value;
+
+		public TestLong(long l) {
+			this._value = l;
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new TestLong(this._value + ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new TestLong(this._value - ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value * ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value / ((TestLong) n)._value);
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Long.compare(this._value, ((TestLong) o)._value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestLong && ((TestLong) obj)._value == this._value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this._value);
+		}
+
+		@Override
+		public String toString() {
+			return "TestLong [_value=" + this._value + "]";
+		}
+	}
+}
@@ -4,6 +4,8 @@ import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -340,6 +342,187 @@ public class MatrixTest {
 		}
 	}
 	
+	@Test
+	public void testMultiplyStrassen() {
+		Matrix<TestDouble> m1 = randomMatrix(37, 41, 1);
+		Matrix<TestDouble> m2 = randomMatrix(41, 29, 2);
+		Matrix<TestDouble> expected = m1.multiply(m2);
+		assertEquals("Strassen matches classic with padding", expected, m1.multiplyStrassen(m2, 4));
+		assertEquals("Large cutoff uses only the classic kernel", expected, m1.multiplyStrassen(m2, 100));
+		Matrix<TestDouble> square = randomMatrix(2 * Matrix.STRASSEN_CUTOFF + 3, 2 * Matrix.STRASSEN_CUTOFF + 3, 3);
+		assertEquals("Default cutoff matches classic for exact values",
+				square.multiply(square), square.multiplyStrassen(square));
+		try {
+			m1.multiplyStrassen(m2, 0);
+			fail("should throw exception");
+		} catch(Exception e) {
+			assertEquals("Should be IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe issue", "Strassen cutoff must be at least 1", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testMultiplyLargeInexact() {
+		// Values of widely different magnitudes, so any change in the order of
+		// operations changes the rounding
+		int n = 2 * Matrix.STRASSEN_CUTOFF + 3;
+		Random random = new Random(4);
+		TestDouble[][] data = new TestDouble[n][n];
+		for(int r = 0; r < n; r++) {
+			for(int c = 0; c < n; c++) {
+				data[r][c] = new TestDouble((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(17) - 8));
+			}
+		}
+		Matrix<TestDouble> square = new Matrix<>(data);
+		TestDouble[][] expected = new TestDouble[n][n];
+		for(int r = 0; r < n; r++) {
+			for(int c = 0; c < n; c++) {
+				double sum = data[r][0].getDoubleValue() * data[0][c].getDoubleValue();
+				for(int k = 1; k < n; k++) {
+					sum += data[r][k].getDoubleValue() * data[k][c].getDoubleValue();
+				}
+				expected[r][c] = new TestDouble(sum);
+			}
+		}
+		assertEquals("Large multiply rounds as the classic product", new Matrix<>(expected), square.multiply(square));
+		// Strassen rounds differently, with an error bounded by the size of the
+		// operands rather than of each element
+		double max = 0;
+		for(TestDouble[] row : data) {
+			for(TestDouble e : row) {
+				max = Math.max(max, Math.abs(e.getDoubleValue()));
+			}
+		}
+		double tolerance = 1e-13 * n * max * max;
+		Matrix<TestDouble> strassen = square.multiplyStrassen(square);
+		for(int r = 0; r < n; r++) {
+			for(int c = 0; c < n; c++) {
+				assertEquals("Strassen agrees with the classic product", expected[r][c].getDoubleValue(),
+						strassen.getValue(r, c).getDoubleValue(), tolerance);
+			}
+		}
+	}
+
+	@Test
+	public void testMap() {
+		Matrix<TestDouble> m1 = new Matrix<>(firstMatrixdata);
+		Matrix<TestDouble> expected = m1.scalarMult(scalar);
+		assertEquals("Map applies to every element", expected, m1.map(e -> (TestDouble) e.multiplyBy(scalar)));
+		assertEquals("Parallel map gives the same result", expected, m1.map(e -> (TestDouble) e.multiplyBy(scalar), true));
+	}
+
+	@Test
+	public void testZipWith() {
+		Matrix<TestDouble> m1 = new Matrix<>(firstMatrixdata);
+		Matrix<TestDouble> m2 = new Matrix<>(scaledMatrixdata);
+		assertEquals("ZipWith combines corresponding elements", m1.add(m2), m1.zipWith(m2, (a, b) -> (TestDouble) a.add(b)));
+		assertEquals("Parallel zipWith gives the same result", m2.subtract(m1), m2.zipWith(m1, (a, b) -> (TestDouble) a.subtract(b), true));
+		try {
+			m1.zipWith(new Matrix<>(secondMatrixData), (a, b) -> a);
+			fail("should throw exception");
+		} catch(Exception e) {
+			assertEquals("Should be IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe issue", "Cannot combine two matricies of different orders", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testReduceAndStream() {
+		Matrix<TestDouble> m1 = new Matrix<>(firstMatrixdata);
+		assertEquals("Reduce sums every element", new TestDouble(19), m1.reduce(TestDouble.ZERO, (a, b) -> (TestDouble) a.add(b)));
+		assertEquals("Stream is row-major", "1.0 5.0 2.0 3.0 1.0 7.0",
+				m1.stream().map(e -> Double.toString(e.getDoubleValue())).collect(Collectors.joining(" ")));
+		Matrix<TestDouble> large = randomMatrix(50, 70, 4);
+		TestDouble sequential = large.reduce(TestDouble.ZERO, (a, b) -> (TestDouble) a.add(b));
+		assertEquals("Parallel reduce gives the same result", sequential, large.reduce(TestDouble.ZERO, (a, b) -> (TestDouble) a.add(b), true));
+		assertEquals("Parallel stream sees every element", 3500, large.parallelStream().count());
+		assertEquals("Spliterator is sized", 3500, large.spliterator().estimateSize());
+	}
+
+	@Test
+	public void testMultiplyVector() {
+		Matrix<TestDouble> m = randomMatrix(7, 5, 5);
+		Matrix<TestDouble> v = randomMatrix(5, 1, 6);
+		Matrix<TestDouble> r = randomMatrix(7, 1, 7);
+		Matrix<TestDouble> expected = dotProducts(m, v);
+		assertEquals("Vector product has one column", 1, m.multiplyVector(v).getColumns());
+		assertEquals("Vector product matches dot products", expected, m.multiplyVector(v));
+		assertEquals("Multiply detects single columns", expected, m.multiply(v));
+		assertEquals("Transposed product matches dot products with columns", dotProducts(m.transpose(), r), m.multiplyVectorTransposed(r));
+
+		// [1 5; 2 3; 1 7] . [2; 3] and its transpose . [1; 2; 1], by hand
+		Matrix<TestDouble> small = new Matrix<>(firstMatrixdata);
+		Matrix<TestDouble> column = new Matrix<>(new TestDouble[][] {{new TestDouble(2)}, {new TestDouble(3)}});
+		Matrix<TestDouble> row = new Matrix<>(new TestDouble[][] {{new TestDouble(1)}, {new TestDouble(2)}, {new TestDouble(1)}});
+		assertEquals("Small vector product", new Matrix<>(new TestDouble[][] {
+			{new TestDouble(17)}, {new TestDouble(13)}, {new TestDouble(23)}}), small.multiplyVector(column));
+		assertEquals("Small transposed product", new Matrix<>(new TestDouble[][] {
+			{new TestDouble(6)}, {new TestDouble(18)}}), small.multiplyVectorTransposed(row));
+		try {
+			m.multiplyVectorTransposed(v);
+			fail("should throw exception");
+		} catch(Exception e) {
+			assertEquals("Should be IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe issue", "Vector must be a single column with as many rows as this matrix", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testMultiplyParallel() {
+		Matrix<TestDouble> m = randomMatrix(9, 6, 8);
+		Matrix<TestDouble> n = randomMatrix(6, 4, 9);
+		Matrix<TestDouble> v = randomMatrix(6, 1, 10);
+		assertEquals("Parallel rows match serial rows", m.multiply(n, false), m.multiply(n, true));
+		assertEquals("Parallel vector product matches serial", m.multiplyVector(v, false), m.multiplyVector(v, true));
+
+		// A module-lattice A.s: a k x k matrix of polynomials times a vector of k
+		PolynomialRing ring = PolynomialRing.negacyclic(256, 1 << 13, PolynomialMultiplier.KARATSUBA);
+		Random random = new Random(11);
+		Polynomial[][] a = new Polynomial[8][8];
+		Polynomial[][] s = new Polynomial[8][1];
+		for(int r = 0; r < 8; r++) {
+			for(int c = 0; c < 8; c++) {
+				a[r][c] = ring.random(random);
+			}
+			s[r][0] = ring.random(random);
+		}
+		Matrix<Polynomial> matrixA = new Matrix<>(a);
+		Matrix<Polynomial> vectorS = new Matrix<>(s);
+		Matrix<Polynomial> expected = matrixA.multiplyVector(vectorS, false);
+		assertEquals("Parallel polynomial rows match serial", expected, matrixA.multiplyVector(vectorS, true));
+		assertEquals("Automatic choice matches serial", expected, matrixA.multiply(vectorS));
+	}
+
+	/**
+	 * Multiply a matrix by a vector one element at a time, independently of
+	 * any multiply path in {@link Matrix}
+	 */
+	private static Matrix<TestDouble> dotProducts(Matrix<TestDouble> m, Matrix<TestDouble> v) {
+		TestDouble[][] data = new TestDouble[m.getRows()][1];
+		for(int r = 0; r < m.getRows(); r++) {
+			double sum = 0;
+			for(int k = 0; k < m.getColumns(); k++) {
+				sum += m.getValue(r, k).getDoubleValue() * v.getValue(k, 0).getDoubleValue();
+			}
+			data[r][0] = new TestDouble(sum);
+		}
+		return new Matrix<>(data);
+	}
+
+	/**
+	 * Small integers keep every TestDouble sum exact, whatever the order
+	 */
+	private static Matrix<TestDouble> randomMatrix(int rows, int cols, long seed) {
+		Random random = new Random(seed);
+		TestDouble[][] data = new TestDouble[rows][cols];
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < cols; c++) {
+				data[r][c] = new TestDouble(random.nextInt(19) - 9);
+			}
+		}
+		return new Matrix<>(data);
+	}
+	
 	@Test
 	public void testToString() {
 		Matrix<TestDouble> m1 = new Matrix<>(firstMatrixdata);
@@ -0,0 +1,474 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Gaussian elimination over the integers modulo q, on primitive arrays.
+ * <p>
+ * Provides reduced row echelon form, rank, determinant, inverse and the
+ * solution of linear systems for matrices held as <code>long[][]</code> or
+ * <code>int[][]</code>, with elements taken modulo q. Working on primitives
+ * avoids the element allocation of {@link Matrix}, which dominates at the
+ * thousand-plus dimensions used in cryptanalysis.
+ * <p>
+ * Each pivot row is scaled by the inverse of its pivot, then subtracted from
+ * every other row. For a prime modulus up to {@value #INVERSE_TABLE_LIMIT}, all
+ * inverses are precomputed when this object is created; otherwise each pivot
+ * is inverted with the extended Euclidean algorithm. Once a matrix has
+ * {@value #PARALLEL_ROWS} rows or more, the rows are eliminated in parallel on
+ * the common fork/join pool.
+ * <p>
+ * A composite modulus is allowed, but every pivot must then be a unit: if a
+ * column has non-zero entries and none of them is invertible, an
+ * {@link ArithmeticException} is thrown.
+ * <p>
+ * Input arrays are never modified. This class is immutable, and therefore
+ * thread-safe.
+ * 
+ * @author Connor F
+ */
+public final class ModularElimination {
+	/**
+	 * The largest modulus supported, chosen so that the product of two reduced
+	 * elements fits in a long
+	 */
+	public static final long MAX_MODULUS = 1L << 31;
+	/**
+	 * The largest prime modulus for which inverses are precomputed
+	 */
+	static final int INVERSE_TABLE_LIMIT = 1 << 20;
+	/**
+	 * Number of rows from which elimination runs in parallel
+	 */
+	static final int PARALLEL_ROWS = 128;
+
+	private final long modulus;
+	/**
+	 * inverses[a] is the inverse of a, or null if inverses are not precomputed
+	 */
+	private final int[] inverses;
+
+	/**
+	 * Create an eliminator for a modulus
+	 * 
+	 * @param modulus  The modulus q
+	 * 
+	 * @throws IllegalArgumentException If the modulus is less than 2 or greater
+	 *         than {@link #MAX_MODULUS}
+	 */
+	public ModularElimination(long modulus) {
+		if (modulus < 2 || modulus > MAX_MODULUS) {
+			throw new IllegalArgumentException("Modulus must be between 2 and " + MAX_MODULUS);
+		}
+		this.modulus = modulus;
+		if (modulus <= INVERSE_TABLE_LIMIT && BigInteger.valueOf(modulus).isProbablePrime(32)) {
+			final int q = (int) modulus;
+			this.inverses = new int[q];
+			this.inverses[1] = 1;
+			// For prime q, a^-1 = -(q / a) * (q mod a)^-1
+			for(int a = 2; a < q; a++) {
+				this.inverses[a] = (int) ((q - (long) (q / a) * this.inverses[q % a] % q) % q);
+			}
+		} else {
+			this.inverses = null;
+		}
+	}
+
+	/**
+	 * Get the modulus
+	 * 
+	 * @return The modulus q
+	 */
+	public long getModulus() {
+		return this.modulus;
+	}
+
+	/**
+	 * Invert an element
+	 * 
+	 * @param a  The element, which is first reduced modulo q
+	 * 
+	 * @return The inverse of a modulo q
+	 * 
+	 * @throws ArithmeticException If a has no inverse modulo q
+	 */
+	public long inverse(long a) {
+		final long x = Math.floorMod(a, this.modulus);
+		if (this.inverses != null) {
+			if (x == 0) {
+				throw new ArithmeticException("0 has no inverse mod " + this.modulus);
+			}
+			return this.inverses[(int) x];
+		}
+		long r0 = this.modulus, r1 = x, s0 = 0, s1 = 1;
+		while (r1 != 0) {
+			final long quotient = r0 / r1;
+			long t = r0 - quotient * r1;
+			r0 = r1;
+			r1 = t;
+			t = s0 - quotient * s1;
+			s0 = s1;
+			s1 = t;
+		}
+		if (r0 != 1) {
+			throw new ArithmeticException(x + " has no inverse mod " + this.modulus);
+		}
+		return Math.floorMod(s0, this.modulus);
+	}
+
+	/**
+	 * Reduce a matrix to reduced row echelon form
+	 * 
+	 * @param matrix  The matrix, as an array of rows of equal length
+	 * 
+	 * @return A new array holding the reduced row echelon form of the matrix
+	 * 
+	 * @throws ArithmeticException If the modulus is composite and a column has no unit pivot
+	 */
+	public long[][] echelon(long[][] matrix) {
+		final long[][] work = copy(matrix);
+		eliminate(work, work[0].length);
+		return work;
+	}
+
+	/**
+	 * Get the rank of a matrix
+	 * 
+	 * @param matrix  The matrix, as an array of rows of equal length
+	 * 
+	 * @return The number of linearly independent rows
+	 * 
+	 * @throws ArithmeticException If the modulus is composite and a column has no unit pivot
+	 */
+	public int rank(long[][] matrix) {
+		final long[][] work = copy(matrix);
+		return eliminate(work, work[0].length).rank;
+	}
+
+	/**
+	 * Get the determinant of a square matrix
+	 * 
+	 * @param matrix  The matrix, as an array of rows
+	 * 
+	 * @return The determinant modulo q
+	 * 
+	 * @throws IllegalArgumentException If the matrix is not square
+	 * @throws ArithmeticException If the modulus is composite and a column has no unit pivot
+	 */
+	public long determinant(long[][] matrix) {
+		checkSquare(matrix);
+		final long[][] work = copy(matrix);
+		return eliminate(work, work.length).determinant;
+	}
+
+	/**
+	 * Invert a square matrix
+	 * <p>
+	 * Reduces the matrix alongside the identity; the identity becomes the inverse.
+	 * 
+	 * @param matrix  The matrix, as an array of rows
+	 * 
+	 * @return A new array holding the inverse modulo q
+	 * 
+	 * @throws IllegalArgumentException If the matrix is not square
+	 * @throws ArithmeticException If the matrix is not invertible modulo q
+	 */
+	public long[][] inverse(long[][] matrix) {
+		checkSquare(matrix);
+		final int n = matrix.length;
+		final long[][] work = new long[n][2 * n];
+		for(int r = 0; r < n; r++) {
+			reduceInto(matrix[r], work[r], n);
+			work[r][n + r] = 1;
+		}
+		if (eliminate(work, n).rank < n) {
+			throw new ArithmeticException("Matrix is singular mod " + this.modulus);
+		}
+		final long[][] inverse = new long[n][];
+		for(int r = 0; r < n; r++) {
+			inverse[r] = Arrays.copyOfRange(work[r], n, 2 * n);
+		}
+		return inverse;
+	}
+
+	/**
+	 * Solve the linear system A x = b
+	 * <p>
+	 * If the system has more than one solution, the one with every free
+	 * variable zero is returned.
+	 * 
+	 * @param a  The coefficients, as an array of rows
+	 * @param b  The right hand side, one element per row of a
+	 * 
+	 * @return A solution x, one element per column of a
+	 * 
+	 * @throws IllegalArgumentException If b has the wrong length
+	 * @throws ArithmeticException If the system has no solution
+	 */
+	public long[] solve(long[][] a, long[] b) {
+		if (b.length != a.length) {
+			throw new IllegalArgumentException("Right hand side must have one element per row");
+		}
+		final int cols = a[0].length;
+		final long[][] work = new long[a.length][cols + 1];
+		for(int r = 0; r < a.length; r++) {
+			reduceInto(a[r], work[r], cols);
+			work[r][cols] = Math.floorMod(b[r], this.modulus);
+		}
+		final Elimination result = eliminate(work, cols);
+		for(int r = result.rank; r < work.length; r++) {
+			if (work[r][cols] != 0) {
+				throw new ArithmeticException("Linear system has no solution mod " + this.modulus);
+			}
+		}
+		final long[] x = new long[cols];
+		for(int p = 0; p < result.rank; p++) {
+			x[result.pivotColumns[p]] = work[p][cols];
+		}
+		return x;
+	}
+
+	/**
+	 * As {@link #echelon(long[][])}, for int elements
+	 */
+	public int[][] echelon(int[][] matrix) {
+		return toInts(echelon(toLongs(matrix)));
+	}
+
+	/**
+	 * As {@link #rank(long[][])}, for int elements
+	 */
+	public int rank(int[][] matrix) {
+		return rank(toLongs(matrix));
+	}
+
+	/**
+	 * As {@link #determinant(long[][])}, for int elements
+	 */
+	public long determinant(int[][] matrix) {
+		return determinant(toLongs(matrix));
+	}
+
+	/**
+	 * As {@link #inverse(long[][])}, for int elements
+	 */
+	public int[][] inverse(int[][] matrix) {
+		return toInts(inverse(toLongs(matrix)));
+	}
+
+	/**
+	 * As {@link #solve(long[][], long[])}, for int elements
+	 */
+	public int[] solve(int[][] a, int[] b) {
+		final long[] wide = new long[b.length];
+		for(int i = 0; i < b.length; i++) {
+			wide[i] = b[i];
+		}
+		final long[] x = solve(toLongs(a), wide);
+		final int[] out = new int[x.length];
+		for(int i = 0; i < x.length; i++) {
+			out[i] = (int) x[i];
+		}
+		return out;
+	}
+
+	/**
+	 * The outcome of an elimination
+	 */
+	private static final class Elimination {
+		final int rank;
+		final int[] pivotColumns;
+		final long determinant;
+
+		Elimination(int rank, int[] pivotColumns, long determinant) {
+			this.rank = rank;
+			this.pivotColumns = pivotColumns;
+			this.determinant = determinant;
+		}
+	}
+
+	/**
+	 * Reduce reduced rows to reduced row echelon form, in place
+	 * <p>
+	 * Pivots are sought only in the first pivotLimit columns; the remaining
+	 * columns, such as an augmented identity or right hand side, are carried along.
+	 * 
+	 * @param work        Rows with every element already reduced
+	 * @param pivotLimit  Number of columns to seek pivots in
+	 * 
+	 * @return The rank, pivot columns and determinant; the determinant is only
+	 *         meaningful when the first pivotLimit columns are square
+	 */
+	private Elimination eliminate(long[][] work, int pivotLimit) {
+		final int rows = work.length;
+		final int width = work[0].length;
+		final int[] pivotColumns = new int[Math.min(rows, pivotLimit)];
+		final long q = this.modulus;
+		long determinant = 1;
+		int rank = 0;
+		for(int c = 0; c < pivotLimit && rank < rows; c++) {
+			final int found = findPivot(work, rank, c);
+			if (found < 0) {
+				determinant = 0;
+				continue;
+			}
+			if (found != rank) {
+				final long[] swap = work[found];
+				work[found] = work[rank];
+				work[rank] = swap;
+				determinant = q - determinant;
+			}
+			final long[] pivotRow = work[rank];
+			final long pivot = pivotRow[c];
+			determinant = determinant * pivot % q;
+			final long scale = inverse(pivot);
+			for(int j = c; j < width; j++) {
+				pivotRow[j] = pivotRow[j] * scale % q;
+			}
+			final int pivotIndex = rank;
+			final int column = c;
+			if (rows >= PARALLEL_ROWS) {
+				IntStream.range(0, rows).parallel().forEach(r -> eliminateRow(work, r, pivotIndex, column));
+			} else {
+				for(int r = 0; r < rows; r++) {
+					eliminateRow(work, r, pivotIndex, column);
+				}
+			}
+			pivotColumns[rank++] = c;
+		}
+		if (rank < pivotLimit) {
+			determinant = 0;
+		}
+		return new Elimination(rank, pivotColumns, determinant % q);
+	}
+
+	/**
+	 * Subtract a multiple of the pivot row that clears the pivot column of a row
+	 */
+	private void eliminateRow(long[][] work, int r, int pivotIndex, int column) {
+		final long[] row = work[r];
+		final long factor = row[column];
+		if (r == pivotIndex || factor == 0) {
+			return;
+		}
+		final long[] pivotRow = work[pivotIndex];
+		final long q = this.modulus;
+		final long negated = q - factor;
+		// Columns before the pivot are already zero in the pivot row
+		for(int j = column; j < row.length; j++) {
+			row[j] = (row[j] + negated * pivotRow[j]) % q;
+		}
+	}
+
+	/**
+	 * Find a row, at or below the specified one, with a unit in the specified column
+	 * 
+	 * @return The row index, or -1 if the column is zero from that row down
+	 * 
+	 * @throws ArithmeticException If the column has non-zero entries but no unit
+	 */
+	private int findPivot(long[][] work, int from, int column) {
+		boolean nonZero = false;
+		for(int r = from; r < work.length; r++) {
+			final long value = work[r][column];
+			if (value != 0) {
+				if (this.inverses != null || gcd(value, this.modulus) == 1) {
+					return r;
+				}
+				nonZero = true;
+			}
+		}
+		if (nonZero) {
+			throw new ArithmeticException("No invertible pivot in column " + column + " mod " + this.modulus);
+		}
+		return -1;
+	}
+
+	private long[][] copy(long[][] matrix) {
+		final long[][] work = new long[matrix.length][matrix[0].length];
+		for(int r = 0; r < matrix.length; r++) {
+			reduceInto(matrix[r], work[r], work[r].length);
+		}
+		return work;
+	}
+
+	/**
+	 * Copy a row into the start of a work row, reducing each element
+	 * 
+	 * @throws IllegalArgumentException If the row does not have the expected number of columns
+	 */
+	private void reduceInto(long[] source, long[] target, int columns) {
+		if (source.length != columns) {
+			throw new IllegalArgumentException("All rows of a matrix should have the same number of columns");
+		}
+		for(int j = 0; j < columns; j++) {
+			target[j] = Math.floorMod(source[j], this.modulus);
+		}
+	}
+
+	private static void checkSquare(long[][] matrix) {
+		if (matrix.length != matrix[0].length) {
+			throw new IllegalArgumentException("Matrix must be square");
+		}
+	}
+
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			final long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	private static long[][] toLongs(int[][] matrix) {
+		final long[][] wide = new long[matrix.length][];
+		for(int r = 0; r < matrix.length; r++) {
+			wide[r] = new long[matrix[r].length];
+			for(int j = 0; j < matrix[r].length; j++) {
+				wide[r][j] = matrix[r][j];
+			}
+		}
+		return wide;
+	}
+
+	private static int[][] toInts(long[][] matrix) {
+		final int[][] narrow = new int[matrix.length][];
+		for(int r = 0; r < matrix.length; r++) {
+			narrow[r] = new int[matrix[r].length];
+			for(int j = 0; j < matrix[r].length; j++) {
+				narrow[r][j] = (int) matrix[r][j];
+			}
+		}
+		return narrow;
+	}
+}
@@ -0,0 +1,105 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ModularEliminationTest {
+
+	private static final ModularElimination KYBER = new ModularElimination(3329);
+
+	@Test
+	public void testInverseElements() {
+		for(long a = 1; a < 3329; a++) {
+			assertEquals("Table inverse is an inverse", 1, a * KYBER.inverse(a) % 3329);
+		}
+		ModularElimination composite = new ModularElimination(1L << 20);
+		assertEquals("Euclid inverse is an inverse", 1, 3 * composite.inverse(3) % (1L << 20));
+		try {
+			composite.inverse(6);
+			fail("Should throw exception");
+		} catch(ArithmeticException e) {
+			assertEquals("Message should describe error", "6 has no inverse mod 1048576", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testDeterminantAndRank() {
+		long[][] m = new long[][] {
+			new long[] {2, 0, 1},
+			new long[] {1, 3, 2},
+			new long[] {1, 1, 1}
+		};
+		assertEquals("2(3-2) - 0 + 1(1-3) = 0", 0, KYBER.determinant(m));
+		assertEquals("Singular 3x3 has rank 2", 2, KYBER.rank(m));
+		m[2][2] = 2;
+		assertEquals("2(6-2) - 0 + 1(1-3) = 6", 6, KYBER.determinant(m));
+		long[][] swapped = new long[][] {m[1], m[0], m[2]};
+		assertEquals("Swapping rows negates", 3329 - 6, KYBER.determinant(swapped));
+		assertEquals("Input is not modified", 2, m[2][2]);
+	}
+
+	@Test
+	public void testInverseAndSolve() {
+		Random random = new Random(5);
+		int n = ModularElimination.PARALLEL_ROWS + 20;
+		long[][] a = new long[n][n];
+		long[] x = new long[n];
+		for(int r = 0; r < n; r++) {
+			x[r] = random.nextInt(3329);
+			for(int c = 0; c < n; c++) {
+				a[r][c] = random.nextInt(3329);
+			}
+		}
+		long[][] inverse = KYBER.inverse(a);
+		long[] b = new long[n];
+		for(int r = 0; r < n; r++) {
+			for(int c = 0; c < n; c++) {
+				long sum = 0;
+				for(int k = 0; k < n; k++) {
+					sum = (sum + a[r][k] * inverse[k][c]) % 3329;
+				}
+				assertEquals("A times its inverse is the identity", r == c ? 1 : 0, sum);
+				b[r] = (b[r] + a[r][c] * x[c]) % 3329;
+			}
+		}
+		assertArrayEquals("Solve recovers x", x, KYBER.solve(a, b));
+	}
+
+	@Test
+	public void testUnderdeterminedAndInconsistent() {
+		int[][] a = new int[][] {
+			new int[] {1, 2, 3},
+			new int[] {2, 4, 6}
+		};
+		int[] x = KYBER.solve(a, new int[] {5, 10});
+		assertEquals("Solution satisfies the system", 5, (x[0] + 2 * x[1] + 3 * x[2]) % 3329);
+		assertArrayEquals("Echelon form is reduced", new int[] {1, 2, 3}, KYBER.echelon(a)[0]);
+		try {
+			KYBER.solve(a, new int[] {5, 11});
+			fail("Should throw exception");
+		} catch(ArithmeticException e) {
+			assertEquals("Message should describe error", "Linear system has no solution mod 3329", e.getMessage());
+		}
+		try {
+			KYBER.inverse(new int[][] {new int[] {1, 2}, new int[] {2, 4}});
+			fail("Should throw exception");
+		} catch(ArithmeticException e) {
+			assertEquals("Message should describe error", "Matrix is singular mod 3329", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCompositeModulus() {
+		ModularElimination mod12 = new ModularElimination(12);
+		assertEquals("Units pivot fine", 12 - 1, mod12.determinant(new long[][] {new long[] {0, 1}, new long[] {1, 0}}));
+		try {
+			mod12.rank(new long[][] {new long[] {2, 1}, new long[] {3, 1}});
+			fail("Should throw exception");
+		} catch(ArithmeticException e) {
+			assertEquals("Message should describe error", "No invertible pivot in column 0 mod 12", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,579 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Store elements in a direct buffer rather than through Unsafe
+ * 2026, Connor F: Split elements across segments, and free them on close
+ */
+package deathray.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A matrix of long values stored outside the Java heap.
+ * <p>
+ * Large lattice matrices stored as a {@link Matrix} cost one object per
+ * element, and the garbage collector must trace every one of them. This class
+ * instead keeps its elements in direct buffers, in row-major order, whose
+ * contents the collector never sees. A direct buffer holds at most 2GB, so the
+ * elements are split across as many 1GB segments as they need.
+ * <p>
+ * Closing the matrix zeroes the memory, so that secret matrices do not linger,
+ * and frees it at once rather than when the buffers are collected. A JVM that
+ * does not allow direct buffers to be freed early still has the memory zeroed,
+ * and returns it when the buffers are collected. A matrix should be closed by
+ * its owner, normally with try-with-resources. Using a matrix after it has been
+ * closed throws {@link IllegalStateException}.
+ * <pre>
+ * try (OffHeapMatrix a = OffHeapMatrix.fromMatrix(m, 3329, Number::longValue);
+ *      OffHeapMatrix b = a.transpose();
+ *      OffHeapMatrix c = a.multiply(b)) {
+ *     ...
+ * }
+ * </pre>
+ * Arithmetic is modulo the matrix's modulus, or wraps at 2<sup>64</sup> when the
+ * modulus is zero. Unlike {@link Matrix}, an off-heap matrix is mutable through
+ * {@link #setValue(long, int, int)}; the operations still return new matrices,
+ * which the caller must close.
+ * <p>
+ * The JVM limits the native memory all direct buffers may use together, to the
+ * maximum heap size unless {@code -XX:MaxDirectMemorySize} says otherwise.
+ * <p>
+ * This class is not thread-safe, except that a close waits for operations on
+ * other threads to finish, so it never frees memory they are using.
+ * 
+ * @author Connor F
+ */
+public final class OffHeapMatrix implements AutoCloseable {
+	/**
+	 * The largest modulus supported, chosen so that the product of two reduced
+	 * elements fits in a long
+	 */
+	public static final long MAX_MODULUS = 1L << 31;
+	/**
+	 * The most elements a matrix may hold, 8TB of them, which keeps the number
+	 * of segments within an int
+	 */
+	public static final long MAX_ELEMENTS = 1L << 40;
+	/**
+	 * Size of each segment. The size is a multiple of the element width, so no
+	 * element spans two segments.
+	 */
+	private static final int SEGMENT_BITS = 30;
+	/**
+	 * Frees the memory of a direct buffer now, or null if this JVM does not allow it
+	 */
+	private static final Consumer<ByteBuffer> FREE = freer();
+
+	private final int rows;
+	private final int cols;
+	private final long modulus;
+	private final int segmentBits;
+	private final long segmentMask;
+	/**
+	 * The elements in row-major order
+	 */
+	private final ByteBuffer[] segments;
+	/**
+	 * Held to read or write the elements, and exclusively to free them
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean closed;
+
+	/**
+	 * Create a zero matrix with specified dimensions
+	 * 
+	 * @param rows     Number of rows in this matrix
+	 * @param columns  Number of columns in this matrix
+	 * @param modulus  The modulus of the elements, or zero for arithmetic that
+	 *                 wraps at 2<sup>64</sup>
+	 * 
+	 * @throws IllegalArgumentException If rows or columns is less than 1, there
+	 *         are more than {@link #MAX_ELEMENTS} elements, or the modulus is
+	 *         negative, one, or greater than {@link #MAX_MODULUS}
+	 * @throws OutOfMemoryError If the native memory cannot be allocated
+	 */
+	public OffHeapMatrix(int rows, int columns, long modulus) {
+		this(rows, columns, modulus, SEGMENT_BITS);
+	}
+
+	/**
+	 * Create a zero matrix split into segments of the specified size, which
+	 * tests make small to exercise the segment boundaries
+	 */
+	OffHeapMatrix(int rows, int columns, long modulus, int segmentBits) {
+		if (rows < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 rows");
+		}
+		if (columns < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 columns");
+		}
+		if ((long) rows * columns > MAX_ELEMENTS) {
+			throw new IllegalArgumentException("Cannot create off-heap matrix with >" + MAX_ELEMENTS + " elements");
+		}
+		if (modulus < 0 || modulus == 1 || modulus > MAX_MODULUS) {
+			throw new IllegalArgumentException("Modulus must be zero or between 2 and " + MAX_MODULUS);
+		}
+		this.rows = rows;
+		this.cols = columns;
+		this.modulus = modulus;
+		this.segmentBits = segmentBits;
+		this.segmentMask = (1L << segmentBits) - 1;
+		final long end = (long) rows * columns * Long.BYTES;
+		this.segments = new ByteBuffer[(int) ((end - 1) >>> segmentBits) + 1];
+		try {
+			for(int i = 0; i < this.segments.length; i++) {
+				final long start = (long) i << segmentBits;
+				// Direct buffers start zeroed
+				this.segments[i] = ByteBuffer.allocateDirect((int) Math.min(end - start, 1L << segmentBits))
+						.order(ByteOrder.nativeOrder());
+			}
+		} catch (RuntimeException | Error e) {
+			free();
+			throw e;
+		}
+	}
+
+	/**
+	 * Copy a matrix off the heap
+	 * 
+	 * @param matrix   The matrix to copy
+	 * @param modulus  The modulus of the elements, or zero for arithmetic that
+	 *                 wraps at 2<sup>64</sup>
+	 * @param toLong   Function giving the value of each element
+	 * 
+	 * @return A new off-heap matrix holding the same values, reduced by the modulus
+	 * 
+	 * @throws IllegalArgumentException If the modulus is not valid
+	 */
+	public static <T extends ArithmeticPrimitive> OffHeapMatrix fromMatrix(Matrix<T> matrix, long modulus,
+			ToLongFunction<? super T> toLong) {
+		final OffHeapMatrix copy = new OffHeapMatrix(matrix.getRows(), matrix.getColumns(), modulus);
+		try {
+			for(int r = 0; r < copy.rows; r++) {
+				for(int c = 0; c < copy.cols; c++) {
+					copy.setValue(toLong.applyAsLong(matrix.getValue(r, c)), r, c);
+				}
+			}
+		} catch (RuntimeException | Error e) {
+			copy.close();
+			throw e;
+		}
+		return copy;
+	}
+
+	/**
+	 * Copy this matrix onto the heap
+	 * 
+	 * @param fromLong  Function creating an element from its value
+	 * 
+	 * @return A new {@link Matrix} holding the same values
+	 * 
+	 * @throws IllegalStateException If this matrix has been closed
+	 */
+	public <T extends ArithmeticPrimitive> Matrix<T> toMatrix(LongFunction<? extends T> fromLong) {
+		final Lock lock = acquire();
+		try {
+			final List<List<T>> data = new ArrayList<>(this.rows);
+			for(int r = 0; r < this.rows; r++) {
+				final List<T> row = new ArrayList<>(this.cols);
+				for(int c = 0; c < this.cols; c++) {
+					row.add(fromLong.apply(get((long) r * this.cols + c)));
+				}
+				data.add(row);
+			}
+			return new Matrix<T>(data);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the number of rows in this matrix
+	 * 
+	 * @return  Number of rows in this matrix
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns in this matrix
+	 * 
+	 * @return  Number of columns in this matrix
+	 */
+	public int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Get the modulus of the elements of this matrix
+	 * 
+	 * @return The modulus, or zero if arithmetic wraps at 2<sup>64</sup>
+	 */
+	public long getModulus() {
+		return this.modulus;
+	}
+
+	/**
+	 * Get the amount of native memory this matrix occupies
+	 * 
+	 * @return Size of the elements, in bytes
+	 */
+	public long getSizeInBytes() {
+		return (long) this.rows * this.cols * Long.BYTES;
+	}
+
+	/**
+	 * Returns true if this matrix has been closed
+	 * 
+	 * @return true if the memory of this matrix has been released
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+
+	/**
+	 * Get the specified element
+	 * 
+	 * @param row     The row of the element to retrieve
+	 * @param column  The column of the element to retrieve
+	 * 
+	 * @return The specified element
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 * @throws IllegalStateException If this matrix has been closed
+	 */
+	public long getValue(int row, int column) {
+		final Lock lock = acquire();
+		try {
+			checkIndex(row, column);
+			return get((long) row * this.cols + column);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Set the specified element
+	 * <p>
+	 * Unlike {@link Matrix#setValue(ArithmeticPrimitive, int, int)}, this
+	 * modifies this matrix.
+	 * 
+	 * @param value   Value of the specified element, which is reduced by the modulus
+	 * @param row     The row of the element to set
+	 * @param column  The column of the element to set
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 * @throws IllegalStateException If this matrix has been closed
+	 */
+	public void setValue(long value, int row, int column) {
+		final Lock lock = acquire();
+		try {
+			checkIndex(row, column);
+			put((long) row * this.cols + column, this.modulus == 0 ? value : Math.floorMod(value, this.modulus));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Add the specified matrix to this matrix
+	 * 
+	 * @param other  The matrix to add to this one
+	 * 
+	 * @return A new matrix holding the sum, which the caller must close
+	 * 
+	 * @throws IllegalArgumentException If the specified matrix has different
+	 *         dimensions or modulus
+	 * @throws IllegalStateException If either matrix has been closed
+	 */
+	public OffHeapMatrix add(OffHeapMatrix other) {
+		if (other.rows != this.rows || other.cols != this.cols) {
+			throw new IllegalArgumentException("Cannot add two matricies of different orders together");
+		}
+		checkCompatible(other);
+		final Lock a = acquire();
+		try {
+			final Lock b = other.acquire();
+			try {
+				final OffHeapMatrix sum = new OffHeapMatrix(this.rows, this.cols, this.modulus, this.segmentBits);
+				final long count = (long) this.rows * this.cols;
+				for(long i = 0; i < count; i++) {
+					sum.put(i, reduce(get(i) + other.get(i)));
+				}
+				return sum;
+			} finally {
+				b.unlock();
+			}
+		} finally {
+			a.unlock();
+		}
+	}
+
+	/**
+	 * Transpose this matrix
+	 * 
+	 * @return A new matrix that is the transposition of this matrix, which the
+	 *         caller must close
+	 * 
+	 * @throws IllegalStateException If this matrix has been closed
+	 */
+	public OffHeapMatrix transpose() {
+		final Lock lock = acquire();
+		try {
+			final OffHeapMatrix t = new OffHeapMatrix(this.cols, this.rows, this.modulus, this.segmentBits);
+			for(int r = 0; r < this.rows; r++) {
+				for(int c = 0; c < this.cols; c++) {
+					t.put((long) c * this.rows + r, get((long) r * this.cols + c));
+				}
+			}
+			return t;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Multiply this matrix by the specified matrix
+	 * <p>
+	 * Each row of the result is accumulated by walking a row of this matrix and
+	 * the rows of the other matrix in order, so both are read sequentially.
+	 * 
+	 * @param other  matrix to multiply this matrix by
+	 * 
+	 * @return A new matrix holding the product, which the caller must close
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 *         number of rows than this matrix has columns, or a different modulus
+	 * @throws IllegalStateException If either matrix has been closed
+	 */
+	public OffHeapMatrix multiply(OffHeapMatrix other) {
+		if (this.cols != other.rows) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		checkCompatible(other);
+		final Lock a = acquire();
+		try {
+			final Lock b = other.acquire();
+			try {
+				final MatrixMultiplyEvent event = MatrixMetrics.beginMultiply();
+				final OffHeapMatrix product = new OffHeapMatrix(this.rows, other.cols, this.modulus, this.segmentBits);
+				final int n = other.cols;
+				for(int r = 0; r < this.rows; r++) {
+					final long pRow = (long) r * n;
+					for(int k = 0; k < this.cols; k++) {
+						final long ark = get((long) r * this.cols + k);
+						if (ark == 0) {
+							continue;
+						}
+						final long bRow = (long) k * n;
+						for(int c = 0; c < n; c++) {
+							product.put(pRow + c, reduce(product.get(pRow + c) + reduce(ark * other.get(bRow + c))));
+						}
+					}
+				}
+				MatrixMetrics.endMultiply(event, this.rows, this.cols, other.cols);
+				return product;
+			} finally {
+				b.unlock();
+			}
+		} finally {
+			a.unlock();
+		}
+	}
+
+	/**
+	 * Zero and free the memory of this matrix
+	 * <p>
+	 * Waits for operations on other threads to finish first. Closing a matrix
+	 * more than once has no further effect.
+	 */
+	@Override
+	public void close() {
+		final Lock lock = this.lock.writeLock();
+		lock.lock();
+		try {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			free();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		final Lock lock = this.lock.readLock();
+		lock.lock();
+		try {
+			if (this.closed) {
+				return "OffHeapMatrix (closed)";
+			}
+			StringBuilder sb = new StringBuilder("OffHeapMatrix\n");
+			for(int i = 0; i < this.rows; i++) {
+				sb.append(i).append(": [");
+				for(int j = 0; j < this.cols; j++) {
+					sb.append(get((long) i * this.cols + j)).append(' ');
+				}
+				sb.append('\n');
+			}
+			return sb.toString();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns true if closing a matrix frees its memory at once on this JVM
+	 * 
+	 * @return false if the memory is only returned when the buffers are collected
+	 */
+	static boolean freesOnClose() {
+		return FREE != null;
+	}
+
+	private long get(long index) {
+		final long offset = index * Long.BYTES;
+		return this.segments[(int) (offset >>> this.segmentBits)].getLong((int) (offset & this.segmentMask));
+	}
+
+	private void put(long index, long value) {
+		final long offset = index * Long.BYTES;
+		this.segments[(int) (offset >>> this.segmentBits)].putLong((int) (offset & this.segmentMask), value);
+	}
+
+	private long reduce(long value) {
+		return this.modulus == 0 ? value : value % this.modulus;
+	}
+
+	private void checkIndex(int row, int column) {
+		if (row >= this.rows || row < 0) {
+			throw new IndexOutOfBoundsException(row + "");
+		}
+		if (column >= this.cols || column < 0) {
+			throw new IndexOutOfBoundsException("" + column);
+		}
+	}
+
+	private void checkCompatible(OffHeapMatrix other) {
+		if (other.modulus != this.modulus) {
+			throw new IllegalArgumentException("Cannot combine matricies with different moduli");
+		}
+	}
+
+	/**
+	 * Lock the elements of this matrix against being freed
+	 * 
+	 * @return The lock held, which the caller must unlock
+	 * 
+	 * @throws IllegalStateException If this matrix has been closed
+	 */
+	private Lock acquire() {
+		final Lock lock = this.lock.readLock();
+		lock.lock();
+		if (this.closed) {
+			lock.unlock();
+			throw new IllegalStateException("Off-heap matrix is closed");
+		}
+		return lock;
+	}
+
+	/**
+	 * Zero and free every segment allocated
+	 */
+	private void free() {
+		for(int i = 0; i < this.segments.length; i++) {
+			final ByteBuffer segment = this.segments[i];
+			if (segment == null) {
+				continue;
+			}
+			this.segments[i] = null;
+			final int count = segment.capacity() / Long.BYTES;
+			for(int j = 0; j < count; j++) {
+				segment.putLong(j * Long.BYTES, 0);
+			}
+			if (FREE != null) {
+				FREE.accept(segment);
+			}
+		}
+	}
+
+	/**
+	 * Find how this JVM lets a direct buffer be freed before it is collected
+	 * 
+	 * @return A function freeing a direct buffer, or null if there is none
+	 */
+	private static Consumer<ByteBuffer> freer() {
+		try {
+			// Java 9 and later
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			final Object unsafe = field.get(null);
+			return buffer -> invoke(invokeCleaner, unsafe, buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Try the Java 8 way
+		}
+		try {
+			final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+			final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			return buffer -> {
+				final Object c = invoke(cleaner, buffer);
+				if (c != null) {
+					invoke(clean, c);
+				}
+			};
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Invoke a method found by {@link #freer()}, leaving the buffer to the
+	 * collector if the JVM refuses
+	 */
+	private static Object invoke(Method method, Object target, Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+public class OffHeapMatrixTest {
+
+	private static final TestLong[][] leftData = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(2), new TestLong(3)},
+		new TestLong[] {new TestLong(4), new TestLong(5), new TestLong(6)}
+	};
+
+	private static final TestLong[][] rightData = new TestLong[][] {
+		new TestLong[] {new TestLong(7), new TestLong(8)},
+		new TestLong[] {new TestLong(9), new TestLong(10)},
+		new TestLong[] {new TestLong(11), new TestLong(12)}
+	};
+
+	@Test
+	public void testMultiplyMatchesMatrix() {
+		Matrix<TestLong> left = new Matrix<>(leftData);
+		Matrix<TestLong> right = new Matrix<>(rightData);
+		try (OffHeapMatrix a = OffHeapMatrix.fromMatrix(left, 0, TestLong::longValue);
+				OffHeapMatrix b = OffHeapMatrix.fromMatrix(right, 0, TestLong::longValue);
+				OffHeapMatrix c = a.multiply(b)) {
+			assertEquals("Product has other's columns", 2, c.getColumns());
+			assertEquals("Off-heap product matches Matrix", left.multiply(right), c.toMatrix(TestLong::new));
+		}
+	}
+
+	@Test
+	public void testModularArithmetic() {
+		try (OffHeapMatrix a = OffHeapMatrix.fromMatrix(new Matrix<>(leftData), 7, TestLong::longValue);
+				OffHeapMatrix t = a.transpose();
+				OffHeapMatrix sum = t.add(t);
+				OffHeapMatrix product = a.multiply(t)) {
+			assertEquals("Transpose swaps rows and columns", 5, t.getValue(1, 1));
+			assertEquals("Sum is reduced", 3, sum.getValue(1, 1));
+			assertEquals("1*1 + 2*2 + 3*3 = 0 mod 7", 0, product.getValue(0, 0));
+			assertEquals("1*4 + 2*5 + 3*6 = 4 mod 7", 4, product.getValue(0, 1));
+			a.setValue(15, 0, 0);
+			assertEquals("Values are reduced on the way in", 1, a.getValue(0, 0));
+			a.setValue(-1, 0, 0);
+			assertEquals("Negative values are reduced", 6, a.getValue(0, 0));
+		}
+	}
+
+	@Test
+	public void testClose() {
+		OffHeapMatrix a = new OffHeapMatrix(2, 2, 0);
+		a.setValue(Long.MAX_VALUE, 1, 1);
+		assertEquals("Elements are longs", Long.MAX_VALUE, a.getValue(1, 1));
+		a.close();
+		a.close();
+		assertTrue("Matrix is closed", a.isClosed());
+		try {
+			a.getValue(0, 0);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalStateException", IllegalStateException.class, e.getClass());
+			assertEquals("Message should describe error", "Off-heap matrix is closed", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testTooLarge() {
+		try {
+			new OffHeapMatrix(Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe error", "Cannot create off-heap matrix with >1099511627776 elements", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testSegments() {
+		// Segments of 16 bytes hold two elements each, so rows straddle segments
+		Matrix<TestLong> left = new Matrix<>(leftData);
+		Matrix<TestLong> right = new Matrix<>(rightData);
+		try (OffHeapMatrix a = new OffHeapMatrix(2, 3, 0, 4);
+				OffHeapMatrix b = new OffHeapMatrix(3, 2, 0, 4)) {
+			for(int r = 0; r < 2; r++) {
+				for(int c = 0; c < 3; c++) {
+					a.setValue(leftData[r][c].longValue(), r, c);
+					b.setValue(rightData[c][r].longValue(), c, r);
+				}
+			}
+			try (OffHeapMatrix product = a.multiply(b);
+					OffHeapMatrix t = a.transpose();
+					OffHeapMatrix sum = a.add(a)) {
+				assertEquals("Segmented product matches Matrix", left.multiply(right), product.toMatrix(TestLong::new));
+				assertEquals("Segmented transpose matches Matrix", left.transpose(), t.toMatrix(TestLong::new));
+				assertEquals("Element in the last segment", 12, sum.getValue(1, 2));
+			}
+		}
+	}
+
+	@Test
+	public void testCloseFrees() {
+		BufferPoolMXBean direct = null;
+		for(BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			if ("direct".equals(pool.getName())) {
+				direct = pool;
+			}
+		}
+		assertNotNull("The JVM reports direct memory", direct);
+		assertTrue("This JVM lets direct buffers be freed early", OffHeapMatrix.freesOnClose());
+		OffHeapMatrix a = new OffHeapMatrix(512, 512, 0);
+		long used = direct.getMemoryUsed();
+		a.close();
+		assertTrue("Closing frees the 2MB of elements without waiting for the collector",
+				used - direct.getMemoryUsed() >= a.getSizeInBytes());
+	}
+
+	@Test
+	public void testBounds() {
+		try (OffHeapMatrix a = new OffHeapMatrix(2, 3, 0)) {
+			a.getValue(0, 3);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IndexOutOfBoundsException", IndexOutOfBoundsException.class, e.getClass());
+		}
+		try (OffHeapMatrix a = new OffHeapMatrix(2, 3, 5); OffHeapMatrix b = new OffHeapMatrix(2, 3, 7)) {
+			a.add(b);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalArgumentException", IllegalArgumentException.class, e.getClass());
+			assertEquals("Message should describe error", "Cannot combine matricies with different moduli", e.getMessage());
+		}
+	}
+
+	private static final class TestLong extends ArithmeticPrimitive {
+		private static final long serialVersionUID = 4226870152904211744L;
+		private final long _value;
+
+		public TestLong(long l) {
+			this._value = l;
+		}
+
+		public long longValue() {
+			return this._value;
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new TestLong(this._value + ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new TestLong(this._value - ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value * ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value / ((TestLong) n)._value);
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Long.compare(this._value, ((TestLong) o)._value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestLong && ((TestLong) obj)._value == this._value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this._value);
+		}
+
+		@Override
+		public String toString() {
+			return "TestLong [_value=" + this._value + "]";
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Separate the automatic choice so that it can be tested
+ */
+package deathray.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Run the independent rows of one matrix operation across a small
+ * {@link ForkJoinPool}.
+ * <p>
+ * This is for latency rather than throughput: it spreads a single operation,
+ * such as the k rows of A&middot;s in a module-lattice scheme, over several
+ * cores. A server already running one operation per core gains nothing from it,
+ * so in {@link Mode#AUTO} it only switches on when it is likely to pay:
+ * <ul>
+ * <li>there are at least {@link #RANK_THRESHOLD} rows (system property
+ * "DeathRay.parallelRank"),</li>
+ * <li>the pool has more than one thread (system property "DeathRay.parallelism",
+ * by default one per processor),</li>
+ * <li>the calling thread is not being profiled by {@link MatrixProfiler}, whose
+ * counts are per thread, and</li>
+ * <li>the first row, which is always run on the calling thread, took long enough
+ * that the remaining rows are estimated to take at least {@link #MIN_NANOS}
+ * (system property "DeathRay.parallelMinNanos"). Rows of cheap elements, such as
+ * integers, stay serial; rows of polynomials go parallel.</li>
+ * </ul>
+ * The pool's threads are daemons, created on first use.
+ * 
+ * @author Connor F
+ */
+final class ParallelRows {
+	/**
+	 * Fewest rows for which {@link Mode#AUTO} considers running in parallel
+	 */
+	static final int RANK_THRESHOLD = Integer.getInteger("DeathRay.parallelRank", 4);
+	/**
+	 * Least estimated time for the remaining rows for {@link Mode#AUTO} to run
+	 * them in parallel
+	 */
+	static final long MIN_NANOS = Long.getLong("DeathRay.parallelMinNanos", 200_000L);
+	/**
+	 * Number of threads in the pool
+	 */
+	static final int PARALLELISM = Math.max(1, Integer.getInteger("DeathRay.parallelism",
+			Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * How to run the rows of an operation
+	 */
+	enum Mode {
+		/**
+		 * On the calling thread
+		 */
+		SERIAL,
+		/**
+		 * Across the pool
+		 */
+		PARALLEL,
+		/**
+		 * Across the pool when it is likely to be faster
+		 */
+		AUTO;
+
+		static Mode of(boolean parallel) {
+			return parallel ? PARALLEL : SERIAL;
+		}
+	}
+
+	private ParallelRows() {}
+
+	/**
+	 * Run a task for every row
+	 * <p>
+	 * Returns once every row is done. Tasks must be independent, and must not
+	 * touch the calling thread's {@link MatrixProfiler} when run in parallel.
+	 * 
+	 * @param rows  Number of rows
+	 * @param task  Task to run with each row index
+	 * @param mode  How to run them
+	 */
+	static void forEach(int rows, IntConsumer task, Mode mode) {
+		if (mode == Mode.PARALLEL && rows > 1) {
+			invoke(0, rows, task);
+			return;
+		}
+		if (mode == Mode.SERIAL || rows < Math.max(RANK_THRESHOLD, 2) || PARALLELISM < 2 || MatrixProfiler.isProfiling()) {
+			serial(0, rows, task);
+			return;
+		}
+		final long start = System.nanoTime();
+		task.accept(0);
+		if (worthParallel(rows, System.nanoTime() - start)) {
+			invoke(1, rows, task);
+		} else {
+			serial(1, rows, task);
+		}
+	}
+
+	/**
+	 * Decide whether {@link Mode#AUTO} runs the rows after the first in parallel
+	 * 
+	 * @param rows        Number of rows, including the first
+	 * @param firstNanos  Time the first row took
+	 * 
+	 * @return true if the remaining rows are estimated to take at least {@link #MIN_NANOS}
+	 */
+	static boolean worthParallel(int rows, long firstNanos) {
+		return firstNanos * (rows - 1) >= MIN_NANOS;
+	}
+
+	private static void serial(int from, int to, IntConsumer task) {
+		for(int r = from; r < to; r++) {
+			task.accept(r);
+		}
+	}
+
+	private static void invoke(int from, int to, IntConsumer task) {
+		final Rows rows = new Rows(from, to, task);
+		if (ForkJoinTask.getPool() == Pool.POOL) {
+			// Already on one of our threads, so join in rather than queue behind ourselves
+			rows.invoke();
+		} else {
+			Pool.POOL.invoke(rows);
+		}
+	}
+
+	/**
+	 * Split a range of rows in half until each task has one row
+	 */
+	private static final class Rows extends RecursiveAction {
+		private static final long serialVersionUID = 4167630975524108347L;
+
+		private final int from;
+		private final int to;
+		private final IntConsumer task;
+
+		Rows(int from, int to, IntConsumer task) {
+			this.from = from;
+			this.to = to;
+			this.task = task;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				this.task.accept(this.from);
+				return;
+			}
+			final int middle = (this.from + this.to) >>> 1;
+			invokeAll(new Rows(this.from, middle, this.task), new Rows(middle, this.to, this.task));
+		}
+	}
+
+	/**
+	 * Lazily create the pool
+	 */
+	private static final class Pool {
+		private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM, pool -> {
+			final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			t.setName("deathray-matrix-" + t.getPoolIndex());
+			t.setDaemon(true);
+			return t;
+		}, null, false);
+	}
+}
@@ -0,0 +1,89 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+public class ParallelRowsTest {
+
+	@Test
+	public void testAutoChoosesByElementCost() {
+		// A row of A.s in a module lattice: eight products of degree 256 polynomials
+		PolynomialRing ring = PolynomialRing.negacyclic(256, 3329, PolynomialMultiplier.KARATSUBA);
+		Random random = new Random(12);
+		Polynomial[] a = new Polynomial[8];
+		Polynomial[] s = new Polynomial[8];
+		for(int k = 0; k < 8; k++) {
+			a[k] = ring.random(random);
+			s[k] = ring.random(random);
+		}
+		long polynomialRow = fastest(() -> {
+			Polynomial sum = a[0].multiplyBy(s[0]);
+			for(int k = 1; k < 8; k++) {
+				sum = sum.add(a[k].multiplyBy(s[k]));
+			}
+		});
+		long[] x = new long[8];
+		long[] y = new long[8];
+		for(int k = 0; k < 8; k++) {
+			x[k] = random.nextInt();
+			y[k] = random.nextInt();
+		}
+		long integerRow = fastest(() -> {
+			long sum = 0;
+			for(int k = 0; k < 8; k++) {
+				sum += x[k] * y[k];
+			}
+			x[0] = sum;
+		});
+		assertTrue("Eight rows of polynomials run in parallel (" + polynomialRow + "ns a row)",
+				ParallelRows.worthParallel(8, polynomialRow));
+		assertFalse("Eight rows of integers stay serial (" + integerRow + "ns a row)",
+				ParallelRows.worthParallel(8, integerRow));
+		assertFalse("One row is never run in parallel", ParallelRows.worthParallel(1, polynomialRow));
+	}
+
+	@Test
+	public void testAutoRunsExpensiveRowsOnThePool() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		ParallelRows.forEach(8, r -> {
+			threads.add(Thread.currentThread());
+			spin(ParallelRows.MIN_NANOS);
+		}, ParallelRows.Mode.AUTO);
+		if (ParallelRows.PARALLELISM < 2) {
+			// Set system property "DeathRay.parallelism" to see the parallel path
+			assertEquals("A single thread pool is never used", 1, threads.size());
+		} else {
+			assertTrue("Expensive rows are spread over the pool", threads.size() > 1);
+		}
+
+		threads.clear();
+		ParallelRows.forEach(8, r -> threads.add(Thread.currentThread()), ParallelRows.Mode.AUTO);
+		assertEquals("Cheap rows stay on the calling thread", 1, threads.size());
+		assertTrue("Cheap rows stay on the calling thread", threads.contains(Thread.currentThread()));
+	}
+
+	/**
+	 * Time a task at its fastest, once the JIT has compiled it
+	 */
+	private static long fastest(Runnable task) {
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < 50; i++) {
+			long start = System.nanoTime();
+			task.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while(System.nanoTime() < end) {
+			// Busy, like a row of expensive elements
+		}
+	}
+}
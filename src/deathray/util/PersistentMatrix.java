@@ -0,0 +1,321 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable matrix with cheap single-element updates.
+ * <p>
+ * {@link Matrix#setValue(ArithmeticPrimitive, int, int)} copies every element to
+ * change one. This class stores its elements, in row-major order, in a 32-way
+ * trie instead, and {@link #setValue(ArithmeticPrimitive, int, int)} copies only
+ * the path from the root to the changed element: at most
+ * log<sub>32</sub>(rows &times; columns) nodes of 32 references each. Every
+ * other node is shared between the old matrix and the new one, and both remain
+ * valid.
+ * <p>
+ * Reading an element walks the same path, so it costs a few array loads rather
+ * than one. Algorithms that make many single-element updates should use this
+ * class, then convert with {@link #toMatrix()} for bulk arithmetic.
+ * <p>
+ * This class is immutable, and therefore thread-safe.
+ * 
+ * @param <T> A type that extends {@link ArithmeticPrimitive}
+ * 
+ * @author Connor F
+ */
+@SuppressWarnings("unchecked")
+public final class PersistentMatrix<T extends ArithmeticPrimitive> {
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private final int rows;
+	private final int cols;
+	/**
+	 * Shift giving the root's child index; zero when the root is a leaf
+	 */
+	private final int shift;
+	/**
+	 * The root node. Interior nodes hold child nodes and leaves hold elements.
+	 * Subtrees whose elements are all null may be absent.
+	 */
+	private final Object[] root;
+
+	private PersistentMatrix(int rows, int cols, int shift, Object[] root) {
+		this.rows = rows;
+		this.cols = cols;
+		this.shift = shift;
+		this.root = root;
+	}
+
+	/**
+	 * Create a matrix of null elements, with specified dimensions
+	 * 
+	 * @param rows    Number of rows in this matrix
+	 * @param columns Number of columns in this matrix
+	 * @throws IllegalArgumentException If rows or columns is less than 1, or
+	 *         there would be more than {@link Integer#MAX_VALUE} elements
+	 */
+	public PersistentMatrix(int rows, int columns) {
+		if (rows < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 rows");
+		}
+		if (columns < 1) {
+			throw new IllegalArgumentException("Cannot create matrix with <1 columns");
+		}
+		if ((long) rows * columns > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Cannot create matrix with more than " + Integer.MAX_VALUE + " elements");
+		}
+		this.rows = rows;
+		this.cols = columns;
+		this.shift = shiftFor((long) rows * columns);
+		this.root = new Object[WIDTH];
+	}
+
+	/**
+	 * Create a matrix with the same elements as a {@link Matrix}
+	 * 
+	 * @param matrix  The matrix to copy
+	 */
+	public PersistentMatrix(Matrix<T> matrix) {
+		this(matrix.getRows(), matrix.getColumns());
+		for(int r = 0; r < this.rows; r++) {
+			for(int c = 0; c < this.cols; c++) {
+				fill(r * this.cols + c, matrix.getValue(r, c));
+			}
+		}
+	}
+
+	/**
+	 * Get the number of rows in this matrix
+	 * 
+	 * @return  Number of rows in this matrix
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns in this matrix
+	 * 
+	 * @return  Number of columns in this matrix
+	 */
+	public int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Get the total number of elements in this matrix
+	 * 
+	 * @return  Number of elements in this matrix
+	 */
+	public int size() {
+		return this.rows * this.cols;
+	}
+
+	/**
+	 * Get the specified element.
+	 * 
+	 * @param row     The row of the element to retrieve
+	 * @param column  The column of the element to retrieve
+	 * 
+	 * @return The specified element
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 */
+	public T getValue(int row, int column) {
+		checkIndex(row, column);
+		final int index = row * this.cols + column;
+		Object[] node = this.root;
+		for(int s = this.shift; s > 0; s -= BITS) {
+			node = (Object[]) node[(index >>> s) & MASK];
+			if (node == null) {
+				return null;
+			}
+		}
+		return (T) node[index & MASK];
+	}
+
+	/**
+	 * Set the specified element to a new value
+	 * <p>
+	 * Returns a new matrix, sharing all but the changed path of this matrix's
+	 * trie. This matrix is unchanged.
+	 * 
+	 * @param value   Value of the specified element
+	 * @param row     The row of the element to set
+	 * @param column  The column of the element to set
+	 * 
+	 * @return A new matrix, with identical data except for the specified element,
+	 *         which is updated to the specified value
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specifed row or column is
+	 *         outside the bounds of this matrix
+	 */
+	public PersistentMatrix<T> setValue(T value, int row, int column) {
+		checkIndex(row, column);
+		return new PersistentMatrix<T>(this.rows, this.cols, this.shift,
+				assoc(this.root, this.shift, row * this.cols + column, value));
+	}
+
+	/**
+	 * Copy this matrix into a {@link Matrix}
+	 * 
+	 * @return A new Matrix with the same elements
+	 */
+	public Matrix<T> toMatrix() {
+		final List<List<T>> data = new ArrayList<>(this.rows);
+		for(int r = 0; r < this.rows; r++) {
+			final List<T> row = new ArrayList<>(this.cols);
+			for(int c = 0; c < this.cols; c++) {
+				row.add(getValue(r, c));
+			}
+			data.add(row);
+		}
+		return new Matrix<T>(data);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 * this.rows + this.cols;
+		for(int r = 0; r < this.rows; r++) {
+			for(int c = 0; c < this.cols; c++) {
+				result = 31 * result + Objects.hashCode(getValue(r, c));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if the specified matrix is equal to this one.
+	 * <p>
+	 * A persistent matrix is equal to this one if and only if it has the same
+	 * number of rows and columns, and each element is in the same position.
+	 * Subtrees shared by both matrices are not compared.
+	 * 
+	 * @return true if the specified matrix is equal to this one
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof PersistentMatrix)) {
+			return false;
+		}
+		final PersistentMatrix<?> other = (PersistentMatrix<?>) obj;
+		return other.rows == this.rows && other.cols == this.cols
+				&& nodesEqual(this.root, other.root, this.shift);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("PersistentMatrix\n");
+		for(int i = 0; i < getRows(); i++) {
+			sb.append(i).append(": [");
+			for(int j = 0; j < getColumns(); j++) {
+				sb.append(getValue(i, j)).append(' ');
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Copy the path to an element, changing the element
+	 * 
+	 * @return A copy of node, sharing every child not on the path
+	 */
+	private static Object[] assoc(Object[] node, int shift, int index, Object value) {
+		final Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+		if (shift == 0) {
+			copy[index & MASK] = value;
+		} else {
+			final int child = (index >>> shift) & MASK;
+			copy[child] = assoc((Object[]) copy[child], shift - BITS, index, value);
+		}
+		return copy;
+	}
+
+	/**
+	 * Store an element in place, creating nodes as needed; only for use while
+	 * constructing
+	 */
+	private void fill(int index, T value) {
+		if (value == null) {
+			return;
+		}
+		Object[] node = this.root;
+		for(int s = this.shift; s > 0; s -= BITS) {
+			final int child = (index >>> s) & MASK;
+			if (node[child] == null) {
+				node[child] = new Object[WIDTH];
+			}
+			node = (Object[]) node[child];
+		}
+		node[index & MASK] = value;
+	}
+
+	private static boolean nodesEqual(Object[] a, Object[] b, int shift) {
+		if (a == b) {
+			return true;
+		}
+		for(int i = 0; i < WIDTH; i++) {
+			final Object x = a == null ? null : a[i];
+			final Object y = b == null ? null : b[i];
+			if (shift == 0 ? !Objects.equals(x, y) : !nodesEqual((Object[]) x, (Object[]) y, shift - BITS)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the root shift for a trie holding the specified number of elements
+	 */
+	private static int shiftFor(long size) {
+		int shift = 0;
+		while ((size - 1) >>> (shift + BITS) != 0) {
+			shift += BITS;
+		}
+		return shift;
+	}
+
+	private void checkIndex(int row, int column) {
+		if (row >= this.rows || row < 0) {
+			throw new IndexOutOfBoundsException(row + "");
+		}
+		if (column >= this.cols || column < 0) {
+			throw new IndexOutOfBoundsException("" + column);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class PersistentMatrixTest {
+
+	private static final TestLong[][] data = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(2), new TestLong(3)},
+		new TestLong[] {new TestLong(4), new TestLong(5), new TestLong(6)}
+	};
+
+	@Test
+	public void testRoundTrip() {
+		Matrix<TestLong> m = new Matrix<>(data);
+		PersistentMatrix<TestLong> p = new PersistentMatrix<>(m);
+		assertEquals("Dimensions survive", 2, p.getRows());
+		assertEquals("Dimensions survive", 3, p.getColumns());
+		assertEquals("Elements survive", new TestLong(6), p.getValue(1, 2));
+		assertEquals("Conversion back gives an equal Matrix", m, p.toMatrix());
+	}
+
+	@Test
+	public void testSetValueKeepsOldVersion() {
+		PersistentMatrix<TestLong> p = new PersistentMatrix<>(new Matrix<>(data));
+		PersistentMatrix<TestLong> q = p.setValue(new TestLong(9), 0, 1);
+		assertEquals("Old version is unchanged", new TestLong(2), p.getValue(0, 1));
+		assertEquals("New version has the update", new TestLong(9), q.getValue(0, 1));
+		assertEquals("Other elements are shared", new TestLong(5), q.getValue(1, 1));
+		assertNotEquals("Versions differ", p, q);
+		assertEquals("Setting back gives an equal matrix", p, q.setValue(new TestLong(2), 0, 1));
+		assertEquals("Equal matrices have equal hash codes", p.hashCode(), q.setValue(new TestLong(2), 0, 1).hashCode());
+	}
+
+	@Test
+	public void testLargeMatrix() {
+		PersistentMatrix<TestLong> empty = new PersistentMatrix<>(300, 200);
+		PersistentMatrix<TestLong> p = empty;
+		for(int i = 0; i < 300; i++) {
+			p = p.setValue(new TestLong(i), i, (i * 7) % 200);
+		}
+		assertNull("Empty matrix has null elements", empty.getValue(299, 199));
+		assertNull("Untouched elements are null", p.getValue(299, 0));
+		for(int i = 0; i < 300; i++) {
+			assertEquals("Every update survives", new TestLong(i), p.getValue(i, (i * 7) % 200));
+		}
+		assertEquals("Deep tries convert", p, new PersistentMatrix<>(p.toMatrix()));
+	}
+
+	@Test
+	public void testBounds() {
+		try {
+			new PersistentMatrix<TestLong>(2, 2).setValue(new TestLong(1), 2, 0);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IndexOutOfBoundsException", IndexOutOfBoundsException.class, e.getClass());
+		}
+	}
+
+	private static final class TestLong extends ArithmeticPrimitive {
+		private static final long serialVersionUID = -3605839710277437164L;
+		private final long _value;
+
+		public TestLong(long l) {
+			this._value = l;
+		}
+
+		public long longValue() {
+			return this._value;
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new TestLong(this._value + ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new TestLong(this._value - ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value * ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value / ((TestLong) n)._value);
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Long.compare(this._value, ((TestLong) o)._value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestLong && ((TestLong) obj)._value == this._value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this._value);
+		}
+
+		@Override
+		public String toString() {
+			return "TestLong [_value=" + this._value + "]";
+		}
+	}
+}
@@ -0,0 +1,190 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.Arrays;
+
+/**
+ * An element of a {@link PolynomialRing}, Z<sub>q</sub>[X]/(f).
+ * <p>
+ * Elements are immutable, with coefficients held reduced into [0, q). Both
+ * operands of an operation must belong to equal rings; the result belongs to
+ * this element's ring, and is multiplied with its {@link PolynomialMultiplier}.
+ * Division is not supported, since most elements of these rings have no
+ * inverse.
+ * <p>
+ * Elements are ordered by their coefficients from the highest degree down,
+ * which is consistent with equals.
+ * 
+ * @author Connor F
+ */
+public final class Polynomial extends ArithmeticPrimitive {
+	private static final long serialVersionUID = -2278603951247713842L;
+
+	private final PolynomialRing ring;
+	private final int[] coefficients;
+
+	/**
+	 * Wrap already reduced coefficients without copying
+	 */
+	Polynomial(PolynomialRing ring, int[] coefficients) {
+		this.ring = ring;
+		this.coefficients = coefficients;
+	}
+
+	/**
+	 * @return The ring this element belongs to
+	 */
+	public PolynomialRing getRing() {
+		return ring;
+	}
+
+	/**
+	 * @param degree  Degree of the coefficient, from 0 to n - 1
+	 * 
+	 * @return The coefficient of X<sup>degree</sup>, in [0, q)
+	 */
+	public int getCoefficient(int degree) {
+		if (degree < 0 || degree >= coefficients.length) {
+			throw new IndexOutOfBoundsException(degree + "");
+		}
+		return coefficients[degree];
+	}
+
+	/**
+	 * @return A copy of the coefficients, lowest degree first
+	 */
+	public int[] getCoefficients() {
+		return coefficients.clone();
+	}
+
+	/**
+	 * @param multiplier  Algorithm for multiplying elements
+	 * 
+	 * @return This element, multiplying with the specified algorithm
+	 */
+	public Polynomial withMultiplier(PolynomialMultiplier multiplier) {
+		return new Polynomial(ring.withMultiplier(multiplier), coefficients);
+	}
+
+	@Override
+	public Polynomial add(ArithmeticPrimitive n) {
+		final int[] other = coefficientsOf(n);
+		final int q = ring.getModulus();
+		final int[] c = new int[coefficients.length];
+		for(int i = 0; i < c.length; i++) {
+			final int sum = coefficients[i] + other[i];
+			c[i] = sum >= q ? sum - q : sum;
+		}
+		return new Polynomial(ring, c);
+	}
+
+	@Override
+	public Polynomial subtract(ArithmeticPrimitive n) {
+		final int[] other = coefficientsOf(n);
+		final int q = ring.getModulus();
+		final int[] c = new int[coefficients.length];
+		for(int i = 0; i < c.length; i++) {
+			final int difference = coefficients[i] - other[i];
+			c[i] = difference < 0 ? difference + q : difference;
+		}
+		return new Polynomial(ring, c);
+	}
+
+	@Override
+	public Polynomial multiplyBy(ArithmeticPrimitive n) {
+		return new Polynomial(ring, ring.multiply(coefficients, coefficientsOf(n)));
+	}
+
+	/**
+	 * Not supported
+	 * 
+	 * @throws UnsupportedOperationException  Always
+	 */
+	@Override
+	public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+		throw new UnsupportedOperationException("Cannot divide polynomials");
+	}
+
+	@Override
+	public int compareTo(ArithmeticPrimitive o) {
+		final int[] other = coefficientsOf(o);
+		for(int i = coefficients.length - 1; i >= 0; i--) {
+			if (coefficients[i] != other[i]) {
+				return Integer.compare(coefficients[i], other[i]);
+			}
+		}
+		return 0;
+	}
+
+	private int[] coefficientsOf(ArithmeticPrimitive n) {
+		if (!(n instanceof Polynomial)) {
+			throw new IllegalArgumentException("Cannot combine a polynomial with " + (n == null ? "null" : n.getClass().getSimpleName()));
+		}
+		final Polynomial other = (Polynomial) n;
+		if (!ring.equals(other.ring)) {
+			throw new IllegalArgumentException("Cannot combine polynomials from different rings");
+		}
+		return other.coefficients;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Polynomial)) {
+			return false;
+		}
+		final Polynomial other = (Polynomial) obj;
+		return ring.equals(other.ring) && Arrays.equals(coefficients, other.coefficients);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * ring.hashCode() + Arrays.hashCode(coefficients);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		for(int i = coefficients.length - 1; i >= 0; i--) {
+			if (coefficients[i] == 0) {
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append(" + ");
+			}
+			sb.append(coefficients[i]);
+			if (i > 0) {
+				sb.append("X^").append(i);
+			}
+		}
+		return sb.length() == 0 ? "0" : sb.toString();
+	}
+}
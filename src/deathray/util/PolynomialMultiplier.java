@@ -0,0 +1,244 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Borrow temporaries from the scratch arena
+ */
+package deathray.util;
+
+/**
+ * Algorithms for multiplying polynomials with integer coefficients.
+ * <p>
+ * Rings whose modulus has no suitable roots of unity, such as the power-of-two
+ * moduli of Saber and NTRU, cannot use the number theoretic transform. These
+ * algorithms multiply without it, exactly over the integers; the
+ * {@link PolynomialRing} then reduces the product. All three give the same
+ * result, so the choice only affects speed:
+ * <ul>
+ * <li>{@link #SCHOOLBOOK}: every coefficient times every coefficient, n<sup>2</sup>
+ * multiplications. Fastest for small polynomials.</li>
+ * <li>{@link #KARATSUBA}: three half-size products instead of four,
+ * recursively, about n<sup>1.58</sup> multiplications. Falls back to schoolbook
+ * at or below {@link #KARATSUBA_THRESHOLD} coefficients.</li>
+ * <li>{@link #TOOM_COOK_4}: seven quarter-size products instead of sixteen,
+ * evaluated at 0, &plusmn;1, &plusmn;2, &frac12; and &infin;, with the quarter-size
+ * products done by Karatsuba. Used above {@link #TOOM_COOK_THRESHOLD}
+ * coefficients, Karatsuba below.</li>
+ * </ul>
+ * The thresholds can be set with system properties "DeathRay.karatsubaThreshold"
+ * and "DeathRay.toomCookThreshold"; see {@code deathray.main.PolynomialBenchmark}
+ * for measuring them.
+ * <p>
+ * Products are computed in longs. They are exact for coefficients below
+ * {@link PolynomialRing#MAX_MODULUS} and at most
+ * {@link PolynomialRing#MAX_DEGREE} coefficients. Every temporary, including
+ * the product, is borrowed from a {@link ScratchArena}, so repeated
+ * multiplications of the same size allocate nothing.
+ * 
+ * @author Connor F
+ */
+public enum PolynomialMultiplier {
+	/**
+	 * Quadratic multiplication
+	 */
+	SCHOOLBOOK {
+		@Override
+		long[] multiply(long[] a, long[] b, ScratchArena arena) {
+			return schoolbook(a, b, arena);
+		}
+	},
+	/**
+	 * Karatsuba multiplication
+	 */
+	KARATSUBA {
+		@Override
+		long[] multiply(long[] a, long[] b, ScratchArena arena) {
+			return karatsuba(a, b, arena);
+		}
+	},
+	/**
+	 * Toom-Cook 4-way multiplication over Karatsuba
+	 */
+	TOOM_COOK_4 {
+		@Override
+		long[] multiply(long[] a, long[] b, ScratchArena arena) {
+			return a.length > TOOM_COOK_THRESHOLD ? toomCook4(a, b, arena) : karatsuba(a, b, arena);
+		}
+	};
+
+	/**
+	 * Length at or below which Karatsuba multiplies by schoolbook
+	 */
+	public static final int KARATSUBA_THRESHOLD = Integer.getInteger("DeathRay.karatsubaThreshold", 32);
+	/**
+	 * Length at or below which Toom-Cook multiplies by Karatsuba
+	 */
+	public static final int TOOM_COOK_THRESHOLD = Integer.getInteger("DeathRay.toomCookThreshold", 128);
+
+	/**
+	 * Multiply two polynomials of equal length
+	 * 
+	 * @param a  Coefficients of the first polynomial, lowest degree first
+	 * @param b  Coefficients of the second polynomial, the same length as a
+	 * @param arena  The open scope to borrow temporaries from
+	 * 
+	 * @return The 2n - 1 coefficients of the product, borrowed from the arena
+	 */
+	abstract long[] multiply(long[] a, long[] b, ScratchArena arena);
+
+	private static long[] schoolbook(long[] a, long[] b, ScratchArena arena) {
+		final int n = a.length;
+		final long[] c = arena.longs(2 * n - 1);
+		for(int i = 0; i < n; i++) {
+			final long ai = a[i];
+			if (ai == 0) {
+				continue;
+			}
+			for(int j = 0; j < n; j++) {
+				c[i + j] += ai * b[j];
+			}
+		}
+		return c;
+	}
+
+	private static long[] karatsuba(long[] a, long[] b, ScratchArena arena) {
+		final int n = a.length;
+		if (n <= KARATSUBA_THRESHOLD) {
+			return schoolbook(a, b, arena);
+		}
+		// a = a0 + a1 X^h, where a1 has at least as many coefficients as a0
+		final int h = n >>> 1;
+		final int high = n - h;
+		final long[] a0 = slice(a, 0, h, high, arena);
+		final long[] b0 = slice(b, 0, h, high, arena);
+		final long[] a1 = slice(a, h, n, high, arena);
+		final long[] b1 = slice(b, h, n, high, arena);
+		final long[] z0 = karatsuba(a0, b0, arena);
+		final long[] z2 = karatsuba(a1, b1, arena);
+		final long[] sa = arena.longs(high);
+		final long[] sb = arena.longs(high);
+		for(int i = 0; i < high; i++) {
+			sa[i] = a0[i] + a1[i];
+			sb[i] = b0[i] + b1[i];
+		}
+		final long[] z1 = karatsuba(sa, sb, arena);
+		final long[] c = arena.longs(2 * n - 1);
+		for(int i = 0; i < z1.length; i++) {
+			final long lo = i < 2 * h - 1 ? z0[i] : 0;
+			c[i] += lo;
+			c[i + h] += z1[i] - lo - z2[i];
+			if (i + 2 * h < c.length) {
+				c[i + 2 * h] += z2[i];
+			}
+		}
+		return c;
+	}
+
+	private static long[] toomCook4(long[] a, long[] b, ScratchArena arena) {
+		final int n = a.length;
+		final int m = (n + 3) >>> 2;
+		final long[][] wa = evaluate(a, m, arena);
+		final long[][] wb = evaluate(b, m, arena);
+		final long[][] w = new long[7][];
+		for(int p = 0; p < 7; p++) {
+			w[p] = karatsuba(wa[p], wb[p], arena);
+		}
+		// Interpolate c(x) = c0 + c1 x + ... + c6 x^6 from its values at
+		// 0, 1, -1, 2, -2, 64 c(1/2) and infinity; every division is exact
+		final int len = 2 * m - 1;
+		final long[] c = arena.longs(2 * n - 1);
+		for(int i = 0; i < len; i++) {
+			final long c0 = w[0][i];
+			final long c6 = w[6][i];
+			final long even1 = (w[1][i] + w[2][i]) / 2;
+			final long odd1 = (w[1][i] - w[2][i]) / 2;
+			final long even2 = (w[3][i] + w[4][i]) / 2;
+			final long odd2 = (w[3][i] - w[4][i]) / 4;
+			final long c2c4 = even1 - c0 - c6;
+			final long c2c4x4 = (even2 - c0 - 64 * c6) / 4;
+			final long c4 = (c2c4x4 - c2c4) / 3;
+			final long c2 = c2c4 - c4;
+			final long half = (w[5][i] - 64 * c0 - 16 * c2 - 4 * c4 - c6) / 2;
+			final long p = (odd2 - odd1) / 3;
+			final long r = (16 * odd1 - half) / 3;
+			final long c3 = (r - p) / 3;
+			final long c5 = (p - c3) / 5;
+			final long c1 = odd1 - c3 - c5;
+			addAt(c, i, c0);
+			addAt(c, i + m, c1);
+			addAt(c, i + 2 * m, c2);
+			addAt(c, i + 3 * m, c3);
+			addAt(c, i + 4 * m, c4);
+			addAt(c, i + 5 * m, c5);
+			addAt(c, i + 6 * m, c6);
+		}
+		return c;
+	}
+
+	/**
+	 * Split a polynomial into four pieces of m coefficients, and evaluate the
+	 * piecewise polynomial at 0, 1, -1, 2, -2, 1/2 (scaled by 8) and infinity
+	 */
+	private static long[][] evaluate(long[] x, int m, ScratchArena arena) {
+		final long[][] w = new long[7][];
+		for(int p = 0; p < 7; p++) {
+			w[p] = arena.longs(m);
+		}
+		final int n = x.length;
+		for(int i = 0; i < m; i++) {
+			final long x0 = i < n ? x[i] : 0;
+			final long x1 = i + m < n ? x[i + m] : 0;
+			final long x2 = i + 2 * m < n ? x[i + 2 * m] : 0;
+			final long x3 = i + 3 * m < n ? x[i + 3 * m] : 0;
+			final long even = x0 + x2;
+			final long odd = x1 + x3;
+			final long even2 = x0 + 4 * x2;
+			final long odd2 = 2 * x1 + 8 * x3;
+			w[0][i] = x0;
+			w[1][i] = even + odd;
+			w[2][i] = even - odd;
+			w[3][i] = even2 + odd2;
+			w[4][i] = even2 - odd2;
+			w[5][i] = 8 * x0 + 4 * x1 + 2 * x2 + x3;
+			w[6][i] = x3;
+		}
+		return w;
+	}
+
+	private static void addAt(long[] c, int index, long value) {
+		if (index < c.length) {
+			c[index] += value;
+		}
+	}
+
+	/**
+	 * Copy a range of coefficients into a zero-padded array of the specified length
+	 */
+	private static long[] slice(long[] x, int from, int to, int length, ScratchArena arena) {
+		final long[] s = arena.longs(length);
+		System.arraycopy(x, from, s, 0, to - from);
+		return s;
+	}
+}
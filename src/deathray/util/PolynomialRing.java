@@ -0,0 +1,300 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Multiply in scratch arena temporaries
+ */
+package deathray.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The ring Z<sub>q</sub>[X]/(f) of polynomials with coefficients mod q, reduced
+ * modulo a monic polynomial f of degree n.
+ * <p>
+ * Unlike the NTT-based arithmetic of Kyber, no restriction is placed on q or f,
+ * so this covers the power-of-two moduli of Saber ({@link #negacyclic}) and the
+ * cyclic rings of NTRU ({@link #cyclic}) as well as arbitrary monic f. Products
+ * are computed over the integers by the ring's {@link PolynomialMultiplier}
+ * and then reduced; rings that differ only in their multiplier are equal, and
+ * their elements may be freely combined.
+ * 
+ * @author Connor F
+ */
+public final class PolynomialRing implements Serializable {
+	private static final long serialVersionUID = 6402715390858160471L;
+
+	/**
+	 * Largest supported coefficient modulus, so that products stay exact in longs
+	 */
+	public static final int MAX_MODULUS = 1 << 16;
+	/**
+	 * Largest supported degree of f
+	 */
+	public static final int MAX_DEGREE = 1 << 12;
+
+	private final int modulus;
+	private final int[] reduction;
+	private final PolynomialMultiplier multiplier;
+	/**
+	 * +1 if f = X^n - 1, -1 if f = X^n + 1, 0 otherwise
+	 */
+	private final int wrap;
+
+	/**
+	 * Create the ring Z<sub>q</sub>[X]/(f)
+	 * 
+	 * @param modulus     Coefficient modulus q, from 2 to {@link #MAX_MODULUS}
+	 * @param reduction   Coefficients of f below X<sup>n</sup>, lowest degree first;
+	 *                    f is X<sup>n</sup> plus these, where n is the array length
+	 * @param multiplier  Algorithm for multiplying elements
+	 * 
+	 * @throws IllegalArgumentException  If the modulus or degree is out of range,
+	 *                                   or multiplier is null
+	 */
+	public PolynomialRing(int modulus, int[] reduction, PolynomialMultiplier multiplier) {
+		if (modulus < 2 || modulus > MAX_MODULUS) {
+			throw new IllegalArgumentException("Polynomial modulus must be between 2 and " + MAX_MODULUS);
+		}
+		if (reduction.length < 1 || reduction.length > MAX_DEGREE) {
+			throw new IllegalArgumentException("Polynomial degree must be between 1 and " + MAX_DEGREE);
+		}
+		if (multiplier == null) {
+			throw new IllegalArgumentException("Polynomial multiplier cannot be null");
+		}
+		this.modulus = modulus;
+		this.reduction = new int[reduction.length];
+		for(int i = 0; i < reduction.length; i++) {
+			this.reduction[i] = Math.floorMod(reduction[i], modulus);
+		}
+		this.multiplier = multiplier;
+		this.wrap = wrapOf(this.reduction, modulus);
+	}
+
+	private PolynomialRing(PolynomialRing ring, PolynomialMultiplier multiplier) {
+		this.modulus = ring.modulus;
+		this.reduction = ring.reduction;
+		this.multiplier = multiplier;
+		this.wrap = ring.wrap;
+	}
+
+	/**
+	 * Create the ring Z<sub>q</sub>[X]/(X<sup>n</sup> + 1), as used by Kyber and Saber
+	 * 
+	 * @param degree      n
+	 * @param modulus     q
+	 * @param multiplier  Algorithm for multiplying elements
+	 * 
+	 * @return The ring
+	 */
+	public static PolynomialRing negacyclic(int degree, int modulus, PolynomialMultiplier multiplier) {
+		final int[] f = new int[Math.max(degree, 0)];
+		if (degree > 0) {
+			f[0] = 1;
+		}
+		return new PolynomialRing(modulus, f, multiplier);
+	}
+
+	/**
+	 * Create the ring Z<sub>q</sub>[X]/(X<sup>n</sup> - 1), as used by NTRU
+	 * 
+	 * @param degree      n
+	 * @param modulus     q
+	 * @param multiplier  Algorithm for multiplying elements
+	 * 
+	 * @return The ring
+	 */
+	public static PolynomialRing cyclic(int degree, int modulus, PolynomialMultiplier multiplier) {
+		final int[] f = new int[Math.max(degree, 0)];
+		if (degree > 0) {
+			f[0] = -1;
+		}
+		return new PolynomialRing(modulus, f, multiplier);
+	}
+
+	/**
+	 * @param multiplier  Algorithm for multiplying elements
+	 * 
+	 * @return This ring, multiplying with the specified algorithm
+	 */
+	public PolynomialRing withMultiplier(PolynomialMultiplier multiplier) {
+		if (multiplier == null) {
+			throw new IllegalArgumentException("Polynomial multiplier cannot be null");
+		}
+		return multiplier == this.multiplier ? this : new PolynomialRing(this, multiplier);
+	}
+
+	/**
+	 * @return The coefficient modulus q
+	 */
+	public int getModulus() {
+		return modulus;
+	}
+
+	/**
+	 * @return The degree n of f, and the number of coefficients of each element
+	 */
+	public int getDegree() {
+		return reduction.length;
+	}
+
+	/**
+	 * @return The algorithm used for multiplying elements
+	 */
+	public PolynomialMultiplier getMultiplier() {
+		return multiplier;
+	}
+
+	/**
+	 * Create an element from its coefficients
+	 * <p>
+	 * Coefficients are reduced mod q, and missing coefficients are zero.
+	 * 
+	 * @param coefficients  Coefficients, lowest degree first, at most n of them
+	 * 
+	 * @return The element
+	 * 
+	 * @throws IllegalArgumentException  If there are more than n coefficients
+	 */
+	public Polynomial element(int... coefficients) {
+		if (coefficients.length > reduction.length) {
+			throw new IllegalArgumentException("Polynomial has more than " + reduction.length + " coefficients");
+		}
+		final int[] c = new int[reduction.length];
+		for(int i = 0; i < coefficients.length; i++) {
+			c[i] = Math.floorMod(coefficients[i], modulus);
+		}
+		return new Polynomial(this, c);
+	}
+
+	/**
+	 * @return The zero polynomial
+	 */
+	public Polynomial zero() {
+		return new Polynomial(this, new int[reduction.length]);
+	}
+
+	/**
+	 * @return The constant polynomial 1
+	 */
+	public Polynomial one() {
+		return element(1);
+	}
+
+	/**
+	 * @param random  Source of randomness
+	 * 
+	 * @return An element with uniformly random coefficients
+	 */
+	public Polynomial random(Random random) {
+		final int[] c = new int[reduction.length];
+		for(int i = 0; i < c.length; i++) {
+			c[i] = random.nextInt(modulus);
+		}
+		return new Polynomial(this, c);
+	}
+
+	/**
+	 * Multiply two elements' coefficients and reduce the product into this ring
+	 */
+	int[] multiply(int[] a, int[] b) {
+		final int n = reduction.length;
+		try (ScratchArena arena = ScratchArena.open()) {
+			final long[] x = arena.longs(n);
+			final long[] y = arena.longs(n);
+			for(int i = 0; i < n; i++) {
+				x[i] = a[i];
+				y[i] = b[i];
+			}
+			final long[] product = multiplier.multiply(x, y, arena);
+			if (wrap != 0) {
+				// X^n = wrap, so fold the high half straight onto the low half
+				for(int i = n; i < product.length; i++) {
+					product[i - n] += wrap * product[i];
+				}
+			} else {
+				for(int i = product.length - 1; i >= n; i--) {
+					final long top = Math.floorMod(product[i], (long) modulus);
+					if (top == 0) {
+						continue;
+					}
+					for(int k = 0; k < n; k++) {
+						product[i - n + k] -= top * reduction[k];
+					}
+				}
+			}
+			final int[] c = new int[n];
+			for(int i = 0; i < n; i++) {
+				c[i] = (int) Math.floorMod(product[i], (long) modulus);
+			}
+			return c;
+		}
+	}
+
+	private static int wrapOf(int[] reduction, int modulus) {
+		for(int i = 1; i < reduction.length; i++) {
+			if (reduction[i] != 0) {
+				return 0;
+			}
+		}
+		if (reduction[0] == 1) {
+			return -1;
+		}
+		return reduction[0] == modulus - 1 ? 1 : 0;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof PolynomialRing)) {
+			return false;
+		}
+		final PolynomialRing other = (PolynomialRing) obj;
+		return modulus == other.modulus && Arrays.equals(reduction, other.reduction);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * modulus + Arrays.hashCode(reduction);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("Z_").append(modulus).append("[X]/(X^").append(reduction.length);
+		for(int i = reduction.length - 1; i >= 0; i--) {
+			if (reduction[i] != 0) {
+				sb.append(" + ").append(reduction[i]);
+				if (i > 0) {
+					sb.append("X^").append(i);
+				}
+			}
+		}
+		return sb.append(')').toString();
+	}
+}
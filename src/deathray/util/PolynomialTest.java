@@ -0,0 +1,119 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PolynomialTest {
+
+	@Test
+	public void testMultipliersAgree() {
+		final Random random = new Random(44);
+		final int[] degrees = {1, 3, 31, 33, 129, 256, 677, 701};
+		for(int n : degrees) {
+			PolynomialRing ring = PolynomialRing.negacyclic(n, 1 << 13, PolynomialMultiplier.SCHOOLBOOK);
+			if (n % 2 == 1) {
+				ring = PolynomialRing.cyclic(n, 2048, PolynomialMultiplier.SCHOOLBOOK);
+			}
+			Polynomial a = ring.random(random);
+			Polynomial b = ring.random(random);
+			Polynomial expected = a.multiplyBy(b);
+			for(PolynomialMultiplier m : PolynomialMultiplier.values()) {
+				assertEquals(m + " matches schoolbook for n = " + n, expected, a.withMultiplier(m).multiplyBy(b));
+			}
+		}
+	}
+
+	@Test
+	public void testLargestModulus() {
+		final Random random = new Random(7);
+		PolynomialRing ring = PolynomialRing.negacyclic(PolynomialRing.MAX_DEGREE, PolynomialRing.MAX_MODULUS, PolynomialMultiplier.TOOM_COOK_4);
+		int[] largest = new int[ring.getDegree()];
+		Arrays.fill(largest, -1);
+		Polynomial a = ring.element(largest);
+		Polynomial b = ring.element(largest);
+		assertEquals("Worst case coefficients stay exact", a.withMultiplier(PolynomialMultiplier.SCHOOLBOOK).multiplyBy(b), a.multiplyBy(b));
+		a = ring.random(random);
+		b = ring.random(random);
+		assertEquals("Random coefficients stay exact", a.withMultiplier(PolynomialMultiplier.SCHOOLBOOK).multiplyBy(b), a.multiplyBy(b));
+	}
+
+	@Test
+	public void testReduction() {
+		PolynomialRing negacyclic = PolynomialRing.negacyclic(4, 17, PolynomialMultiplier.KARATSUBA);
+		Polynomial x = negacyclic.element(0, 1);
+		Polynomial x3 = negacyclic.element(0, 0, 0, 1);
+		assertArrayEquals("X^4 = -1", new int[] {16, 0, 0, 0}, x.multiplyBy(x3).getCoefficients());
+		PolynomialRing cyclic = PolynomialRing.cyclic(4, 17, PolynomialMultiplier.KARATSUBA);
+		assertArrayEquals("X^4 = 1", new int[] {1, 0, 0, 0}, cyclic.element(0, 1).multiplyBy(cyclic.element(0, 0, 0, 1)).getCoefficients());
+		// X^3 = X + 1 in Z_5[X]/(X^3 - X - 1)
+		PolynomialRing general = new PolynomialRing(5, new int[] {-1, -1, 0}, PolynomialMultiplier.SCHOOLBOOK);
+		Polynomial y = general.element(0, 1);
+		assertArrayEquals("X^3 = X + 1", new int[] {1, 1, 0}, y.multiplyBy(y).multiplyBy(y).getCoefficients());
+		assertArrayEquals("X^4 = X^2 + X", new int[] {0, 1, 1}, y.multiplyBy(y).multiplyBy(y).multiplyBy(y).getCoefficients());
+	}
+
+	@Test
+	public void testAddSubtract() {
+		PolynomialRing ring = PolynomialRing.negacyclic(3, 8, PolynomialMultiplier.SCHOOLBOOK);
+		Polynomial a = ring.element(7, 1, 4);
+		Polynomial b = ring.element(3, 7, 4);
+		assertArrayEquals("Addition reduces mod q", new int[] {2, 0, 0}, a.add(b).getCoefficients());
+		assertArrayEquals("Subtraction reduces mod q", new int[] {4, 2, 0}, a.subtract(b).getCoefficients());
+		assertEquals("a - a is zero", ring.zero(), a.subtract(a));
+		assertEquals("One is neutral", a, a.multiplyBy(ring.one()));
+		assertEquals("Ordering is from the highest degree", 1, Integer.signum(ring.element(0, 0, 1).compareTo(ring.element(7, 7))));
+		assertEquals("Multiplier does not affect equality", a, a.withMultiplier(PolynomialMultiplier.TOOM_COOK_4));
+	}
+
+	@Test
+	public void testDifferentRings() {
+		Polynomial a = PolynomialRing.negacyclic(3, 8, PolynomialMultiplier.SCHOOLBOOK).one();
+		Polynomial b = PolynomialRing.cyclic(3, 8, PolynomialMultiplier.SCHOOLBOOK).one();
+		try {
+			a.add(b);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Message", "Cannot combine polynomials from different rings", e.getMessage());
+		}
+		try {
+			a.divideBy(a);
+			fail("Expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			assertTrue("Message", e.getMessage().contains("divide"));
+		}
+	}
+}
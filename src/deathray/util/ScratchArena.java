@@ -0,0 +1,389 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Give each scope its own handle, and lend longs for polynomial products
+ * 2026, Connor F: Note that the ML-KEM cipher does not borrow from it yet
+ */
+package deathray.util;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reusable scratch buffers for short-lived temporaries.
+ * <p>
+ * Lattice operations need many temporary polynomials (noise, NTT output,
+ * products, hash buffers) that only live for the duration of one operation.
+ * Rather than allocating these each time, callers open a scope on the arena,
+ * borrow pre-sized arrays from it, and close it when done:
+ * 
+ * <pre>
+ * try (ScratchArena arena = ScratchArena.open()) {
+ *     short[] noise = arena.shorts(256);
+ *     byte[] hash = arena.bytes(32);
+ *     ...
+ * }
+ * </pre>
+ * 
+ * Closing the scope zeroes every buffer borrowed from it, and makes them
+ * available to the next borrower. Scopes nest: an inner open/close only
+ * releases the buffers borrowed inside it. When a thread repeats the same
+ * sequence of borrows, as {@link PolynomialRing} multiplication does, the arena
+ * hands back the same arrays and allocates nothing.
+ * <p>
+ * Each thread has its own arena, so no locking is needed and buffers must not be
+ * passed between threads. Platform threads keep their arena for their lifetime.
+ * Virtual threads are usually short-lived and numerous, so instead they take an
+ * arena from a small shared pool when the outermost scope opens, and return it
+ * when that scope closes.
+ * <p>
+ * Borrowed arrays are always zero when handed out, as they are zeroed when
+ * released. Using an array after its scope has closed is a bug.
+ * <p>
+ * For now {@link PolynomialRing} multiplication is the only user. The ML-KEM
+ * cipher, {@code deathray.crypto.ciphers.CrystalsKhyberCipher}, does not yet
+ * implement the lattice arithmetic, so none of its noise, NTT or hash buffers
+ * come from here; they should once it does.
+ * 
+ * @author Connor F
+ */
+public final class ScratchArena implements AutoCloseable {
+	/**
+	 * Maximum number of idle arenas kept for virtual threads
+	 */
+	private static final int MAX_SHARED_ARENAS = 4 * Runtime.getRuntime().availableProcessors();
+	/**
+	 * The arena bound to each thread, if any
+	 */
+	private static final ThreadLocal<Buffers> CURRENT = new ThreadLocal<>();
+	/**
+	 * Idle arenas available to virtual threads
+	 */
+	private static final Queue<Buffers> SHARED = new ConcurrentLinkedQueue<>();
+	/**
+	 * Approximate size of {@link #SHARED}; the queue's own size() is linear time
+	 */
+	private static final AtomicInteger SHARED_COUNT = new AtomicInteger();
+
+	/**
+	 * The thread's buffers this scope borrows from
+	 */
+	private final Buffers buffers;
+	/**
+	 * How deeply this scope is nested, 1 for the outermost
+	 */
+	private final int depth;
+	/**
+	 * Whether this scope has been closed
+	 */
+	private boolean closed;
+
+	private ScratchArena(Buffers buffers, int depth) {
+		this.buffers = buffers;
+		this.depth = depth;
+	}
+
+	/**
+	 * Open a scope on the calling thread's arena
+	 * <p>
+	 * Returns a new scope on the calling thread's arena, nested inside any scope
+	 * the thread already has open. The scope must be closed by the same thread,
+	 * normally with try-with-resources.
+	 * 
+	 * @return A new scope on this thread's arena
+	 */
+	public static ScratchArena open() {
+		Buffers buffers = CURRENT.get();
+		if (buffers == null) {
+			final Thread thread = Thread.currentThread();
+			if (Threads.isVirtual(thread)) {
+				buffers = SHARED.poll();
+				if (buffers != null) {
+					SHARED_COUNT.decrementAndGet();
+				} else {
+					buffers = new Buffers();
+				}
+				buffers.shared = true;
+			} else {
+				buffers = new Buffers();
+			}
+			buffers.owner = thread;
+			CURRENT.set(buffers);
+		}
+		return new ScratchArena(buffers, buffers.mark());
+	}
+
+	/**
+	 * Borrow a short array of the specified length
+	 * 
+	 * @param length  Number of elements required
+	 * 
+	 * @return A zeroed array of exactly the specified length
+	 * 
+	 * @throws IllegalStateException If this scope is not the innermost open scope on the calling thread
+	 */
+	public short[] shorts(int length) {
+		checkOpen();
+		return this.buffers.shorts.borrow(length);
+	}
+
+	/**
+	 * Borrow an int array of the specified length
+	 * 
+	 * @param length  Number of elements required
+	 * 
+	 * @return A zeroed array of exactly the specified length
+	 * 
+	 * @throws IllegalStateException If this scope is not the innermost open scope on the calling thread
+	 */
+	public int[] ints(int length) {
+		checkOpen();
+		return this.buffers.ints.borrow(length);
+	}
+
+	/**
+	 * Borrow a long array of the specified length
+	 * 
+	 * @param length  Number of elements required
+	 * 
+	 * @return A zeroed array of exactly the specified length
+	 * 
+	 * @throws IllegalStateException If this scope is not the innermost open scope on the calling thread
+	 */
+	public long[] longs(int length) {
+		checkOpen();
+		return this.buffers.longs.borrow(length);
+	}
+
+	/**
+	 * Borrow a byte array of the specified length
+	 * 
+	 * @param length  Number of elements required
+	 * 
+	 * @return A zeroed array of exactly the specified length
+	 * 
+	 * @throws IllegalStateException If this scope is not the innermost open scope on the calling thread
+	 */
+	public byte[] bytes(int length) {
+		checkOpen();
+		return this.buffers.bytes.borrow(length);
+	}
+
+	/**
+	 * Close this scope
+	 * <p>
+	 * Zeroes every buffer borrowed from this scope, and makes them available for
+	 * reuse. Closing a scope that is already closed does nothing.
+	 * 
+	 * @throws IllegalStateException If this scope belongs to another thread, or
+	 *                               a scope nested inside it is still open
+	 */
+	@Override
+	public void close() {
+		if (this.closed) {
+			return;
+		}
+		checkOpen();
+		this.closed = true;
+		final Buffers buffers = this.buffers;
+		buffers.release();
+		if (buffers.depth == 0 && buffers.shared) {
+			CURRENT.remove();
+			buffers.owner = null;
+			buffers.shared = false;
+			if (SHARED_COUNT.incrementAndGet() <= MAX_SHARED_ARENAS) {
+				SHARED.offer(buffers);
+			} else {
+				SHARED_COUNT.decrementAndGet();
+			}
+		}
+	}
+
+	private void checkOpen() {
+		if (this.closed) {
+			throw new IllegalStateException("Scratch arena is not open");
+		}
+		if (this.buffers.owner != Thread.currentThread()) {
+			throw new IllegalStateException("Scratch arena belongs to another thread");
+		}
+		if (this.buffers.depth != this.depth) {
+			throw new IllegalStateException("Scratch arena has a nested scope open");
+		}
+	}
+
+	/**
+	 * The buffers of one thread, shared by all its scopes.
+	 */
+	private static final class Buffers {
+		private final Slab<short[]> shorts = new Slab<short[]>() {
+			@Override
+			short[] allocate(int length) {
+				return new short[length];
+			}
+			@Override
+			int length(short[] buffer) {
+				return buffer.length;
+			}
+			@Override
+			void zero(short[] buffer) {
+				Arrays.fill(buffer, (short) 0);
+			}
+		};
+		private final Slab<int[]> ints = new Slab<int[]>() {
+			@Override
+			int[] allocate(int length) {
+				return new int[length];
+			}
+			@Override
+			int length(int[] buffer) {
+				return buffer.length;
+			}
+			@Override
+			void zero(int[] buffer) {
+				Arrays.fill(buffer, 0);
+			}
+		};
+		private final Slab<long[]> longs = new Slab<long[]>() {
+			@Override
+			long[] allocate(int length) {
+				return new long[length];
+			}
+			@Override
+			int length(long[] buffer) {
+				return buffer.length;
+			}
+			@Override
+			void zero(long[] buffer) {
+				Arrays.fill(buffer, 0L);
+			}
+		};
+		private final Slab<byte[]> bytes = new Slab<byte[]>() {
+			@Override
+			byte[] allocate(int length) {
+				return new byte[length];
+			}
+			@Override
+			int length(byte[] buffer) {
+				return buffer.length;
+			}
+			@Override
+			void zero(byte[] buffer) {
+				Arrays.fill(buffer, (byte) 0);
+			}
+		};
+
+		/**
+		 * The slab positions to rewind to as each open scope closes; four entries
+		 * (shorts, ints, longs, bytes) per scope
+		 */
+		private int[] marks = new int[4 * 4];
+		/**
+		 * Number of currently open scopes
+		 */
+		private int depth;
+		/**
+		 * The thread that opened the outermost scope
+		 */
+		private Thread owner;
+		/**
+		 * Whether these buffers go back to the shared pool when the outermost scope closes
+		 */
+		private boolean shared;
+
+		/**
+		 * Record the slab positions for a new scope
+		 * 
+		 * @return The depth of the new scope
+		 */
+		int mark() {
+			final int m = 4 * this.depth;
+			if (m + 4 > this.marks.length) {
+				this.marks = Arrays.copyOf(this.marks, this.marks.length * 2);
+			}
+			this.marks[m] = this.shorts.top;
+			this.marks[m + 1] = this.ints.top;
+			this.marks[m + 2] = this.longs.top;
+			this.marks[m + 3] = this.bytes.top;
+			return ++this.depth;
+		}
+
+		/**
+		 * Release everything borrowed in the innermost scope
+		 */
+		void release() {
+			this.depth--;
+			final int m = 4 * this.depth;
+			this.shorts.release(this.marks[m]);
+			this.ints.release(this.marks[m + 1]);
+			this.longs.release(this.marks[m + 2]);
+			this.bytes.release(this.marks[m + 3]);
+		}
+	}
+
+	/**
+	 * A stack of buffers of one array type.
+	 * <p>
+	 * Buffers below {@link #top} are borrowed. Buffers at or above it are free,
+	 * and are handed out again, in the same order, if the requested length
+	 * matches.
+	 *
+	 * @param <A>  The array type
+	 */
+	@SuppressWarnings("unchecked")
+	private static abstract class Slab<A> {
+		private Object[] buffers = new Object[8];
+		private int top;
+
+		abstract A allocate(int length);
+		abstract int length(A buffer);
+		abstract void zero(A buffer);
+
+		A borrow(int length) {
+			if (length < 0) {
+				throw new IllegalArgumentException("Cannot borrow a buffer with <0 elements");
+			}
+			if (this.top == this.buffers.length) {
+				this.buffers = Arrays.copyOf(this.buffers, this.buffers.length * 2);
+			}
+			A buffer = (A) this.buffers[this.top];
+			if (buffer == null || length(buffer) != length) {
+				buffer = allocate(length);
+				this.buffers[this.top] = buffer;
+			}
+			this.top++;
+			return buffer;
+		}
+
+		void release(int mark) {
+			for(int i = mark; i < this.top; i++) {
+				zero((A) this.buffers[i]);
+			}
+			this.top = mark;
+		}
+	}
+}
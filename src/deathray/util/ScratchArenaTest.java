@@ -0,0 +1,100 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ScratchArenaTest {
+
+	@Test
+	public void testBorrowLength() {
+		try (ScratchArena arena = ScratchArena.open()) {
+			assertEquals("Short buffer should have requested length", 256, arena.shorts(256).length);
+			assertEquals("Int buffer should have requested length", 128, arena.ints(128).length);
+			assertEquals("Long buffer should have requested length", 512, arena.longs(512).length);
+			assertEquals("Byte buffer should have requested length", 32, arena.bytes(32).length);
+			assertNotSame("Buffers borrowed in the same scope are distinct", arena.shorts(256), arena.shorts(256));
+		}
+	}
+
+	@Test
+	public void testReuseAndZeroize() {
+		short[] first;
+		try (ScratchArena arena = ScratchArena.open()) {
+			first = arena.shorts(256);
+			first[0] = 42;
+		}
+		assertEquals("Buffer should be zeroed on release", 0, first[0]);
+		try (ScratchArena arena = ScratchArena.open()) {
+			assertSame("Same borrow sequence should reuse buffer", first, arena.shorts(256));
+		}
+	}
+
+	@Test
+	public void testNestedScopes() {
+		try (ScratchArena outer = ScratchArena.open()) {
+			byte[] kept = outer.bytes(32);
+			kept[0] = 1;
+			byte[] inner;
+			try (ScratchArena nested = ScratchArena.open()) {
+				assertNotSame("Nested open returns a new scope", outer, nested);
+				inner = nested.bytes(32);
+				inner[0] = 2;
+				try {
+					outer.bytes(32);
+					fail("Should throw exception");
+				} catch(Exception e) {
+					assertEquals("Expected IllegalStateException", IllegalStateException.class, e.getClass());
+					assertEquals("Message should describe error", "Scratch arena has a nested scope open", e.getMessage());
+				}
+			}
+			assertEquals("Closing inner scope zeroes its buffers", 0, inner[0]);
+			assertEquals("Closing inner scope keeps outer buffers", 1, kept[0]);
+		}
+	}
+
+	@Test
+	public void testClosed() {
+		ScratchArena arena = ScratchArena.open();
+		arena.close();
+		try {
+			arena.shorts(256);
+			fail("Should throw exception");
+		} catch(Exception e) {
+			assertEquals("Expected IllegalStateException", IllegalStateException.class, e.getClass());
+			assertEquals("Message should describe error", "Scratch arena is not open", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCloseTwice() {
+		try (ScratchArena outer = ScratchArena.open()) {
+			byte[] kept = outer.bytes(32);
+			kept[0] = 1;
+			ScratchArena nested = ScratchArena.open();
+			nested.close();
+			nested.close();
+			assertEquals("Closing a scope twice leaves the outer scope open", 1, kept[0]);
+			assertEquals("Outer scope can still borrow", 8, outer.ints(8).length);
+		}
+	}
+
+	@Test
+	public void testOtherThread() throws InterruptedException {
+		final Exception[] thrown = new Exception[1];
+		try (ScratchArena arena = ScratchArena.open()) {
+			Thread t = new Thread(() -> {
+				try {
+					arena.ints(8);
+				} catch(Exception e) {
+					thrown[0] = e;
+				}
+			});
+			t.start();
+			t.join();
+		}
+		assertNotNull("Borrowing from another thread should throw", thrown[0]);
+		assertEquals("Expected IllegalStateException", IllegalStateException.class, thrown[0].getClass());
+		assertEquals("Message should describe error", "Scratch arena belongs to another thread", thrown[0].getMessage());
+	}
+}
@@ -0,0 +1,551 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A matrix that stores only its non-zero elements.
+ * <p>
+ * Identity blocks, gadget matrices and sparse error matrices are mostly zeros,
+ * yet a {@link Matrix} stores and multiplies every element. This class stores
+ * the non-zero elements in compressed sparse row (CSR) form: for each row, the
+ * columns and values of its non-zero elements, in column order. Memory, and the
+ * cost of every operation, is proportional to the number of non-zero elements
+ * rather than to rows &times; columns.
+ * <p>
+ * {@link ArithmeticPrimitive} has no zero, so each sparse matrix carries one.
+ * It is either supplied, or derived from any element x as x - x. An element is
+ * zero if it compares equal to the matrix's zero.
+ * <p>
+ * Sparse matrices are built from a {@link Matrix}, or element by element with a
+ * {@link Builder}. Like {@link Matrix}, this class is immutable; every operation
+ * returns a new matrix.
+ * 
+ * @param <T> A type that extends {@link ArithmeticPrimitive}
+ * 
+ * @author Connor F
+ */
+@SuppressWarnings("unchecked")
+public final class SparseMatrix<T extends ArithmeticPrimitive> {
+	private final int rows;
+	private final int cols;
+	private final T zero;
+	/**
+	 * The non-zero elements of row r are at indices rowStart[r] to
+	 * rowStart[r + 1] - 1 of columns and values
+	 */
+	private final int[] rowStart;
+	/**
+	 * Column of each non-zero element, ascending within each row
+	 */
+	private final int[] columns;
+	/**
+	 * Value of each non-zero element
+	 */
+	private final Object[] values;
+
+	private SparseMatrix(int rows, int cols, T zero, int[] rowStart, int[] columns, Object[] values) {
+		this.rows = rows;
+		this.cols = cols;
+		this.zero = zero;
+		this.rowStart = rowStart;
+		this.columns = columns;
+		this.values = values;
+	}
+
+	/**
+	 * Create a sparse copy of a matrix
+	 * 
+	 * @param matrix  The matrix to copy, which must not contain null
+	 * @param zero    The zero element
+	 * 
+	 * @return A sparse matrix holding the non-zero elements of the matrix
+	 * 
+	 * @throws IllegalArgumentException If zero is null
+	 */
+	public static <T extends ArithmeticPrimitive> SparseMatrix<T> fromMatrix(Matrix<T> matrix, T zero) {
+		final Builder<T> builder = new Builder<T>(matrix.getRows(), matrix.getColumns(), zero);
+		for(int r = 0; r < matrix.getRows(); r++) {
+			for(int c = 0; c < matrix.getColumns(); c++) {
+				builder.set(r, c, matrix.getValue(r, c));
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Create a sparse copy of a matrix, deriving the zero from its elements
+	 * 
+	 * @param matrix  The matrix to copy, which must not contain null
+	 * 
+	 * @return A sparse matrix holding the non-zero elements of the matrix
+	 */
+	public static <T extends ArithmeticPrimitive> SparseMatrix<T> fromMatrix(Matrix<T> matrix) {
+		final T any = matrix.getValue(0, 0);
+		return fromMatrix(matrix, (T) any.subtract(any));
+	}
+
+	/**
+	 * Create an identity matrix
+	 * 
+	 * @param size  Number of rows and columns
+	 * @param one   The multiplicative identity
+	 * @param zero  The zero element
+	 * 
+	 * @return A size &times; size matrix with one on the diagonal
+	 */
+	public static <T extends ArithmeticPrimitive> SparseMatrix<T> identity(int size, T one, T zero) {
+		final Builder<T> builder = new Builder<T>(size, size, zero);
+		for(int i = 0; i < size; i++) {
+			builder.set(i, i, one);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get the number of rows in this matrix
+	 * 
+	 * @return  Number of rows in this matrix
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Get the number of columns in this matrix
+	 * 
+	 * @return  Number of columns in this matrix
+	 */
+	public int getColumns() {
+		return this.cols;
+	}
+
+	/**
+	 * Get the zero element of this matrix
+	 * 
+	 * @return The element that every unstored element is equal to
+	 */
+	public T getZero() {
+		return this.zero;
+	}
+
+	/**
+	 * Get the number of elements stored
+	 * 
+	 * @return Number of non-zero elements in this matrix
+	 */
+	public int getNonZeroCount() {
+		return this.rowStart[this.rows];
+	}
+
+	/**
+	 * Get the specified element.
+	 * <p>
+	 * Finds the element by binary search of its row.
+	 * 
+	 * @param row     The row of the element to retrieve
+	 * @param column  The column of the element to retrieve
+	 * 
+	 * @return The specified element, or the zero element if it is not stored
+	 * 
+	 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+	 */
+	public T getValue(int row, int column) {
+		if (row >= this.rows || row < 0) {
+			throw new IndexOutOfBoundsException(row + "");
+		}
+		if (column >= this.cols || column < 0) {
+			throw new IndexOutOfBoundsException("" + column);
+		}
+		final int i = Arrays.binarySearch(this.columns, this.rowStart[row], this.rowStart[row + 1], column);
+		return i >= 0 ? (T) this.values[i] : this.zero;
+	}
+
+	/**
+	 * Copy this matrix into a dense {@link Matrix}
+	 * 
+	 * @return A new Matrix with the same elements, zeros included
+	 */
+	public Matrix<T> toMatrix() {
+		final List<List<T>> data = new ArrayList<>(this.rows);
+		for(int r = 0; r < this.rows; r++) {
+			final List<T> row = new ArrayList<>(this.cols);
+			for(int c = 0; c < this.cols; c++) {
+				row.add(this.zero);
+			}
+			for(int i = this.rowStart[r]; i < this.rowStart[r + 1]; i++) {
+				row.set(this.columns[i], (T) this.values[i]);
+			}
+			data.add(row);
+		}
+		return new Matrix<T>(data);
+	}
+
+	/**
+	 * Add the specified matrix to this matrix
+	 * <p>
+	 * Merges each pair of rows in column order. Sums that are zero are not stored.
+	 * 
+	 * @param other  The matrix to add to this one
+	 * 
+	 * @return A new sparse matrix holding the sum, with this matrix's zero
+	 * 
+	 * @throws IllegalArgumentException If the specified matrix has different dimensions
+	 */
+	public SparseMatrix<T> add(SparseMatrix<T> other) {
+		if (other.rows != this.rows || other.cols != this.cols) {
+			throw new IllegalArgumentException("Cannot add two matricies of different orders together");
+		}
+		final int[] start = new int[this.rows + 1];
+		final int[] cs = new int[getNonZeroCount() + other.getNonZeroCount()];
+		final Object[] vs = new Object[cs.length];
+		int n = 0;
+		for(int r = 0; r < this.rows; r++) {
+			int i = this.rowStart[r];
+			int j = other.rowStart[r];
+			final int iEnd = this.rowStart[r + 1];
+			final int jEnd = other.rowStart[r + 1];
+			while (i < iEnd || j < jEnd) {
+				final int ci = i < iEnd ? this.columns[i] : Integer.MAX_VALUE;
+				final int cj = j < jEnd ? other.columns[j] : Integer.MAX_VALUE;
+				final T value;
+				final int column;
+				if (ci == cj) {
+					value = (T) ((T) this.values[i++]).add((T) other.values[j++]);
+					column = ci;
+				} else if (ci < cj) {
+					value = (T) this.values[i++];
+					column = ci;
+				} else {
+					value = (T) other.values[j++];
+					column = cj;
+				}
+				if (!isZero(value)) {
+					cs[n] = column;
+					vs[n++] = value;
+				}
+			}
+			start[r + 1] = n;
+		}
+		return new SparseMatrix<T>(this.rows, this.cols, this.zero, start, Arrays.copyOf(cs, n), Arrays.copyOf(vs, n));
+	}
+
+	/**
+	 * Transpose this matrix
+	 * <p>
+	 * Counts the elements in each column, then places each element directly,
+	 * so the cost is linear in the number of non-zero elements.
+	 * 
+	 * @return A new sparse matrix that is the transposition of this matrix
+	 */
+	public SparseMatrix<T> transpose() {
+		final int nnz = getNonZeroCount();
+		final int[] start = new int[this.cols + 1];
+		for(int i = 0; i < nnz; i++) {
+			start[this.columns[i] + 1]++;
+		}
+		for(int c = 0; c < this.cols; c++) {
+			start[c + 1] += start[c];
+		}
+		final int[] next = Arrays.copyOf(start, this.cols);
+		final int[] cs = new int[nnz];
+		final Object[] vs = new Object[nnz];
+		for(int r = 0; r < this.rows; r++) {
+			for(int i = this.rowStart[r]; i < this.rowStart[r + 1]; i++) {
+				final int dest = next[this.columns[i]]++;
+				cs[dest] = r;
+				vs[dest] = this.values[i];
+			}
+		}
+		return new SparseMatrix<T>(this.cols, this.rows, this.zero, start, cs, vs);
+	}
+
+	/**
+	 * Multiply this matrix by a dense matrix
+	 * <p>
+	 * Each non-zero element of this matrix scales one row of the other matrix
+	 * into the result, so the cost is the number of non-zero elements times the
+	 * other matrix's columns.
+	 * 
+	 * @param other  matrix to multiply this matrix by, which must not contain null
+	 * 
+	 * @return A new dense matrix holding the product
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 *         number of rows than this matrix has columns
+	 */
+	public Matrix<T> multiply(Matrix<T> other) {
+		if (this.cols != other.getRows()) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		final int outCols = other.getColumns();
+		final List<List<T>> data = new ArrayList<>(this.rows);
+		for(int r = 0; r < this.rows; r++) {
+			final Object[] acc = new Object[outCols];
+			for(int i = this.rowStart[r]; i < this.rowStart[r + 1]; i++) {
+				final T a = (T) this.values[i];
+				final int k = this.columns[i];
+				for(int c = 0; c < outCols; c++) {
+					final T term = (T) a.multiplyBy(other.getValue(k, c));
+					acc[c] = acc[c] == null ? term : ((T) acc[c]).add(term);
+				}
+			}
+			final List<T> row = new ArrayList<>(outCols);
+			for(int c = 0; c < outCols; c++) {
+				row.add(acc[c] == null ? this.zero : (T) acc[c]);
+			}
+			data.add(row);
+		}
+		return new Matrix<T>(data);
+	}
+
+	/**
+	 * Multiply this matrix by a sparse matrix
+	 * <p>
+	 * Uses Gustavson's row-by-row algorithm: each row of the product is
+	 * accumulated in a dense scratch row, tracking which columns were touched,
+	 * so the cost is proportional to the number of non-zero products formed.
+	 * Products that sum to zero are not stored.
+	 * 
+	 * @param other  matrix to multiply this matrix by
+	 * 
+	 * @return A new sparse matrix holding the product, with this matrix's zero
+	 * 
+	 * @throws IllegalArgumentException If the other matrix has a different
+	 *         number of rows than this matrix has columns
+	 */
+	public SparseMatrix<T> multiply(SparseMatrix<T> other) {
+		if (this.cols != other.rows) {
+			throw new IllegalArgumentException("Cannot multiple matrix where cols != other.rows");
+		}
+		final Object[] acc = new Object[other.cols];
+		final int[] touched = new int[other.cols];
+		final int[] start = new int[this.rows + 1];
+		int[] cs = new int[Math.max(16, getNonZeroCount() + other.getNonZeroCount())];
+		Object[] vs = new Object[cs.length];
+		int n = 0;
+		for(int r = 0; r < this.rows; r++) {
+			int count = 0;
+			for(int i = this.rowStart[r]; i < this.rowStart[r + 1]; i++) {
+				final T a = (T) this.values[i];
+				final int k = this.columns[i];
+				for(int j = other.rowStart[k]; j < other.rowStart[k + 1]; j++) {
+					final int c = other.columns[j];
+					final T term = (T) a.multiplyBy((T) other.values[j]);
+					if (acc[c] == null) {
+						acc[c] = term;
+						touched[count++] = c;
+					} else {
+						acc[c] = ((T) acc[c]).add(term);
+					}
+				}
+			}
+			Arrays.sort(touched, 0, count);
+			if (n + count > cs.length) {
+				cs = Arrays.copyOf(cs, Math.max(n + count, 2 * cs.length));
+				vs = Arrays.copyOf(vs, cs.length);
+			}
+			for(int t = 0; t < count; t++) {
+				final int c = touched[t];
+				final T value = (T) acc[c];
+				acc[c] = null;
+				if (!isZero(value)) {
+					cs[n] = c;
+					vs[n++] = value;
+				}
+			}
+			start[r + 1] = n;
+		}
+		return new SparseMatrix<T>(this.rows, other.cols, this.zero, start, Arrays.copyOf(cs, n), Arrays.copyOf(vs, n));
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 * this.rows + this.cols;
+		result = 31 * result + Arrays.hashCode(this.rowStart);
+		result = 31 * result + Arrays.hashCode(this.columns);
+		return 31 * result + Arrays.hashCode(this.values);
+	}
+
+	/**
+	 * Returns true if the specified matrix is equal to this one.
+	 * <p>
+	 * A sparse matrix is equal to this one if and only if it has the same
+	 * dimensions and the same non-zero elements in the same positions.
+	 * 
+	 * @return true if the specified matrix is equal to this one
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SparseMatrix)) {
+			return false;
+		}
+		final SparseMatrix<?> other = (SparseMatrix<?>) obj;
+		return other.rows == this.rows && other.cols == this.cols
+				&& Arrays.equals(this.rowStart, other.rowStart)
+				&& Arrays.equals(this.columns, other.columns)
+				&& Arrays.equals(this.values, other.values);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("SparseMatrix ").append(this.rows).append('x').append(this.cols)
+				.append(", ").append(getNonZeroCount()).append(" non-zero\n");
+		for(int r = 0; r < this.rows; r++) {
+			if (this.rowStart[r] == this.rowStart[r + 1]) {
+				continue;
+			}
+			sb.append(r).append(": [");
+			for(int i = this.rowStart[r]; i < this.rowStart[r + 1]; i++) {
+				sb.append(this.columns[i]).append('=').append(this.values[i]).append(' ');
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private boolean isZero(T value) {
+		return value.compareTo(this.zero) == 0;
+	}
+
+	/**
+	 * Builds a sparse matrix one element at a time.
+	 * <p>
+	 * Elements may be set in any order; they are collected as (row, column,
+	 * value) triples and sorted into compressed rows by {@link #build()}. Setting
+	 * the same element twice keeps the later value, and setting an element to
+	 * zero removes it.
+	 * <p>
+	 * This class is not thread-safe.
+	 * 
+	 * @param <T> A type that extends {@link ArithmeticPrimitive}
+	 */
+	public static final class Builder<T extends ArithmeticPrimitive> {
+		private final int rows;
+		private final int cols;
+		private final T zero;
+		private long[] keys = new long[16];
+		private Object[] values = new Object[16];
+		private int size;
+
+		/**
+		 * Create a builder for a matrix of specified dimensions
+		 * 
+		 * @param rows     Number of rows in the matrix
+		 * @param columns  Number of columns in the matrix
+		 * @param zero     The zero element
+		 * 
+		 * @throws IllegalArgumentException If rows or columns is less than 1, or zero is null
+		 */
+		public Builder(int rows, int columns, T zero) {
+			if (rows < 1) {
+				throw new IllegalArgumentException("Cannot create matrix with <1 rows");
+			}
+			if (columns < 1) {
+				throw new IllegalArgumentException("Cannot create matrix with <1 columns");
+			}
+			if (zero == null) {
+				throw new IllegalArgumentException("Zero element cannot be null");
+			}
+			this.rows = rows;
+			this.cols = columns;
+			this.zero = zero;
+		}
+
+		/**
+		 * Set the specified element
+		 * 
+		 * @param row     The row of the element to set
+		 * @param column  The column of the element to set
+		 * @param value   Value of the element
+		 * 
+		 * @return This builder
+		 * 
+		 * @throws IndexOutOfBoundsException  If the specified row or column is not within the matrix
+		 * @throws IllegalArgumentException If the value is null
+		 */
+		public Builder<T> set(int row, int column, T value) {
+			if (row >= this.rows || row < 0) {
+				throw new IndexOutOfBoundsException(row + "");
+			}
+			if (column >= this.cols || column < 0) {
+				throw new IndexOutOfBoundsException("" + column);
+			}
+			if (value == null) {
+				throw new IllegalArgumentException("Sparse matrix elements cannot be null");
+			}
+			if (this.size == this.keys.length) {
+				this.keys = Arrays.copyOf(this.keys, 2 * this.size);
+				this.values = Arrays.copyOf(this.values, 2 * this.size);
+			}
+			this.keys[this.size] = ((long) row << 32) | column;
+			this.values[this.size++] = value;
+			return this;
+		}
+
+		/**
+		 * Build the matrix
+		 * 
+		 * @return A new sparse matrix holding the elements set so far
+		 */
+		public SparseMatrix<T> build() {
+			// Sort positions by (row, column), keeping insertion order for ties so the last write wins
+			final Integer[] order = new Integer[this.size];
+			for(int i = 0; i < this.size; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(this.keys[a], this.keys[b]));
+			final int[] start = new int[this.rows + 1];
+			final int[] cs = new int[this.size];
+			final Object[] vs = new Object[this.size];
+			int n = 0;
+			for(int i = 0; i < this.size; i++) {
+				final int index = order[i];
+				if (i + 1 < this.size && this.keys[order[i + 1]] == this.keys[index]) {
+					continue;
+				}
+				final T value = (T) this.values[index];
+				if (value.compareTo(this.zero) != 0) {
+					cs[n] = (int) this.keys[index];
+					vs[n++] = value;
+					start[(int) (this.keys[index] >>> 32) + 1]++;
+				}
+			}
+			for(int r = 0; r < this.rows; r++) {
+				start[r + 1] += start[r];
+			}
+			return new SparseMatrix<T>(this.rows, this.cols, this.zero, start, Arrays.copyOf(cs, n), Arrays.copyOf(vs, n));
+		}
+	}
+}
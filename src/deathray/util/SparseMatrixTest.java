@@ -0,0 +1,132 @@
+package deathray.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SparseMatrixTest {
+
+	private static final TestLong ZERO = new TestLong(0);
+
+	private static final TestLong[][] leftData = new TestLong[][] {
+		new TestLong[] {new TestLong(1), new TestLong(0), new TestLong(0), new TestLong(2)},
+		new TestLong[] {new TestLong(0), new TestLong(0), new TestLong(0), new TestLong(0)},
+		new TestLong[] {new TestLong(0), new TestLong(3), new TestLong(0), new TestLong(4)}
+	};
+
+	private static final TestLong[][] rightData = new TestLong[][] {
+		new TestLong[] {new TestLong(0), new TestLong(5)},
+		new TestLong[] {new TestLong(6), new TestLong(0)},
+		new TestLong[] {new TestLong(0), new TestLong(0)},
+		new TestLong[] {new TestLong(7), new TestLong(-1)}
+	};
+
+	@Test
+	public void testConversion() {
+		Matrix<TestLong> dense = new Matrix<>(leftData);
+		SparseMatrix<TestLong> sparse = SparseMatrix.fromMatrix(dense);
+		assertEquals("Only non-zeros are stored", 4, sparse.getNonZeroCount());
+		assertEquals("Zero is derived", ZERO, sparse.getZero());
+		assertEquals("Stored elements are found", new TestLong(3), sparse.getValue(2, 1));
+		assertEquals("Unstored elements are zero", ZERO, sparse.getValue(1, 3));
+		assertEquals("Conversion back restores zeros", dense, sparse.toMatrix());
+	}
+
+	@Test
+	public void testMultiplyMatchesDense() {
+		Matrix<TestLong> left = new Matrix<>(leftData);
+		Matrix<TestLong> right = new Matrix<>(rightData);
+		SparseMatrix<TestLong> a = SparseMatrix.fromMatrix(left, ZERO);
+		SparseMatrix<TestLong> b = SparseMatrix.fromMatrix(right, ZERO);
+		assertEquals("Sparse x dense matches dense", left.multiply(right), a.multiply(right));
+		SparseMatrix<TestLong> product = a.multiply(b);
+		assertEquals("Sparse x sparse matches dense", left.multiply(right), product.toMatrix());
+		assertEquals("Row 1 of the product is empty", 4, product.getNonZeroCount());
+	}
+
+	@Test
+	public void testAddCancels() {
+		SparseMatrix<TestLong> a = new SparseMatrix.Builder<TestLong>(2, 2, ZERO)
+				.set(0, 0, new TestLong(1)).set(1, 1, new TestLong(2)).build();
+		SparseMatrix<TestLong> b = new SparseMatrix.Builder<TestLong>(2, 2, ZERO)
+				.set(1, 1, new TestLong(-2)).set(0, 1, new TestLong(5)).build();
+		SparseMatrix<TestLong> sum = a.add(b);
+		assertEquals("Cancelled elements are dropped", 2, sum.getNonZeroCount());
+		assertEquals("Elements are merged", new TestLong(5), sum.getValue(0, 1));
+		assertEquals("Cancelled elements are zero", ZERO, sum.getValue(1, 1));
+	}
+
+	@Test
+	public void testTranspose() {
+		Matrix<TestLong> dense = new Matrix<>(leftData);
+		SparseMatrix<TestLong> t = SparseMatrix.fromMatrix(dense).transpose();
+		assertEquals("Transpose swaps dimensions", 4, t.getRows());
+		assertEquals("Transpose matches dense", dense.transpose(), t.toMatrix());
+		assertEquals("Transposing twice is identity", SparseMatrix.fromMatrix(dense), t.transpose());
+	}
+
+	@Test
+	public void testBuilder() {
+		SparseMatrix<TestLong> m = new SparseMatrix.Builder<TestLong>(3, 3, ZERO)
+				.set(2, 0, new TestLong(1)).set(0, 2, new TestLong(2)).set(2, 0, new TestLong(3))
+				.set(1, 1, new TestLong(4)).set(1, 1, ZERO).build();
+		assertEquals("Later writes win, zero writes remove", 2, m.getNonZeroCount());
+		assertEquals("Later writes win", new TestLong(3), m.getValue(2, 0));
+		SparseMatrix<TestLong> id = SparseMatrix.identity(3, new TestLong(1), ZERO);
+		assertEquals("Identity is neutral", m, id.multiply(m));
+		assertEquals("Identity is neutral", m, m.multiply(id));
+	}
+
+	private static final class TestLong extends ArithmeticPrimitive {
+		private static final long serialVersionUID = 7781620311953426090L;
+		private final long _value;
+
+		public TestLong(long l) {
+			this._value = l;
+		}
+
+		public long longValue() {
+			return this._value;
+		}
+
+		@Override
+		public ArithmeticPrimitive add(ArithmeticPrimitive n) {
+			return new TestLong(this._value + ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive subtract(ArithmeticPrimitive n) {
+			return new TestLong(this._value - ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive multiplyBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value * ((TestLong) n)._value);
+		}
+
+		@Override
+		public ArithmeticPrimitive divideBy(ArithmeticPrimitive n) {
+			return new TestLong(this._value / ((TestLong) n)._value);
+		}
+
+		@Override
+		public int compareTo(ArithmeticPrimitive o) {
+			return Long.compare(this._value, ((TestLong) o)._value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestLong && ((TestLong) obj)._value == this._value;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this._value);
+		}
+
+		@Override
+		public String toString() {
+			return "TestLong [_value=" + this._value + "]";
+		}
+	}
+}
@@ -0,0 +1,220 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ * 2026, Connor F: Note that only exact elements match the classic product
+ */
+package deathray.util;
+
+/**
+ * Strassen-Winograd matrix multiplication over element arrays.
+ * <p>
+ * Each level of recursion splits both operands into quadrants and forms the
+ * product from seven quadrant products and fifteen quadrant additions, rather
+ * than eight products and four additions. Below the cutoff, the classic cubic
+ * kernel is faster, and is used instead. Only ring operations are used, in an
+ * order that does not rely on commutativity, so the result equals the classic
+ * product for any {@link ArithmeticPrimitive} with exact arithmetic, such as
+ * modular types. Inexact types, such as floating point, round differently.
+ * <p>
+ * Operands are padded with zeros to a square whose size halves evenly down to
+ * the cutoff.
+ * 
+ * @author Connor F
+ */
+final class StrassenWinograd {
+
+	private StrassenWinograd() {}
+
+	/**
+	 * Multiply two matrices held as arrays of rows
+	 * 
+	 * @param a       Left operand, rows &times; inner, without nulls
+	 * @param b       Right operand, inner &times; columns, without nulls
+	 * @param zero    The zero element, used for padding
+	 * @param cutoff  Size at or below which the classic kernel is used
+	 * 
+	 * @return The product, rows &times; columns
+	 */
+	static ArithmeticPrimitive[][] multiply(ArithmeticPrimitive[][] a, ArithmeticPrimitive[][] b,
+			ArithmeticPrimitive zero, int cutoff) {
+		final int rows = a.length;
+		final int inner = b.length;
+		final int cols = b[0].length;
+		final int size = paddedSize(Math.max(rows, Math.max(inner, cols)), cutoff);
+		final ArithmeticPrimitive[][] product = multiplySquare(pad(a, size, zero), pad(b, size, zero), size, cutoff);
+		if (size == rows && size == cols) {
+			return product;
+		}
+		final ArithmeticPrimitive[][] out = new ArithmeticPrimitive[rows][cols];
+		for(int r = 0; r < rows; r++) {
+			System.arraycopy(product[r], 0, out[r], 0, cols);
+		}
+		return out;
+	}
+
+	/**
+	 * The classic kernel
+	 * <p>
+	 * Loops in row, inner, column order, so that a row of the right operand and
+	 * a row of the product are walked together.
+	 * 
+	 * @param a  Left operand, rows &times; inner, without nulls
+	 * @param b  Right operand, inner &times; columns, without nulls
+	 * 
+	 * @return The product, rows &times; columns
+	 */
+	static ArithmeticPrimitive[][] multiplyClassic(ArithmeticPrimitive[][] a, ArithmeticPrimitive[][] b) {
+		final int rows = a.length;
+		final int inner = b.length;
+		final int cols = b[0].length;
+		final ArithmeticPrimitive[][] c = new ArithmeticPrimitive[rows][cols];
+		for(int i = 0; i < rows; i++) {
+			final ArithmeticPrimitive[] ai = a[i];
+			final ArithmeticPrimitive[] ci = c[i];
+			final ArithmeticPrimitive[] b0 = b[0];
+			for(int j = 0; j < cols; j++) {
+				ci[j] = ai[0].multiplyBy(b0[j]);
+			}
+			for(int k = 1; k < inner; k++) {
+				final ArithmeticPrimitive aik = ai[k];
+				final ArithmeticPrimitive[] bk = b[k];
+				for(int j = 0; j < cols; j++) {
+					ci[j] = ci[j].add(aik.multiplyBy(bk[j]));
+				}
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * Get the smallest size of at least n that halves evenly to the cutoff or below
+	 */
+	static int paddedSize(int n, int cutoff) {
+		int levels = 0;
+		int m = n;
+		while (m > cutoff) {
+			m = (m + 1) >>> 1;
+			levels++;
+		}
+		return m << levels;
+	}
+
+	private static ArithmeticPrimitive[][] multiplySquare(ArithmeticPrimitive[][] a, ArithmeticPrimitive[][] b,
+			int n, int cutoff) {
+		if (n <= cutoff) {
+			return multiplyClassic(a, b);
+		}
+		final int m = n >>> 1;
+		final ArithmeticPrimitive[][] a11 = quadrant(a, 0, 0, m);
+		final ArithmeticPrimitive[][] a12 = quadrant(a, 0, m, m);
+		final ArithmeticPrimitive[][] a21 = quadrant(a, m, 0, m);
+		final ArithmeticPrimitive[][] a22 = quadrant(a, m, m, m);
+		final ArithmeticPrimitive[][] b11 = quadrant(b, 0, 0, m);
+		final ArithmeticPrimitive[][] b12 = quadrant(b, 0, m, m);
+		final ArithmeticPrimitive[][] b21 = quadrant(b, m, 0, m);
+		final ArithmeticPrimitive[][] b22 = quadrant(b, m, m, m);
+
+		final ArithmeticPrimitive[][] s1 = add(a21, a22);
+		final ArithmeticPrimitive[][] s2 = subtract(s1, a11);
+		final ArithmeticPrimitive[][] s3 = subtract(a11, a21);
+		final ArithmeticPrimitive[][] s4 = subtract(a12, s2);
+		final ArithmeticPrimitive[][] t1 = subtract(b12, b11);
+		final ArithmeticPrimitive[][] t2 = subtract(b22, t1);
+		final ArithmeticPrimitive[][] t3 = subtract(b22, b12);
+		final ArithmeticPrimitive[][] t4 = subtract(t2, b21);
+
+		final ArithmeticPrimitive[][] m1 = multiplySquare(a11, b11, m, cutoff);
+		final ArithmeticPrimitive[][] m2 = multiplySquare(a12, b21, m, cutoff);
+		final ArithmeticPrimitive[][] m3 = multiplySquare(s4, b22, m, cutoff);
+		final ArithmeticPrimitive[][] m4 = multiplySquare(a22, t4, m, cutoff);
+		final ArithmeticPrimitive[][] m5 = multiplySquare(s1, t1, m, cutoff);
+		final ArithmeticPrimitive[][] m6 = multiplySquare(s2, t2, m, cutoff);
+		final ArithmeticPrimitive[][] m7 = multiplySquare(s3, t3, m, cutoff);
+
+		final ArithmeticPrimitive[][] u2 = add(m1, m6);
+		final ArithmeticPrimitive[][] u3 = add(u2, m7);
+		final ArithmeticPrimitive[][] u4 = add(u2, m5);
+
+		final ArithmeticPrimitive[][] c = new ArithmeticPrimitive[n][n];
+		place(c, add(m1, m2), 0, 0);
+		place(c, add(u4, m3), 0, m);
+		place(c, subtract(u3, m4), m, 0);
+		place(c, add(u3, m5), m, m);
+		return c;
+	}
+
+	private static ArithmeticPrimitive[][] quadrant(ArithmeticPrimitive[][] x, int row, int col, int m) {
+		final ArithmeticPrimitive[][] q = new ArithmeticPrimitive[m][m];
+		for(int i = 0; i < m; i++) {
+			System.arraycopy(x[row + i], col, q[i], 0, m);
+		}
+		return q;
+	}
+
+	private static void place(ArithmeticPrimitive[][] c, ArithmeticPrimitive[][] q, int row, int col) {
+		for(int i = 0; i < q.length; i++) {
+			System.arraycopy(q[i], 0, c[row + i], col, q.length);
+		}
+	}
+
+	private static ArithmeticPrimitive[][] add(ArithmeticPrimitive[][] x, ArithmeticPrimitive[][] y) {
+		final int m = x.length;
+		final ArithmeticPrimitive[][] z = new ArithmeticPrimitive[m][m];
+		for(int i = 0; i < m; i++) {
+			for(int j = 0; j < m; j++) {
+				z[i][j] = x[i][j].add(y[i][j]);
+			}
+		}
+		return z;
+	}
+
+	private static ArithmeticPrimitive[][] subtract(ArithmeticPrimitive[][] x, ArithmeticPrimitive[][] y) {
+		final int m = x.length;
+		final ArithmeticPrimitive[][] z = new ArithmeticPrimitive[m][m];
+		for(int i = 0; i < m; i++) {
+			for(int j = 0; j < m; j++) {
+				z[i][j] = x[i][j].subtract(y[i][j]);
+			}
+		}
+		return z;
+	}
+
+	private static ArithmeticPrimitive[][] pad(ArithmeticPrimitive[][] x, int size, ArithmeticPrimitive zero) {
+		if (x.length == size && x[0].length == size) {
+			return x;
+		}
+		final ArithmeticPrimitive[][] p = new ArithmeticPrimitive[size][size];
+		for(int i = 0; i < size; i++) {
+			if (i < x.length) {
+				System.arraycopy(x[i], 0, p[i], 0, x[i].length);
+			}
+			for(int j = i < x.length ? x[i].length : 0; j < size; j++) {
+				p[i][j] = zero;
+			}
+		}
+		return p;
+	}
+}
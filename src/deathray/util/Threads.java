@@ -0,0 +1,146 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Connor Iain Te Ahu Findlay &lt;code@findlays.io&gt;
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ * CHANGE LOG
+ * ==========
+ * 2026, Connor F: Created Class
+ */
+package deathray.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread helpers that work across JVM versions.
+ * <p>
+ * We compile for older JVMs than the ones we often run on, so features such as
+ * virtual threads are looked up reflectively once, and we fall back to the
+ * platform thread behaviour when they are missing.
+ * 
+ * @author Connor F
+ */
+public final class Threads {
+	/**
+	 * {@code Thread.isVirtual()}, or null if this JVM has no virtual threads
+	 */
+	private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+	/**
+	 * {@code Thread.ofVirtual()}, or null if this JVM has no virtual threads
+	 */
+	private static final MethodHandle OF_VIRTUAL = findOfVirtual();
+
+	private Threads() {}
+
+	/**
+	 * Returns true if the specified thread is a virtual thread.
+	 * <p>
+	 * Always returns false on JVMs that do not support virtual threads.
+	 * 
+	 * @param thread  The thread to test
+	 * 
+	 * @return true if the thread is virtual
+	 */
+	public static boolean isVirtual(Thread thread) {
+		if (IS_VIRTUAL == null) {
+			return false;
+		}
+		try {
+			return (boolean) IS_VIRTUAL.invokeExact(thread);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Can't query Thread.isVirtual()", e);
+		}
+	}
+
+	/**
+	 * Returns true if this JVM supports virtual threads
+	 * 
+	 * @return true if virtual threads are available
+	 */
+	public static boolean isVirtualSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Create a factory for virtual threads
+	 * <p>
+	 * Threads are named with the specified prefix followed by a sequence number.
+	 * 
+	 * @param prefix  Prefix for the names of the threads created
+	 * 
+	 * @return A factory that creates unstarted virtual threads
+	 * 
+	 * @throws UnsupportedOperationException If this JVM does not support virtual threads
+	 */
+	public static ThreadFactory virtualThreadFactory(String prefix) {
+		if (OF_VIRTUAL == null) {
+			throw new UnsupportedOperationException("Virtual threads need Java 21 or later");
+		}
+		try {
+			final Object builder = OF_VIRTUAL.invoke();
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Can't create virtual thread factory", e);
+		}
+	}
+
+	/**
+	 * Create a factory for platform threads
+	 * <p>
+	 * Threads are named with the specified prefix followed by a sequence number.
+	 * 
+	 * @param prefix  Prefix for the names of the threads created
+	 * @param daemon  Whether the threads should be daemon threads
+	 * 
+	 * @return A factory that creates unstarted platform threads
+	 */
+	public static ThreadFactory platformThreadFactory(String prefix, boolean daemon) {
+		final AtomicLong next = new AtomicLong();
+		return runnable -> {
+			final Thread t = new Thread(runnable, prefix + next.getAndIncrement());
+			t.setDaemon(daemon);
+			return t;
+		};
+	}
+
+	private static MethodHandle findIsVirtual() {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle findOfVirtual() {
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			return MethodHandles.publicLookup().findStatic(Thread.class, "ofVirtual", MethodType.methodType(builderClass));
+		} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+}